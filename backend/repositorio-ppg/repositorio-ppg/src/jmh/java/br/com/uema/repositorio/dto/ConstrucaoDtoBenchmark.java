@@ -0,0 +1,85 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construção dos DTOs de listagem: a partir das colunas (projeção JPQL) e a partir da entidade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstrucaoDtoBenchmark {
+
+    private Documento documento;
+    private FluxoAprovacao fluxo;
+    private OffsetDateTime criadoEm;
+
+    @Setup
+    public void setup() {
+        Programa programa = Programa.builder().id(6L).sigla("PPGHIST").nome("Programa de Pós-Graduação em História").build();
+        Usuario autor = Usuario.builder().id(9L).nome("Maria Silva").perfil(PerfilUsuario.FUNCIONARIO).build();
+        criadoEm = OffsetDateTime.parse("2025-03-15T10:30:00-03:00");
+
+        documento = Documento.builder()
+                .id(1234L)
+                .titulo("Edital de seleção 2025")
+                .descricao("Seleção de alunos regulares para o mestrado")
+                .tipo(TipoDocumento.EDITAIS)
+                .dataPublicacao(LocalDate.of(2025, 3, 15))
+                .programa(programa)
+                .usuario(autor)
+                .build();
+
+        fluxo = FluxoAprovacao.builder()
+                .id(77L)
+                .documento(documento)
+                .estado(EstadoAprovacao.PENDENTE)
+                .createdAt(criadoEm)
+                .build();
+    }
+
+    @Benchmark
+    public DocumentoResponseDTO documentoPorColunas() {
+        return new DocumentoResponseDTO(1234L, "Edital de seleção 2025", "Seleção de alunos regulares para o mestrado",
+                TipoDocumento.EDITAIS, 6L, "Programa de Pós-Graduação em História", "Maria Silva", LocalDate.of(2025, 3, 15));
+    }
+
+    @Benchmark
+    public DocumentoResponseDTO documentoPorEntidade() {
+        return new DocumentoResponseDTO(documento);
+    }
+
+    @Benchmark
+    public FluxoAprovacaoResponseDTO fluxoPorColunas() {
+        return new FluxoAprovacaoResponseDTO(77L, EstadoAprovacao.PENDENTE, 0L, "Edital de seleção 2025", 1234L,
+                "Maria Silva", "Programa de Pós-Graduação em História", criadoEm);
+    }
+
+    @Benchmark
+    public FluxoAprovacaoResponseDTO fluxoPorEntidade() {
+        return new FluxoAprovacaoResponseDTO(fluxo);
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de uma página do catálogo, com o ObjectMapper configurado como no Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoCatalogoBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private PaginaCursorDTO<DocumentoResponseDTO> pagina;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        TipoDocumento[] tipos = TipoDocumento.values();
+        LocalDate base = LocalDate.of(2025, 3, 15);
+        List<DocumentoResponseDTO> itens = new ArrayList<>(tamanhoPagina);
+        for (int i = 0; i < tamanhoPagina; i++) {
+            itens.add(new DocumentoResponseDTO((long) i, "Documento " + i, "Descrição do documento " + i,
+                    tipos[i % tipos.length], (long) (i % 12), "Programa " + (i % 12), "Autor " + i, base.minusDays(i)));
+        }
+        DocumentoResponseDTO ultimo = itens.getLast();
+        pagina = new PaginaCursorDTO<>(itens, new CursorDocumento(ultimo.dataPublicacao(), ultimo.id()).codificar());
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.uema.repositorio.entity;
+
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Usuario.getAuthorities é chamado pelo SecurityFilter e pelas checagens de papel em toda requisição autenticada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UsuarioBenchmark {
+
+    private final Usuario usuario = Usuario.builder()
+            .id(1L)
+            .email("funcionario@uema.br")
+            .perfil(PerfilUsuario.FUNCIONARIO)
+            .build();
+
+    @Benchmark
+    public Collection<?> getAuthorities() {
+        return usuario.getAuthorities();
+    }
+}
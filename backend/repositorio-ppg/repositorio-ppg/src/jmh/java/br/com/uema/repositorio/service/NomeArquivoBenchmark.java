@@ -0,0 +1,37 @@
+package br.com.uema.repositorio.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sanitização do nome original do arquivo no upload (DocumentoService.salvarArquivoNoDisco).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NomeArquivoBenchmark {
+
+    @Param({
+            "edital_2025.pdf",
+            "Resolução nº 12-2024 (versão final) – Colegiado do PPGHIST.pdf"
+    })
+    public String nomeOriginal;
+
+    @Benchmark
+    public String sanitizarNomeArquivo() {
+        return DocumentoService.sanitizarNomeArquivo(nomeOriginal);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e verificação do JWT: a verificação roda em toda requisição autenticada que não acerta o cache de principais.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "segredo-de-benchmark-apenas-para-medicao");
+        tokenService.inicializar();
+
+        usuario = Usuario.builder().id(42L).email("gestor@uema.br").perfil(PerfilUsuario.GESTOR).build();
+        token = tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String verificarToken() {
+        return tokenService.getSubject(token);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.uema.repositorio.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tarefas periódicas (@Scheduled); app.agendamento.habilitado=false as desliga, por exemplo numa réplica só de leitura
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.agendamento.habilitado", havingValue = "true", matchIfMissing = true)
+public class AgendamentoConfig {
+}
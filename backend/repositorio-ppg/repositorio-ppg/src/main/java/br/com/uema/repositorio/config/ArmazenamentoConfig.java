@@ -0,0 +1,74 @@
+package br.com.uema.repositorio.config;
+
+import br.com.uema.repositorio.service.ArmazenamentoConteudo;
+import br.com.uema.repositorio.service.ArmazenamentoConteudoLocal;
+import br.com.uema.repositorio.service.ArmazenamentoConteudoS3;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Escolhe onde o conteúdo dos arquivos fica: {@code app.armazenamento.tipo=local} (padrão, em file.upload-dir)
+ * ou {@code s3} (bucket S3-compatível). Os temporários de upload ficam sempre em file.upload-dir.
+ */
+@Configuration
+public class ArmazenamentoConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.armazenamento.tipo", havingValue = "local", matchIfMissing = true)
+    public ArmazenamentoConteudo armazenamentoLocal(@Value("${file.upload-dir:./uploads}") String uploadDir) {
+        return new ArmazenamentoConteudoLocal(Paths.get(uploadDir));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.armazenamento.tipo", havingValue = "s3")
+    public S3Client clienteS3(
+            @Value("${app.armazenamento.s3.endpoint:}") String endpoint,
+            @Value("${app.armazenamento.s3.regiao:us-east-1}") String regiao,
+            @Value("${app.armazenamento.s3.path-style:true}") boolean pathStyle,
+            @Value("${app.armazenamento.s3.access-key:}") String accessKey,
+            @Value("${app.armazenamento.s3.secret-key:}") String secretKey,
+            @Value("${app.armazenamento.s3.timeout:30s}") Duration timeout) {
+
+        var builder = S3Client.builder()
+                .region(Region.of(regiao))
+                .forcePathStyle(pathStyle)
+                .httpClient(UrlConnectionHttpClient.builder()
+                        .connectionTimeout(timeout)
+                        .socketTimeout(timeout)
+                        .build())
+                // Checksums extras (aws-chunked com trailer) nem todo serviço compatível aceita
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED);
+
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        // Sem chaves configuradas vale a cadeia padrão da AWS (variáveis de ambiente, perfil, papel IAM)
+        if (!accessKey.isBlank()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.armazenamento.tipo", havingValue = "s3")
+    public ArmazenamentoConteudo armazenamentoS3(
+            S3Client clienteS3,
+            @Value("${app.armazenamento.s3.bucket}") String bucket,
+            @Value("${app.armazenamento.s3.prefixo:}") String prefixo) {
+        return new ArmazenamentoConteudoS3(clienteS3, bucket, prefixo);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.uema.repositorio.config;
+
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.repository.UsuarioRepository;
+import br.com.uema.repositorio.service.TokenService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Cache limitado (tamanho e TTL) de token JWT já verificado → usuário autenticado.
+ * Evita verificar a assinatura e consultar o banco a cada requisição; alterações de usuário
+ * devem chamar {@link #invalidar(Long)} para que perfil/ativo passem a valer na hora.
+ * Métricas em /actuator/metrics/cache.gets?tag=cache:principais.
+ */
+@Component
+public class CachePrincipais {
+
+    private record Entrada(Usuario usuario, Instant expiraEm) {}
+
+    private final TokenService tokenService;
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<String, Entrada> cache;
+
+    public CachePrincipais(TokenService tokenService,
+                           UsuarioRepository usuarioRepository,
+                           @Value("${app.security.cache-principais.ttl:5m}") Duration ttl,
+                           @Value("${app.security.cache-principais.tamanho-maximo:10000}") long tamanhoMaximo,
+                           MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        this.usuarioRepository = usuarioRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principais");
+    }
+
+    /**
+     * Retorna o usuário do token. Na falta, verifica o token (lança se inválido) e busca o usuário
+     * pelo e-mail; usuário inexistente não é guardado.
+     */
+    public Usuario obter(String token) {
+        Entrada entrada = cache.get(token, this::carregar);
+        if (entrada == null) {
+            return null;
+        }
+        // O TTL do cache pode ser maior que o tempo restante do token
+        if (entrada.expiraEm() != null && entrada.expiraEm().isBefore(Instant.now())) {
+            cache.invalidate(token);
+            return null;
+        }
+        return entrada.usuario();
+    }
+
+    private Entrada carregar(String token) {
+        var jwt = tokenService.verificar(token);
+        return usuarioRepository.findByEmail(jwt.getSubject())
+                .map(usuario -> new Entrada(usuario, jwt.getExpiresAtAsInstant()))
+                .orElse(null);
+    }
+
+    /**
+     * Remove as entradas do usuário. Dentro de uma transação, remove de novo após o commit para
+     * descartar o que outra requisição tenha recarregado do banco antes da alteração ser visível.
+     */
+    public void invalidar(Long idUsuario) {
+        remover(idUsuario);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remover(idUsuario);
+                }
+            });
+        }
+    }
+
+    private void remover(Long idUsuario) {
+        cache.asMap().values().removeIf(entrada -> idUsuario.equals(entrada.usuario().getId()));
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.uema.repositorio.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache/Caffeine) para dados de referência: Programa, Usuario e Resumo,
+ * mais o cache de consultas. Cada região tem tamanho máximo e TTL ({@code app.cache.*}); o TTL limita por quanto
+ * tempo outra instância enxerga um dado alterado aqui. Regiões não declaradas aqui fazem a aplicação falhar na
+ * subida, em vez de ganharem um cache sem limites.
+ * Métricas por região em /actuator/metrics/cache.gets?tag=cache:programas (usuarios, resumos,
+ * default-query-results-region).
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    private static final String PROGRAMAS = "programas";
+    private static final String USUARIOS = "usuarios";
+    private static final String RESUMOS = "resumos";
+
+    private record Regiao(String nome, long tamanhoMaximo, Duration ttl) {}
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerHibernate(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.programas.tamanho-maximo:1000}") long programasTamanho,
+            @Value("${app.cache.programas.ttl:1h}") Duration programasTtl,
+            @Value("${app.cache.usuarios.tamanho-maximo:10000}") long usuariosTamanho,
+            @Value("${app.cache.usuarios.ttl:10m}") Duration usuariosTtl,
+            @Value("${app.cache.resumos.tamanho-maximo:2000}") long resumosTamanho,
+            @Value("${app.cache.resumos.ttl:1h}") Duration resumosTtl,
+            @Value("${app.cache.consultas.tamanho-maximo:5000}") long consultasTamanho,
+            @Value("${app.cache.consultas.ttl:10m}") Duration consultasTtl) {
+        var provedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // URI própria: o provedor compartilha managers por URI na JVM, e os testes sobem vários contextos
+        CacheManager cacheManager = provedor.getCacheManager(
+                URI.create("repositorio-ppg:hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        var regioes = List.of(
+                new Regiao(PROGRAMAS, programasTamanho, programasTtl),
+                new Regiao(USUARIOS, usuariosTamanho, usuariosTtl),
+                new Regiao(RESUMOS, resumosTamanho, resumosTtl),
+                new Regiao(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, consultasTamanho, consultasTtl));
+        for (Regiao regiao : regioes) {
+            CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+            configuracao.setMaximumSize(OptionalLong.of(regiao.tamanhoMaximo()));
+            configuracao.setExpireAfterWrite(OptionalLong.of(regiao.ttl().toNanos()));
+            configuracao.setStatisticsEnabled(true);
+            JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(regiao.nome(), configuracao));
+        }
+
+        // Momento da última alteração de cada tabela, usado para invalidar o cache de consultas:
+        // não pode expirar nem ser despejado antes dos resultados que valida
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheManagerHibernate) {
+        return propriedades -> {
+            propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+            propriedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
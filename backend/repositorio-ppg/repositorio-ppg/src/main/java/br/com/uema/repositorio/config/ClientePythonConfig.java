@@ -0,0 +1,56 @@
+package br.com.uema.repositorio.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Cliente HTTP do serviço Python (Docling/Ollama): conexões keep-alive reaproveitadas de um pool e
+ * timeouts explícitos, para que um serviço travado não segure threads indefinidamente.
+ */
+@Configuration
+public class ClientePythonConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClientPython(
+            @Value("${app.python.timeout-conexao:2s}") Duration timeoutConexao,
+            @Value("${app.python.max-conexoes:20}") int maxConexoes) {
+
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConexoes)
+                .setMaxConnPerRoute(maxConexoes)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(timeoutConexao))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(pool)
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplatePython(
+            CloseableHttpClient httpClientPython,
+            @Value("${app.python.timeout-leitura:120s}") Duration timeoutLeitura,
+            @Value("${app.python.timeout-pool:2s}") Duration timeoutPool) {
+
+        var fabrica = new HttpComponentsClientHttpRequestFactory(httpClientPython);
+        fabrica.setReadTimeout(timeoutLeitura);
+        fabrica.setConnectionRequestTimeout(timeoutPool);
+        return new RestTemplate(fabrica);
+    }
+}
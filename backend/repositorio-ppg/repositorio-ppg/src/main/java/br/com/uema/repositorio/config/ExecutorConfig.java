@@ -0,0 +1,30 @@
+package br.com.uema.repositorio.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Jobs de resumo passam dezenas de segundos esperando Docling/Ollama: virtual threads não prendem
+    // threads do Tomcat nem de plataforma. O limite de concorrência fica no GeracaoResumoService.
+    @Bean(destroyMethod = "close")
+    public ExecutorService executorResumos() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Carga em lote: recebimento (hash) e gravação dos arquivos são E/S; o paralelismo é limitado no CargaDocumentosService
+    @Bean(destroyMethod = "close")
+    public ExecutorService executorUploads() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Uma virtual thread por inscrição de GET /eventos, quase sempre parada esperando o próximo evento
+    @Bean(destroyMethod = "close")
+    public ExecutorService executorEventos() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
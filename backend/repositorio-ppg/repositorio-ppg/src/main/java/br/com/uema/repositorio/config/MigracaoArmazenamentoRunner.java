@@ -0,0 +1,34 @@
+package br.com.uema.repositorio.config;
+
+import br.com.uema.repositorio.service.MigracaoArmazenamentoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comando de migração do armazenamento: {@code java -jar repositorio-ppg.jar --app.armazenamento.migrar=true}
+ * (junto com o app.armazenamento.tipo de destino). Migra e encerra a aplicação; sai com código 1 se algum
+ * arquivo faltou ou falhou.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.armazenamento.migrar", havingValue = "true")
+public class MigracaoArmazenamentoRunner implements CommandLineRunner {
+
+    private final MigracaoArmazenamentoService migracao;
+    private final ConfigurableApplicationContext contexto;
+
+    @Override
+    public void run(String... args) {
+        var resultado = migracao.migrar();
+        log.info("Migração do armazenamento concluída: {}", resultado);
+
+        int codigo = resultado.ausentes() + resultado.falhas() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(contexto, () -> codigo));
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.uema.repositorio.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,6 +43,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authorizeHttpRequests(authorize -> authorize
+                        // Continuação de respostas assíncronas (StreamingResponseBody): a requisição original já foi
+                        // autorizada, e o filtro do JWT não roda de novo nesse dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Permite OPTIONS para evitar erro de preflight no navegador
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
@@ -52,10 +57,13 @@ public class SecurityConfig {
                         // IMPORTANTE: Permite GET publicamente para a IA ler os documentos
                         .requestMatchers(HttpMethod.GET, "/documentos/**").permitAll()
 
+                        // Colheita OAI-PMH (biblioteca e agregadores): só metadados de documentos aprovados
+                        .requestMatchers("/oai").permitAll()
+
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
 
                         // Endpoints protegidos (Upload, Edição, Delete)
-                        .requestMatchers(HttpMethod.POST, "/documentos").hasAnyRole("ESTAGIARIO", "FUNCIONARIO", "GESTOR", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/documentos", "/documentos/lote").hasAnyRole("ESTAGIARIO", "FUNCIONARIO", "GESTOR", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/documentos/**").hasAnyRole("FUNCIONARIO", "GESTOR", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/documentos/**").hasAnyRole("FUNCIONARIO", "GESTOR", "ADMIN")
 
@@ -1,7 +1,5 @@
 package br.com.uema.repositorio.config;
 
-import br.com.uema.repositorio.repository.UsuarioRepository;
-import br.com.uema.repositorio.service.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,10 +17,7 @@ import java.io.IOException;
 public class SecurityFilter extends OncePerRequestFilter {
 
     @Autowired
-    private TokenService tokenService;
-
-    @Autowired
-    private UsuarioRepository usuarioRepository;
+    private CachePrincipais cachePrincipais;
 
     @Override
 
@@ -30,8 +25,7 @@ public class SecurityFilter extends OncePerRequestFilter {
         var tokenJWT = recuperarToken(request);
 
         if (tokenJWT != null) {
-            var subject = tokenService.getSubject(tokenJWT);
-            var usuario = usuarioRepository.findByEmail(subject).orElse(null);
+            var usuario = cachePrincipais.obter(tokenJWT);
 
             if (usuario != null) {
                 var authentication = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
@@ -1,10 +1,22 @@
 package br.com.uema.repositorio.controller;
 
+import br.com.uema.repositorio.dto.ContagemDTO;
+import br.com.uema.repositorio.dto.DecisaoAprovacaoDTO;
+import br.com.uema.repositorio.dto.EventoDTO;
 import br.com.uema.repositorio.dto.FluxoAprovacaoResponseDTO;
+import br.com.uema.repositorio.dto.PaginaCursorDTO;
+import br.com.uema.repositorio.dto.ResultadoItemLoteDTO;
 import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
 import br.com.uema.repositorio.enums.EstadoAprovacao;
 import br.com.uema.repositorio.exception.RecursoNaoEncontradoException;
 import br.com.uema.repositorio.repository.FluxoAprovacaoRepository;
+import br.com.uema.repositorio.service.AprovacaoService;
+import br.com.uema.repositorio.service.AuditoriaService;
+import br.com.uema.repositorio.service.EventosService;
+import br.com.uema.repositorio.service.VersaoCatalogo;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -20,17 +32,36 @@ import java.util.List;
 public class AprovacaoController {
 
     private final FluxoAprovacaoRepository fluxoRepository;
+    private final AprovacaoService aprovacaoService;
+    private final AuditoriaService auditoria;
+    private final VersaoCatalogo versaoCatalogo;
+    private final EventosService eventos;
 
     @GetMapping("/pendentes")
     @PreAuthorize("hasAnyRole('ADMIN', 'GESTOR')")
-    public ResponseEntity<List<FluxoAprovacaoResponseDTO>> listarPendentes() {
+    public ResponseEntity<PaginaCursorDTO<FluxoAprovacaoResponseDTO>> listarPendentes(
+            @RequestParam(required = false) Long programaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamanho) {
 
-        var pendentes = fluxoRepository.findAll().stream()
-                .filter(f -> f.getEstado() == EstadoAprovacao.PENDENTE)
-                .map(FluxoAprovacaoResponseDTO::new)
-                .toList();
+        return ResponseEntity.ok(aprovacaoService.listarPendentes(programaId, cursor, tamanho));
+    }
 
-        return ResponseEntity.ok(pendentes);
+    // Usado no badge da barra lateral: só um COUNT sobre o índice parcial
+    @GetMapping("/pendentes/count")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GESTOR')")
+    public ResponseEntity<ContagemDTO> contarPendentes(@RequestParam(required = false) Long programaId) {
+        return ResponseEntity.ok(new ContagemDTO(aprovacaoService.contarPendentes(programaId)));
+    }
+
+    @PatchMapping("/lote")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GESTOR')")
+    public ResponseEntity<List<ResultadoItemLoteDTO>> analisarEmLote(
+            @RequestBody @NotEmpty List<@Valid DecisaoAprovacaoDTO> decisoes,
+            @AuthenticationPrincipal Usuario gestor
+    ) {
+        // Auditoria e eventos de cada item processado ficam no serviço, que sabe o documento de cada fluxo
+        return ResponseEntity.ok(aprovacaoService.analisarEmLote(decisoes, gestor));
     }
 
     @PatchMapping("/{idFluxo}")
@@ -44,11 +75,23 @@ public class AprovacaoController {
         var fluxo = fluxoRepository.findById(idFluxo)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Fluxo não encontrado"));
 
-        fluxo.setEstado(aprovado ? EstadoAprovacao.APROVADO : EstadoAprovacao.REJEITADO);
+        fluxo.setEstado(estadoDecisao(aprovado));
         fluxo.setAprovador(gestor);
         fluxo.setComentarios(comentario);
 
         fluxoRepository.save(fluxo);
+        versaoCatalogo.alterado();
+        auditoria.registrar(acaoDecisao(aprovado), gestor, fluxo.getDocumento().getId(), comentario);
+        eventos.publicar(EventoDTO.aprovacaoDecidida(fluxo.getDocumento().getId(),
+                fluxo.getDocumento().getPrograma().getId(), idFluxo, fluxo.getEstado()));
         return ResponseEntity.noContent().build();
     }
+
+    private static EstadoAprovacao estadoDecisao(boolean aprovado) {
+        return aprovado ? EstadoAprovacao.APROVADO : EstadoAprovacao.REJEITADO;
+    }
+
+    private static AcaoAuditoria acaoDecisao(boolean aprovado) {
+        return aprovado ? AcaoAuditoria.APPROVE_DOCUMENT : AcaoAuditoria.REJECT_DOCUMENT;
+    }
 }
\ No newline at end of file
@@ -3,12 +3,15 @@ package br.com.uema.repositorio.controller;
 import br.com.uema.repositorio.dto.LoginRequestDTO;
 import br.com.uema.repositorio.dto.TokenResponseDTO;
 import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
+import br.com.uema.repositorio.service.AuditoriaService;
 import br.com.uema.repositorio.service.TokenService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -24,14 +27,24 @@ public class AutenticacaoController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private AuditoriaService auditoria;
+
     @PostMapping
     public ResponseEntity<TokenResponseDTO> efetuarLogin(@RequestBody @Valid LoginRequestDTO dados) {
         // O Spring Security faz a mágica de verificar a senha criptografada aqui
         var authenticationToken = new UsernamePasswordAuthenticationToken(dados.email(), dados.senha());
-        var authentication = manager.authenticate(authenticationToken);
+        Usuario usuario;
+        try {
+            usuario = (Usuario) manager.authenticate(authenticationToken).getPrincipal();
+        } catch (AuthenticationException e) {
+            auditoria.registrar(AcaoAuditoria.LOGIN_FAILED, null, null, dados.email());
+            throw e;
+        }
+        auditoria.registrar(AcaoAuditoria.LOGIN, usuario, null, null);
 
         // Se passar, gera o token
-        var tokenJWT = tokenService.gerarToken((Usuario) authentication.getPrincipal());
+        var tokenJWT = tokenService.gerarToken(usuario);
 
         return ResponseEntity.ok(new TokenResponseDTO(tokenJWT));
     }
@@ -1,18 +1,55 @@
 package br.com.uema.repositorio.controller;
 
+import br.com.uema.repositorio.dto.AlteracoesDocumentosDTO;
+import br.com.uema.repositorio.dto.BuscaInteligenteDTO;
+import br.com.uema.repositorio.dto.CargaDocumentosDTO;
+import br.com.uema.repositorio.dto.DocumentoMaisAcessadoDTO;
 import br.com.uema.repositorio.dto.DocumentoRequestDTO;
 import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.dto.FacetasDTO;
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+import br.com.uema.repositorio.dto.JobResumoDTO;
+import br.com.uema.repositorio.dto.PaginaCursorDTO;
+import br.com.uema.repositorio.dto.ResultadoBuscaDTO;
+import br.com.uema.repositorio.dto.ResultadoCargaDTO;
+import br.com.uema.repositorio.dto.VersaoDocumentoDTO;
 import br.com.uema.repositorio.entity.Usuario;
-import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.enums.PeriodoEstatistica;
+import br.com.uema.repositorio.enums.TipoAcesso;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.FacetaDocumentoRepository;
+import br.com.uema.repositorio.service.AlteracaoDocumentoService;
+import br.com.uema.repositorio.service.BuscaDocumentoService;
+import br.com.uema.repositorio.service.BuscaInteligenteService;
+import br.com.uema.repositorio.service.CargaDocumentosService;
 import br.com.uema.repositorio.service.DocumentoService;
+import br.com.uema.repositorio.service.EstatisticaAcessoService;
+import br.com.uema.repositorio.service.GeracaoResumoService;
+import br.com.uema.repositorio.service.ListagensCatalogo;
+import br.com.uema.repositorio.service.VersaoCatalogo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
 
 @RestController
@@ -23,7 +60,40 @@ public class DocumentoController {
     private DocumentoService documentoService;
 
     @Autowired
-    private DocumentoRepository documentoRepository;
+    private BuscaDocumentoService buscaDocumentoService;
+
+    @Autowired
+    private BuscaInteligenteService buscaInteligenteService;
+
+    @Autowired
+    private GeracaoResumoService geracaoResumoService;
+
+    @Autowired
+    private EntregaArquivos entregaArquivos;
+
+    @Autowired
+    private EstatisticaAcessoService estatisticaAcessoService;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Autowired
+    private ListagensCatalogo listagensCatalogo;
+
+    @Autowired
+    private FacetaDocumentoRepository facetaDocumentoRepository;
+
+    @Autowired
+    private AlteracaoDocumentoService alteracaoDocumentoService;
+
+    @Autowired
+    private CargaDocumentosService cargaDocumentosService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<DocumentoResponseDTO> enviarDocumento(
@@ -33,28 +103,157 @@ public class DocumentoController {
         return ResponseEntity.status(201).body(documento);
     }
 
-    @GetMapping
-    public ResponseEntity<List<DocumentoResponseDTO>> listarDocumentosPublicos() {
-        var docs = documentoRepository.findAllAprovados();
-        var dtos = docs.stream()
-                .map(DocumentoResponseDTO::new)
-                .toList();
+    // Arquivos grandes: corpo = bytes do arquivo, metadados (JSON em Base64) no header X-Metadados e nome no header
+    // X-Nome-Arquivo (URL-encoded). Fora da URL: descrições longas não esbarram no limite da linha de requisição
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<DocumentoResponseDTO> enviarDocumentoStreaming(
+            @RequestHeader("X-Metadados") String metadados,
+            @RequestHeader("X-Nome-Arquivo") String nomeArquivo,
+            InputStream conteudo,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        var dados = lerMetadados(metadados);
+        var nomeOriginal = URLDecoder.decode(nomeArquivo, StandardCharsets.UTF_8);
+        var documento = documentoService.uploadStreaming(dados, conteudo, nomeOriginal, usuarioLogado);
+        return ResponseEntity.status(201).body(documento);
+    }
 
-        return ResponseEntity.ok(dtos);
+    private DocumentoRequestDTO lerMetadados(String metadados) {
+        DocumentoRequestDTO dados;
+        try {
+            dados = objectMapper.readValue(Base64.getDecoder().decode(metadados), DocumentoRequestDTO.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new RegraNegocioException("Metadados inválidos: o header X-Metadados deve ser um JSON em Base64.");
+        }
+        var violacoes = validator.validate(dados);
+        if (!violacoes.isEmpty()) {
+            throw new RegraNegocioException(violacoes.iterator().next().getMessage());
+        }
+        return dados;
     }
 
-    @GetMapping("/download/{id}")
-    public ResponseEntity<Resource> baixarDocumento(@PathVariable Long id) {
-        var recurso = documentoService.download(id);
+    // Carga em lote: arquivos e/ou ZIPs na parte "arquivos", metadados (JSON) na parte "metadados"; resultado por arquivo
+    @PostMapping(value = "/lote", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<ResultadoCargaDTO>> enviarLote(
+            @RequestPart("arquivos") List<MultipartFile> arquivos,
+            @RequestPart(value = "metadados", required = false) @Valid CargaDocumentosDTO metadados,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        return ResponseEntity.ok(cargaDocumentosService.carregar(metadados, arquivos, usuarioLogado));
+    }
+
+    // Listagem completa mantida por compatibilidade (frontend e serviço Python); prefira /documentos/catalogo.
+    // ETag = versão do catálogo: If-None-Match atual responde 304 sem ir ao banco; senão o JSON sai do cache
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listarDocumentosPublicos(WebRequest requisicao) {
+        long versao = versaoCatalogo.atual();
+        if (requisicao.checkNotModified(VersaoCatalogo.etag(versao))) {
+            return null;
+        }
+        var listagem = listagensCatalogo.documentosAprovados(versao);
         return ResponseEntity.ok()
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + recurso.getFilename() + "\"")
-                .body(recurso);
+                .eTag(VersaoCatalogo.etag(listagem.versao()))
+                .cacheControl(CacheControl.noCache())
+                .body(listagem.json());
+    }
+
+    // Contagens por programa, tipo e ano (tabela agregada); mesmo ETag de versão do catálogo que GET /documentos
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasDTO> listarFacetas(
+            @RequestParam(required = false) Long programaId,
+            @RequestParam(required = false) TipoDocumento tipo,
+            @RequestParam(required = false) Integer ano,
+            WebRequest requisicao) {
+        String etag = VersaoCatalogo.etag(versaoCatalogo.atual());
+        if (requisicao.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(facetaDocumentoRepository.contar(programaId, tipo, ano));
+    }
+
+    @GetMapping("/catalogo")
+    public ResponseEntity<PaginaCursorDTO<DocumentoResponseDTO>> listarCatalogo(
+            @RequestParam(required = false) Long programaId,
+            @RequestParam(required = false) TipoDocumento tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+
+        var filtro = new FiltroCatalogoDTO(programaId, tipo, de, ate);
+        return ResponseEntity.ok(documentoService.listarCatalogo(filtro, cursor, tamanho));
+    }
+
+    // Sincronização incremental (serviço Python, frontend): sem cursor, carga inicial dos aprovados; com o cursor
+    // da resposta anterior, só o que mudou desde então, com lápides (REMOVIDO) para excluídos e reprovados
+    @GetMapping("/alteracoes")
+    public ResponseEntity<AlteracoesDocumentosDTO> listarAlteracoes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int tamanho) {
+        return ResponseEntity.ok(alteracaoDocumentoService.listar(cursor, tamanho));
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaCursorDTO<ResultadoBuscaDTO>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Long programaId,
+            @RequestParam(required = false) TipoDocumento tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+
+        var filtro = new FiltroCatalogoDTO(programaId, tipo, de, ate);
+        return ResponseEntity.ok(buscaDocumentoService.buscar(q, filtro, cursor, tamanho));
+    }
+
+    @GetMapping("/busca-inteligente")
+    public ResponseEntity<BuscaInteligenteDTO> buscarLinguagemNatural(@RequestParam String q) {
+        return ResponseEntity.ok(buscaInteligenteService.buscar(q));
+    }
+
+    // Ranking de documentos aprovados por downloads + visualizações no período (atualizado a cada app.estatisticas.intervalo)
+    @GetMapping("/mais-acessados")
+    public ResponseEntity<List<DocumentoMaisAcessadoDTO>> listarMaisAcessados(
+            @RequestParam(required = false) Long programaId,
+            @RequestParam(defaultValue = "MES") PeriodoEstatistica periodo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(estatisticaAcessoService.maisAcessados(programaId, periodo, limite));
+    }
+
+    // Suporta If-None-Match/If-Modified-Since (304) e Range/If-Range (206), para visualizadores de PDF e downloads retomados.
+    // visualizar=true abre no navegador (Content-Disposition: inline) e conta como visualização em vez de download
+    @GetMapping("/download/{id}")
+    public void baixarDocumento(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean visualizar,
+                                @AuthenticationPrincipal Usuario usuarioLogado,
+                                HttpServletRequest requisicao, HttpServletResponse resposta) throws IOException {
+        if (entregaArquivos.enviar(documentoService.download(id), visualizar, requisicao, resposta)) {
+            documentoService.registrarAcesso(id, usuarioLogado, visualizar ? TipoAcesso.VISUALIZACAO : TipoAcesso.DOWNLOAD);
+        }
+    }
+
+    // Arquivos substituídos, do mais recente para o mais antigo
+    @GetMapping("/{id}/versoes")
+    public ResponseEntity<PaginaCursorDTO<VersaoDocumentoDTO>> listarVersoes(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(documentoService.listarVersoes(id, cursor, tamanho));
+    }
+
+    @GetMapping("/{id}/versoes/{idVersao}/download")
+    public void baixarVersao(@PathVariable Long id, @PathVariable Long idVersao,
+                             @AuthenticationPrincipal Usuario usuarioLogado, HttpServletRequest requisicao,
+                             HttpServletResponse resposta) throws IOException {
+        if (entregaArquivos.enviar(documentoService.downloadVersao(id, idVersao), false, requisicao, resposta)) {
+            documentoService.registrarAcesso(id, usuarioLogado, TipoAcesso.DOWNLOAD);
+        }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirDocumento(@PathVariable Long id) {
-        documentoService.excluir(id);
+    public ResponseEntity<Void> excluirDocumento(@PathVariable Long id, @AuthenticationPrincipal Usuario usuarioLogado) {
+        documentoService.excluir(id, usuarioLogado);
         return ResponseEntity.noContent().build();
     }
 
@@ -68,8 +267,21 @@ public class DocumentoController {
         return ResponseEntity.ok(documentoAtualizado);
     }
 
+    // 200 com o resumo se já existir; senão 202 com o job (novo ou já em andamento) para consulta em /insights/jobs/{idJob}
     @PostMapping("/{id}/insights")
-    public ResponseEntity<String> obterInsights(@PathVariable Long id) {
-        return ResponseEntity.ok(documentoService.gerarOuObterResumo(id));
+    public ResponseEntity<JobResumoDTO> obterInsights(@PathVariable Long id,
+                                                      @AuthenticationPrincipal Usuario usuarioLogado) {
+        var job = geracaoResumoService.solicitar(id, usuarioLogado);
+        if (job.concluido()) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/documentos/insights/jobs/" + job.idJob()))
+                .body(job);
+    }
+
+    @GetMapping("/insights/jobs/{idJob}")
+    public ResponseEntity<JobResumoDTO> consultarJobInsights(@PathVariable Long idJob) {
+        return ResponseEntity.ok(geracaoResumoService.consultar(idJob));
     }
 }
\ No newline at end of file
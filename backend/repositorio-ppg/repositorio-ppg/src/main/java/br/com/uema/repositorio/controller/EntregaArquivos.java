@@ -0,0 +1,217 @@
+package br.com.uema.repositorio.controller;
+
+import br.com.uema.repositorio.dto.ArquivoDownloadDTO;
+import br.com.uema.repositorio.service.ArmazenamentoConteudo;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Escreve a resposta de download de um arquivo: ETag forte pelo SHA-256 do conteúdo, 304 para
+ * If-None-Match/If-Modified-Since, 206 para Range (vários intervalos viram multipart/byteranges)
+ * e 416 quando nenhum intervalo cabe no arquivo.
+ * <p>
+ * Conteúdo em disco local vai pelo sendfile do Tomcat quando o conector suporta (o kernel copia do page
+ * cache direto para o socket); nos demais casos, pelo {@link ArmazenamentoConteudo#copiar} do armazenamento
+ * ({@code FileChannel.transferTo} no disco, GET com Range no S3).
+ */
+@Component
+@RequiredArgsConstructor
+public class EntregaArquivos {
+
+    static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    private final ArmazenamentoConteudo conteudo;
+
+    private record Intervalo(long inicio, long fim) {
+        long tamanho() {
+            return fim - inicio + 1;
+        }
+
+        String conteudoRange(long total) {
+            return "bytes " + inicio + "-" + fim + "/" + total;
+        }
+    }
+
+    /**
+     * @param inline {@code Content-Disposition: inline} (abrir no navegador) em vez de attachment
+     * @return se a resposta leva o arquivo a partir do primeiro byte, ou seja, se conta como um novo download
+     * (revalidações 304, HEAD e intervalos de continuação não contam)
+     */
+    public boolean enviar(ArquivoDownloadDTO arquivo, boolean inline, HttpServletRequest requisicao,
+                          HttpServletResponse resposta) throws IOException {
+        String etag = etag(arquivo);
+        long ultimaAlteracao = arquivo.ultimaAlteracao().truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+
+        // Define ETag e Last-Modified; responde 304 (ou 412 para If-Match) sem corpo
+        if (new ServletWebRequest(requisicao, resposta).checkNotModified(etag, ultimaAlteracao)) {
+            return false;
+        }
+
+        // Sem isso o Spring Security marcaria no-store; no-cache permite guardar e revalidar pelo ETag
+        resposta.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        resposta.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        var disposicao = inline ? ContentDisposition.inline() : ContentDisposition.attachment();
+        resposta.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                disposicao.filename(arquivo.nomeArquivo()).build().toString());
+        String tipo = MediaTypeFactory.getMediaType(arquivo.nomeArquivo())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+
+        long tamanho = arquivo.tamanhoBytes();
+        List<Intervalo> intervalos = intervalosPedidos(requisicao, tamanho, etag, ultimaAlteracao);
+        boolean semCorpo = "HEAD".equals(requisicao.getMethod());
+
+        if (intervalos == null) {
+            resposta.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            resposta.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+            return false;
+        }
+        if (intervalos.size() > 1) {
+            enviarVariosIntervalos(arquivo.chave(), intervalos, tamanho, tipo, resposta, semCorpo);
+            return !semCorpo && intervalos.get(0).inicio() == 0;
+        } else {
+            Intervalo intervalo = intervalos.isEmpty() ? new Intervalo(0, tamanho - 1) : intervalos.get(0);
+            if (!intervalos.isEmpty()) {
+                resposta.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                resposta.setHeader(HttpHeaders.CONTENT_RANGE, intervalo.conteudoRange(tamanho));
+            }
+            resposta.setContentType(tipo);
+            resposta.setContentLengthLong(intervalo.tamanho());
+            if (!semCorpo && intervalo.tamanho() > 0) {
+                enviarIntervalo(arquivo.chave(), intervalo, requisicao, resposta);
+            }
+            return !semCorpo && intervalo.inicio() == 0;
+        }
+    }
+
+    static String etag(ArquivoDownloadDTO arquivo) {
+        if (arquivo.hashSha256() != null) {
+            return "\"" + arquivo.hashSha256() + "\"";
+        }
+        // Documentos sem hash: validador fraco por tamanho e data, que não serve para If-Range
+        return "W/\"" + Long.toHexString(arquivo.tamanhoBytes()) + "-"
+                + Long.toHexString(arquivo.ultimaAlteracao().toEpochMilli()) + "\"";
+    }
+
+    /**
+     * Intervalos a enviar: lista vazia para o arquivo inteiro e {@code null} quando nenhum intervalo é satisfazível.
+     * Range com sintaxe inválida, If-Range desatualizado ou intervalos que somados excedem o arquivo
+     * (sobrepostos) resultam no arquivo inteiro.
+     */
+    private static List<Intervalo> intervalosPedidos(HttpServletRequest requisicao, long tamanho, String etag,
+                                                     long ultimaAlteracao) {
+        String range = requisicao.getHeader(HttpHeaders.RANGE);
+        if (range == null || !aindaValido(requisicao.getHeader(HttpHeaders.IF_RANGE), etag, ultimaAlteracao)) {
+            return List.of();
+        }
+
+        List<HttpRange> pedidos;
+        try {
+            pedidos = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+
+        List<Intervalo> intervalos = new ArrayList<>();
+        long soma = 0;
+        for (HttpRange pedido : pedidos) {
+            try {
+                var intervalo = new Intervalo(pedido.getRangeStart(tamanho), pedido.getRangeEnd(tamanho));
+                if (intervalo.tamanho() > 0) {
+                    intervalos.add(intervalo);
+                    soma += intervalo.tamanho();
+                }
+            } catch (IllegalArgumentException e) {
+                // intervalo começa depois do fim do arquivo: descartado
+            }
+        }
+        if (intervalos.isEmpty()) {
+            return null;
+        }
+        return soma > tamanho ? List.of() : intervalos;
+    }
+
+    private static boolean aindaValido(String ifRange, String etag, long ultimaAlteracao) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            // Comparação forte: um ETag fraco (W/...) nunca é igual
+            return ifRange.equals(etag);
+        }
+        try {
+            return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() == ultimaAlteracao;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private void enviarIntervalo(String chave, Intervalo intervalo, HttpServletRequest requisicao,
+                                 HttpServletResponse resposta) throws IOException {
+        Optional<Path> local = conteudo.arquivoLocal(chave);
+        if (local.isPresent() && Boolean.TRUE.equals(requisicao.getAttribute(SENDFILE_SUPORTADO))) {
+            // O Tomcat envia o arquivo depois que a requisição sai do servlet; fim exclusivo
+            requisicao.setAttribute(SENDFILE_ARQUIVO, local.get().toAbsolutePath().toString());
+            requisicao.setAttribute(SENDFILE_INICIO, intervalo.inicio());
+            requisicao.setAttribute(SENDFILE_FIM, intervalo.fim() + 1);
+            return;
+        }
+        conteudo.copiar(chave, intervalo.inicio(), intervalo.fim(), resposta.getOutputStream());
+    }
+
+    private void enviarVariosIntervalos(String chave, List<Intervalo> intervalos, long tamanho, String tipo,
+                                        HttpServletResponse resposta, boolean semCorpo) throws IOException {
+        String fronteira = new String(MimeTypeUtils.generateMultipartBoundary(), StandardCharsets.US_ASCII);
+        List<byte[]> cabecalhos = new ArrayList<>();
+        long total = 0;
+        for (Intervalo intervalo : intervalos) {
+            byte[] cabecalho = ("\r\n--" + fronteira + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + tipo + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + intervalo.conteudoRange(tamanho) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            cabecalhos.add(cabecalho);
+            total += cabecalho.length + intervalo.tamanho();
+        }
+        byte[] fim = ("\r\n--" + fronteira + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        total += fim.length;
+
+        resposta.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        resposta.setContentType("multipart/byteranges; boundary=" + fronteira);
+        resposta.setContentLengthLong(total);
+        if (semCorpo) {
+            return;
+        }
+
+        OutputStream saida = resposta.getOutputStream();
+        for (int i = 0; i < intervalos.size(); i++) {
+            saida.write(cabecalhos.get(i));
+            conteudo.copiar(chave, intervalos.get(i).inicio(), intervalos.get(i).fim(), saida);
+        }
+        saida.write(fim);
+    }
+}
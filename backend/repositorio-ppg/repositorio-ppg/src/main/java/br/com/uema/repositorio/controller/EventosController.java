@@ -0,0 +1,31 @@
+package br.com.uema.repositorio.controller;
+
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.service.EventosService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/eventos")
+@RequiredArgsConstructor
+public class EventosController {
+
+    private final EventosService eventosService;
+
+    // Server-Sent Events filtrados pelo perfil do usuário; o token vai no cabeçalho Authorization como nas demais rotas
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> inscrever(@AuthenticationPrincipal Usuario usuario) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Proxies como o nginx não devem acumular os eventos em buffer
+                .header("X-Accel-Buffering", "no")
+                .body(eventosService.inscrever(usuario));
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.uema.repositorio.controller;
+
+import br.com.uema.repositorio.service.OaiPmhService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+
+@RestController
+@RequestMapping("/oai")
+@RequiredArgsConstructor
+public class OaiPmhController {
+
+    private final OaiPmhService oaiPmhService;
+
+    // OAI-PMH aceita GET e POST (application/x-www-form-urlencoded); erros do protocolo também saem com 200
+    @RequestMapping(method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<StreamingResponseBody> responder(HttpServletRequest requisicao) {
+        var resposta = oaiPmhService.responder(new LinkedHashMap<>(requisicao.getParameterMap()),
+                ServletUriComponentsBuilder.fromContextPath(requisicao).toUriString());
+        StreamingResponseBody corpo = resposta::escrever;
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_XML, StandardCharsets.UTF_8))
+                .body(corpo);
+    }
+}
@@ -1,32 +1,64 @@
 package br.com.uema.repositorio.controller;
 
-import br.com.uema.repositorio.dto.ProgramaResponseDTO;
-import br.com.uema.repositorio.repository.ProgramaRepository;
+import br.com.uema.repositorio.service.ExportacaoProgramaService;
+import br.com.uema.repositorio.service.ListagensCatalogo;
+import br.com.uema.repositorio.service.VersaoCatalogo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/programas")
 public class ProgramaController {
 
     @Autowired
-    private ProgramaRepository programaRepository;
+    private VersaoCatalogo versaoCatalogo;
 
-    @GetMapping
-    public ResponseEntity<List<ProgramaResponseDTO>> listarProgramas() {
-        // Busca todos os programas do banco
-        var programas = programaRepository.findAll();
+    @Autowired
+    private ListagensCatalogo listagensCatalogo;
+
+    @Autowired
+    private ExportacaoProgramaService exportacaoProgramaService;
 
-        // Converte para DTO
-        var dtos = programas.stream()
-                .map(ProgramaResponseDTO::new)
-                .toList();
+    // Mesmo ETag de GET /documentos: 304 sem ir ao banco enquanto o catálogo não muda
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listarProgramas(WebRequest requisicao) {
+        long versao = versaoCatalogo.atual();
+        if (requisicao.checkNotModified(VersaoCatalogo.etag(versao))) {
+            return null;
+        }
+        var listagem = listagensCatalogo.programas(versao);
+        return ResponseEntity.ok()
+                .eTag(VersaoCatalogo.etag(listagem.versao()))
+                .cacheControl(CacheControl.noCache())
+                .body(listagem.json());
+    }
 
-        return ResponseEntity.ok(dtos);
+    // Documentos aprovados do programa num ZIP gerado durante o envio (sem Content-Length), com manifesto.csv no fim
+    @GetMapping("/{id}/export.zip")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        var programa = exportacaoProgramaService.programa(id, de, ate);
+        String nome = (programa.getSigla() != null ? programa.getSigla() : "programa-" + id) + "-documentos.zip";
+        StreamingResponseBody corpo = saida -> exportacaoProgramaService.exportar(id, de, ate, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(nome).build().toString())
+                .body(corpo);
     }
-}
\ No newline at end of file
+}
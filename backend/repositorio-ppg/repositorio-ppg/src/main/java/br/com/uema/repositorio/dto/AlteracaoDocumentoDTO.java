@@ -0,0 +1,13 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.TipoAlteracao;
+
+/**
+ * Item do feed de alterações: o estado atual do documento (ATUALIZADO) ou uma lápide (REMOVIDO, sem
+ * {@code documento}) quando ele foi excluído ou deixou de estar aprovado.
+ */
+public record AlteracaoDocumentoDTO(
+        Long id,
+        TipoAlteracao tipo,
+        DocumentoResponseDTO documento
+) {}
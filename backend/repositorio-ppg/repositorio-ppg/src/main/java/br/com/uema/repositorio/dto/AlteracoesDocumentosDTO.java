@@ -0,0 +1,13 @@
+package br.com.uema.repositorio.dto;
+
+import java.util.List;
+
+/**
+ * Página do feed de alterações. {@code cursor} vem sempre preenchido (mesmo sem alterações) e é o que o cliente
+ * guarda para a próxima consulta; {@code temMais} indica que já há outra página esperando.
+ */
+public record AlteracoesDocumentosDTO(
+        List<AlteracaoDocumentoDTO> alteracoes,
+        String cursor,
+        boolean temMais
+) {}
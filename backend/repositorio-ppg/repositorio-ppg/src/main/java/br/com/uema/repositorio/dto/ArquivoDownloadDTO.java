@@ -0,0 +1,11 @@
+package br.com.uema.repositorio.dto;
+
+import java.time.Instant;
+
+public record ArquivoDownloadDTO(
+        String chave,
+        String nomeArquivo,
+        String hashSha256,
+        long tamanhoBytes,
+        Instant ultimaAlteracao
+) {}
@@ -0,0 +1,9 @@
+package br.com.uema.repositorio.dto;
+
+import java.util.List;
+
+public record BuscaInteligenteDTO(
+        ConsultaInterpretadaDTO interpretacao,
+        String origem,
+        List<DocumentoResponseDTO> itens
+) {}
@@ -0,0 +1,30 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Metadados da carga em lote (parte "metadados" de POST /documentos/lote). Os campos de fora valem para todos
+ * os arquivos; cada item, casado pelo nome do arquivo (ou da entrada do ZIP), pode sobrescrevê-los.
+ * Sem título, o documento leva o nome do arquivo sem a extensão.
+ */
+public record CargaDocumentosDTO(
+        Long programaId,
+        TipoDocumento tipo,
+        LocalDate dataPublicacao,
+        List<@Valid Item> itens
+) {
+    public record Item(
+            @NotBlank(message = "O nome do arquivo é obrigatório")
+            String arquivo,
+            String titulo,
+            String descricao,
+            TipoDocumento tipo,
+            LocalDate dataPublicacao,
+            Long programaId
+    ) {}
+}
@@ -0,0 +1,28 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado da interpretação de uma busca em linguagem natural.
+ * textoLivre é o que sobrou depois de extrair programa, tipo e período; vai para a busca textual.
+ * confianca é a fração dos termos relevantes que o interpretador conseguiu resolver (0 a 1).
+ */
+public record ConsultaInterpretadaDTO(
+        Long programaId,
+        String siglaPrograma,
+        TipoDocumento tipo,
+        LocalDate de,
+        LocalDate ate,
+        String textoLivre,
+        double confianca
+) {
+    public FiltroCatalogoDTO filtro() {
+        return new FiltroCatalogoDTO(programaId, tipo, de, ate);
+    }
+
+    public boolean possuiTextoLivre() {
+        return textoLivre != null && !textoLivre.isBlank();
+    }
+}
@@ -0,0 +1,3 @@
+package br.com.uema.repositorio.dto;
+
+public record ContagemDTO(long total) {}
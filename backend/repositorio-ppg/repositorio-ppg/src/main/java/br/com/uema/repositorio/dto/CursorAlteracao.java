@@ -0,0 +1,32 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.exception.RegraNegocioException;
+
+/**
+ * Posição no feed de alterações, ordenado por sequência e id do documento. {@code versaoInicial} só existe na
+ * primeira sincronização de um cliente sem cursor, que recebe só os documentos visíveis, sem lápides: é a versão
+ * do catálogo quando ela começou, de onde o feed continua depois da última página.
+ */
+public record CursorAlteracao(Long sequencia, Long documentoId, Long versaoInicial) {
+
+    public boolean cargaInicial() {
+        return versaoInicial != null;
+    }
+
+    public String codificar() {
+        return CursorCodec.codificar(sequencia, documentoId, versaoInicial != null ? versaoInicial : "");
+    }
+
+    public static CursorAlteracao decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] chaves = CursorCodec.decodificar(token, 3);
+        try {
+            return new CursorAlteracao(Long.parseLong(chaves[0]), Long.parseLong(chaves[1]),
+                    chaves[2].isEmpty() ? null : Long.parseLong(chaves[2]));
+        } catch (NumberFormatException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido");
+        }
+    }
+}
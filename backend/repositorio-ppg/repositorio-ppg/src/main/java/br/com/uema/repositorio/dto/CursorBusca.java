@@ -0,0 +1,25 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.exception.RegraNegocioException;
+
+/**
+ * Posição de paginação (keyset) na busca textual, ordenada por relevância (ts_rank) e id.
+ */
+public record CursorBusca(float relevancia, Long id) {
+
+    public String codificar() {
+        return CursorCodec.codificar(relevancia, id);
+    }
+
+    public static CursorBusca decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] chaves = CursorCodec.decodificar(token, 2);
+        try {
+            return new CursorBusca(Float.parseFloat(chaves[0]), Long.parseLong(chaves[1]));
+        } catch (NumberFormatException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido");
+        }
+    }
+}
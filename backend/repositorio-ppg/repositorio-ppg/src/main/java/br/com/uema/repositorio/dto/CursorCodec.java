@@ -0,0 +1,41 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.exception.RegraNegocioException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica as chaves de um cursor keyset em um token opaco (Base64 URL-safe) e vice-versa.
+ */
+final class CursorCodec {
+
+    private static final String SEPARADOR = "|";
+
+    private CursorCodec() {}
+
+    static String codificar(Object... chaves) {
+        var bruto = new StringBuilder();
+        for (Object chave : chaves) {
+            if (!bruto.isEmpty()) {
+                bruto.append(SEPARADOR);
+            }
+            bruto.append(chave);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodificar(String token, int quantidadeChaves) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // -1: chaves vazias no fim (opcionais ausentes) continuam contando
+            String[] partes = bruto.split("\\" + SEPARADOR, -1);
+            if (partes.length != quantidadeChaves) {
+                throw new IllegalArgumentException("Quantidade de chaves inesperada");
+            }
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido");
+        }
+    }
+}
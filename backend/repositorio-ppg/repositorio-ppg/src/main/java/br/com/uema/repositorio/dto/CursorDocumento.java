@@ -0,0 +1,29 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.exception.RegraNegocioException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Posição de paginação (keyset) no catálogo, ordenado por data de publicação e id.
+ * Trafega para o cliente como um token opaco em Base64 URL-safe.
+ */
+public record CursorDocumento(LocalDate dataPublicacao, Long id) {
+
+    public String codificar() {
+        return CursorCodec.codificar(dataPublicacao, id);
+    }
+
+    public static CursorDocumento decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] chaves = CursorCodec.decodificar(token, 2);
+        try {
+            return new CursorDocumento(LocalDate.parse(chaves[0]), Long.parseLong(chaves[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.exception.RegraNegocioException;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Posição de paginação (keyset) na fila de aprovação, ordenada por data de solicitação e id.
+ */
+public record CursorFluxo(OffsetDateTime createdAt, Long id) {
+
+    public String codificar() {
+        return CursorCodec.codificar(createdAt, id);
+    }
+
+    public static CursorFluxo decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] chaves = CursorCodec.decodificar(token, 2);
+        try {
+            return new CursorFluxo(OffsetDateTime.parse(chaves[0]), Long.parseLong(chaves[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido");
+        }
+    }
+}
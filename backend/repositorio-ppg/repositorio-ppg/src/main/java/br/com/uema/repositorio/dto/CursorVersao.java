@@ -0,0 +1,25 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.exception.RegraNegocioException;
+
+/**
+ * Posição de paginação (keyset) no histórico de versões de um documento, ordenado por id decrescente.
+ */
+public record CursorVersao(Long id) {
+
+    public String codificar() {
+        return CursorCodec.codificar(id);
+    }
+
+    public static CursorVersao decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] chaves = CursorCodec.decodificar(token, 1);
+        try {
+            return new CursorVersao(Long.parseLong(chaves[0]));
+        } catch (NumberFormatException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido");
+        }
+    }
+}
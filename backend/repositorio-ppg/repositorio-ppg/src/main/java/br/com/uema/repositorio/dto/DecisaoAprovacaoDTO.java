@@ -0,0 +1,16 @@
+package br.com.uema.repositorio.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record DecisaoAprovacaoDTO(
+        @NotNull(message = "O ID do fluxo é obrigatório")
+        Long idFluxo,
+
+        @NotNull(message = "Informe se o documento foi aprovado")
+        Boolean aprovado,
+
+        String comentario,
+
+        // Opcional: versão lida pelo cliente; se divergir, o item volta como CONFLITO
+        Long versao
+) {}
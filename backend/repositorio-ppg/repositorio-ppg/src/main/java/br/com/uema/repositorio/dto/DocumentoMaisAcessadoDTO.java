@@ -0,0 +1,19 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+
+public record DocumentoMaisAcessadoDTO(
+        Long id,
+        String titulo,
+        TipoDocumento tipo,
+        Long programaId,
+        String nomePrograma,
+        long downloads,
+        long visualizacoes,
+        String urlDownload
+) {
+    public DocumentoMaisAcessadoDTO(Long id, String titulo, TipoDocumento tipo, Long programaId, String nomePrograma,
+                                    long downloads, long visualizacoes) {
+        this(id, titulo, tipo, programaId, nomePrograma, downloads, visualizacoes, "/documentos/download/" + id);
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.uema.repositorio.dto;
 
 import br.com.uema.repositorio.enums.TipoDocumento;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -30,5 +31,7 @@ public class DocumentoRequestDTO {
     private Long programaId;
 
     //@NotNull(message = "O arquivo é obrigatório")
+    // Só no multipart: no upload em streaming os metadados chegam em JSON e o arquivo é o corpo
+    @JsonIgnore
     private MultipartFile arquivo;
 }
\ No newline at end of file
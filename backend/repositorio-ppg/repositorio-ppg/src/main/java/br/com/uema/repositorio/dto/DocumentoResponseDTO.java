@@ -26,9 +26,24 @@ public record DocumentoResponseDTO(
                 doc.getTipo(),
                 doc.getPrograma().getId(),
                 doc.getPrograma().getNome(),
-                doc.getUsuario() != null ? doc.getUsuario().getNome() : "Desconhecido",
-                "/documentos/download/" + doc.getId(),
+                doc.getUsuario() != null ? doc.getUsuario().getNome() : null,
                 doc.getDataPublicacao()
         );
     }
-}
\ No newline at end of file
+
+    // Usado em "SELECT new ..." (JPQL/Criteria): monta o DTO direto das colunas, sem carregar associações LAZY
+    public DocumentoResponseDTO(Long id, String titulo, String descricao, TipoDocumento tipo,
+                                Long programaId, String nomePrograma, String nomeAutor, LocalDate dataPublicacao) {
+        this(
+                id,
+                titulo,
+                descricao,
+                tipo,
+                programaId,
+                nomePrograma,
+                nomeAutor != null ? nomeAutor : "Desconhecido",
+                "/documentos/download/" + id,
+                dataPublicacao
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.AcaoAuditoria;
+
+import java.time.Instant;
+
+public record EventoAuditoriaDTO(
+        AcaoAuditoria acao,
+        Long usuarioId,
+        Long documentoId,
+        String descricao,
+        Instant ocorridoEm
+) {}
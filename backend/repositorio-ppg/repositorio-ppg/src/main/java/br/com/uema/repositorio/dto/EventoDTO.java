@@ -0,0 +1,31 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.EstadoJobResumo;
+import br.com.uema.repositorio.enums.TipoEvento;
+
+/**
+ * Dados de um evento de GET /eventos. Só identificadores e o novo estado: o cliente busca o resto pelos
+ * endpoints de sempre quando precisar. Campos que não se aplicam ao tipo vêm nulos.
+ */
+public record EventoDTO(
+        TipoEvento tipo,
+        Long documentoId,
+        Long programaId,
+        Long idFluxo,
+        Long idJob,
+        String estado
+) {
+    public static EventoDTO aprovacaoPendente(Long documentoId, Long programaId, Long idFluxo) {
+        return new EventoDTO(TipoEvento.APROVACAO_PENDENTE, documentoId, programaId, idFluxo, null,
+                EstadoAprovacao.PENDENTE.name());
+    }
+
+    public static EventoDTO aprovacaoDecidida(Long documentoId, Long programaId, Long idFluxo, EstadoAprovacao estado) {
+        return new EventoDTO(TipoEvento.APROVACAO_DECIDIDA, documentoId, programaId, idFluxo, null, estado.name());
+    }
+
+    public static EventoDTO resumoAtualizado(Long documentoId, Long idJob, EstadoJobResumo estado) {
+        return new EventoDTO(TipoEvento.RESUMO_ATUALIZADO, documentoId, null, null, idJob, estado.name());
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+
+import java.util.List;
+
+/**
+ * Contagens de documentos aprovados. Cada faceta aplica os filtros das outras, mas não o próprio, para que o
+ * usuário veja quantos documentos teria ao trocar de opção; {@code total} aplica todos.
+ */
+public record FacetasDTO(
+        long total,
+        List<Programa> programas,
+        List<Tipo> tipos,
+        List<Ano> anos
+) {
+    public record Programa(Long id, String sigla, String nome, long quantidade) {}
+
+    public record Tipo(TipoDocumento tipo, long quantidade) {}
+
+    public record Ano(int ano, long quantidade) {}
+}
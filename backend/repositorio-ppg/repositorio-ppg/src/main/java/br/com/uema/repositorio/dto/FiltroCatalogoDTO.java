@@ -0,0 +1,12 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+
+import java.time.LocalDate;
+
+public record FiltroCatalogoDTO(
+        Long programaId,
+        TipoDocumento tipo,
+        LocalDate de,
+        LocalDate ate
+) {}
@@ -2,27 +2,52 @@ package br.com.uema.repositorio.dto;
 
 import br.com.uema.repositorio.entity.FluxoAprovacao;
 import br.com.uema.repositorio.enums.EstadoAprovacao;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 
 public record FluxoAprovacaoResponseDTO(
         Long idFluxo,
         EstadoAprovacao estado,
+        // Enviada de volta em PATCH /aprovacoes/lote: se o fluxo mudou desde a leitura, o item volta como CONFLITO
+        Long versao,
         String tituloDocumento,
         Long idDocumento,
         String nomeAutor,
         String nomePrograma,
-        String dataSolicitacao
+        String dataSolicitacao,
+        // Chave de paginação da fila; o cliente recebe só dataSolicitacao formatada
+        @JsonIgnore OffsetDateTime createdAt
 ) {
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     public FluxoAprovacaoResponseDTO(FluxoAprovacao fluxo) {
         this(
                 fluxo.getId(),
                 fluxo.getEstado(),
+                fluxo.getVersao(),
                 fluxo.getDocumento().getTitulo(),
                 fluxo.getDocumento().getId(),
-                fluxo.getDocumento().getUsuario().getNome(),
+                fluxo.getDocumento().getUsuario() != null ? fluxo.getDocumento().getUsuario().getNome() : null,
                 fluxo.getDocumento().getPrograma().getNome(),
-                fluxo.getCreatedAt().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))
+                fluxo.getCreatedAt()
+        );
+    }
+
+    // Usado em "SELECT new ..." (JPQL): uma linha por fluxo, sem navegar documento/usuario/programa
+    public FluxoAprovacaoResponseDTO(Long idFluxo, EstadoAprovacao estado, Long versao, String tituloDocumento,
+                                     Long idDocumento, String nomeAutor, String nomePrograma, OffsetDateTime createdAt) {
+        this(
+                idFluxo,
+                estado,
+                versao,
+                tituloDocumento,
+                idDocumento,
+                nomeAutor != null ? nomeAutor : "Desconhecido",
+                nomePrograma,
+                createdAt.format(FORMATO_DATA),
+                createdAt
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.EstadoJobResumo;
+
+/**
+ * Situação da geração de resumo de um documento. {@code resumo} só vem preenchido quando CONCLUIDO;
+ * {@code idJob} é nulo quando o resumo já existia e nenhum job precisou ser criado.
+ */
+public record JobResumoDTO(
+        Long idJob,
+        Long documentoId,
+        EstadoJobResumo estado,
+        String resumo,
+        String erro
+) {
+    public boolean concluido() {
+        return estado == EstadoJobResumo.CONCLUIDO;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.uema.repositorio.dto;
+
+import java.util.List;
+
+public record PaginaCursorDTO<T>(
+        List<T> itens,
+        String proximoCursor
+) {}
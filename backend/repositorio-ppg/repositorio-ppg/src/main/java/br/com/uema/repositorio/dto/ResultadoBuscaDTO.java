@@ -0,0 +1,7 @@
+package br.com.uema.repositorio.dto;
+
+public record ResultadoBuscaDTO(
+        DocumentoResponseDTO documento,
+        String trecho,
+        float relevancia
+) {}
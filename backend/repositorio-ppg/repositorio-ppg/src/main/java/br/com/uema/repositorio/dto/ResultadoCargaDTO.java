@@ -0,0 +1,10 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.SituacaoItemLote;
+
+public record ResultadoCargaDTO(
+        String arquivo,
+        SituacaoItemLote situacao,
+        Long documentoId,
+        String mensagem
+) {}
@@ -0,0 +1,9 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.enums.SituacaoItemLote;
+
+public record ResultadoItemLoteDTO(
+        Long idFluxo,
+        SituacaoItemLote situacao,
+        String mensagem
+) {}
@@ -0,0 +1,37 @@
+package br.com.uema.repositorio.dto;
+
+import br.com.uema.repositorio.exception.RegraNegocioException;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * resumptionToken do OAI-PMH: posição keyset (datestamp, id) do último registro enviado, mais a seleção do
+ * pedido original (set e intervalo já resolvido em instantes, {@code ate} exclusivo) e quantos registros já
+ * foram enviados. Não guarda estado no servidor, então não expira.
+ */
+public record TokenRetomadaOai(String set, Instant de, Instant ate, Instant atualizadoEm, Long id, long enviados) {
+
+    public String codificar() {
+        return CursorCodec.codificar(atualizadoEm, id, enviados, opcional(set), opcional(de), opcional(ate));
+    }
+
+    public static TokenRetomadaOai decodificar(String token) {
+        String[] chaves = CursorCodec.decodificar(token, 6);
+        try {
+            return new TokenRetomadaOai(
+                    chaves[3].isEmpty() ? null : chaves[3],
+                    chaves[4].isEmpty() ? null : Instant.parse(chaves[4]),
+                    chaves[5].isEmpty() ? null : Instant.parse(chaves[5]),
+                    Instant.parse(chaves[0]),
+                    Long.parseLong(chaves[1]),
+                    Long.parseLong(chaves[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido");
+        }
+    }
+
+    private static Object opcional(Object valor) {
+        return valor != null ? valor : "";
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.uema.repositorio.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Arquivo anterior de um documento. {@code urlDownload} é nulo quando o arquivo já expirou pela retenção.
+ */
+public record VersaoDocumentoDTO(
+        Long id,
+        String nomeArquivo,
+        String hashSha256,
+        Long tamanhoBytes,
+        String substituidoPor,
+        String observacao,
+        OffsetDateTime substituidoEm,
+        String urlDownload
+) {
+    // Usado em "SELECT new ..." (JPQL)
+    public VersaoDocumentoDTO(Long id, Long documentoId, String nomeArquivo, String hashSha256, Long tamanhoBytes,
+                              String substituidoPor, String observacao, OffsetDateTime substituidoEm,
+                              OffsetDateTime arquivoExpiradoEm) {
+        this(
+                id,
+                nomeArquivo,
+                hashSha256,
+                tamanhoBytes,
+                substituidoPor,
+                observacao,
+                substituidoEm,
+                arquivoExpiradoEm == null ? "/documentos/" + documentoId + "/versoes/" + id + "/download" : null
+        );
+    }
+}
@@ -14,7 +14,9 @@ import java.time.OffsetDateTime;
 public class Documento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com incremento 50 (V14): ids reservados em bloco, INSERTs em batch na carga em lote
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documentos_id_seq")
+    @SequenceGenerator(name = "documentos_id_seq", sequenceName = "documentos_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +35,17 @@ public class Documento {
     @Column(name = "caminho_arquivo", nullable = false)
     private String caminhoArquivo;
 
+    // Nome original (sanitizado) para o download; o arquivo físico é nomeado pelo hash
+    @Column(name = "nome_arquivo")
+    private String nomeArquivo;
+
+    // Calculados durante a gravação do upload; nulos em documentos anteriores à V8
+    @Column(name = "hash_sha256", length = 64)
+    private String hashSha256;
+
+    @Column(name = "tamanho_bytes")
+    private Long tamanhoBytes;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "programa_id", nullable = false)
     private Programa programa;
@@ -0,0 +1,51 @@
+package br.com.uema.repositorio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.OffsetDateTime;
+
+/**
+ * Arquivo anterior de um documento, registrado quando o arquivo é substituído. Enquanto
+ * {@code arquivoExpiradoEm} for nulo, a versão mantém uma referência ao conteúdo (ou o arquivo legado).
+ */
+@Entity
+@Table(name = "documento_versoes")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DocumentoVersao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "documento_id", nullable = false)
+    private Documento documento;
+
+    @Column(name = "caminho_arquivo", nullable = false, columnDefinition = "TEXT")
+    private String caminhoArquivo;
+
+    @Column(name = "nome_arquivo")
+    private String nomeArquivo;
+
+    @Column(name = "hash_sha256", length = 64)
+    private String hashSha256;
+
+    @Column(name = "tamanho_bytes")
+    private Long tamanhoBytes;
+
+    // Quem substituiu o arquivo
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id")
+    private Usuario usuario;
+
+    @Column(columnDefinition = "TEXT")
+    private String observacao;
+
+    @Column(name = "arquivo_expirado_em")
+    private OffsetDateTime arquivoExpiradoEm;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
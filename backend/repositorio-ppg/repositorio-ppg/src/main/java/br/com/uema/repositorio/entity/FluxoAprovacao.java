@@ -13,7 +13,8 @@ import java.time.OffsetDateTime;
 public class FluxoAprovacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fluxo_aprovacao_id_seq")
+    @SequenceGenerator(name = "fluxo_aprovacao_id_seq", sequenceName = "fluxo_aprovacao_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -31,6 +32,9 @@ public class FluxoAprovacao {
     @Column(columnDefinition = "TEXT")
     private String comentarios;
 
+    @Version
+    private Long versao;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -0,0 +1,42 @@
+package br.com.uema.repositorio.entity;
+
+import br.com.uema.repositorio.enums.EstadoJobResumo;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "jobs_resumo")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class JobResumo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "documento_id", nullable = false)
+    private Documento documento;
+
+    // Só quem pediu o job é avisado quando ele termina; quem pega carona num job em andamento consulta o job
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "solicitante_id")
+    private Usuario solicitante;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "estado_job_resumo", nullable = false)
+    private EstadoJobResumo estado;
+
+    @Column(columnDefinition = "TEXT")
+    private String erro;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -2,11 +2,14 @@ package br.com.uema.repositorio.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.OffsetDateTime;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "programas")
 @Table(name = "programas")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Programa {
@@ -0,0 +1,25 @@
+package br.com.uema.repositorio.enums;
+
+/**
+ * Ações gravadas na tabela logs. As descartáveis são perdidas primeiro quando a fila de auditoria enche.
+ */
+public enum AcaoAuditoria {
+    UPLOAD(false),
+    DOWNLOAD(true),
+    LOGIN(false),
+    LOGIN_FAILED(false),
+    UPDATE_DOCUMENT(false),
+    DELETE_DOCUMENT(false),
+    APPROVE_DOCUMENT(false),
+    REJECT_DOCUMENT(false);
+
+    private final boolean descartavel;
+
+    AcaoAuditoria(boolean descartavel) {
+        this.descartavel = descartavel;
+    }
+
+    public boolean descartavel() {
+        return descartavel;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.uema.repositorio.enums;
+
+import java.time.LocalDate;
+
+/**
+ * Janela do ranking de acessos, contada em dias até hoje (inclusive).
+ */
+public enum PeriodoEstatistica {
+    DIA(1), SEMANA(7), MES(30), ANO(365), TOTAL(0);
+
+    private final int dias;
+
+    PeriodoEstatistica(int dias) {
+        this.dias = dias;
+    }
+
+    /**
+     * Primeiro dia da janela, ou {@code null} para todo o histórico.
+     */
+    public LocalDate inicio(LocalDate hoje) {
+        return dias == 0 ? null : hoje.minusDays(dias - 1L);
+    }
+}
@@ -0,0 +1,5 @@
+package br.com.uema.repositorio.enums;
+
+public enum SituacaoItemLote {
+    PROCESSADO, NAO_ENCONTRADO, CONFLITO, INVALIDO;
+}
@@ -0,0 +1,5 @@
+package br.com.uema.repositorio.enums;
+
+public enum TipoAcesso {
+    DOWNLOAD, VISUALIZACAO;
+}
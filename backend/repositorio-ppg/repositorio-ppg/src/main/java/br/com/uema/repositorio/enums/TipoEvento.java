@@ -0,0 +1,27 @@
+package br.com.uema.repositorio.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Eventos enviados em GET /eventos (nome do evento SSE) e os perfis que os recebem.
+ */
+public enum TipoEvento {
+    // Documento enviado por estagiário/funcionário entrou na fila de aprovação
+    APROVACAO_PENDENTE(EnumSet.of(PerfilUsuario.GESTOR, PerfilUsuario.ADMIN)),
+    // Documento aprovado ou rejeitado: sai da fila de aprovação
+    APROVACAO_DECIDIDA(EnumSet.of(PerfilUsuario.GESTOR, PerfilUsuario.ADMIN)),
+    // Job de resumo terminou (CONCLUIDO ou FALHOU); vai para todos, e cada tela filtra pelo documentoId.
+    // Quem quer que esteja esperando pelo job (não só quem o criou) é avisado; o job já é público em /insights/jobs/{id}
+    RESUMO_ATUALIZADO(EnumSet.allOf(PerfilUsuario.class));
+
+    private final Set<PerfilUsuario> destinatarios;
+
+    TipoEvento(Set<PerfilUsuario> destinatarios) {
+        this.destinatarios = destinatarios;
+    }
+
+    public boolean destinadoA(PerfilUsuario perfil) {
+        return destinatarios.contains(perfil);
+    }
+}
@@ -18,4 +18,9 @@ public class GlobalExceptionHandler {
     public ProblemDetail handleRegraNegocio(RegraNegocioException e) {
         return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
     }
+
+    @ExceptionHandler(ServicoIndisponivelException.class)
+    public ProblemDetail handleServicoIndisponivel(ServicoIndisponivelException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
 }
\ No newline at end of file
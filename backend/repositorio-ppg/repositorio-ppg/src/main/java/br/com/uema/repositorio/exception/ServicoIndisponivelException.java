@@ -0,0 +1,11 @@
+package br.com.uema.repositorio.exception;
+
+public class ServicoIndisponivelException extends RuntimeException {
+    public ServicoIndisponivelException(String message) {
+        super(message);
+    }
+
+    public ServicoIndisponivelException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Leitura de alteracoes_documentos (mantida por gatilhos, ver V16__alteracoes_documentos.sql) junto com o estado
+ * atual de cada documento: o feed não guarda cópia dos dados, só a sequência da última alteração.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AlteracaoDocumentoRepository {
+
+    private static final String APROVADO =
+            "EXISTS (SELECT 1 FROM fluxo_aprovacao f WHERE f.documento_id = a.documento_id AND f.estado = 'APROVADO')";
+
+    /**
+     * {@code documento} nulo: excluído ou não aprovado (lápide).
+     */
+    public record LinhaAlteracao(long sequencia, long documentoId, DocumentoResponseDTO documento) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Próximas alterações depois de (sequência, id). Com {@code somenteAprovados}, pula as lápides e os
+     * documentos ainda não aprovados (carga inicial de um cliente).
+     */
+    public List<LinhaAlteracao> listar(long depoisDeSequencia, long depoisDeId, boolean somenteAprovados, int limite) {
+        String sql = """
+                SELECT a.sequencia, a.documento_id, d.titulo, d.descricao, d.tipo, d.data_publicacao, d.programa_id,
+                       p.nome AS nome_programa, u.nome AS nome_autor,
+                       CASE WHEN %s THEN TRUE ELSE FALSE END AS aprovado
+                  FROM alteracoes_documentos a
+                  LEFT JOIN documentos d ON d.id = a.documento_id
+                  LEFT JOIN programas p ON p.id = d.programa_id
+                  LEFT JOIN usuarios u ON u.id = d.usuario_id
+                 WHERE (a.sequencia, a.documento_id) > (CAST(:sequencia AS BIGINT), CAST(:documentoId AS BIGINT))
+                   %s
+                 ORDER BY a.sequencia, a.documento_id
+                 LIMIT :limite
+                """.formatted(APROVADO, somenteAprovados ? "AND " + APROVADO : "");
+        var params = new MapSqlParameterSource()
+                .addValue("sequencia", depoisDeSequencia)
+                .addValue("documentoId", depoisDeId)
+                .addValue("limite", limite);
+        return jdbc.query(sql, params, (rs, linha) -> {
+            long documentoId = rs.getLong("documento_id");
+            DocumentoResponseDTO documento = null;
+            // O documento pode ter sumido entre a alteração e a leitura: sem a linha em documentos, é lápide
+            if (rs.getBoolean("aprovado") && rs.getString("titulo") != null) {
+                documento = new DocumentoResponseDTO(
+                        documentoId,
+                        rs.getString("titulo"),
+                        rs.getString("descricao"),
+                        TipoDocumento.valueOf(rs.getString("tipo")),
+                        rs.getLong("programa_id"),
+                        rs.getString("nome_programa"),
+                        rs.getString("nome_autor"),
+                        rs.getObject("data_publicacao", LocalDate.class));
+            }
+            return new LinhaAlteracao(rs.getLong("sequencia"), documentoId, documento);
+        });
+    }
+
+    /**
+     * Versão do catálogo no snapshot da transação: toda alteração com sequência até ela já está visível.
+     */
+    public long versaoCatalogo() {
+        Long versao = jdbc.getJdbcTemplate().queryForObject("SELECT versao FROM versao_catalogo WHERE id = 1", Long.class);
+        return versao != null ? versao : 0L;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.DecisaoAprovacaoDTO;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Decisões de aprovação em lote via JDBC batch: um único UPDATE preparado, executado para todos os itens
+ * em uma ida ao banco, e um SELECT dos documentos dos fluxos alterados. Só altera fluxos ainda PENDENTES e,
+ * se o cliente informou a versão, na mesma versão.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AprovacaoLoteRepository {
+
+    private static final String SQL_DECIDIR = """
+            UPDATE fluxo_aprovacao
+               SET estado = CAST(:estado AS estado_aprovacao),
+                   usuario_aprovador_id = :aprovadorId,
+                   comentarios = :comentario,
+                   versao = versao + 1,
+                   updated_at = NOW()
+             WHERE id = :idFluxo
+               AND estado = 'PENDENTE'
+               AND versao = COALESCE(CAST(:versao AS BIGINT), versao)
+            """;
+
+    private static final String SQL_DOCUMENTOS_DOS_FLUXOS = """
+            SELECT f.id, f.documento_id, d.programa_id
+              FROM fluxo_aprovacao f
+              JOIN documentos d ON d.id = f.documento_id
+             WHERE f.id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    // Fluxo alterado pelo lote e o documento dele, para auditoria e eventos
+    public record FluxoDecidido(Long idFluxo, Long documentoId, Long programaId) {}
+
+    /**
+     * @return por item, na mesma ordem de {@code decisoes}, o fluxo alterado, ou {@code null} se nenhuma linha mudou
+     */
+    public List<FluxoDecidido> decidir(List<DecisaoAprovacaoDTO> decisoes, Long aprovadorId) {
+        SqlParameterSource[] lote = decisoes.stream()
+                .map(d -> new MapSqlParameterSource()
+                        .addValue("estado", (d.aprovado() ? EstadoAprovacao.APROVADO : EstadoAprovacao.REJEITADO).name())
+                        .addValue("aprovadorId", aprovadorId)
+                        .addValue("comentario", d.comentario())
+                        .addValue("idFluxo", d.idFluxo())
+                        .addValue("versao", d.versao()))
+                .toArray(SqlParameterSource[]::new);
+
+        int[] alterados = jdbc.batchUpdate(SQL_DECIDIR, lote);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < alterados.length; i++) {
+            if (alterados[i] != 0) {
+                ids.add(decisoes.get(i).idFluxo());
+            }
+        }
+        Map<Long, FluxoDecidido> porFluxo = ids.isEmpty() ? Map.of()
+                : jdbc.query(SQL_DOCUMENTOS_DOS_FLUXOS, new MapSqlParameterSource("ids", ids), (rs, linha) ->
+                        new FluxoDecidido(rs.getLong("id"), rs.getLong("documento_id"), rs.getLong("programa_id")))
+                .stream()
+                .collect(Collectors.toMap(FluxoDecidido::idFluxo, Function.identity()));
+
+        List<FluxoDecidido> decididos = new ArrayList<>(alterados.length);
+        for (int i = 0; i < alterados.length; i++) {
+            decididos.add(alterados[i] != 0 ? porFluxo.get(decisoes.get(i).idFluxo()) : null);
+        }
+        return decididos;
+    }
+
+    public Set<Long> buscarIdsExistentes(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        var params = new MapSqlParameterSource("ids", ids);
+        return Set.copyOf(jdbc.queryForList("SELECT id FROM fluxo_aprovacao WHERE id IN (:ids)", params, Long.class));
+    }
+}
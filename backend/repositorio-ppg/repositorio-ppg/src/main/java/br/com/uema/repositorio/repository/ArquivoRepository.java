@@ -0,0 +1,234 @@
+package br.com.uema.repositorio.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Tabela arquivos (conteúdo físico por SHA-256) e seu contador de referências. Os métodos de escrita
+ * bloqueiam a linha do hash até o fim da transação, serializando upload e coleta do mesmo conteúdo.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArquivoRepository {
+
+    private static final String SQL_REFERENCIAR = """
+            INSERT INTO arquivos (hash_sha256, caminho, tamanho_bytes, referencias)
+            VALUES (:hash, :caminho, :tamanho, 1)
+            ON CONFLICT (hash_sha256) DO UPDATE
+               SET referencias = arquivos.referencias + 1,
+                   updated_at = NOW()
+            RETURNING caminho
+            """;
+
+    private static final String SQL_LIBERAR = """
+            UPDATE arquivos
+               SET referencias = referencias - 1,
+                   updated_at = NOW()
+             WHERE hash_sha256 = :hash
+               AND referencias > 0
+            """;
+
+    private static final String SQL_REMOVER_SEM_REFERENCIAS = """
+            DELETE FROM arquivos
+             WHERE hash_sha256 = :hash
+               AND referencias = 0
+            RETURNING caminho
+            """;
+
+    private static final String SQL_MOVER_ARQUIVO = """
+            UPDATE arquivos
+               SET caminho = :caminho,
+                   updated_at = NOW()
+             WHERE hash_sha256 = :hash
+            """;
+
+    private static final String SQL_MOVER_DOCUMENTOS = """
+            UPDATE documentos
+               SET caminho_arquivo = :caminho
+             WHERE hash_sha256 = :hash
+               AND caminho_arquivo <> :caminho
+            """;
+
+    private static final String SQL_EXPIRAR_VERSOES = """
+            UPDATE documento_versoes
+               SET arquivo_expirado_em = NOW()
+             WHERE id IN (SELECT id
+                            FROM documento_versoes
+                           WHERE arquivo_expirado_em IS NULL
+                             AND created_at < :limite
+                           ORDER BY created_at
+                           LIMIT :lote
+                             FOR UPDATE SKIP LOCKED)
+            RETURNING hash_sha256, caminho_arquivo
+            """;
+
+    private static final String SQL_EXPIRAR_VERSOES_DOCUMENTO = """
+            UPDATE documento_versoes
+               SET arquivo_expirado_em = NOW()
+             WHERE documento_id = :documentoId
+               AND arquivo_expirado_em IS NULL
+            RETURNING hash_sha256, caminho_arquivo
+            """;
+
+    private static final String SQL_SEM_REFERENCIAS = """
+            SELECT hash_sha256
+              FROM arquivos
+             WHERE referencias = 0
+               AND updated_at < :limite
+               AND hash_sha256 > :depoisDe
+             ORDER BY hash_sha256
+             LIMIT :lote
+            """;
+
+    // Arquivos com hash (documentos e versões) estão em arquivos; os demais ramos só procuram arquivos legados,
+    // pelos índices parciais de caminho_arquivo WHERE hash_sha256 IS NULL (V10 e V17)
+    private static final String SQL_REFERENCIADOS = """
+            SELECT caminho FROM arquivos WHERE caminho IN (:chaves)
+            UNION
+            SELECT caminho_arquivo FROM documentos WHERE hash_sha256 IS NULL AND caminho_arquivo IN (:chaves)
+            UNION
+            SELECT caminho_arquivo FROM documento_versoes
+             WHERE hash_sha256 IS NULL AND arquivo_expirado_em IS NULL AND caminho_arquivo IN (:chaves)
+            """;
+
+    // Linha com zero referências para um conteúdo sem registro; fica bloqueada até o fim da transação
+    private static final String SQL_RESERVAR_ORFAO = """
+            INSERT INTO arquivos (hash_sha256, caminho, tamanho_bytes, referencias)
+            VALUES (:hash, :caminho, 0, 0)
+            ON CONFLICT (hash_sha256) DO NOTHING
+            RETURNING hash_sha256
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Arquivo mantido por uma versão do histórico: conteúdo por hash ou, sem hash, arquivo legado pelo caminho.
+     */
+    public record ArquivoRetido(String hash, String caminho) {}
+
+    /**
+     * Soma uma referência ao conteúdo, cadastrando-o com {@code caminho} se ainda não existir.
+     *
+     * @return caminho onde o conteúdo fica armazenado (o já cadastrado, se existia)
+     */
+    public String referenciar(String hash, String caminho, long tamanhoBytes) {
+        var params = new MapSqlParameterSource()
+                .addValue("hash", hash)
+                .addValue("caminho", caminho)
+                .addValue("tamanho", tamanhoBytes);
+        return jdbc.queryForObject(SQL_REFERENCIAR, params, String.class);
+    }
+
+    public void liberar(String hash) {
+        jdbc.update(SQL_LIBERAR, new MapSqlParameterSource("hash", hash));
+    }
+
+    /**
+     * Apaga o registro se ninguém mais o referencia.
+     *
+     * @return caminho do conteúdo removido, para apagar o arquivo físico
+     */
+    public Optional<String> removerSemReferencias(String hash) {
+        return jdbc.queryForList(SQL_REMOVER_SEM_REFERENCIAS, new MapSqlParameterSource("hash", hash), String.class)
+                .stream()
+                .findFirst();
+    }
+
+    public List<String> listarHashes() {
+        return jdbc.queryForList("SELECT hash_sha256 FROM arquivos ORDER BY hash_sha256", Map.of(), String.class);
+    }
+
+    /**
+     * Caminho atual do conteúdo, bloqueando a linha até o fim da transação (uploads do mesmo hash esperam).
+     */
+    public Optional<String> bloquearCaminho(String hash) {
+        return jdbc.queryForList("SELECT caminho FROM arquivos WHERE hash_sha256 = :hash FOR UPDATE",
+                        new MapSqlParameterSource("hash", hash), String.class)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Aponta o conteúdo e os documentos que o usam para o novo caminho.
+     */
+    public void moverCaminho(String hash, String caminho) {
+        var params = new MapSqlParameterSource()
+                .addValue("hash", hash)
+                .addValue("caminho", caminho);
+        jdbc.update(SQL_MOVER_ARQUIVO, params);
+        jdbc.update(SQL_MOVER_DOCUMENTOS, params);
+    }
+
+    public Optional<String> buscarCaminho(String hash) {
+        return jdbc.queryForList("SELECT caminho FROM arquivos WHERE hash_sha256 = :hash",
+                        new MapSqlParameterSource("hash", hash), String.class)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Marca como expiradas até {@code lote} versões criadas antes de {@code limite}, pulando as bloqueadas
+     * por outra instância.
+     *
+     * @return arquivos que essas versões deixam de reter
+     */
+    public List<ArquivoRetido> expirarVersoes(OffsetDateTime limite, int lote) {
+        var params = new MapSqlParameterSource()
+                .addValue("limite", limite)
+                .addValue("lote", lote);
+        return jdbc.query(SQL_EXPIRAR_VERSOES, params,
+                (rs, i) -> new ArquivoRetido(rs.getString("hash_sha256"), rs.getString("caminho_arquivo")));
+    }
+
+    /**
+     * Marca como expiradas todas as versões do documento (antes de excluí-lo).
+     */
+    public List<ArquivoRetido> expirarVersoesDoDocumento(Long documentoId) {
+        return jdbc.query(SQL_EXPIRAR_VERSOES_DOCUMENTO, new MapSqlParameterSource("documentoId", documentoId),
+                (rs, i) -> new ArquivoRetido(rs.getString("hash_sha256"), rs.getString("caminho_arquivo")));
+    }
+
+    /**
+     * Conteúdos sem referências há mais tempo que {@code limite}, em ordem de hash a partir de {@code depoisDe}.
+     */
+    public List<String> listarSemReferencias(OffsetDateTime limite, String depoisDe, int lote) {
+        var params = new MapSqlParameterSource()
+                .addValue("limite", limite)
+                .addValue("depoisDe", depoisDe)
+                .addValue("lote", lote);
+        return jdbc.queryForList(SQL_SEM_REFERENCIAS, params, String.class);
+    }
+
+    /**
+     * Quais das chaves são usadas por um conteúdo registrado, um documento ou uma versão ainda retida.
+     */
+    public Set<String> filtrarReferenciadas(Collection<String> chaves) {
+        if (chaves.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbc.queryForList(SQL_REFERENCIADOS, new MapSqlParameterSource("chaves", chaves), String.class));
+    }
+
+    /**
+     * Registra, sem referências, um conteúdo encontrado no armazenamento sem linha em arquivos, para que a coleta
+     * o apague na mesma transação sem correr com um upload do mesmo hash.
+     *
+     * @return falso se o hash já está registrado (inclusive por um upload em andamento, que é aguardado)
+     */
+    public boolean reservarOrfao(String hash, String caminho) {
+        var params = new MapSqlParameterSource()
+                .addValue("hash", hash)
+                .addValue("caminho", caminho);
+        return !jdbc.queryForList(SQL_RESERVAR_ORFAO, params, String.class).isEmpty();
+    }
+}
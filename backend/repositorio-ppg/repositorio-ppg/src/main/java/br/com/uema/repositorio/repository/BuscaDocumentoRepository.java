@@ -0,0 +1,101 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.CursorBusca;
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+import br.com.uema.repositorio.dto.ResultadoBuscaDTO;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Busca textual em português sobre documentos.search_tsv (mantido por trigger, ver V4__busca_textual.sql).
+ * Usa SQL nativo porque ts_rank/ts_headline não têm equivalente em JPQL.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BuscaDocumentoRepository {
+
+    private static final String OPCOES_TRECHO = "StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=30, MinWords=10";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public List<ResultadoBuscaDTO> buscar(String termo, FiltroCatalogoDTO filtro, CursorBusca cursor, int limite) {
+        var params = new MapSqlParameterSource()
+                .addValue("termo", termo)
+                .addValue("limite", limite)
+                .addValue("opcoes", OPCOES_TRECHO);
+
+        var where = new StringBuilder("""
+                d.search_tsv @@ q.consulta
+                AND EXISTS (SELECT 1 FROM fluxo_aprovacao f WHERE f.documento_id = d.id AND f.estado = 'APROVADO')
+                """);
+
+        if (filtro.programaId() != null) {
+            where.append(" AND d.programa_id = :programaId");
+            params.addValue("programaId", filtro.programaId());
+        }
+        if (filtro.tipo() != null) {
+            where.append(" AND d.tipo = CAST(:tipo AS tipo_documento)");
+            params.addValue("tipo", filtro.tipo().name());
+        }
+        if (filtro.de() != null) {
+            where.append(" AND d.data_publicacao >= :de");
+            params.addValue("de", filtro.de());
+        }
+        if (filtro.ate() != null) {
+            where.append(" AND d.data_publicacao <= :ate");
+            params.addValue("ate", filtro.ate());
+        }
+        if (cursor != null) {
+            where.append("""
+                     AND (ts_rank(d.search_tsv, q.consulta) < CAST(:relevancia AS real)
+                          OR (ts_rank(d.search_tsv, q.consulta) = CAST(:relevancia AS real) AND d.id < :cursorId))
+                    """);
+            params.addValue("relevancia", cursor.relevancia());
+            params.addValue("cursorId", cursor.id());
+        }
+
+        // O trecho (ts_headline) é caro: calcula só para as linhas da página, depois do LIMIT
+        String sql = """
+                WITH q AS (SELECT websearch_to_tsquery('portugues_sem_acento', :termo) AS consulta),
+                pagina AS (
+                    SELECT d.id, ts_rank(d.search_tsv, q.consulta) AS relevancia
+                    FROM documentos d, q
+                    WHERE %s
+                    ORDER BY relevancia DESC, d.id DESC
+                    LIMIT :limite
+                )
+                SELECT d.id, d.titulo, d.descricao, CAST(d.tipo AS text) AS tipo, d.data_publicacao,
+                       p.id AS programa_id, p.nome AS nome_programa, u.nome AS nome_autor,
+                       pg.relevancia,
+                       ts_headline('portugues_sem_acento', coalesce(d.descricao, d.titulo), q.consulta, :opcoes) AS trecho
+                FROM pagina pg
+                JOIN documentos d ON d.id = pg.id
+                JOIN programas p ON p.id = d.programa_id
+                LEFT JOIN usuarios u ON u.id = d.usuario_id
+                CROSS JOIN q
+                ORDER BY pg.relevancia DESC, d.id DESC
+                """.formatted(where);
+
+        return jdbc.query(sql, params, (rs, i) -> new ResultadoBuscaDTO(
+                new DocumentoResponseDTO(
+                        rs.getLong("id"),
+                        rs.getString("titulo"),
+                        rs.getString("descricao"),
+                        TipoDocumento.valueOf(rs.getString("tipo")),
+                        rs.getLong("programa_id"),
+                        rs.getString("nome_programa"),
+                        rs.getString("nome_autor"),
+                        rs.getObject("data_publicacao", LocalDate.class)
+                ),
+                rs.getString("trecho"),
+                rs.getFloat("relevancia")
+        ));
+    }
+}
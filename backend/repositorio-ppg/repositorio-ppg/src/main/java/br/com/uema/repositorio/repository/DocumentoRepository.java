@@ -1,13 +1,26 @@
 package br.com.uema.repositorio.repository;
 
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
 import br.com.uema.repositorio.entity.Documento;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
-public interface DocumentoRepository extends JpaRepository<Documento, Long> {
+public interface DocumentoRepository extends JpaRepository<Documento, Long>, DocumentoRepositoryCustom {
 
-    @Query("SELECT d FROM Documento d JOIN FluxoAprovacao f ON f.documento = d WHERE f.estado = 'APROVADO'")
-    List<Documento> findAllAprovados();
-}
\ No newline at end of file
+    @Query("""
+            SELECT new br.com.uema.repositorio.dto.DocumentoResponseDTO(
+                d.id, d.titulo, d.descricao, d.tipo, p.id, p.nome, u.nome, d.dataPublicacao)
+            FROM Documento d
+            JOIN d.programa p
+            LEFT JOIN d.usuario u
+            WHERE EXISTS (SELECT 1 FROM FluxoAprovacao f WHERE f.documento = d AND f.estado = 'APROVADO')
+            ORDER BY d.dataPublicacao DESC, d.id DESC
+            """)
+    List<DocumentoResponseDTO> findAllAprovados();
+
+    // Anteriores à V8, ainda fora do armazenamento por conteúdo
+    @Query("SELECT d.id FROM Documento d WHERE d.hashSha256 IS NULL ORDER BY d.id")
+    List<Long> findIdsSemHash();
+}
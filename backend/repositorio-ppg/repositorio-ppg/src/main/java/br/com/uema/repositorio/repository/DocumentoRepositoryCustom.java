@@ -0,0 +1,17 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.CursorDocumento;
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+
+import java.util.List;
+
+public interface DocumentoRepositoryCustom {
+
+    /**
+     * Página do catálogo de documentos aprovados em ordem decrescente de (data_publicacao, id),
+     * começando logo após o cursor informado (ou do início, se nulo).
+     * Projeta direto no DTO em uma única consulta.
+     */
+    List<DocumentoResponseDTO> buscarCatalogo(FiltroCatalogoDTO filtro, CursorDocumento cursor, int limite);
+}
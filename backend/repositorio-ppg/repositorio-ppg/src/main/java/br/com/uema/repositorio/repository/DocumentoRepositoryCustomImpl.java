@@ -0,0 +1,88 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.CursorDocumento;
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DocumentoRepositoryCustomImpl implements DocumentoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DocumentoResponseDTO> buscarCatalogo(FiltroCatalogoDTO filtro, CursorDocumento cursor, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(DocumentoResponseDTO.class);
+        Root<Documento> doc = query.from(Documento.class);
+        Join<Documento, Programa> programa = doc.join("programa");
+        Join<Documento, Usuario> usuario = doc.join("usuario", JoinType.LEFT);
+
+        List<Predicate> condicoes = new ArrayList<>();
+        condicoes.add(cb.exists(aprovado(query.subquery(Long.class), cb, doc)));
+
+        if (filtro.programaId() != null) {
+            condicoes.add(cb.equal(programa.get("id"), filtro.programaId()));
+        }
+        if (filtro.tipo() != null) {
+            condicoes.add(cb.equal(doc.get("tipo"), filtro.tipo()));
+        }
+        if (filtro.de() != null) {
+            condicoes.add(cb.greaterThanOrEqualTo(doc.get("dataPublicacao"), filtro.de()));
+        }
+        if (filtro.ate() != null) {
+            condicoes.add(cb.lessThanOrEqualTo(doc.get("dataPublicacao"), filtro.ate()));
+        }
+
+        // Keyset: (data_publicacao, id) < (cursor.data, cursor.id)
+        if (cursor != null) {
+            condicoes.add(cb.or(
+                    cb.lessThan(doc.get("dataPublicacao"), cursor.dataPublicacao()),
+                    cb.and(
+                            cb.equal(doc.get("dataPublicacao"), cursor.dataPublicacao()),
+                            cb.lessThan(doc.get("id"), cursor.id())
+                    )
+            ));
+        }
+
+        query.select(cb.construct(DocumentoResponseDTO.class,
+                        doc.get("id"),
+                        doc.get("titulo"),
+                        doc.get("descricao"),
+                        doc.get("tipo"),
+                        programa.get("id"),
+                        programa.get("nome"),
+                        usuario.get("nome"),
+                        doc.get("dataPublicacao")))
+                .where(condicoes.toArray(Predicate[]::new))
+                .orderBy(cb.desc(doc.get("dataPublicacao")), cb.desc(doc.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    private Subquery<Long> aprovado(Subquery<Long> sub, CriteriaBuilder cb, Root<Documento> doc) {
+        Root<FluxoAprovacao> fluxo = sub.from(FluxoAprovacao.class);
+        return sub.select(fluxo.get("id"))
+                .where(
+                        cb.equal(fluxo.get("documento"), doc),
+                        cb.equal(fluxo.get("estado"), EstadoAprovacao.APROVADO)
+                );
+    }
+}
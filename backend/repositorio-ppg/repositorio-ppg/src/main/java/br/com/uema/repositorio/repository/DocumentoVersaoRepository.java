@@ -0,0 +1,28 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.VersaoDocumentoDTO;
+import br.com.uema.repositorio.entity.DocumentoVersao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DocumentoVersaoRepository extends JpaRepository<DocumentoVersao, Long> {
+
+    // Keyset por id (idx_documento_versoes_documento): cada página lê só as linhas que devolve
+    @Query("""
+            SELECT new br.com.uema.repositorio.dto.VersaoDocumentoDTO(
+                       v.id, v.documento.id, v.nomeArquivo, v.hashSha256, v.tamanhoBytes,
+                       u.nome, v.observacao, v.createdAt, v.arquivoExpiradoEm)
+              FROM DocumentoVersao v
+              LEFT JOIN v.usuario u
+             WHERE v.documento.id = :documentoId
+               AND (:antesDe IS NULL OR v.id < :antesDe)
+             ORDER BY v.id DESC
+            """)
+    List<VersaoDocumentoDTO> listarHistorico(Long documentoId, Long antesDe, Limit limite);
+
+    Optional<DocumentoVersao> findByIdAndDocumentoId(Long id, Long documentoId);
+}
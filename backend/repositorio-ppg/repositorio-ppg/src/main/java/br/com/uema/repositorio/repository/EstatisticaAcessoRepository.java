@@ -0,0 +1,100 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.DocumentoMaisAcessadoDTO;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tabela estatisticas_acesso: soma dos contadores em memória (um upsert de várias linhas por descarga) e ranking.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EstatisticaAcessoRepository {
+
+    private static final int LINHAS_POR_UPSERT = 1000;
+
+    private static final String SQL_LINHA = "(CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT))";
+
+    // Documento excluído entre o acesso e a descarga fica de fora (JOIN), sem violar a FK
+    private static final String SQL_ACUMULAR = """
+            INSERT INTO estatisticas_acesso (documento_id, dia, downloads, visualizacoes)
+            SELECT d.id, CAST(? AS DATE), v.downloads, v.visualizacoes
+              FROM (VALUES %s) AS v (documento_id, downloads, visualizacoes)
+              JOIN documentos d ON d.id = v.documento_id
+            ON CONFLICT (documento_id, dia) DO UPDATE
+               SET downloads = estatisticas_acesso.downloads + EXCLUDED.downloads,
+                   visualizacoes = estatisticas_acesso.visualizacoes + EXCLUDED.visualizacoes
+            """;
+
+    private static final String SQL_MAIS_ACESSADOS = """
+            SELECT d.id, d.titulo, d.tipo, p.id AS programa_id, p.nome AS nome_programa,
+                   e.downloads, e.visualizacoes
+              FROM (SELECT documento_id, SUM(downloads) AS downloads, SUM(visualizacoes) AS visualizacoes
+                      FROM estatisticas_acesso
+                     WHERE dia >= COALESCE(CAST(:inicio AS DATE), DATE '0001-01-01')
+                     GROUP BY documento_id) e
+              JOIN documentos d ON d.id = e.documento_id
+              JOIN programas p ON p.id = d.programa_id
+             WHERE (CAST(:programaId AS BIGINT) IS NULL OR d.programa_id = :programaId)
+               AND EXISTS (SELECT 1 FROM fluxo_aprovacao f WHERE f.documento_id = d.id AND f.estado = 'APROVADO')
+             ORDER BY e.downloads + e.visualizacoes DESC, d.id DESC
+             LIMIT :limite
+            """;
+
+    public record Acessos(Long documentoId, long downloads, long visualizacoes) {}
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate jdbcNomeado;
+
+    /**
+     * Soma os acessos ao dia. O chamador passa {@code acessos} ordenado por documento, para que instâncias
+     * descarregando ao mesmo tempo bloqueiem as linhas na mesma ordem.
+     * <p>
+     * Os blocos vão numa transação só: se um falhar, nenhum fica gravado, e o chamador pode devolver todos os
+     * acessos aos contadores sem contá-los duas vezes.
+     */
+    @Transactional
+    public void acumular(LocalDate dia, List<Acessos> acessos) {
+        for (int inicio = 0; inicio < acessos.size(); inicio += LINHAS_POR_UPSERT) {
+            var bloco = acessos.subList(inicio, Math.min(inicio + LINHAS_POR_UPSERT, acessos.size()));
+
+            List<Object> parametros = new ArrayList<>(1 + bloco.size() * 3);
+            parametros.add(dia);
+            for (Acessos acesso : bloco) {
+                parametros.add(acesso.documentoId());
+                parametros.add(acesso.downloads());
+                parametros.add(acesso.visualizacoes());
+            }
+            String linhas = String.join(", ", Collections.nCopies(bloco.size(), SQL_LINHA));
+            jdbc.update(SQL_ACUMULAR.formatted(linhas), parametros.toArray());
+        }
+    }
+
+    /**
+     * Documentos aprovados com mais acessos desde {@code inicio} ({@code null}: todo o histórico).
+     */
+    public List<DocumentoMaisAcessadoDTO> maisAcessados(LocalDate inicio, Long programaId, int limite) {
+        var params = new MapSqlParameterSource()
+                .addValue("inicio", inicio)
+                .addValue("programaId", programaId)
+                .addValue("limite", limite);
+        return jdbcNomeado.query(SQL_MAIS_ACESSADOS, params, (rs, i) -> new DocumentoMaisAcessadoDTO(
+                rs.getLong("id"),
+                rs.getString("titulo"),
+                TipoDocumento.valueOf(rs.getString("tipo")),
+                rs.getLong("programa_id"),
+                rs.getString("nome_programa"),
+                rs.getLong("downloads"),
+                rs.getLong("visualizacoes")));
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Documentos aprovados de um programa para a exportação em ZIP, em páginas por keyset (data de publicação, id):
+ * cada página é uma consulta curta, sem transação nem conexão presas enquanto o ZIP é enviado.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExportacaoDocumentoRepository {
+
+    // Chave do conteúdo resolvida aqui (arquivos pelo hash; legados pelo caminho), sem uma consulta por documento
+    private static final String SQL_PAGINA = """
+            SELECT d.id, d.titulo, d.tipo, d.data_publicacao, d.nome_arquivo, d.hash_sha256, d.tamanho_bytes,
+                   COALESCE(a.caminho, d.caminho_arquivo) AS chave, u.nome AS nome_autor
+              FROM documentos d
+              LEFT JOIN arquivos a ON a.hash_sha256 = d.hash_sha256
+              LEFT JOIN usuarios u ON u.id = d.usuario_id
+             WHERE d.programa_id = :programaId
+               AND d.data_publicacao >= COALESCE(CAST(:de AS DATE), DATE '0001-01-01')
+               AND d.data_publicacao <= COALESCE(CAST(:ate AS DATE), DATE '9999-12-31')
+               AND (d.data_publicacao, d.id) > (CAST(:depoisDeData AS DATE), CAST(:depoisDeId AS BIGINT))
+               AND EXISTS (SELECT 1 FROM fluxo_aprovacao f WHERE f.documento_id = d.id AND f.estado = 'APROVADO')
+             ORDER BY d.data_publicacao, d.id
+             LIMIT :limite
+            """;
+
+    public record DocumentoExportado(Long id, String titulo, TipoDocumento tipo, LocalDate dataPublicacao,
+                                     String nomeArquivo, String hashSha256, Long tamanhoBytes, String chave,
+                                     String nomeAutor) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Próxima página, em ordem crescente de (data de publicação, id), a partir do último documento da anterior
+     * ({@code depoisDe} nulo na primeira).
+     */
+    public List<DocumentoExportado> pagina(Long programaId, LocalDate de, LocalDate ate, DocumentoExportado depoisDe,
+                                           int limite) {
+        var params = new MapSqlParameterSource()
+                .addValue("programaId", programaId)
+                .addValue("de", de)
+                .addValue("ate", ate)
+                .addValue("depoisDeData", depoisDe != null ? depoisDe.dataPublicacao() : LocalDate.of(1, 1, 1))
+                .addValue("depoisDeId", depoisDe != null ? depoisDe.id() : 0L)
+                .addValue("limite", limite);
+        return jdbc.query(SQL_PAGINA, params, (rs, linha) -> new DocumentoExportado(
+                rs.getLong("id"),
+                rs.getString("titulo"),
+                TipoDocumento.valueOf(rs.getString("tipo")),
+                rs.getObject("data_publicacao", LocalDate.class),
+                rs.getString("nome_arquivo"),
+                rs.getString("hash_sha256"),
+                rs.getObject("tamanho_bytes", Long.class),
+                rs.getString("chave"),
+                rs.getString("nome_autor")));
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.FacetasDTO;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Facetas do catálogo a partir de facetas_documentos (mantida por gatilhos, ver V13__facetas_documentos.sql):
+ * uma consulta agrega as três facetas sobre no máximo uma linha por programa, tipo e ano.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FacetaDocumentoRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public FacetasDTO contar(Long programaId, TipoDocumento tipo, Integer ano) {
+        var params = new MapSqlParameterSource()
+                .addValue("programaId", programaId)
+                .addValue("tipo", tipo != null ? tipo.name() : null)
+                .addValue("ano", ano);
+
+        String sql = """
+                SELECT 'PROGRAMA' AS faceta, f.programa_id AS chave, p.sigla AS rotulo, p.nome, SUM(f.quantidade) AS quantidade
+                  FROM facetas_documentos f
+                  JOIN programas p ON p.id = f.programa_id
+                 WHERE %s
+                 GROUP BY f.programa_id, p.sigla, p.nome
+                HAVING SUM(f.quantidade) > 0
+                UNION ALL
+                SELECT 'TIPO', NULL, CAST(f.tipo AS VARCHAR), NULL, SUM(f.quantidade)
+                  FROM facetas_documentos f
+                 WHERE %s
+                 GROUP BY f.tipo
+                HAVING SUM(f.quantidade) > 0
+                UNION ALL
+                SELECT 'ANO', CAST(f.ano AS BIGINT), NULL, NULL, SUM(f.quantidade)
+                  FROM facetas_documentos f
+                 WHERE %s
+                 GROUP BY f.ano
+                HAVING SUM(f.quantidade) > 0
+                """.formatted(
+                filtro(null, tipo, ano),
+                filtro(programaId, null, ano),
+                filtro(programaId, tipo, null));
+
+        List<FacetasDTO.Programa> programas = new ArrayList<>();
+        List<FacetasDTO.Tipo> tipos = new ArrayList<>();
+        List<FacetasDTO.Ano> anos = new ArrayList<>();
+        jdbc.query(sql, params, rs -> {
+            long quantidade = rs.getLong("quantidade");
+            switch (rs.getString("faceta")) {
+                case "PROGRAMA" -> programas.add(new FacetasDTO.Programa(
+                        rs.getLong("chave"), rs.getString("rotulo"), rs.getString("nome"), quantidade));
+                case "TIPO" -> tipos.add(new FacetasDTO.Tipo(TipoDocumento.valueOf(rs.getString("rotulo")), quantidade));
+                default -> anos.add(new FacetasDTO.Ano(rs.getInt("chave"), quantidade));
+            }
+        });
+
+        programas.sort(Comparator.comparing(FacetasDTO.Programa::sigla));
+        tipos.sort(Comparator.comparingLong(FacetasDTO.Tipo::quantidade).reversed());
+        anos.sort(Comparator.comparingInt(FacetasDTO.Ano::ano).reversed());
+
+        // A faceta de anos já aplica programa e tipo; falta só o próprio filtro de ano
+        long total = anos.stream()
+                .filter(a -> ano == null || a.ano() == ano)
+                .mapToLong(FacetasDTO.Ano::quantidade)
+                .sum();
+        return new FacetasDTO(total, programas, tipos, anos);
+    }
+
+    private static String filtro(Long programaId, TipoDocumento tipo, Integer ano) {
+        var where = new StringBuilder("f.quantidade > 0");
+        if (programaId != null) {
+            where.append(" AND f.programa_id = :programaId");
+        }
+        if (tipo != null) {
+            where.append(" AND f.tipo = CAST(:tipo AS tipo_documento)");
+        }
+        if (ano != null) {
+            where.append(" AND f.ano = :ano");
+        }
+        return where.toString();
+    }
+}
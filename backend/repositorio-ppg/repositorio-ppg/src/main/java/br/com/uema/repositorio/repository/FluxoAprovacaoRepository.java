@@ -1,7 +1,12 @@
 package br.com.uema.repositorio.repository;
 
 import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface FluxoAprovacaoRepository extends JpaRepository<FluxoAprovacao, Long> {
-}
\ No newline at end of file
+public interface FluxoAprovacaoRepository extends JpaRepository<FluxoAprovacao, Long>, FluxoAprovacaoRepositoryCustom {
+
+    long countByEstado(EstadoAprovacao estado);
+
+    long countByEstadoAndDocumentoProgramaId(EstadoAprovacao estado, Long programaId);
+}
@@ -0,0 +1,15 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.CursorFluxo;
+import br.com.uema.repositorio.dto.FluxoAprovacaoResponseDTO;
+
+import java.util.List;
+
+public interface FluxoAprovacaoRepositoryCustom {
+
+    /**
+     * Página da fila de pendências em ordem de chegada (created_at, id), opcionalmente de um programa.
+     * Atendida pelo índice parcial idx_fluxo_aprovacao_pendentes.
+     */
+    List<FluxoAprovacaoResponseDTO> buscarPendentes(Long programaId, CursorFluxo cursor, int limite);
+}
@@ -0,0 +1,69 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.CursorFluxo;
+import br.com.uema.repositorio.dto.FluxoAprovacaoResponseDTO;
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FluxoAprovacaoRepositoryCustomImpl implements FluxoAprovacaoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FluxoAprovacaoResponseDTO> buscarPendentes(Long programaId, CursorFluxo cursor, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(FluxoAprovacaoResponseDTO.class);
+        Root<FluxoAprovacao> fluxo = query.from(FluxoAprovacao.class);
+        Join<FluxoAprovacao, Documento> doc = fluxo.join("documento");
+        Join<Documento, Programa> programa = doc.join("programa");
+        Join<Documento, Usuario> usuario = doc.join("usuario", JoinType.LEFT);
+
+        List<Predicate> condicoes = new ArrayList<>();
+        condicoes.add(cb.equal(fluxo.get("estado"), EstadoAprovacao.PENDENTE));
+
+        if (programaId != null) {
+            condicoes.add(cb.equal(programa.get("id"), programaId));
+        }
+
+        // Keyset: (created_at, id) > (cursor.createdAt, cursor.id)
+        if (cursor != null) {
+            condicoes.add(cb.or(
+                    cb.greaterThan(fluxo.get("createdAt"), cursor.createdAt()),
+                    cb.and(
+                            cb.equal(fluxo.get("createdAt"), cursor.createdAt()),
+                            cb.greaterThan(fluxo.get("id"), cursor.id())
+                    )
+            ));
+        }
+
+        query.select(cb.construct(FluxoAprovacaoResponseDTO.class,
+                        fluxo.get("id"),
+                        fluxo.get("estado"),
+                        fluxo.get("versao"),
+                        doc.get("titulo"),
+                        doc.get("id"),
+                        usuario.get("nome"),
+                        programa.get("nome"),
+                        fluxo.get("createdAt")))
+                .where(condicoes.toArray(Predicate[]::new))
+                .orderBy(cb.asc(fluxo.get("createdAt")), cb.asc(fluxo.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.entity.JobResumo;
+import br.com.uema.repositorio.enums.EstadoJobResumo;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface JobResumoRepository extends JpaRepository<JobResumo, Long> {
+
+    Optional<JobResumo> findFirstByDocumentoIdAndEstadoIn(Long documentoId, Collection<EstadoJobResumo> estados);
+
+    List<JobResumo> findByEstadoIn(Collection<EstadoJobResumo> estados);
+}
@@ -0,0 +1,61 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.EventoAuditoriaDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gravação da tabela logs em INSERTs de várias linhas (uma ida ao banco por lote).
+ */
+@Repository
+@RequiredArgsConstructor
+public class LogAuditoriaRepository {
+
+    // Parâmetros por linha: 5; 1000 linhas ficam bem abaixo do limite de 32767 parâmetros do PostgreSQL
+    private static final int LINHAS_POR_INSERT = 1000;
+
+    private static final String SQL_INICIO = """
+            INSERT INTO logs (acao, descricao, usuario_id, documento_id, created_at)
+            SELECT v.acao, v.descricao, u.id, d.id, v.criado_em
+              FROM (VALUES
+            """;
+
+    private static final String SQL_LINHA =
+            "(CAST(? AS VARCHAR), CAST(? AS TEXT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP WITH TIME ZONE))";
+
+    // Usuário ou documento excluído antes da gravação vira NULL, como faria o ON DELETE SET NULL
+    private static final String SQL_FIM = """
+                   ) AS v (acao, descricao, usuario_id, documento_id, criado_em)
+              LEFT JOIN usuarios u ON u.id = v.usuario_id
+              LEFT JOIN documentos d ON d.id = v.documento_id
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public void inserir(List<EventoAuditoriaDTO> eventos) {
+        for (int inicio = 0; inicio < eventos.size(); inicio += LINHAS_POR_INSERT) {
+            var bloco = eventos.subList(inicio, Math.min(inicio + LINHAS_POR_INSERT, eventos.size()));
+
+            var sql = new StringBuilder(SQL_INICIO);
+            List<Object> parametros = new ArrayList<>(bloco.size() * 5);
+            for (int i = 0; i < bloco.size(); i++) {
+                EventoAuditoriaDTO evento = bloco.get(i);
+                sql.append(i == 0 ? "       " : ",\n       ").append(SQL_LINHA);
+                parametros.add(evento.acao().name());
+                parametros.add(evento.descricao());
+                parametros.add(evento.usuarioId());
+                parametros.add(evento.documentoId());
+                parametros.add(OffsetDateTime.ofInstant(evento.ocorridoEm(), ZoneOffset.UTC));
+            }
+            sql.append('\n').append(SQL_FIM);
+
+            jdbc.update(sql.toString(), parametros.toArray());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Registros do provedor OAI-PMH a partir de alteracoes_documentos (V16, V19__registros_oai.sql): cada documento
+ * que já esteve aprovado, em ordem de (alterado_em, id), que é o datestamp do registro, atribuído no commit.
+ * Excluído ou reprovado, o documento continua como lápide ({@code excluido}). A colheita incremental
+ * (from/until) e as páginas seguintes (resumptionToken) percorrem o índice idx_alteracoes_documentos_oai.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OaiPmhRepository {
+
+    private static final String SELECT_REGISTRO = """
+            SELECT a.documento_id, a.alterado_em, p.sigla AS sigla_programa, p.nome AS nome_programa,
+                   d.titulo, d.descricao, d.tipo, d.data_publicacao,
+                   NOT EXISTS (SELECT 1 FROM fluxo_aprovacao f WHERE f.documento_id = a.documento_id AND f.estado = 'APROVADO') AS excluido
+              FROM alteracoes_documentos a
+              LEFT JOIN documentos d ON d.id = a.documento_id
+              LEFT JOIN programas p ON p.id = a.programa_id
+             WHERE a.publicado
+            """;
+
+    private static final RowMapper<RegistroOai> MAPEADOR = (rs, linha) -> {
+        // Lápide: sem metadados, mesmo que a linha de um documento reprovado ainda exista
+        if (rs.getBoolean("excluido")) {
+            return new RegistroOai(rs.getLong("documento_id"), null, null, null, null,
+                    rs.getObject("alterado_em", OffsetDateTime.class).toInstant(),
+                    rs.getString("sigla_programa"), rs.getString("nome_programa"), true);
+        }
+        return new RegistroOai(
+                rs.getLong("documento_id"),
+                rs.getString("titulo"),
+                rs.getString("descricao"),
+                TipoDocumento.valueOf(rs.getString("tipo")),
+                rs.getObject("data_publicacao", LocalDate.class),
+                rs.getObject("alterado_em", OffsetDateTime.class).toInstant(),
+                rs.getString("sigla_programa"),
+                rs.getString("nome_programa"),
+                false);
+    };
+
+    /**
+     * {@code excluido}: documento excluído ou reprovado depois de publicado; só o cabeçalho vai na resposta.
+     * {@code siglaPrograma} nula quando o programa também foi excluído.
+     */
+    public record RegistroOai(Long id, String titulo, String descricao, TipoDocumento tipo, LocalDate dataPublicacao,
+                              Instant atualizadoEm, String siglaPrograma, String nomePrograma, boolean excluido) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Próxima página em ordem crescente de (alterado_em, id). {@code de} é inclusivo e {@code ate} exclusivo;
+     * {@code depoisDe}/{@code depoisDeId} nulos na primeira página.
+     */
+    public List<RegistroOai> pagina(Long programaId, Instant de, Instant ate, Instant depoisDe, Long depoisDeId,
+                                    int limite) {
+        var params = new MapSqlParameterSource("limite", limite);
+        var sql = new StringBuilder(SELECT_REGISTRO);
+        if (programaId != null) {
+            sql.append(" AND a.programa_id = :programaId");
+            params.addValue("programaId", programaId);
+        }
+        if (de != null) {
+            sql.append(" AND a.alterado_em >= :de");
+            params.addValue("de", utc(de));
+        }
+        if (ate != null) {
+            sql.append(" AND a.alterado_em < :ate");
+            params.addValue("ate", utc(ate));
+        }
+        if (depoisDe != null) {
+            sql.append(" AND (a.alterado_em, a.documento_id) > (CAST(:depoisDe AS TIMESTAMP WITH TIME ZONE), CAST(:depoisDeId AS BIGINT))");
+            params.addValue("depoisDe", utc(depoisDe)).addValue("depoisDeId", depoisDeId);
+        }
+        sql.append(" ORDER BY a.alterado_em, a.documento_id LIMIT :limite");
+        return jdbc.query(sql.toString(), params, MAPEADOR);
+    }
+
+    public Optional<RegistroOai> registro(Long id) {
+        return jdbc.query(SELECT_REGISTRO + " AND a.documento_id = :id", new MapSqlParameterSource("id", id), MAPEADOR)
+                .stream().findFirst();
+    }
+
+    // earliestDatestamp do Identify
+    public Optional<Instant> primeiraAlteracao() {
+        return jdbc.query("""
+                        SELECT MIN(a.alterado_em) AS primeira
+                          FROM alteracoes_documentos a
+                         WHERE a.publicado
+                        """, new MapSqlParameterSource(),
+                        (rs, linha) -> rs.getObject("primeira", OffsetDateTime.class))
+                .stream().filter(Objects::nonNull).map(OffsetDateTime::toInstant).findFirst();
+    }
+
+    private static OffsetDateTime utc(Instant instante) {
+        return instante.atOffset(ZoneOffset.UTC);
+    }
+}
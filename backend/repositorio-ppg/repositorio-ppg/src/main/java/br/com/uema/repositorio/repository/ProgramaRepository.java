@@ -1,9 +1,21 @@
 package br.com.uema.repositorio.repository;
 
 import br.com.uema.repositorio.entity.Programa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface ProgramaRepository extends JpaRepository<Programa, Long> {
+
+    // Cache de consultas: invalidado pelo Hibernate a cada alteração em programas feita pela aplicação
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Programa> findBySigla(String sigla);
-}
\ No newline at end of file
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Programa> findAll();
+}
@@ -0,0 +1,16 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.entity.Resumo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
+
+public interface ResumoRepository extends JpaRepository<Resumo, Long> {
+
+    // Cache de consultas + região resumos: pedidos de insights repetidos não voltam ao banco
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Resumo> findByDocumentoId(Long documentoId);
+}
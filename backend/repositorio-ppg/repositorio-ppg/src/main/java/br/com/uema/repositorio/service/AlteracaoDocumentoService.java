@@ -0,0 +1,78 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.AlteracaoDocumentoDTO;
+import br.com.uema.repositorio.dto.AlteracoesDocumentosDTO;
+import br.com.uema.repositorio.dto.CursorAlteracao;
+import br.com.uema.repositorio.enums.TipoAlteracao;
+import br.com.uema.repositorio.repository.AlteracaoDocumentoRepository;
+import br.com.uema.repositorio.repository.AlteracaoDocumentoRepository.LinhaAlteracao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Feed de alterações de documentos (GET /documentos/alteracoes), para clientes que mantêm uma cópia local do
+ * catálogo público: sem cursor, devolve os documentos aprovados (carga inicial); com cursor, o que mudou desde
+ * então, com lápides para excluídos e reprovados.
+ * <p>
+ * Ao fim de cada rodada o cursor aponta para a versão do catálogo lida no mesmo snapshot. Enquanto a versão em
+ * memória ({@link VersaoCatalogo}) não passar dela, nada mudou e a consulta nem chega ao banco.
+ * <p>
+ * A carga inicial pula as lápides e pode levar várias páginas, cada uma num snapshot: ela termina na versão do
+ * catálogo de quando começou, e não na atual, para que um documento entregue numa página e excluído ou reprovado
+ * antes da última chegue como lápide na rodada seguinte.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlteracaoDocumentoService {
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 500;
+
+    private final AlteracaoDocumentoRepository alteracaoRepository;
+    private final VersaoCatalogo versaoCatalogo;
+
+    // REPEATABLE READ: as alterações e a versão do catálogo que vira cursor vêm do mesmo snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AlteracoesDocumentosDTO listar(String cursor, int tamanho) {
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+        var posicao = CursorAlteracao.decodificar(cursor);
+        if (posicao == null) {
+            posicao = new CursorAlteracao(0L, 0L, alteracaoRepository.versaoCatalogo());
+        }
+        if (emDia(posicao) && posicao.sequencia() >= versaoCatalogo.atual()) {
+            return new AlteracoesDocumentosDTO(List.of(), posicao.codificar(), false);
+        }
+
+        // Busca um item a mais para saber se existe próxima página sem precisar de COUNT
+        var linhas = alteracaoRepository.listar(posicao.sequencia(), posicao.documentoId(), posicao.cargaInicial(), limite + 1);
+        boolean temMais = linhas.size() > limite;
+        List<LinhaAlteracao> pagina = temMais ? linhas.subList(0, limite) : linhas;
+
+        String proximoCursor;
+        if (temMais) {
+            var ultima = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorAlteracao(ultima.sequencia(), ultima.documentoId(), posicao.versaoInicial()).codificar();
+        } else if (posicao.cargaInicial()) {
+            // O que mudou desde o início da carga (inclusive lápides puladas) vem na próxima rodada
+            proximoCursor = new CursorAlteracao(posicao.versaoInicial(), Long.MAX_VALUE, null).codificar();
+        } else {
+            // Tudo até a versão do snapshot foi entregue
+            proximoCursor = new CursorAlteracao(alteracaoRepository.versaoCatalogo(), Long.MAX_VALUE, null).codificar();
+        }
+
+        var alteracoes = pagina.stream()
+                .map(linha -> new AlteracaoDocumentoDTO(linha.documentoId(),
+                        linha.documento() != null ? TipoAlteracao.ATUALIZADO : TipoAlteracao.REMOVIDO,
+                        linha.documento()))
+                .toList();
+        return new AlteracoesDocumentosDTO(alteracoes, proximoCursor, temMais);
+    }
+
+    // Cursor do fim de uma rodada: só há algo novo se o catálogo passou da versão dele
+    private static boolean emDia(CursorAlteracao posicao) {
+        return !posicao.cargaInicial() && posicao.documentoId() == Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.CursorFluxo;
+import br.com.uema.repositorio.dto.DecisaoAprovacaoDTO;
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.dto.FluxoAprovacaoResponseDTO;
+import br.com.uema.repositorio.dto.PaginaCursorDTO;
+import br.com.uema.repositorio.dto.ResultadoItemLoteDTO;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.SituacaoItemLote;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.AprovacaoLoteRepository;
+import br.com.uema.repositorio.repository.AprovacaoLoteRepository.FluxoDecidido;
+import br.com.uema.repositorio.repository.FluxoAprovacaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AprovacaoService {
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+    private static final int TAMANHO_MAXIMO_LOTE = 1000;
+
+    private final FluxoAprovacaoRepository fluxoRepository;
+    private final AprovacaoLoteRepository aprovacaoLoteRepository;
+    private final VersaoCatalogo versaoCatalogo;
+    private final AuditoriaService auditoria;
+    private final EventosService eventos;
+
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<FluxoAprovacaoResponseDTO> listarPendentes(Long programaId, String cursor, int tamanho) {
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+
+        var pendentes = fluxoRepository.buscarPendentes(programaId, CursorFluxo.decodificar(cursor), limite + 1);
+
+        boolean temMais = pendentes.size() > limite;
+        List<FluxoAprovacaoResponseDTO> itens = temMais ? pendentes.subList(0, limite) : pendentes;
+
+        String proximoCursor = null;
+        if (temMais) {
+            var ultimo = itens.get(itens.size() - 1);
+            proximoCursor = new CursorFluxo(ultimo.createdAt(), ultimo.idFluxo()).codificar();
+        }
+
+        return new PaginaCursorDTO<>(itens, proximoCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public long contarPendentes(Long programaId) {
+        if (programaId == null) {
+            return fluxoRepository.countByEstado(EstadoAprovacao.PENDENTE);
+        }
+        return fluxoRepository.countByEstadoAndDocumentoProgramaId(EstadoAprovacao.PENDENTE, programaId);
+    }
+
+    @Transactional
+    public List<ResultadoItemLoteDTO> analisarEmLote(List<DecisaoAprovacaoDTO> decisoes, Usuario gestor) {
+        if (decisoes.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new RegraNegocioException("O lote pode ter no máximo " + TAMANHO_MAXIMO_LOTE + " itens.");
+        }
+
+        var decididos = aprovacaoLoteRepository.decidir(decisoes, gestor.getId());
+        versaoCatalogo.alterado();
+
+        // Itens que não alteraram nenhuma linha: distingue fluxo inexistente de conflito (já decidido ou versão antiga)
+        List<Long> naoAlterados = new ArrayList<>();
+        for (int i = 0; i < decididos.size(); i++) {
+            if (decididos.get(i) == null) {
+                naoAlterados.add(decisoes.get(i).idFluxo());
+            }
+        }
+        var existentes = aprovacaoLoteRepository.buscarIdsExistentes(naoAlterados);
+
+        List<ResultadoItemLoteDTO> resultados = new ArrayList<>(decisoes.size());
+        for (int i = 0; i < decididos.size(); i++) {
+            var decisao = decisoes.get(i);
+            var decidido = decididos.get(i);
+            if (decidido != null) {
+                registrarDecisao(decisao, decidido, gestor);
+                resultados.add(new ResultadoItemLoteDTO(decisao.idFluxo(), SituacaoItemLote.PROCESSADO, null));
+            } else if (existentes.contains(decisao.idFluxo())) {
+                resultados.add(new ResultadoItemLoteDTO(decisao.idFluxo(), SituacaoItemLote.CONFLITO,
+                        "Fluxo já analisado ou alterado por outro usuário"));
+            } else {
+                resultados.add(new ResultadoItemLoteDTO(decisao.idFluxo(), SituacaoItemLote.NAO_ENCONTRADO, "Fluxo não encontrado"));
+            }
+        }
+        return resultados;
+    }
+
+    // Auditoria e evento só saem após o commit do lote
+    private void registrarDecisao(DecisaoAprovacaoDTO decisao, FluxoDecidido decidido, Usuario gestor) {
+        var estado = decisao.aprovado() ? EstadoAprovacao.APROVADO : EstadoAprovacao.REJEITADO;
+        auditoria.registrar(decisao.aprovado() ? AcaoAuditoria.APPROVE_DOCUMENT : AcaoAuditoria.REJECT_DOCUMENT,
+                gestor, decidido.documentoId(),
+                "Fluxo " + decisao.idFluxo() + " (lote)" + (decisao.comentario() != null ? ": " + decisao.comentario() : ""));
+        eventos.publicar(EventoDTO.aprovacaoDecidida(decidido.documentoId(), decidido.programaId(), decisao.idFluxo(), estado));
+    }
+}
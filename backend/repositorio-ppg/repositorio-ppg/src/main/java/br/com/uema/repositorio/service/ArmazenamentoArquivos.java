@@ -0,0 +1,375 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.exception.RecursoNaoEncontradoException;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.ArquivoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento endereçado por conteúdo: cada arquivo é gravado uma única vez na chave
+ * {@code ab/cd/<sha256>} do {@link ArmazenamentoConteudo} configurado e a tabela arquivos conta quantos
+ * documentos o usam.
+ * <p>
+ * Fluxo: {@link #receber} grava o stream num temporário local calculando hash e tamanho e {@link #gravar} o coloca
+ * no armazenamento (ambos sem transação); {@link #armazenar} e {@link #liberar} rodam na transação do documento,
+ * só no banco. O conteúdo só é apagado
+ * depois do commit que zerou as referências, com a linha do hash bloqueada.
+ */
+@Slf4j
+@Service
+public class ArmazenamentoArquivos {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final String PREFIXO_TEMPORARIO = ".parcial-";
+    private static final Pattern CHAVE_CONTEUDO = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})");
+
+    @Value("${file.upload-dir:./uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.tamanho-maximo:1GB}")
+    private DataSize tamanhoMaximoArquivo = DataSize.ofGigabytes(1);
+
+    private final ArquivoRepository arquivoRepository;
+    private final ArmazenamentoConteudo conteudo;
+    private final TransactionTemplate novaTransacao;
+
+    public record ArquivoRecebido(Path temporario, String hashSha256, long tamanhoBytes) {}
+
+    public ArmazenamentoArquivos(ArquivoRepository arquivoRepository, ArmazenamentoConteudo conteudo,
+                                 PlatformTransactionManager transactionManager) {
+        this.arquivoRepository = arquivoRepository;
+        this.conteudo = conteudo;
+        // A coleta roda em afterCommit, quando a transação original ainda está associada à thread
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Chave do conteúdo: dois níveis de subdiretório pelo início do hash, para que nenhum diretório
+     * (ou prefixo de bucket) acumule todos os arquivos.
+     */
+    static String chaveDoConteudo(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    /**
+     * Copia o stream para um arquivo temporário no diretório de uploads local, calculando SHA-256 e tamanho na
+     * mesma passada. O chamador deve sempre chamar {@link #descartar} ao final.
+     */
+    public ArquivoRecebido receber(InputStream conteudo) {
+        Path diretorio = diretorio();
+        Path temporario = diretorio.resolve(PREFIXO_TEMPORARIO + UUID.randomUUID());
+
+        try {
+            Files.createDirectories(diretorio);
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            long limite = tamanhoMaximoArquivo.toBytes();
+            long tamanho = 0;
+
+            try (InputStream entrada = conteudo;
+                 OutputStream saida = Files.newOutputStream(temporario, StandardOpenOption.CREATE_NEW)) {
+                byte[] buffer = new byte[TAMANHO_BUFFER];
+                int lidos;
+                while ((lidos = entrada.read(buffer)) != -1) {
+                    tamanho += lidos;
+                    if (tamanho > limite) {
+                        throw new RegraNegocioException("O arquivo excede o tamanho máximo de " + tamanhoMaximoArquivo.toMegabytes() + " MB.");
+                    }
+                    sha256.update(buffer, 0, lidos);
+                    saida.write(buffer, 0, lidos);
+                }
+            }
+
+            if (tamanho == 0) {
+                throw new RegraNegocioException("O arquivo é obrigatório para novos documentos.");
+            }
+            return new ArquivoRecebido(temporario, HexFormat.of().formatHex(sha256.digest()), tamanho);
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            apagar(temporario);
+            throw new RuntimeException("Erro ao salvar arquivo", ex);
+        } catch (RuntimeException ex) {
+            apagar(temporario);
+            throw ex;
+        }
+    }
+
+    /**
+     * Coloca o conteúdo recebido na chave do hash, se ainda não estiver lá. Roda antes da transação do documento:
+     * o envio (upload ao S3) não segura conexão nem a linha do hash em arquivos. Até ser referenciado, o conteúdo
+     * é um órfão recente, que a limpeza só apaga depois da carência.
+     *
+     * @return chave do conteúdo
+     */
+    public String gravar(ArquivoRecebido recebido) {
+        String chave = chaveDoConteudo(recebido.hashSha256());
+        gravarSeAusente(chave, recebido);
+        return chave;
+    }
+
+    /**
+     * Registra uma referência ao conteúdo já {@link #gravar gravado}. Deve rodar dentro da transação do documento
+     * e antes de {@link #descartar}: se a coleta apagou o conteúdo entre a gravação e a referência, ele é gravado
+     * de novo após o commit, a partir do temporário.
+     *
+     * @return caminho relativo do conteúdo no diretório de uploads
+     */
+    public String armazenar(ArquivoRecebido recebido) {
+        String caminho = referenciar(recebido);
+        aposCommit(() -> restaurarSeColetado(caminho, recebido));
+        return caminho;
+    }
+
+    /**
+     * Registra a referência, bloqueando a linha do hash até o fim da
+     * transação. Quem referencia vários hashes deve fazê-lo em ordem, para não bloquear outra carga em ordem inversa.
+     *
+     * @return caminho relativo do conteúdo no diretório de uploads
+     */
+    public String referenciar(ArquivoRecebido recebido) {
+        String hash = recebido.hashSha256();
+        return arquivoRepository.referenciar(hash, chaveDoConteudo(hash), recebido.tamanhoBytes());
+    }
+
+    private void gravarSeAusente(String caminho, ArquivoRecebido recebido) {
+        try {
+            if (conteudo.tamanho(caminho).isEmpty()) {
+                conteudo.gravar(caminho, recebido.temporario());
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Erro ao salvar arquivo", ex);
+        }
+    }
+
+    // Só um HEAD, fora da transação; o temporário ainda existe se o conteúdo já estava gravado antes do upload
+    private void restaurarSeColetado(String caminho, ArquivoRecebido recebido) {
+        try {
+            if (conteudo.tamanho(caminho).isEmpty()) {
+                log.warn("Conteúdo {} coletado durante o upload, gravando de novo", caminho);
+                conteudo.gravar(caminho, recebido.temporario());
+            }
+        } catch (IOException e) {
+            log.error("Não foi possível regravar o conteúdo {}: {}", caminho, e.getMessage());
+        }
+    }
+
+    public void descartar(ArquivoRecebido recebido) {
+        apagar(recebido.temporario());
+    }
+
+    /**
+     * Remove uma referência ao conteúdo (documento excluído ou arquivo substituído). Se a contagem zerar,
+     * o arquivo físico é apagado após o commit, a menos que outro upload o tenha referenciado nesse meio tempo.
+     */
+    public void liberar(String hash) {
+        arquivoRepository.liberar(hash);
+        aposCommit(() -> coletar(hash));
+    }
+
+    /**
+     * Remove a referência a um arquivo guardado por hash ou, sem hash, apaga o arquivo legado após o commit.
+     */
+    public void liberar(String hash, String caminhoArquivo) {
+        if (hash != null) {
+            liberar(hash);
+        } else {
+            apagarLegado(caminhoArquivo);
+        }
+    }
+
+    /**
+     * Expira as versões do histórico do documento, liberando os arquivos que elas retinham (antes da exclusão).
+     */
+    public void liberarVersoes(Long documentoId) {
+        arquivoRepository.expirarVersoesDoDocumento(documentoId)
+                .forEach(retido -> liberar(retido.hash(), retido.caminho()));
+    }
+
+    /**
+     * Expira até {@code lote} versões criadas antes de {@code limite} e libera seus arquivos. Deve rodar numa transação.
+     *
+     * @return quantidade de versões expiradas
+     */
+    public int expirarVersoes(OffsetDateTime limite, int lote) {
+        var retidos = arquivoRepository.expirarVersoes(limite, lote);
+        retidos.forEach(retido -> liberar(retido.hash(), retido.caminho()));
+        return retidos.size();
+    }
+
+    /**
+     * Arquivos anteriores ao armazenamento por conteúdo (sem hash) pertencem a um único documento
+     * e são apagados diretamente, também só depois do commit.
+     */
+    public void apagarLegado(String caminhoArquivo) {
+        aposCommit(() -> apagarConteudo(caminhoArquivo));
+    }
+
+    /**
+     * Chave do arquivo do documento no armazenamento, resolvida pelo hash quando o documento o possui.
+     */
+    public String chave(Documento documento) {
+        return chave(documento.getHashSha256(), documento.getCaminhoArquivo());
+    }
+
+    public String chave(String hash, String caminhoArquivo) {
+        return hash != null ? arquivoRepository.buscarCaminho(hash).orElse(caminhoArquivo) : caminhoArquivo;
+    }
+
+    /**
+     * Tamanho do conteúdo armazenado na chave, ou vazio se ele não está lá.
+     */
+    public OptionalLong tamanho(String chave) {
+        try {
+            return conteudo.tamanho(chave);
+        } catch (IOException ex) {
+            throw new RuntimeException("Erro ao consultar arquivo", ex);
+        }
+    }
+
+    /**
+     * Arquivo do documento para leitura, com o nome original.
+     */
+    public Resource recurso(Documento documento) {
+        String chave = chave(documento);
+        long tamanho = documento.getTamanhoBytes() != null
+                ? documento.getTamanhoBytes()
+                : tamanho(chave).orElseThrow(() -> new RecursoNaoEncontradoException("Arquivo não encontrado no servidor: " + chave));
+        String nome = documento.getNomeArquivo() != null ? documento.getNomeArquivo() : documento.getCaminhoArquivo();
+        return new RecursoConteudo(conteudo, chave, nome, tamanho);
+    }
+
+    /**
+     * Apaga o conteúdo do hash se ele continua sem referências.
+     *
+     * @return se o conteúdo foi coletado
+     */
+    public boolean coletar(String hash) {
+        try {
+            // O DELETE bloqueia a linha: um upload concorrente do mesmo conteúdo espera este commit e regrava o arquivo
+            return Boolean.TRUE.equals(novaTransacao.execute(status -> arquivoRepository.removerSemReferencias(hash)
+                    .map(chave -> {
+                        apagarConteudo(chave);
+                        return true;
+                    })
+                    .orElse(false)));
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível coletar o arquivo {}: {}", hash, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Apaga uma chave do armazenamento que nenhum registro referencia. Chaves de conteúdo ({@code ab/cd/<sha256>})
+     * são antes reservadas em arquivos, de modo que um upload do mesmo hash em andamento vence a coleta;
+     * chaves de outro formato são arquivos antigos, que nenhum upload novo volta a usar.
+     *
+     * @return se a chave foi apagada
+     */
+    public boolean coletarOrfao(String chave) {
+        Matcher conteudoPorHash = CHAVE_CONTEUDO.matcher(chave);
+        if (!conteudoPorHash.matches()) {
+            return apagarConteudo(chave);
+        }
+        String hash = conteudoPorHash.group(1);
+        try {
+            return Boolean.TRUE.equals(novaTransacao.execute(status -> {
+                if (!arquivoRepository.reservarOrfao(hash, chave)) {
+                    return false;
+                }
+                boolean apagado = apagarConteudo(chave);
+                arquivoRepository.removerSemReferencias(hash);
+                return apagado;
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível coletar o arquivo órfão {}: {}", chave, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Apaga temporários de uploads interrompidos (queda do processo no meio de {@link #receber}).
+     *
+     * @return quantidade de temporários apagados
+     */
+    public int limparTemporarios(Instant anterioresA) {
+        Path diretorio = diretorio();
+        if (Files.notExists(diretorio)) {
+            return 0;
+        }
+        int apagados = 0;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                if (arquivo.getFileName().toString().startsWith(PREFIXO_TEMPORARIO)
+                        && Files.getLastModifiedTime(arquivo).toInstant().isBefore(anterioresA)) {
+                    apagar(arquivo);
+                    apagados++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Erro ao limpar temporários em {}: {}", diretorio, e.getMessage());
+        }
+        return apagados;
+    }
+
+    private boolean apagarConteudo(String chave) {
+        try {
+            conteudo.apagar(chave);
+            return true;
+        } catch (IOException e) {
+            log.warn("Erro ao excluir arquivo {}: {}", chave, e.getMessage());
+            return false;
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private Path diretorio() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    private void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Erro ao excluir arquivo {}: {}", arquivo, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.uema.repositorio.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Onde o conteúdo dos arquivos fica guardado, por chave (caminho relativo, ex.: {@code ab/cd/<sha256>}).
+ * Implementações: {@link ArmazenamentoConteudoLocal} (disco) e {@link ArmazenamentoConteudoS3} (S3-compatível),
+ * escolhidas por {@code app.armazenamento.tipo}. Contagem de referências e transações ficam em
+ * {@link ArmazenamentoArquivos}; aqui só se move byte.
+ */
+public interface ArmazenamentoConteudo {
+
+    /**
+     * Chave listada por {@link #chaves()} e quando o conteúdo foi gravado pela última vez.
+     */
+    record ChaveArmazenada(String chave, Instant modificadoEm) {}
+
+    /**
+     * Grava o arquivo local {@code origem} na chave. A origem pode ser movida; o chamador apaga o que sobrar.
+     */
+    void gravar(String chave, Path origem) throws IOException;
+
+    /**
+     * Tamanho do conteúdo, ou vazio se a chave não existe.
+     */
+    OptionalLong tamanho(String chave) throws IOException;
+
+    InputStream abrir(String chave) throws IOException;
+
+    /**
+     * Copia os bytes {@code inicio..fim} (inclusivos) para {@code destino}.
+     */
+    void copiar(String chave, long inicio, long fim, OutputStream destino) throws IOException;
+
+    /**
+     * Caminho no disco local, quando o conteúdo está nele (permite sendfile); vazio em armazenamentos remotos.
+     */
+    Optional<Path> arquivoLocal(String chave);
+
+    void apagar(String chave) throws IOException;
+
+    /**
+     * Todas as chaves armazenadas. O stream deve ser fechado; é lido sob demanda, então um erro no meio da
+     * listagem sai da leitura como {@link java.io.UncheckedIOException}.
+     */
+    Stream<ChaveArmazenada> chaves() throws IOException;
+}
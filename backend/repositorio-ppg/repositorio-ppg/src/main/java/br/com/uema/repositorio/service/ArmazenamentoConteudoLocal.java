@@ -0,0 +1,119 @@
+package br.com.uema.repositorio.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Conteúdo em disco sob um diretório raiz; a chave é o caminho relativo. Com chaves
+ * {@code ab/cd/<sha256>} cada diretório fica com poucas centenas de entradas mesmo com milhões de arquivos.
+ */
+public class ArmazenamentoConteudoLocal implements ArmazenamentoConteudo {
+
+    private final Path raiz;
+
+    public ArmazenamentoConteudoLocal(Path raiz) {
+        this.raiz = raiz.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void gravar(String chave, Path origem) throws IOException {
+        Path destino = resolver(chave);
+        Files.createDirectories(destino.getParent());
+        // Origem no mesmo disco (temporários ficam na raiz): rename atômico, nunca há arquivo final parcial
+        Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public OptionalLong tamanho(String chave) throws IOException {
+        try {
+            return OptionalLong.of(Files.size(resolver(chave)));
+        } catch (NoSuchFileException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    public InputStream abrir(String chave) throws IOException {
+        return Files.newInputStream(resolver(chave));
+    }
+
+    @Override
+    public void copiar(String chave, long inicio, long fim, OutputStream destino) throws IOException {
+        try (FileChannel canal = FileChannel.open(resolver(chave), StandardOpenOption.READ)) {
+            WritableByteChannel saida = Channels.newChannel(destino);
+            long posicao = inicio;
+            long restante = fim - inicio + 1;
+            while (restante > 0) {
+                long enviados = canal.transferTo(posicao, restante, saida);
+                if (enviados <= 0) {
+                    throw new EOFException("Arquivo menor que o intervalo pedido: " + chave);
+                }
+                posicao += enviados;
+                restante -= enviados;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Path> arquivoLocal(String chave) {
+        return Optional.of(resolver(chave));
+    }
+
+    @Override
+    public void apagar(String chave) throws IOException {
+        Files.deleteIfExists(resolver(chave));
+    }
+
+    // Arquivos e diretórios ocultos (temporários de upload em andamento) não são conteúdo armazenado
+    @Override
+    public Stream<ChaveArmazenada> chaves() throws IOException {
+        if (Files.notExists(raiz)) {
+            return Stream.empty();
+        }
+        return Files.walk(raiz)
+                .filter(Files::isRegularFile)
+                .map(raiz::relativize)
+                .filter(relativo -> !oculto(relativo))
+                .map(relativo -> new ChaveArmazenada(relativo.toString().replace('\\', '/'), modificadoEm(raiz.resolve(relativo))));
+    }
+
+    private static boolean oculto(Path relativo) {
+        for (Path parte : relativo) {
+            if (parte.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Instant modificadoEm(Path arquivo) {
+        try {
+            return Files.getLastModifiedTime(arquivo).toInstant();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path resolver(String chave) {
+        Path caminho = raiz.resolve(chave).normalize();
+        if (!caminho.startsWith(raiz)) {
+            throw new IllegalArgumentException("Chave fora do diretório de armazenamento: " + chave);
+        }
+        return caminho;
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.uema.repositorio.service;
+
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Conteúdo num bucket S3-compatível (AWS, MinIO, Ceph...), em {@code <prefixo><chave>}. Permite rodar mais
+ * de uma instância da aplicação sem disco compartilhado. Erros do SDK viram {@link IOException}, como no disco.
+ */
+public class ArmazenamentoConteudoS3 implements ArmazenamentoConteudo {
+
+    private static final int NAO_ENCONTRADO = 404;
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefixo;
+
+    public ArmazenamentoConteudoS3(S3Client s3, String bucket, String prefixo) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefixo = prefixo == null ? "" : prefixo;
+    }
+
+    @Override
+    public void gravar(String chave, Path origem) throws IOException {
+        try {
+            s3.putObject(requisicao -> requisicao.bucket(bucket).key(objeto(chave)), RequestBody.fromFile(origem));
+        } catch (SdkException e) {
+            throw new IOException("Erro ao gravar " + chave + " no S3", e);
+        }
+    }
+
+    @Override
+    public OptionalLong tamanho(String chave) throws IOException {
+        try {
+            return OptionalLong.of(s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(objeto(chave)).build())
+                    .contentLength());
+        } catch (S3Exception e) {
+            if (e.statusCode() == NAO_ENCONTRADO) {
+                return OptionalLong.empty();
+            }
+            throw new IOException("Erro ao consultar " + chave + " no S3", e);
+        } catch (SdkException e) {
+            throw new IOException("Erro ao consultar " + chave + " no S3", e);
+        }
+    }
+
+    @Override
+    public InputStream abrir(String chave) throws IOException {
+        return obter(GetObjectRequest.builder().bucket(bucket).key(objeto(chave)).build());
+    }
+
+    // Só o intervalo pedido sai do bucket
+    @Override
+    public void copiar(String chave, long inicio, long fim, OutputStream destino) throws IOException {
+        var requisicao = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(objeto(chave))
+                .range("bytes=" + inicio + "-" + fim)
+                .build();
+        try (InputStream entrada = obter(requisicao)) {
+            entrada.transferTo(destino);
+        }
+    }
+
+    @Override
+    public Optional<Path> arquivoLocal(String chave) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void apagar(String chave) throws IOException {
+        try {
+            s3.deleteObject(requisicao -> requisicao.bucket(bucket).key(objeto(chave)));
+        } catch (SdkException e) {
+            throw new IOException("Erro ao apagar " + chave + " no S3", e);
+        }
+    }
+
+    // Uma página por vez, buscada quando o stream chega nela: o erro de uma página seguinte sai na leitura do
+    // stream, como UncheckedIOException (o mesmo que Files.walk faz no disco)
+    @Override
+    public Stream<ChaveArmazenada> chaves() throws IOException {
+        ListObjectsV2Response primeira;
+        try {
+            primeira = pagina(null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return Stream.iterate(primeira, Objects::nonNull,
+                        anterior -> Boolean.TRUE.equals(anterior.isTruncated()) ? pagina(anterior.nextContinuationToken()) : null)
+                .flatMap(pagina -> pagina.contents().stream())
+                .map(objeto -> new ChaveArmazenada(objeto.key().substring(prefixo.length()), objeto.lastModified()));
+    }
+
+    private ListObjectsV2Response pagina(String continuacao) {
+        try {
+            return s3.listObjectsV2(ListObjectsV2Request.builder()
+                    .bucket(bucket)
+                    .prefix(prefixo)
+                    .continuationToken(continuacao)
+                    .build());
+        } catch (SdkException e) {
+            throw new UncheckedIOException(new IOException("Erro ao listar o bucket " + bucket, e));
+        }
+    }
+
+    private InputStream obter(GetObjectRequest requisicao) throws IOException {
+        try {
+            return s3.getObject(requisicao);
+        } catch (SdkException e) {
+            throw new IOException("Erro ao ler " + requisicao.key() + " do S3", e);
+        }
+    }
+
+    private String objeto(String chave) {
+        return prefixo + chave;
+    }
+}
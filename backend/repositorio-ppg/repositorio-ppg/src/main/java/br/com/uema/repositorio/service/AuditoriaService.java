@@ -0,0 +1,190 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.EventoAuditoriaDTO;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
+import br.com.uema.repositorio.repository.LogAuditoriaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Auditoria (tabela logs) sem ida ao banco na requisição: {@link #registrar} só enfileira o evento numa fila
+ * sem locks e limitada a {@code app.auditoria.capacidade}; uma thread de fundo grava a fila em INSERTs de
+ * várias linhas a cada {@code app.auditoria.intervalo}, ou antes, quando um lote inteiro se acumula.
+ * <p>
+ * Fila cheia: ações descartáveis (DOWNLOAD) são perdidas na hora; as demais esperam até
+ * {@code app.auditoria.espera-maxima} por espaço antes de serem perdidas. Perdas ficam na métrica
+ * {@code auditoria.eventos.descartados}. Ao encerrar a aplicação a fila é gravada até o fim.
+ */
+@Slf4j
+@Service
+public class AuditoriaService {
+
+    private final LogAuditoriaRepository logAuditoriaRepository;
+    private final int capacidade;
+    private final int lote;
+    private final Duration intervalo;
+    private final Duration esperaMaxima;
+    private final Clock clock;
+
+    private final Queue<EventoAuditoriaDTO> fila = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() percorre a fila; o tamanho é contado à parte
+    private final AtomicInteger tamanho = new AtomicInteger();
+    private final Counter gravados;
+    private final Counter descartados;
+
+    private volatile boolean ativo;
+    private Thread escritor;
+
+    @Autowired
+    public AuditoriaService(LogAuditoriaRepository logAuditoriaRepository, MeterRegistry meterRegistry,
+                            @Value("${app.auditoria.capacidade:10000}") int capacidade,
+                            @Value("${app.auditoria.lote:500}") int lote,
+                            @Value("${app.auditoria.intervalo:1s}") Duration intervalo,
+                            @Value("${app.auditoria.espera-maxima:50ms}") Duration esperaMaxima) {
+        this(logAuditoriaRepository, meterRegistry, capacidade, lote, intervalo, esperaMaxima, Clock.systemUTC());
+    }
+
+    AuditoriaService(LogAuditoriaRepository logAuditoriaRepository, MeterRegistry meterRegistry, int capacidade,
+                     int lote, Duration intervalo, Duration esperaMaxima, Clock clock) {
+        this.logAuditoriaRepository = logAuditoriaRepository;
+        this.capacidade = capacidade;
+        this.lote = lote;
+        this.intervalo = intervalo;
+        this.esperaMaxima = esperaMaxima;
+        this.clock = clock;
+        Gauge.builder("auditoria.fila", tamanho, AtomicInteger::get).register(meterRegistry);
+        this.gravados = Counter.builder("auditoria.eventos.gravados").register(meterRegistry);
+        this.descartados = Counter.builder("auditoria.eventos.descartados").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        ativo = true;
+        escritor = Thread.ofPlatform().name("auditoria-escritor").daemon().start(this::executarEscritor);
+    }
+
+    /**
+     * Enfileira o evento. Dentro de uma transação, só depois do commit: ações desfeitas não são auditadas.
+     */
+    public void registrar(AcaoAuditoria acao, Usuario usuario, Long documentoId, String descricao) {
+        var evento = new EventoAuditoriaDTO(acao, usuario != null ? usuario.getId() : null, documentoId, descricao,
+                clock.instant());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enfileirar(evento);
+                }
+            });
+        } else {
+            enfileirar(evento);
+        }
+    }
+
+    boolean enfileirar(EventoAuditoriaDTO evento) {
+        if (reservarVaga(evento.acao())) {
+            fila.offer(evento);
+            if (tamanho.get() >= lote) {
+                LockSupport.unpark(escritor);
+            }
+            return true;
+        }
+        descartados.increment();
+        log.debug("Fila de auditoria cheia, evento descartado: {}", evento);
+        return false;
+    }
+
+    private boolean reservarVaga(AcaoAuditoria acao) {
+        if (tentarReservar()) {
+            return true;
+        }
+        if (acao.descartavel() || !ativo) {
+            return false;
+        }
+        // Pressão de volta: acorda o escritor e espera a fila esvaziar um pouco
+        long limite = System.nanoTime() + esperaMaxima.toNanos();
+        do {
+            LockSupport.unpark(escritor);
+            LockSupport.parkNanos(Duration.ofMillis(1).toNanos());
+            if (tentarReservar()) {
+                return true;
+            }
+        } while (System.nanoTime() < limite);
+        return false;
+    }
+
+    private boolean tentarReservar() {
+        if (tamanho.incrementAndGet() <= capacidade) {
+            return true;
+        }
+        tamanho.decrementAndGet();
+        return false;
+    }
+
+    private void executarEscritor() {
+        while (ativo) {
+            if (gravarLote() < lote) {
+                LockSupport.parkNanos(intervalo.toNanos());
+            }
+        }
+        // Encerramento: grava o que ficou
+        while (gravarLote() > 0) {
+            // próximo lote
+        }
+    }
+
+    /**
+     * Grava até um lote da fila.
+     *
+     * @return quantidade de eventos retirados da fila
+     */
+    int gravarLote() {
+        List<EventoAuditoriaDTO> eventos = new ArrayList<>(Math.min(lote, tamanho.get()));
+        EventoAuditoriaDTO evento;
+        while (eventos.size() < lote && (evento = fila.poll()) != null) {
+            eventos.add(evento);
+        }
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+        tamanho.addAndGet(-eventos.size());
+
+        try {
+            logAuditoriaRepository.inserir(eventos);
+            gravados.increment(eventos.size());
+        } catch (RuntimeException e) {
+            descartados.increment(eventos.size());
+            log.error("Falha ao gravar {} evento(s) de auditoria: {}", eventos.size(), e.getMessage());
+        }
+        return eventos.size();
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        ativo = false;
+        LockSupport.unpark(escritor);
+        escritor.join(Duration.ofSeconds(30));
+        if (escritor.isAlive()) {
+            log.warn("Auditoria encerrada com {} evento(s) não gravados", tamanho.get());
+        }
+    }
+}
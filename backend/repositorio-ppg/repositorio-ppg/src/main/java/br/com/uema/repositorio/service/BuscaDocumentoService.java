@@ -0,0 +1,43 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.CursorBusca;
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+import br.com.uema.repositorio.dto.PaginaCursorDTO;
+import br.com.uema.repositorio.dto.ResultadoBuscaDTO;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.BuscaDocumentoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BuscaDocumentoService {
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+    private final BuscaDocumentoRepository buscaDocumentoRepository;
+
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<ResultadoBuscaDTO> buscar(String termo, FiltroCatalogoDTO filtro, String cursor, int tamanho) {
+        if (termo == null || termo.isBlank()) {
+            throw new RegraNegocioException("Informe um termo de busca.");
+        }
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+
+        var resultados = buscaDocumentoRepository.buscar(termo.strip(), filtro, CursorBusca.decodificar(cursor), limite + 1);
+
+        boolean temMais = resultados.size() > limite;
+        List<ResultadoBuscaDTO> itens = temMais ? resultados.subList(0, limite) : resultados;
+
+        String proximoCursor = null;
+        if (temMais) {
+            var ultimo = itens.get(itens.size() - 1);
+            proximoCursor = new CursorBusca(ultimo.relevancia(), ultimo.documento().id()).codificar();
+        }
+
+        return new PaginaCursorDTO<>(itens, proximoCursor);
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.BuscaInteligenteDTO;
+import br.com.uema.repositorio.dto.ConsultaInterpretadaDTO;
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.dto.ResultadoBuscaDTO;
+import br.com.uema.repositorio.repository.BuscaDocumentoRepository;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busca em linguagem natural: interpreta a consulta em Java e executa direto no banco.
+ * O LLM (serviço Python /smart-search) só entra quando a interpretação tem baixa confiança e a
+ * busca textual não achou nada, e mesmo assim recebe apenas os candidatos já filtrados pelo SQL.
+ * Com o serviço Python fora, a resposta são esses candidatos, como numa consulta sem texto livre.
+ */
+@Slf4j
+@Service
+public class BuscaInteligenteService {
+
+    public static final String ORIGEM_SQL = "SQL";
+    public static final String ORIGEM_LLM = "LLM";
+
+    private static final int LIMITE_RESULTADOS = 50;
+    private static final int LIMITE_CANDIDATOS_LLM = 100;
+    private static final double CONFIANCA_MINIMA = 0.5;
+
+    @Value("${app.python.busca-url}")
+    private String pythonBuscaUrl;
+
+    private final InterpretadorConsulta interpretador;
+    private final DocumentoRepository documentoRepository;
+    private final BuscaDocumentoRepository buscaDocumentoRepository;
+    private final RestTemplate restTemplate;
+
+    public BuscaInteligenteService(InterpretadorConsulta interpretador, DocumentoRepository documentoRepository,
+                                   BuscaDocumentoRepository buscaDocumentoRepository,
+                                   @Qualifier("restTemplatePython") RestTemplate restTemplate) {
+        this.interpretador = interpretador;
+        this.documentoRepository = documentoRepository;
+        this.buscaDocumentoRepository = buscaDocumentoRepository;
+        this.restTemplate = restTemplate;
+    }
+
+    public BuscaInteligenteDTO buscar(String consulta) {
+        ConsultaInterpretadaDTO interpretacao = interpretador.interpretar(consulta);
+
+        if (!interpretacao.possuiTextoLivre()) {
+            var itens = documentoRepository.buscarCatalogo(interpretacao.filtro(), null, LIMITE_RESULTADOS);
+            return new BuscaInteligenteDTO(interpretacao, ORIGEM_SQL, itens);
+        }
+
+        var encontrados = buscaDocumentoRepository
+                .buscar(interpretacao.textoLivre(), interpretacao.filtro(), null, LIMITE_RESULTADOS).stream()
+                .map(ResultadoBuscaDTO::documento)
+                .toList();
+
+        if (!encontrados.isEmpty() || interpretacao.confianca() >= CONFIANCA_MINIMA) {
+            return new BuscaInteligenteDTO(interpretacao, ORIGEM_SQL, encontrados);
+        }
+
+        // Baixa confiança e nenhum resultado textual: o LLM decide entre os candidatos do filtro estruturado
+        var candidatos = documentoRepository.buscarCatalogo(interpretacao.filtro(), null, LIMITE_CANDIDATOS_LLM);
+        if (candidatos.isEmpty()) {
+            return new BuscaInteligenteDTO(interpretacao, ORIGEM_SQL, candidatos);
+        }
+
+        try {
+            var corpo = Map.of("query", consulta, "documentos", candidatos);
+            var resposta = restTemplate.exchange(pythonBuscaUrl, HttpMethod.POST, new HttpEntity<>(corpo),
+                    new ParameterizedTypeReference<List<DocumentoResponseDTO>>() {});
+
+            var filtrados = resposta.getBody() != null ? resposta.getBody() : List.<DocumentoResponseDTO>of();
+            return new BuscaInteligenteDTO(interpretacao, ORIGEM_LLM, filtrados);
+        } catch (RestClientException e) {
+            log.warn("Serviço de busca por IA indisponível, usando a interpretação local: {}", e.getMessage());
+            var itens = candidatos.size() > LIMITE_RESULTADOS ? candidatos.subList(0, LIMITE_RESULTADOS) : candidatos;
+            return new BuscaInteligenteDTO(interpretacao, ORIGEM_SQL, itens);
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.CargaDocumentosDTO;
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.dto.ResultadoCargaDTO;
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.SituacaoItemLote;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.repository.FluxoAprovacaoRepository;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import br.com.uema.repositorio.service.ArmazenamentoArquivos.ArquivoRecebido;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Carga em lote (POST /documentos/lote): vários arquivos e/ou ZIPs, com metadados comuns e por arquivo.
+ * <ol>
+ *     <li>os metadados de cada arquivo são validados antes de ele ser lido;</li>
+ *     <li>os arquivos são recebidos (temporário + SHA-256) em paralelo; as entradas de um ZIP, na ordem do ZIP;</li>
+ *     <li>os conteúdos ausentes são gravados no armazenamento em paralelo, uma vez por hash, ainda sem transação;</li>
+ *     <li>numa única transação, só no banco, as referências são registradas em ordem de hash e todos os documentos
+ *     e fluxos inseridos em batch JDBC (ids da sequência, em blocos de 50).</li>
+ * </ol>
+ * Um item inválido ou ilegível volta com sua situação sem impedir os demais; uma falha ao gravar recusa a carga inteira.
+ * <p>
+ * ZIPs são contados enquanto descompactam: a carga inteira é recusada (e os temporários apagados) se os ZIPs
+ * passarem de {@code app.upload.lote.maximo-descompactado} no total, ou se um ZIP descompactar mais que
+ * {@code app.upload.lote.razao-compressao-maxima} vezes o que ocupa (zip bomb).
+ */
+@Slf4j
+@Service
+public class CargaDocumentosService {
+
+    private static final String EXTENSAO_ZIP = ".zip";
+    private static final long PISO_RAZAO_COMPRESSAO = 1024 * 1024;
+
+    private final DocumentoRepository documentoRepository;
+    private final FluxoAprovacaoRepository fluxoAprovacaoRepository;
+    private final ProgramaRepository programaRepository;
+    private final ArmazenamentoArquivos armazenamento;
+    private final AuditoriaService auditoria;
+    private final VersaoCatalogo versaoCatalogo;
+    private final EventosService eventos;
+    private final TransactionTemplate transacao;
+    private final ExecutorService executor;
+    private final int maximoArquivos;
+    private final int paralelismo;
+    private final DataSize maximoDescompactado;
+    private final int razaoCompressaoMaxima;
+
+    public CargaDocumentosService(DocumentoRepository documentoRepository,
+                                  FluxoAprovacaoRepository fluxoAprovacaoRepository,
+                                  ProgramaRepository programaRepository, ArmazenamentoArquivos armazenamento,
+                                  AuditoriaService auditoria, VersaoCatalogo versaoCatalogo,
+                                  EventosService eventos, TransactionTemplate transacao,
+                                  @Qualifier("executorUploads") ExecutorService executor,
+                                  @Value("${app.upload.lote.maximo-arquivos:200}") int maximoArquivos,
+                                  @Value("${app.upload.lote.paralelismo:4}") int paralelismo,
+                                  @Value("${app.upload.lote.maximo-descompactado:2GB}") DataSize maximoDescompactado,
+                                  @Value("${app.upload.lote.razao-compressao-maxima:100}") int razaoCompressaoMaxima) {
+        this.documentoRepository = documentoRepository;
+        this.fluxoAprovacaoRepository = fluxoAprovacaoRepository;
+        this.programaRepository = programaRepository;
+        this.armazenamento = armazenamento;
+        this.auditoria = auditoria;
+        this.versaoCatalogo = versaoCatalogo;
+        this.eventos = eventos;
+        this.transacao = transacao;
+        this.executor = executor;
+        this.maximoArquivos = maximoArquivos;
+        this.paralelismo = paralelismo;
+        this.maximoDescompactado = maximoDescompactado;
+        this.razaoCompressaoMaxima = razaoCompressaoMaxima;
+    }
+
+    // Um arquivo da carga (parte do multipart ou entrada de ZIP) e o que já se sabe dele
+    private static final class Item {
+        private final String arquivo;
+        private ArquivoRecebido recebido;
+        private String caminho;
+        private Documento documento;
+        // Preenchido quando o item não vai ser gravado
+        private ResultadoCargaDTO falha;
+
+        Item(String arquivo) {
+            this.arquivo = arquivo;
+        }
+
+        boolean valido() {
+            return falha == null;
+        }
+
+        void falhar(SituacaoItemLote situacao, String mensagem) {
+            falha = new ResultadoCargaDTO(arquivo, situacao, null, mensagem);
+        }
+
+        ResultadoCargaDTO resultado() {
+            return valido() ? new ResultadoCargaDTO(arquivo, SituacaoItemLote.PROCESSADO, documento.getId(), null) : falha;
+        }
+    }
+
+    // Limite que recusa a carga inteira, não só o item que o atingiu
+    private static final class CargaRecusadaException extends RegraNegocioException {
+        CargaRecusadaException(String message) {
+            super(message);
+        }
+    }
+
+    // Stream que conta os bytes lidos e avisa a cada leitura
+    private static final class EntradaContada extends FilterInputStream {
+        private final LongConsumer aoLer;
+        private long lidos;
+
+        EntradaContada(InputStream entrada, LongConsumer aoLer) {
+            super(entrada);
+            this.aoLer = aoLer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int lido = super.read();
+            if (lido >= 0) {
+                contar(1);
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] buffer, int inicio, int tamanho) throws IOException {
+            int lidosAgora = super.read(buffer, inicio, tamanho);
+            if (lidosAgora > 0) {
+                contar(lidosAgora);
+            }
+            return lidosAgora;
+        }
+
+        @Override
+        public long skip(long quantidade) throws IOException {
+            long pulados = super.skip(quantidade);
+            contar(pulados);
+            return pulados;
+        }
+
+        private void contar(long quantidade) {
+            lidos += quantidade;
+            aoLer.accept(quantidade);
+        }
+    }
+
+    // Bytes descompactados dos ZIPs de uma carga
+    private final class Descompactacao {
+        private long daCarga;
+
+        /**
+         * Conta o que é extraído de um ZIP; {@code compactado} é o stream do arquivo ZIP, para a razão de compressão.
+         */
+        LongConsumer doZip(String nomeZip, EntradaContada compactado) {
+            long[] extraidos = {0};
+            return lidos -> {
+                daCarga += lidos;
+                extraidos[0] += lidos;
+                if (daCarga > maximoDescompactado.toBytes()) {
+                    throw new CargaRecusadaException("Os ZIPs da carga descompactam mais que o limite de "
+                            + maximoDescompactado.toMegabytes() + " MB.");
+                }
+                // Piso: ZIPs pequenos de texto comprimem muito sem serem suspeitos
+                if (extraidos[0] > razaoCompressaoMaxima * Math.max(compactado.lidos, PISO_RAZAO_COMPRESSAO)) {
+                    throw new CargaRecusadaException("O ZIP " + nomeZip + " descompacta mais de "
+                            + razaoCompressaoMaxima + " vezes o seu tamanho.");
+                }
+            };
+        }
+    }
+
+    /**
+     * @return um resultado por arquivo, na ordem em que chegaram (entradas de um ZIP no lugar dele)
+     */
+    public List<ResultadoCargaDTO> carregar(CargaDocumentosDTO metadados, List<MultipartFile> arquivos, Usuario autor) {
+        if (arquivos == null || arquivos.isEmpty()) {
+            throw new RegraNegocioException("Envie ao menos um arquivo.");
+        }
+        var carga = metadados != null ? metadados : new CargaDocumentosDTO(null, null, null, null);
+        var programas = programaRepository.findAllById(idsProgramas(carga)).stream()
+                .collect(Collectors.toMap(Programa::getId, Function.identity()));
+        var metadadosPorArquivo = carga.itens() == null ? Map.<String, CargaDocumentosDTO.Item>of()
+                : carga.itens().stream().collect(Collectors.toMap(CargaDocumentosDTO.Item::arquivo, Function.identity(), (a, b) -> b));
+
+        List<Item> itens = new ArrayList<>();
+        var descompactacao = new Descompactacao();
+        try {
+            List<Runnable> recebimentos = new ArrayList<>();
+            for (MultipartFile arquivo : arquivos) {
+                String nome = nomeBase(arquivo.getOriginalFilename());
+                if (nome.toLowerCase(Locale.ROOT).endsWith(EXTENSAO_ZIP)) {
+                    expandirZip(arquivo, nome, itens, carga, metadadosPorArquivo, programas, descompactacao);
+                    continue;
+                }
+                var item = novoItem(nome, itens, carga, metadadosPorArquivo, programas);
+                if (item.valido()) {
+                    recebimentos.add(() -> receber(item, arquivo::getInputStream));
+                }
+            }
+            emParalelo(recebimentos);
+
+            List<Item> validos = itens.stream().filter(Item::valido).toList();
+            // Envio ao armazenamento antes da transação: os PUTs não seguram conexão nem as linhas dos hashes
+            Map<String, Item> porHash = new LinkedHashMap<>();
+            validos.forEach(item -> porHash.putIfAbsent(item.recebido.hashSha256(), item));
+            emParalelo(porHash.values().stream()
+                    .map(item -> (Runnable) () -> armazenamento.gravar(item.recebido))
+                    .toList());
+
+            if (!validos.isEmpty()) {
+                transacao.executeWithoutResult(status -> inserir(validos, autor));
+                validos.forEach(item -> auditoria.registrar(AcaoAuditoria.UPLOAD, autor, item.documento.getId(),
+                        item.documento.getNomeArquivo() + " (lote)"));
+            }
+            return itens.stream().map(Item::resultado).toList();
+        } finally {
+            itens.stream()
+                    .filter(item -> item.recebido != null)
+                    .forEach(item -> armazenamento.descartar(item.recebido));
+        }
+    }
+
+    private void inserir(List<Item> itens, Usuario autor) {
+        // Referências em ordem de hash, uma por documento, sobre o conteúdo já gravado
+        itens.stream()
+                .sorted(Comparator.comparing((Item item) -> item.recebido.hashSha256()))
+                .forEach(item -> item.caminho = armazenamento.armazenar(item.recebido));
+
+        itens.forEach(item -> {
+            item.documento.setCaminhoArquivo(item.caminho);
+            item.documento.setUsuario(autor);
+        });
+        documentoRepository.saveAll(itens.stream().map(item -> item.documento).toList());
+        var fluxos = itens.stream()
+                .map(item -> DocumentoService.fluxoInicial(item.documento, autor))
+                .toList();
+        fluxoAprovacaoRepository.saveAll(fluxos);
+        versaoCatalogo.alterado();
+        fluxos.stream()
+                .filter(fluxo -> fluxo.getEstado() == EstadoAprovacao.PENDENTE)
+                .forEach(fluxo -> eventos.publicar(EventoDTO.aprovacaoPendente(fluxo.getDocumento().getId(),
+                        fluxo.getDocumento().getPrograma().getId(), fluxo.getId())));
+    }
+
+    private void expandirZip(MultipartFile arquivo, String nomeZip, List<Item> itens, CargaDocumentosDTO carga,
+                             Map<String, CargaDocumentosDTO.Item> metadadosPorArquivo, Map<Long, Programa> programas,
+                             Descompactacao descompactacao) {
+        // Entradas saem uma após a outra do mesmo stream: recebidas em sequência, sem extrair o ZIP inteiro antes
+        int antes = itens.size();
+        try (var compactado = new EntradaContada(arquivo.getInputStream(), lidos -> {});
+             var zip = new ZipInputStream(compactado)) {
+            var extraidos = new EntradaContada(StreamUtils.nonClosing(zip), descompactacao.doZip(nomeZip, compactado));
+            ZipEntry entrada;
+            while ((entrada = zip.getNextEntry()) != null) {
+                String nome = nomeBase(entrada.getName());
+                if (entrada.isDirectory() || nome.startsWith(".") || entrada.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                var item = novoItem(nome, itens, carga, metadadosPorArquivo, programas);
+                if (item.valido()) {
+                    receber(item, () -> extraidos);
+                }
+            }
+            if (itens.size() == antes) {
+                var item = new Item(nomeZip);
+                item.falhar(SituacaoItemLote.INVALIDO, "O ZIP não contém arquivos");
+                itens.add(item);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // IllegalArgumentException: nome de entrada fora de UTF-8
+            log.warn("ZIP {} ilegível na carga em lote: {}", nomeZip, e.getMessage());
+            var item = new Item(nomeZip);
+            item.falhar(SituacaoItemLote.INVALIDO, "ZIP inválido ou corrompido");
+            itens.add(item);
+        }
+    }
+
+    private Item novoItem(String nome, List<Item> itens, CargaDocumentosDTO carga,
+                          Map<String, CargaDocumentosDTO.Item> metadadosPorArquivo, Map<Long, Programa> programas) {
+        if (itens.size() >= maximoArquivos) {
+            throw new RegraNegocioException("A carga aceita no máximo " + maximoArquivos + " arquivos.");
+        }
+        var item = new Item(nome);
+        itens.add(item);
+
+        var proprios = metadadosPorArquivo.get(nome);
+        var tipo = proprios != null && proprios.tipo() != null ? proprios.tipo() : carga.tipo();
+        var dataPublicacao = proprios != null && proprios.dataPublicacao() != null ? proprios.dataPublicacao() : carga.dataPublicacao();
+        var programaId = proprios != null && proprios.programaId() != null ? proprios.programaId() : carga.programaId();
+        var titulo = proprios != null && proprios.titulo() != null && !proprios.titulo().isBlank()
+                ? proprios.titulo() : semExtensao(nome);
+
+        if (nome.isBlank()) {
+            item.falhar(SituacaoItemLote.INVALIDO, "O nome do arquivo é obrigatório");
+        } else if (tipo == null) {
+            item.falhar(SituacaoItemLote.INVALIDO, "O tipo do documento é obrigatório");
+        } else if (dataPublicacao == null) {
+            item.falhar(SituacaoItemLote.INVALIDO, "A data de publicação é obrigatória");
+        } else if (programaId == null) {
+            item.falhar(SituacaoItemLote.INVALIDO, "O ID do programa é obrigatório");
+        } else if (!programas.containsKey(programaId)) {
+            item.falhar(SituacaoItemLote.NAO_ENCONTRADO, "Programa não encontrado");
+        } else {
+            item.documento = Documento.builder()
+                    .titulo(titulo)
+                    .descricao(proprios != null ? proprios.descricao() : null)
+                    .tipo(tipo)
+                    .dataPublicacao(dataPublicacao)
+                    .nomeArquivo(DocumentoService.sanitizarNomeArquivo(nome))
+                    .programa(programas.get(programaId))
+                    .build();
+        }
+        return item;
+    }
+
+    private void receber(Item item, Callable<InputStream> conteudo) {
+        try {
+            item.recebido = armazenamento.receber(conteudo.call());
+            item.documento.setHashSha256(item.recebido.hashSha256());
+            item.documento.setTamanhoBytes(item.recebido.tamanhoBytes());
+        } catch (CargaRecusadaException e) {
+            throw e;
+        } catch (RegraNegocioException e) {
+            item.falhar(SituacaoItemLote.INVALIDO, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Falha ao receber {} na carga em lote: {}", item.arquivo, e.getMessage());
+            item.falhar(SituacaoItemLote.INVALIDO, "Erro ao ler o arquivo");
+        }
+    }
+
+    // Roda as tarefas no executor, no máximo {@code paralelismo} por vez, e espera todas antes de propagar uma falha
+    private void emParalelo(List<Runnable> tarefas) {
+        var permissoes = new Semaphore(paralelismo);
+        List<Future<?>> futuros = new ArrayList<>(tarefas.size());
+        for (Runnable tarefa : tarefas) {
+            futuros.add(executor.submit(() -> {
+                permissoes.acquireUninterruptibly();
+                try {
+                    tarefa.run();
+                } finally {
+                    permissoes.release();
+                }
+            }));
+        }
+
+        RuntimeException falha = null;
+        boolean interrompida = false;
+        for (Future<?> futuro : futuros) {
+            try {
+                futuro.get();
+            } catch (InterruptedException e) {
+                interrompida = true;
+                futuros.forEach(f -> f.cancel(true));
+                falha = new IllegalStateException("Carga em lote interrompida", e);
+            } catch (ExecutionException e) {
+                if (falha == null) {
+                    falha = e.getCause() instanceof RuntimeException r ? r : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+        if (falha != null) {
+            throw falha;
+        }
+    }
+
+    private static List<Long> idsProgramas(CargaDocumentosDTO carga) {
+        var dosItens = carga.itens() == null ? Stream.<Long>empty() : carga.itens().stream().map(CargaDocumentosDTO.Item::programaId);
+        return Stream.concat(Stream.of(carga.programaId()), dosItens)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    // Só o nome, sem diretórios (entradas de ZIP e navegadores antigos mandam o caminho)
+    private static String nomeBase(String nome) {
+        if (nome == null) {
+            return "";
+        }
+        return nome.substring(Math.max(nome.lastIndexOf('/'), nome.lastIndexOf('\\')) + 1);
+    }
+
+    private static String semExtensao(String nome) {
+        int ponto = nome.lastIndexOf('.');
+        return ponto > 0 ? nome.substring(0, ponto) : nome;
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.exception.ServicoIndisponivelException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente do endpoint de resumo do serviço Python ({@code app.python.url}).
+ * <p>
+ * Além do pool e dos timeouts do {@code restTemplatePython}, limita as chamadas simultâneas (bulkhead) e
+ * abre o circuito após falhas seguidas: enquanto aberto, as chamadas falham na hora com
+ * {@link ServicoIndisponivelException}; passado {@code tempo-aberto}, uma única chamada de teste decide se fecha.
+ */
+@Component
+public class ClienteResumo {
+
+    private enum EstadoCircuito { FECHADO, ABERTO, SEMIABERTO }
+
+    private record ResumoResponse(String resumo) {}
+
+    private final RestTemplate restTemplate;
+    private final String url;
+    private final Semaphore chamadasSimultaneas;
+    private final Duration esperaBulkhead;
+    private final int falhasParaAbrir;
+    private final Duration tempoAberto;
+    private final Clock clock;
+
+    // Estado do circuito, protegido por synchronized(this)
+    private EstadoCircuito estado = EstadoCircuito.FECHADO;
+    private int falhasSeguidas;
+    private Instant abertoDesde;
+
+    @Autowired
+    public ClienteResumo(@Qualifier("restTemplatePython") RestTemplate restTemplate,
+                         @Value("${app.python.url}") String url,
+                         @Value("${app.python.chamadas-simultaneas:4}") int chamadasSimultaneas,
+                         @Value("${app.python.espera-bulkhead:1s}") Duration esperaBulkhead,
+                         @Value("${app.python.circuito.falhas-para-abrir:5}") int falhasParaAbrir,
+                         @Value("${app.python.circuito.tempo-aberto:30s}") Duration tempoAberto) {
+        this(restTemplate, url, chamadasSimultaneas, esperaBulkhead, falhasParaAbrir, tempoAberto, Clock.systemUTC());
+    }
+
+    ClienteResumo(RestTemplate restTemplate, String url, int chamadasSimultaneas, Duration esperaBulkhead,
+                  int falhasParaAbrir, Duration tempoAberto, Clock clock) {
+        this.restTemplate = restTemplate;
+        this.url = url;
+        this.chamadasSimultaneas = new Semaphore(chamadasSimultaneas);
+        this.esperaBulkhead = esperaBulkhead;
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.tempoAberto = tempoAberto;
+        this.clock = clock;
+    }
+
+    public String resumir(Resource arquivo) {
+        permitirChamada();
+
+        if (!adquirirVaga()) {
+            liberarTeste();
+            throw new ServicoIndisponivelException("Serviço de resumo ocupado, tente novamente em instantes.");
+        }
+        try {
+            String resumo = enviar(arquivo);
+            registrarSucesso();
+            return resumo;
+        } catch (HttpClientErrorException e) {
+            // 4xx: o serviço respondeu, o problema é a requisição (ex.: arquivo ilegível)
+            registrarSucesso();
+            throw e;
+        } catch (RestClientException e) {
+            registrarFalha();
+            throw new ServicoIndisponivelException("Serviço de resumo não respondeu.", e);
+        } finally {
+            chamadasSimultaneas.release();
+        }
+    }
+
+    private String enviar(Resource arquivo) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", arquivo);
+
+        var response = restTemplate.postForObject(url, new HttpEntity<>(body, headers), ResumoResponse.class);
+        if (response == null || response.resumo() == null) {
+            throw new RestClientException("Serviço de resumo não retornou conteúdo");
+        }
+        return response.resumo();
+    }
+
+    private boolean adquirirVaga() {
+        try {
+            return chamadasSimultaneas.tryAcquire(esperaBulkhead.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized void permitirChamada() {
+        if (estado == EstadoCircuito.FECHADO) {
+            return;
+        }
+        if (estado == EstadoCircuito.ABERTO && !clock.instant().isBefore(abertoDesde.plus(tempoAberto))) {
+            // Deixa passar só esta chamada como teste
+            estado = EstadoCircuito.SEMIABERTO;
+            return;
+        }
+        throw new ServicoIndisponivelException("Serviço de resumo indisponível no momento, tente novamente mais tarde.");
+    }
+
+    // A chamada de teste não chegou a ser feita: outra pode tentar
+    private synchronized void liberarTeste() {
+        if (estado == EstadoCircuito.SEMIABERTO) {
+            estado = EstadoCircuito.ABERTO;
+            abertoDesde = clock.instant().minus(tempoAberto);
+        }
+    }
+
+    private synchronized void registrarSucesso() {
+        estado = EstadoCircuito.FECHADO;
+        falhasSeguidas = 0;
+    }
+
+    private synchronized void registrarFalha() {
+        falhasSeguidas++;
+        if (estado == EstadoCircuito.SEMIABERTO || falhasSeguidas >= falhasParaAbrir) {
+            estado = EstadoCircuito.ABERTO;
+            abertoDesde = clock.instant();
+        }
+    }
+}
@@ -1,60 +1,74 @@
 package br.com.uema.repositorio.service;
 
+import br.com.uema.repositorio.dto.ArquivoDownloadDTO;
+import br.com.uema.repositorio.dto.CursorDocumento;
+import br.com.uema.repositorio.dto.CursorVersao;
 import br.com.uema.repositorio.dto.DocumentoRequestDTO;
 import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+import br.com.uema.repositorio.dto.PaginaCursorDTO;
+import br.com.uema.repositorio.dto.VersaoDocumentoDTO;
 import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.DocumentoVersao;
 import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.entity.Programa;
 import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
 import br.com.uema.repositorio.enums.EstadoAprovacao;
 import br.com.uema.repositorio.enums.PerfilUsuario;
+import br.com.uema.repositorio.enums.TipoAcesso;
 import br.com.uema.repositorio.exception.RecursoNaoEncontradoException;
 import br.com.uema.repositorio.exception.RegraNegocioException;
 import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.repository.DocumentoVersaoRepository;
 import br.com.uema.repositorio.repository.FluxoAprovacaoRepository;
 import br.com.uema.repositorio.repository.ProgramaRepository;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import br.com.uema.repositorio.service.ArmazenamentoArquivos.ArquivoRecebido;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import br.com.uema.repositorio.entity.Resumo;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Service
 public class DocumentoService {
-    @Value("${app.python.url}")
-    private String pythonApiUrl;
-
-    @Value("${file.upload-dir:./uploads}")
-    private String uploadDir;
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+    private static final Pattern CARACTERES_INVALIDOS_ARQUIVO = Pattern.compile("[^a-zA-Z0-9.\\-_]");
 
     private final FluxoAprovacaoRepository fluxoAprovacaoRepository;
     private final DocumentoRepository documentoRepository;
     private final ProgramaRepository programaRepository;
-
-    public DocumentoService(DocumentoRepository documentoRepository, ProgramaRepository programaRepository, FluxoAprovacaoRepository fluxoAprovacaoRepository) {
+    private final DocumentoVersaoRepository versaoRepository;
+    private final ArmazenamentoArquivos armazenamento;
+    private final AuditoriaService auditoria;
+    private final EstatisticaAcessoService estatisticas;
+    private final VersaoCatalogo versaoCatalogo;
+    private final EventosService eventos;
+    private final TransactionTemplate transacao;
+
+    public DocumentoService(DocumentoRepository documentoRepository, ProgramaRepository programaRepository,
+                            FluxoAprovacaoRepository fluxoAprovacaoRepository, DocumentoVersaoRepository versaoRepository,
+                            ArmazenamentoArquivos armazenamento, AuditoriaService auditoria,
+                            EstatisticaAcessoService estatisticas, VersaoCatalogo versaoCatalogo,
+                            EventosService eventos, TransactionTemplate transacao) {
         this.documentoRepository = documentoRepository;
         this.programaRepository = programaRepository;
         this.fluxoAprovacaoRepository = fluxoAprovacaoRepository;
+        this.versaoRepository = versaoRepository;
+        this.armazenamento = armazenamento;
+        this.auditoria = auditoria;
+        this.estatisticas = estatisticas;
+        this.versaoCatalogo = versaoCatalogo;
+        this.eventos = eventos;
+        this.transacao = transacao;
     }
 
-    @Transactional
     public DocumentoResponseDTO upload(DocumentoRequestDTO dados, Usuario autor) {
 
         if (dados.getArquivo() == null || dados.getArquivo().isEmpty()) {
@@ -63,19 +77,66 @@ public class DocumentoService {
         var programa = programaRepository.findById(dados.getProgramaId())
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Programa não encontrado"));
 
-        String caminhoArquivo = salvarArquivoNoDisco(dados.getArquivo());
+        String nomeOriginal = Objects.requireNonNull(dados.getArquivo().getOriginalFilename());
+        return registrar(dados, programa, receber(dados.getArquivo()), nomeOriginal, autor);
+    }
+
+    /**
+     * Upload sem multipart: o corpo da requisição é o próprio arquivo, gravado direto no diretório final
+     * numa única passada (sem o spool do multipart). Nenhuma transação fica aberta enquanto o arquivo chega.
+     */
+    public DocumentoResponseDTO uploadStreaming(DocumentoRequestDTO dados, InputStream conteudo, String nomeOriginal,
+                                                Usuario autor) {
+        if (nomeOriginal == null || nomeOriginal.isBlank()) {
+            throw new RegraNegocioException("O nome do arquivo é obrigatório.");
+        }
+        var programa = programaRepository.findById(dados.getProgramaId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Programa não encontrado"));
+
+        return registrar(dados, programa, armazenamento.receber(conteudo), nomeOriginal, autor);
+    }
+
+    // O conteúdo vai ao armazenamento antes da transação, que só registra a referência e faz os inserts;
+    // o temporário é sempre descartado ao final
+    private DocumentoResponseDTO registrar(DocumentoRequestDTO dados, Programa programa, ArquivoRecebido arquivo,
+                                           String nomeOriginal, Usuario autor) {
+        try {
+            armazenamento.gravar(arquivo);
+            return transacao.execute(status -> criarDocumento(dados, programa, arquivo, nomeOriginal, autor));
+        } finally {
+            armazenamento.descartar(arquivo);
+        }
+    }
+
+    private DocumentoResponseDTO criarDocumento(DocumentoRequestDTO dados, Programa programa, ArquivoRecebido arquivo,
+                                                String nomeOriginal, Usuario autor) {
         var novoDocumento = Documento.builder()
                 .titulo(dados.getTitulo())
                 .descricao(dados.getDescricao())
                 .tipo(dados.getTipo())
                 .dataPublicacao(dados.getDataPublicacao())
-                .caminhoArquivo(caminhoArquivo)
+                .caminhoArquivo(armazenamento.armazenar(arquivo))
+                .nomeArquivo(sanitizarNomeArquivo(nomeOriginal))
+                .hashSha256(arquivo.hashSha256())
+                .tamanhoBytes(arquivo.tamanhoBytes())
                 .programa(programa)
                 .usuario(autor)
                 .build();
 
         documentoRepository.save(novoDocumento);
+        var fluxo = fluxoInicial(novoDocumento, autor);
+        fluxoAprovacaoRepository.save(fluxo);
+        versaoCatalogo.alterado();
+        auditoria.registrar(AcaoAuditoria.UPLOAD, autor, novoDocumento.getId(), novoDocumento.getNomeArquivo());
+        if (fluxo.getEstado() == EstadoAprovacao.PENDENTE) {
+            eventos.publicar(EventoDTO.aprovacaoPendente(novoDocumento.getId(), programa.getId(), fluxo.getId()));
+        }
+
+        return new DocumentoResponseDTO(novoDocumento);
+    }
 
+    // Gestores e administradores publicam direto; os demais perfis aguardam análise
+    static FluxoAprovacao fluxoInicial(Documento documento, Usuario autor) {
         EstadoAprovacao estadoInicial;
         if (autor.getPerfil() == PerfilUsuario.ADMIN || autor.getPerfil() == PerfilUsuario.GESTOR) {
             estadoInicial = EstadoAprovacao.APROVADO;
@@ -83,72 +144,149 @@ public class DocumentoService {
             estadoInicial = EstadoAprovacao.PENDENTE;
         }
 
-        var fluxo = FluxoAprovacao.builder()
-                .documento(novoDocumento)
+        return FluxoAprovacao.builder()
+                .documento(documento)
                 .estado(estadoInicial)
                 .aprovador(estadoInicial == EstadoAprovacao.APROVADO ? autor : null)
                 .comentarios(estadoInicial == EstadoAprovacao.APROVADO ? "Aprovação automática" : "Aguardando análise")
                 .build();
+    }
 
-        fluxoAprovacaoRepository.save(fluxo);
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<DocumentoResponseDTO> listarCatalogo(FiltroCatalogoDTO filtro, String cursor, int tamanho) {
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
 
-        return new DocumentoResponseDTO(novoDocumento);
+        // Busca um item a mais para saber se existe próxima página sem precisar de COUNT
+        var documentos = documentoRepository.buscarCatalogo(filtro, CursorDocumento.decodificar(cursor), limite + 1);
+
+        boolean temMais = documentos.size() > limite;
+        List<DocumentoResponseDTO> itens = temMais ? documentos.subList(0, limite) : documentos;
+
+        String proximoCursor = null;
+        if (temMais) {
+            var ultimo = itens.get(itens.size() - 1);
+            proximoCursor = new CursorDocumento(ultimo.dataPublicacao(), ultimo.id()).codificar();
+        }
+
+        return new PaginaCursorDTO<>(itens, proximoCursor);
     }
 
-    public Resource download(Long id) {
-        try {
-            var documento = documentoRepository.findById(id)
-                    .orElseThrow(() -> new RecursoNaoEncontradoException("Documento não encontrado"));
-
-            Path caminhoArquivo = Paths.get(uploadDir).resolve(documento.getCaminhoArquivo()).normalize();
-            Resource recurso = new UrlResource(caminhoArquivo.toUri());
-
-            if (recurso.exists()) {
-                return recurso;
-            } else {
-                throw new FileNotFoundException("Arquivo não encontrado no servidor: " + documento.getCaminhoArquivo());
-            }
-        } catch (MalformedURLException | FileNotFoundException ex) {
-            throw new RuntimeException("Erro ao baixar arquivo: " + ex.getMessage());
+    public ArquivoDownloadDTO download(Long id) {
+        var documento = documentoRepository.findById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Documento não encontrado"));
+
+        String chave = armazenamento.chave(documento);
+        long tamanho = armazenamento.tamanho(chave)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Arquivo não encontrado no servidor: " + documento.getCaminhoArquivo()));
+
+        String nome = documento.getNomeArquivo() != null ? documento.getNomeArquivo() : documento.getCaminhoArquivo();
+        return new ArquivoDownloadDTO(chave, nome, documento.getHashSha256(), tamanho, documento.getUpdatedAt().toInstant());
+    }
+
+    /**
+     * Histórico de arquivos do documento, do mais recente para o mais antigo, paginado por cursor.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<VersaoDocumentoDTO> listarVersoes(Long id, String cursor, int tamanho) {
+        if (!documentoRepository.existsById(id)) {
+            throw new RecursoNaoEncontradoException("Documento não encontrado");
         }
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+        var posicao = CursorVersao.decodificar(cursor);
+
+        var versoes = versaoRepository.listarHistorico(id, posicao != null ? posicao.id() : null, Limit.of(limite + 1));
+
+        boolean temMais = versoes.size() > limite;
+        List<VersaoDocumentoDTO> itens = temMais ? versoes.subList(0, limite) : versoes;
+        String proximoCursor = temMais ? new CursorVersao(itens.get(itens.size() - 1).id()).codificar() : null;
+
+        return new PaginaCursorDTO<>(itens, proximoCursor);
     }
 
-    private String salvarArquivoNoDisco(MultipartFile arquivo) {
-        try {
-            Path diretorioPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(diretorioPath);
+    public void registrarAcesso(Long id, Usuario usuario, TipoAcesso tipo) {
+        estatisticas.registrar(id, tipo);
+        auditoria.registrar(AcaoAuditoria.DOWNLOAD, usuario, id, tipo == TipoAcesso.VISUALIZACAO ? "Visualização" : null);
+    }
 
-            String nomeOriginal = Objects.requireNonNull(arquivo.getOriginalFilename())
-                    .replaceAll("[^a-zA-Z0-9\\.\\-_]", "_");
+    public ArquivoDownloadDTO downloadVersao(Long id, Long idVersao) {
+        var versao = versaoRepository.findByIdAndDocumentoId(idVersao, id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Versão não encontrada"));
+        if (versao.getArquivoExpiradoEm() != null) {
+            throw new RecursoNaoEncontradoException("O arquivo desta versão não está mais disponível");
+        }
 
-            String nomeArquivo = UUID.randomUUID() + "_" + nomeOriginal;
-            Path targetLocation = diretorioPath.resolve(nomeArquivo);
+        String chave = armazenamento.chave(versao.getHashSha256(), versao.getCaminhoArquivo());
+        long tamanho = armazenamento.tamanho(chave)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Arquivo não encontrado no servidor: " + versao.getCaminhoArquivo()));
 
-            Files.copy(arquivo.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        String nome = versao.getNomeArquivo() != null ? versao.getNomeArquivo() : versao.getCaminhoArquivo();
+        return new ArquivoDownloadDTO(chave, nome, versao.getHashSha256(), tamanho, versao.getCreatedAt().toInstant());
+    }
+
+    static String sanitizarNomeArquivo(String nomeOriginal) {
+        return CARACTERES_INVALIDOS_ARQUIVO.matcher(nomeOriginal).replaceAll("_");
+    }
 
-            return nomeArquivo;
+    private ArquivoRecebido receber(MultipartFile arquivo) {
+        try {
+            return armazenamento.receber(arquivo.getInputStream());
         } catch (IOException ex) {
             throw new RuntimeException("Erro ao salvar arquivo", ex);
         }
     }
 
     @Transactional
-    public void excluir(Long id) {
+    public void excluir(Long id, Usuario usuario) {
         var documento = documentoRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Documento não encontrado"));
 
+        armazenamento.liberarVersoes(id);
         documentoRepository.delete(documento);
+        liberarArquivo(documento);
+        // documento_id fica nulo na gravação (o documento não existe mais): o id vai na descrição
+        versaoCatalogo.alterado();
+        auditoria.registrar(AcaoAuditoria.DELETE_DOCUMENT, usuario, null, "Documento " + id + ": " + documento.getTitulo());
+    }
 
-        try {
-            Path arquivoPath = Paths.get(uploadDir).resolve(documento.getCaminhoArquivo()).normalize();
-            Files.deleteIfExists(arquivoPath);
-        } catch (IOException e) {
-            System.err.println("Erro ao excluir arquivo físico: " + e.getMessage());
+    // O arquivo substituído vai para o histórico, que herda a referência dele até expirar pela retenção
+    private void arquivarVersao(Documento documento, String novoNome, Usuario editor) {
+        versaoRepository.save(DocumentoVersao.builder()
+                .documento(documento)
+                .caminhoArquivo(documento.getCaminhoArquivo())
+                .nomeArquivo(documento.getNomeArquivo())
+                .hashSha256(documento.getHashSha256())
+                .tamanhoBytes(documento.getTamanhoBytes())
+                .usuario(editor)
+                .observacao("Substituído por " + novoNome)
+                .build());
+    }
+
+    private void liberarArquivo(Documento documento) {
+        if (documento.getHashSha256() != null) {
+            armazenamento.liberar(documento.getHashSha256());
+        } else {
+            armazenamento.apagarLegado(documento.getCaminhoArquivo());
         }
     }
 
-    @Transactional
+    /**
+     * Arquivo novo, se enviado, é recebido e gravado no armazenamento antes da transação, que só troca os registros.
+     */
     public DocumentoResponseDTO atualizar(Long id, DocumentoRequestDTO dados, Usuario editor) {
+        if (dados.getArquivo() == null || dados.getArquivo().isEmpty()) {
+            return transacao.execute(status -> atualizarRegistro(id, dados, null, editor));
+        }
+        var novoArquivo = receber(dados.getArquivo());
+        try {
+            armazenamento.gravar(novoArquivo);
+            return transacao.execute(status -> atualizarRegistro(id, dados, novoArquivo, editor));
+        } finally {
+            armazenamento.descartar(novoArquivo);
+        }
+    }
+
+    private DocumentoResponseDTO atualizarRegistro(Long id, DocumentoRequestDTO dados, ArquivoRecebido novoArquivo,
+                                                   Usuario editor) {
         Documento documento = documentoRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Documento não encontrado"));
 
@@ -163,62 +301,22 @@ public class DocumentoService {
             documento.setPrograma(novoPrograma);
         }
 
-        // Atualiza Arquivo (Apenas se enviado)
-        if (dados.getArquivo() != null && !dados.getArquivo().isEmpty()) {
-            String novoCaminho = salvarArquivoNoDisco(dados.getArquivo());
+        String descricao = "Metadados atualizados";
+
+        if (novoArquivo != null) {
+            String novoCaminho = armazenamento.armazenar(novoArquivo);
+            String novoNome = sanitizarNomeArquivo(Objects.requireNonNull(dados.getArquivo().getOriginalFilename()));
+            arquivarVersao(documento, novoNome, editor);
             documento.setCaminhoArquivo(novoCaminho);
+            documento.setNomeArquivo(novoNome);
+            descricao = "Arquivo substituído por " + novoNome;
+            documento.setHashSha256(novoArquivo.hashSha256());
+            documento.setTamanhoBytes(novoArquivo.tamanhoBytes());
         }
 
         documentoRepository.save(documento);
+        versaoCatalogo.alterado();
+        auditoria.registrar(AcaoAuditoria.UPDATE_DOCUMENT, editor, id, descricao);
         return new DocumentoResponseDTO(documento);
     }
-
-    @Transactional
-    public String gerarOuObterResumo(Long id) {
-        Documento doc = documentoRepository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Documento não encontrado"));
-
-        // 1. Verifica se já existe resumo na nova tabela
-        if (doc.getResumo() != null) {
-            return doc.getResumo().getConteudo();
-        }
-
-        // 2. Se não existe, chama o Python para gerar
-        try {
-            Path arquivoPath = Paths.get(uploadDir).resolve(doc.getCaminhoArquivo()).normalize();
-
-            RestTemplate restTemplate = new RestTemplate();
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            // Prepara o arquivo para envio
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", new FileSystemResource(arquivoPath.toFile()));
-
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            record ResumoResponse(String resumo) {}
-
-            var response = restTemplate.postForObject(pythonApiUrl, requestEntity, ResumoResponse.class);
-
-            if (response != null && response.resumo() != null) {
-                // 3. Salva na NOVA entidade Resumo
-                Resumo novoResumo = Resumo.builder()
-                        .conteudo(response.resumo())
-                        .documento(doc)
-                        .build();
-
-                doc.setResumo(novoResumo);
-                documentoRepository.save(doc); // Salva o documento que agora tem o resumo filho
-
-                return response.resumo();
-            }
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "Erro ao processar o documento com IA. Verifique se o serviço está ativo.";
-        }
-
-        return "Não foi possível gerar o resumo.";
-    }
-}
\ No newline at end of file
+}
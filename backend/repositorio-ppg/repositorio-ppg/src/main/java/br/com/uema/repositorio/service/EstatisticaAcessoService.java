@@ -0,0 +1,124 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.DocumentoMaisAcessadoDTO;
+import br.com.uema.repositorio.enums.PeriodoEstatistica;
+import br.com.uema.repositorio.enums.TipoAcesso;
+import br.com.uema.repositorio.repository.EstatisticaAcessoRepository;
+import br.com.uema.repositorio.repository.EstatisticaAcessoRepository.Acessos;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Downloads e visualizações por documento. O acesso só incrementa um {@link LongAdder} em memória (células
+ * separadas por thread, sem disputa entre downloads simultâneos do mesmo documento); a cada
+ * {@code app.estatisticas.intervalo} os contadores são zerados e somados ao dia corrente em
+ * estatisticas_acesso num único upsert de várias linhas. Com várias instâncias, cada uma soma a sua parte.
+ * <p>
+ * O ranking reflete o banco, portanto fica até um intervalo atrás. Ao encerrar a aplicação os contadores são
+ * descarregados; numa queda, o que não foi descarregado se perde.
+ */
+@Slf4j
+@Service
+public class EstatisticaAcessoService {
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    private record Contadores(LongAdder downloads, LongAdder visualizacoes) {
+        Contadores() {
+            this(new LongAdder(), new LongAdder());
+        }
+    }
+
+    private final EstatisticaAcessoRepository estatisticaAcessoRepository;
+    private final Clock clock;
+
+    // Entradas não são removidas: remover disputaria com um incremento em curso e o perderia.
+    // O mapa fica limitado ao número de documentos acessados desde a subida da aplicação.
+    private final Map<Long, Contadores> contadores = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EstatisticaAcessoService(EstatisticaAcessoRepository estatisticaAcessoRepository) {
+        this(estatisticaAcessoRepository, Clock.systemDefaultZone());
+    }
+
+    EstatisticaAcessoService(EstatisticaAcessoRepository estatisticaAcessoRepository, Clock clock) {
+        this.estatisticaAcessoRepository = estatisticaAcessoRepository;
+        this.clock = clock;
+    }
+
+    public void registrar(Long documentoId, TipoAcesso tipo) {
+        // get antes de computeIfAbsent: o caso comum (documento já visto) não trava o bin do mapa
+        Contadores contador = contadores.get(documentoId);
+        if (contador == null) {
+            contador = contadores.computeIfAbsent(documentoId, id -> new Contadores());
+        }
+        (tipo == TipoAcesso.DOWNLOAD ? contador.downloads() : contador.visualizacoes()).increment();
+    }
+
+    public List<DocumentoMaisAcessadoDTO> maisAcessados(Long programaId, PeriodoEstatistica periodo, int limite) {
+        LocalDate inicio = periodo.inicio(LocalDate.now(clock));
+        return estatisticaAcessoRepository.maisAcessados(inicio, programaId, Math.clamp(limite, 1, LIMITE_MAXIMO));
+    }
+
+    @Scheduled(initialDelayString = "${app.estatisticas.intervalo:1m}", fixedDelayString = "${app.estatisticas.intervalo:1m}")
+    public void descarregarAgendado() {
+        try {
+            descarregar();
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar estatísticas de acesso; os contadores serão somados na próxima tentativa", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        descarregarAgendado();
+    }
+
+    /**
+     * Zera os contadores e grava o que acumularam. Se a gravação falhar, os valores voltam aos contadores.
+     *
+     * @return quantos documentos tiveram acessos gravados
+     */
+    synchronized int descarregar() {
+        LocalDate dia = LocalDate.now(clock);
+        List<Acessos> acessos = new ArrayList<>();
+        contadores.forEach((documentoId, contador) -> {
+            // sumThenReset zera célula a célula com getAndSet: um incremento concorrente entra nesta soma ou
+            // fica para a próxima, nunca se perde
+            long downloads = contador.downloads().sumThenReset();
+            long visualizacoes = contador.visualizacoes().sumThenReset();
+            if (downloads > 0 || visualizacoes > 0) {
+                acessos.add(new Acessos(documentoId, downloads, visualizacoes));
+            }
+        });
+        if (acessos.isEmpty()) {
+            return 0;
+        }
+
+        // Mesma ordem de linhas em todas as instâncias: upserts simultâneos não entram em deadlock
+        acessos.sort(Comparator.comparing(Acessos::documentoId));
+        try {
+            estatisticaAcessoRepository.acumular(dia, acessos);
+        } catch (RuntimeException e) {
+            for (Acessos acesso : acessos) {
+                Contadores contador = contadores.get(acesso.documentoId());
+                contador.downloads().add(acesso.downloads());
+                contador.visualizacoes().add(acesso.visualizacoes());
+            }
+            throw e;
+        }
+        return acessos.size();
+    }
+}
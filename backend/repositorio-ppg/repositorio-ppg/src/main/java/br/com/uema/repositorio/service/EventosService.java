@@ -0,0 +1,182 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import br.com.uema.repositorio.exception.ServicoIndisponivelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Eventos em tempo real (GET /eventos, Server-Sent Events) da fila de aprovação e dos jobs de resumo.
+ * <p>
+ * Cada inscrição tem uma fila limitada a {@code app.eventos.capacidade} e uma virtual thread que a esvazia no
+ * emissor; quem publica só faz {@code offer}, então um cliente lento nunca segura upload, aprovação ou job.
+ * Fila cheia: a conexão é encerrada (métrica {@code eventos.inscricoes.descartadas}) e o cliente reconecta,
+ * recarregando o estado pela API. Sem eventos, a thread só manda um comentário a cada {@code app.eventos.heartbeat}
+ * para manter a conexão aberta em proxies: telas paradas não custam nada ao banco.
+ * <p>
+ * Os inscritos ficam em memória: cada instância só avisa os clientes conectados nela.
+ */
+@Slf4j
+@Service
+public class EventosService {
+
+    private final ExecutorService executor;
+    private final Duration heartbeat;
+    private final int capacidade;
+    private final int maximoInscricoes;
+    private final Supplier<SseEmitter> fabricaEmissores;
+
+    private final Set<Inscricao> inscricoes = ConcurrentHashMap.newKeySet();
+    private final Counter descartadas;
+
+    private static final class Inscricao {
+        private final PerfilUsuario perfil;
+        private final SseEmitter emissor;
+        private final BlockingQueue<EventoDTO> fila;
+        private final AtomicBoolean ativa = new AtomicBoolean(true);
+        private volatile Future<?> transmissao;
+
+        Inscricao(PerfilUsuario perfil, SseEmitter emissor, int capacidade) {
+            this.perfil = perfil;
+            this.emissor = emissor;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+        }
+    }
+
+    @Autowired
+    public EventosService(@Qualifier("executorEventos") ExecutorService executor, MeterRegistry meterRegistry,
+                          @Value("${app.eventos.heartbeat:25s}") Duration heartbeat,
+                          @Value("${app.eventos.timeout:30m}") Duration timeout,
+                          @Value("${app.eventos.capacidade:256}") int capacidade,
+                          @Value("${app.eventos.maximo-inscricoes:2000}") int maximoInscricoes) {
+        this(executor, meterRegistry, heartbeat, capacidade, maximoInscricoes, () -> new SseEmitter(timeout.toMillis()));
+    }
+
+    EventosService(ExecutorService executor, MeterRegistry meterRegistry, Duration heartbeat, int capacidade,
+                   int maximoInscricoes, Supplier<SseEmitter> fabricaEmissores) {
+        this.executor = executor;
+        this.heartbeat = heartbeat;
+        this.capacidade = capacidade;
+        this.maximoInscricoes = maximoInscricoes;
+        this.fabricaEmissores = fabricaEmissores;
+        Gauge.builder("eventos.inscricoes", inscricoes, Set::size).register(meterRegistry);
+        this.descartadas = Counter.builder("eventos.inscricoes.descartadas").register(meterRegistry);
+    }
+
+    public SseEmitter inscrever(Usuario usuario) {
+        if (inscricoes.size() >= maximoInscricoes) {
+            throw new ServicoIndisponivelException("Limite de conexões de eventos atingido. Tente novamente em instantes.");
+        }
+        var inscricao = new Inscricao(usuario.getPerfil(), fabricaEmissores.get(), capacidade);
+        inscricao.emissor.onCompletion(() -> encerrar(inscricao, false));
+        inscricao.emissor.onError(erro -> encerrar(inscricao, false));
+        // Tempo máximo da conexão: encerrada normalmente, o cliente reconecta
+        inscricao.emissor.onTimeout(() -> encerrar(inscricao, true));
+        inscricoes.add(inscricao);
+        inscricao.transmissao = executor.submit(() -> transmitir(inscricao));
+        return inscricao.emissor;
+    }
+
+    /**
+     * Entrega o evento aos inscritos cujo perfil o recebe. Dentro de uma transação, só depois do commit:
+     * quem reage ao evento consultando a API já enxerga a alteração.
+     */
+    public void publicar(EventoDTO evento) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    distribuir(evento);
+                }
+            });
+        } else {
+            distribuir(evento);
+        }
+    }
+
+    private void distribuir(EventoDTO evento) {
+        for (Inscricao inscricao : inscricoes) {
+            if (!evento.tipo().destinadoA(inscricao.perfil)) {
+                continue;
+            }
+            if (!inscricao.fila.offer(evento)) {
+                descartadas.increment();
+                log.debug("Fila de eventos cheia, inscrição ({}) encerrada", inscricao.perfil);
+                encerrar(inscricao, true);
+            }
+        }
+    }
+
+    private void transmitir(Inscricao inscricao) {
+        try {
+            // Primeiro envio já libera os cabeçalhos: o cliente sabe que está inscrito antes do primeiro evento
+            inscricao.emissor.send(SseEmitter.event().comment("inscrito"));
+            while (inscricao.ativa.get()) {
+                EventoDTO evento = inscricao.fila.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (evento == null) {
+                    inscricao.emissor.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    inscricao.emissor.send(SseEmitter.event()
+                            .name(evento.tipo().name())
+                            .data(evento, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            // Inscrição encerrada enquanto esperava eventos
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou o emissor já foi completado; o container avisa o emissor do erro
+            log.debug("Inscrição de eventos encerrada: {}", e.getMessage());
+            encerrar(inscricao, false);
+        }
+    }
+
+    private void encerrar(Inscricao inscricao, boolean completar) {
+        if (!inscricao.ativa.compareAndSet(true, false)) {
+            return;
+        }
+        inscricoes.remove(inscricao);
+        Future<?> transmissao = inscricao.transmissao;
+        if (transmissao != null) {
+            transmissao.cancel(true);
+        }
+        if (completar) {
+            inscricao.emissor.complete();
+        }
+    }
+
+    int inscritos() {
+        return inscricoes.size();
+    }
+
+    @PreDestroy
+    void encerrarTodas() {
+        List.copyOf(inscricoes).forEach(inscricao -> encerrar(inscricao, true));
+    }
+}
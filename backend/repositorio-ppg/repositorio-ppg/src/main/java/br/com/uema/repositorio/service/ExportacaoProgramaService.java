@@ -0,0 +1,173 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.exception.RecursoNaoEncontradoException;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.ExportacaoDocumentoRepository;
+import br.com.uema.repositorio.repository.ExportacaoDocumentoRepository.DocumentoExportado;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exportação em ZIP dos documentos aprovados de um programa (GET /programas/{id}/export.zip), escrita direto na
+ * resposta: os documentos vêm do banco em páginas por keyset e cada arquivo é copiado do armazenamento para a
+ * sua entrada do ZIP, então a memória usada não depende do tamanho da exportação e os primeiros bytes saem
+ * logo após a primeira página.
+ * <p>
+ * O ZIP termina com {@code manifesto.csv} (separado por ponto e vírgula, UTF-8 com BOM para abrir no Excel),
+ * uma linha por documento, inclusive os que ficaram de fora por falta do arquivo. As linhas são acumuladas
+ * num temporário durante a exportação, já que as entradas de um ZIP não podem se intercalar.
+ */
+@Slf4j
+@Service
+public class ExportacaoProgramaService {
+
+    static final String MANIFESTO = "manifesto.csv";
+    private static final int DOCUMENTOS_POR_PAGINA = 200;
+    private static final String CABECALHO_MANIFESTO =
+            "id;titulo;tipo;data_publicacao;autor;arquivo_no_zip;nome_original;tamanho_bytes;sha256;situacao";
+
+    private final ExportacaoDocumentoRepository exportacaoRepository;
+    private final ProgramaRepository programaRepository;
+    private final ArmazenamentoConteudo conteudo;
+    private final int documentosPorPagina;
+
+    @Autowired
+    public ExportacaoProgramaService(ExportacaoDocumentoRepository exportacaoRepository,
+                                     ProgramaRepository programaRepository, ArmazenamentoConteudo conteudo) {
+        this(exportacaoRepository, programaRepository, conteudo, DOCUMENTOS_POR_PAGINA);
+    }
+
+    ExportacaoProgramaService(ExportacaoDocumentoRepository exportacaoRepository, ProgramaRepository programaRepository,
+                              ArmazenamentoConteudo conteudo, int documentosPorPagina) {
+        this.exportacaoRepository = exportacaoRepository;
+        this.programaRepository = programaRepository;
+        this.conteudo = conteudo;
+        this.documentosPorPagina = documentosPorPagina;
+    }
+
+    /**
+     * Valida o pedido antes de a resposta começar (depois dos primeiros bytes já não dá para responder 404).
+     */
+    public Programa programa(Long programaId, LocalDate de, LocalDate ate) {
+        if (de != null && ate != null && de.isAfter(ate)) {
+            throw new RegraNegocioException("A data inicial não pode ser posterior à final.");
+        }
+        return programaRepository.findById(programaId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Programa não encontrado"));
+    }
+
+    /**
+     * Escreve o ZIP em {@code saida}, sem fechá-la.
+     *
+     * @return quantos documentos entraram no ZIP
+     */
+    public int exportar(Long programaId, LocalDate de, LocalDate ate, OutputStream saida) throws IOException {
+        Path manifesto = Files.createTempFile("exportacao-", ".csv");
+        try (Writer linhas = Files.newBufferedWriter(manifesto, StandardCharsets.UTF_8)) {
+            var zip = new ZipOutputStream(saida, StandardCharsets.UTF_8);
+            // PDFs, DOCX e imagens já vêm comprimidos: compressão máxima gastaria CPU à toa
+            zip.setLevel(Deflater.BEST_SPEED);
+
+            linhas.write('\uFEFF');
+            linhas.write(CABECALHO_MANIFESTO + "\r\n");
+            int exportados = 0;
+            DocumentoExportado ultimo = null;
+            List<DocumentoExportado> pagina;
+            do {
+                pagina = exportacaoRepository.pagina(programaId, de, ate, ultimo, documentosPorPagina);
+                for (DocumentoExportado documento : pagina) {
+                    String nomeNoZip = nomeNoZip(documento);
+                    boolean incluido = copiar(documento, nomeNoZip, zip);
+                    linhas.write(linhaManifesto(documento, incluido ? nomeNoZip : "", incluido ? "INCLUIDO" : "ARQUIVO_AUSENTE"));
+                    if (incluido) {
+                        exportados++;
+                    }
+                }
+                if (!pagina.isEmpty()) {
+                    ultimo = pagina.get(pagina.size() - 1);
+                }
+            } while (pagina.size() == documentosPorPagina);
+
+            linhas.flush();
+            zip.putNextEntry(new ZipEntry(MANIFESTO));
+            Files.copy(manifesto, zip);
+            zip.closeEntry();
+            // finish grava o diretório central sem fechar a resposta
+            zip.finish();
+            zip.flush();
+            return exportados;
+        } finally {
+            Files.deleteIfExists(manifesto);
+        }
+    }
+
+    // Arquivo sumido do armazenamento não interrompe a exportação: fica registrado no manifesto
+    private boolean copiar(DocumentoExportado documento, String nomeNoZip, ZipOutputStream zip) throws IOException {
+        if (conteudo.tamanho(documento.chave()).isEmpty()) {
+            log.warn("Exportação: arquivo do documento {} não encontrado ({})", documento.id(), documento.chave());
+            return false;
+        }
+        try (InputStream arquivo = conteudo.abrir(documento.chave())) {
+            zip.putNextEntry(new ZipEntry(nomeNoZip));
+            arquivo.transferTo(zip);
+            zip.closeEntry();
+        }
+        return true;
+    }
+
+    // Pasta por tipo; data e id no nome garantem entradas únicas e em ordem cronológica
+    static String nomeNoZip(DocumentoExportado documento) {
+        String nome = documento.nomeArquivo() != null ? documento.nomeArquivo() : "documento-" + documento.id();
+        return documento.tipo().name().toLowerCase(Locale.ROOT) + "/" + documento.dataPublicacao() + "_" + documento.id() + "_"
+                + DocumentoService.sanitizarNomeArquivo(nome);
+    }
+
+    private static String linhaManifesto(DocumentoExportado documento, String nomeNoZip, String situacao) {
+        return String.join(";",
+                String.valueOf(documento.id()),
+                campo(documento.titulo()),
+                documento.tipo().name(),
+                documento.dataPublicacao().toString(),
+                campo(documento.nomeAutor()),
+                campo(nomeNoZip),
+                campo(documento.nomeArquivo()),
+                documento.tamanhoBytes() != null ? documento.tamanhoBytes().toString() : "",
+                documento.hashSha256() != null ? documento.hashSha256() : "",
+                situacao) + "\r\n";
+    }
+
+    // Primeiro caractere que faz o Excel (e o LibreOffice) tratar a célula como fórmula
+    private static final String INICIO_FORMULA = "=+-@\t\r";
+
+    // RFC 4180: aspas quando o valor contém separador, aspas ou quebra de linha. Título e autor vêm de quem
+    // enviou o documento: um valor que abriria como fórmula ganha um apóstrofo na frente e fica como texto
+    static String campo(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (!valor.isEmpty() && INICIO_FORMULA.indexOf(valor.charAt(0)) >= 0) {
+            valor = "'" + valor;
+        }
+        if (valor.indexOf(';') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return "\"" + valor.replace("\"", "\"\"") + "\"";
+    }
+}
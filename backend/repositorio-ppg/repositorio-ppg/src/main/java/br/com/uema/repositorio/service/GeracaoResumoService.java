@@ -0,0 +1,187 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.dto.JobResumoDTO;
+import br.com.uema.repositorio.entity.JobResumo;
+import br.com.uema.repositorio.entity.Resumo;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.EstadoJobResumo;
+import br.com.uema.repositorio.exception.RecursoNaoEncontradoException;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.repository.JobResumoRepository;
+import br.com.uema.repositorio.repository.ResumoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Gera resumos de documentos (serviço Python: Docling + Ollama) como jobs persistidos em segundo plano.
+ * <p>
+ * A requisição só registra o job e responde; a chamada lenta roda numa virtual thread, fora de qualquer
+ * transação, e o banco é usado apenas em transações curtas antes e depois dela. Pedidos simultâneos para o
+ * mesmo documento compartilham o job em andamento (índice único parcial em jobs_resumo).
+ */
+@Slf4j
+@Service
+public class GeracaoResumoService {
+
+    private static final Set<EstadoJobResumo> ESTADOS_ATIVOS = Set.of(EstadoJobResumo.PENDENTE, EstadoJobResumo.EXECUTANDO);
+    private static final String MENSAGEM_FALHA = "Erro ao processar o documento com IA. Verifique se o serviço está ativo.";
+
+    private final DocumentoRepository documentoRepository;
+    private final ResumoRepository resumoRepository;
+    private final JobResumoRepository jobResumoRepository;
+    private final TransactionTemplate transacao;
+    private final ExecutorService executor;
+    private final Semaphore execucoesSimultaneas;
+    private final ClienteResumo clienteResumo;
+    private final ArmazenamentoArquivos armazenamento;
+    private final EventosService eventos;
+
+    private record Solicitacao(JobResumoDTO job, boolean criado) {}
+
+    public GeracaoResumoService(DocumentoRepository documentoRepository, ResumoRepository resumoRepository,
+                                JobResumoRepository jobResumoRepository, ClienteResumo clienteResumo,
+                                ArmazenamentoArquivos armazenamento, EventosService eventos,
+                                TransactionTemplate transacao, @Qualifier("executorResumos") ExecutorService executor,
+                                @Value("${app.resumo.concorrencia-maxima:2}") int concorrenciaMaxima) {
+        this.documentoRepository = documentoRepository;
+        this.resumoRepository = resumoRepository;
+        this.jobResumoRepository = jobResumoRepository;
+        this.clienteResumo = clienteResumo;
+        this.armazenamento = armazenamento;
+        this.eventos = eventos;
+        this.transacao = transacao;
+        this.executor = executor;
+        this.execucoesSimultaneas = new Semaphore(concorrenciaMaxima);
+    }
+
+    /**
+     * Devolve o resumo se já existir (CONCLUIDO); senão o job em andamento do documento, criando e
+     * agendando um novo quando não houver.
+     */
+    public JobResumoDTO solicitar(Long documentoId, Usuario solicitante) {
+        Solicitacao solicitacao;
+        try {
+            solicitacao = transacao.execute(status -> registrar(documentoId, solicitante));
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição criou o job entre a consulta e o insert: usa o dela
+            solicitacao = transacao.execute(status -> registrar(documentoId, solicitante));
+        }
+
+        if (solicitacao.criado()) {
+            agendar(solicitacao.job().idJob());
+        }
+        return solicitacao.job();
+    }
+
+    public JobResumoDTO consultar(Long idJob) {
+        return transacao.execute(status -> {
+            JobResumo job = jobResumoRepository.findById(idJob)
+                    .orElseThrow(() -> new RecursoNaoEncontradoException("Job de resumo não encontrado"));
+            return paraDTO(job);
+        });
+    }
+
+    // Jobs que estavam na fila ou rodando quando a aplicação parou
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarPendentes() {
+        List<Long> pendentes = jobResumoRepository.findByEstadoIn(ESTADOS_ATIVOS).stream()
+                .map(JobResumo::getId)
+                .toList();
+        if (!pendentes.isEmpty()) {
+            log.info("Retomando {} job(s) de resumo", pendentes.size());
+            pendentes.forEach(this::agendar);
+        }
+    }
+
+    private Solicitacao registrar(Long documentoId, Usuario solicitante) {
+        var documento = documentoRepository.findById(documentoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Documento não encontrado"));
+
+        var resumo = resumoRepository.findByDocumentoId(documentoId);
+        if (resumo.isPresent()) {
+            return new Solicitacao(new JobResumoDTO(null, documentoId, EstadoJobResumo.CONCLUIDO, resumo.get().getConteudo(), null), false);
+        }
+
+        var emAndamento = jobResumoRepository.findFirstByDocumentoIdAndEstadoIn(documentoId, ESTADOS_ATIVOS);
+        if (emAndamento.isPresent()) {
+            return new Solicitacao(paraDTO(emAndamento.get()), false);
+        }
+
+        JobResumo novo = jobResumoRepository.saveAndFlush(JobResumo.builder()
+                .documento(documento)
+                .solicitante(solicitante)
+                .estado(EstadoJobResumo.PENDENTE)
+                .build());
+        return new Solicitacao(paraDTO(novo), true);
+    }
+
+    private void agendar(Long idJob) {
+        executor.execute(() -> executar(idJob));
+    }
+
+    void executar(Long idJob) {
+        try {
+            execucoesSimultaneas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            Resource arquivo = transacao.execute(status -> {
+                JobResumo job = jobResumoRepository.findById(idJob).orElseThrow();
+                job.setEstado(EstadoJobResumo.EXECUTANDO);
+                return armazenamento.recurso(job.getDocumento());
+            });
+
+            // Sem transação aberta: a conexão volta para o pool durante a chamada ao LLM
+            String conteudo = clienteResumo.resumir(arquivo);
+
+            EventoDTO concluido = transacao.execute(status -> {
+                JobResumo job = jobResumoRepository.findById(idJob).orElseThrow();
+                Resumo resumo = resumoRepository.findByDocumentoId(job.getDocumento().getId())
+                        .orElseGet(() -> Resumo.builder().documento(job.getDocumento()).build());
+                resumo.setConteudo(conteudo);
+                resumoRepository.save(resumo);
+                job.setEstado(EstadoJobResumo.CONCLUIDO);
+                job.setErro(null);
+                return eventoDoJob(job);
+            });
+            // Depois do commit: quem estava esperando busca o job (GET /documentos/insights/jobs/{id}) uma vez só
+            eventos.publicar(concluido);
+        } catch (Exception e) {
+            log.warn("Falha no job de resumo {}: {}", idJob, e.getMessage());
+            transacao.execute(status -> jobResumoRepository.findById(idJob).map(job -> {
+                job.setEstado(EstadoJobResumo.FALHOU);
+                job.setErro(MENSAGEM_FALHA);
+                return eventoDoJob(job);
+            })).ifPresent(eventos::publicar);
+        } finally {
+            execucoesSimultaneas.release();
+        }
+    }
+
+    private static EventoDTO eventoDoJob(JobResumo job) {
+        return EventoDTO.resumoAtualizado(job.getDocumento().getId(), job.getId(), job.getEstado());
+    }
+
+    private JobResumoDTO paraDTO(JobResumo job) {
+        Long documentoId = job.getDocumento().getId();
+        String resumo = job.getEstado() == EstadoJobResumo.CONCLUIDO
+                ? resumoRepository.findByDocumentoId(documentoId).map(Resumo::getConteudo).orElse(null)
+                : null;
+        return new JobResumoDTO(job.getId(), documentoId, job.getEstado(), resumo, job.getErro());
+    }
+}
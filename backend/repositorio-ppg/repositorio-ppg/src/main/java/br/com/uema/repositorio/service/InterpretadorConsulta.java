@@ -0,0 +1,188 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.ConsultaInterpretadaDTO;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Interpreta buscas em linguagem natural ("editais do PPGHIST do mês passado") de forma determinística,
+ * resolvendo sigla de programa, tipo de documento e período relativo. O que não for reconhecido
+ * vira texto livre para a busca textual.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterpretadorConsulta {
+
+    private static final Map<String, TipoDocumento> PALAVRAS_TIPO = Map.ofEntries(
+            Map.entry("edital", TipoDocumento.EDITAIS),
+            Map.entry("editais", TipoDocumento.EDITAIS),
+            Map.entry("resultado", TipoDocumento.RESULTADOS),
+            Map.entry("resultados", TipoDocumento.RESULTADOS),
+            Map.entry("formulario", TipoDocumento.FORMULARIOS),
+            Map.entry("formularios", TipoDocumento.FORMULARIOS),
+            Map.entry("certificado", TipoDocumento.CERTIFICADOS),
+            Map.entry("certificados", TipoDocumento.CERTIFICADOS),
+            Map.entry("documentacao", TipoDocumento.DOCUMENTACOES),
+            Map.entry("documentacoes", TipoDocumento.DOCUMENTACOES),
+            Map.entry("resolucao", TipoDocumento.RESOLUCOES),
+            Map.entry("resolucoes", TipoDocumento.RESOLUCOES),
+            Map.entry("norma", TipoDocumento.NORMAS),
+            Map.entry("normas", TipoDocumento.NORMAS)
+    );
+
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "de", "do", "da", "dos", "das", "e", "em", "no", "na", "nos", "nas",
+            "para", "pra", "por", "com", "sobre", "que", "quero", "ver", "me", "mostre", "mostrar", "liste", "listar",
+            "buscar", "busque", "encontre", "todos", "todas", "documento", "documentos", "arquivo", "arquivos",
+            "publicado", "publicados", "publicada", "publicadas", "programa"
+    );
+
+    private static final List<String> MESES = List.of(
+            "janeiro", "fevereiro", "marco", "abril", "maio", "junho",
+            "julho", "agosto", "setembro", "outubro", "novembro", "dezembro"
+    );
+
+    private static final int TAMANHO_MINIMO_SIGLA = 3;
+    private static final int TAMANHO_MAXIMO_SIGLA = 12;
+
+    private final ProgramaRepository programaRepository;
+
+    private record Periodo(LocalDate de, LocalDate ate) {}
+
+    private record RegraPeriodo(Pattern padrao, BiFunction<Matcher, LocalDate, Periodo> periodo) {}
+
+    private static final List<RegraPeriodo> REGRAS_PERIODO = List.of(
+            new RegraPeriodo(Pattern.compile("\\bultim[oa]s? (\\d{1,3}) dias?\\b"),
+                    (m, hoje) -> new Periodo(hoje.minusDays(Long.parseLong(m.group(1))), hoje)),
+            new RegraPeriodo(Pattern.compile("\\bultim[oa]s? (\\d{1,3}) (?:meses|mes)\\b"),
+                    (m, hoje) -> new Periodo(hoje.minusMonths(Long.parseLong(m.group(1))), hoje)),
+            new RegraPeriodo(Pattern.compile("\\bultim[oa]s? (\\d{1,2}) anos?\\b"),
+                    (m, hoje) -> new Periodo(hoje.minusYears(Long.parseLong(m.group(1))), hoje)),
+            new RegraPeriodo(Pattern.compile("\\b(?:mes passado|ultimo mes)\\b"),
+                    (m, hoje) -> mes(YearMonth.from(hoje).minusMonths(1))),
+            new RegraPeriodo(Pattern.compile("\\b(?:[dn]?est[ea]|[dn]?ess[ea]) mes\\b"),
+                    (m, hoje) -> new Periodo(hoje.withDayOfMonth(1), hoje)),
+            new RegraPeriodo(Pattern.compile("\\b(?:ano passado|ultimo ano)\\b"),
+                    (m, hoje) -> ano(hoje.getYear() - 1)),
+            new RegraPeriodo(Pattern.compile("\\b(?:[dn]?est[ea]|[dn]?ess[ea]) ano\\b"),
+                    (m, hoje) -> new Periodo(hoje.withDayOfYear(1), hoje)),
+            new RegraPeriodo(Pattern.compile("\\b(?:semana passada|ultima semana)\\b"),
+                    (m, hoje) -> {
+                        LocalDate segunda = hoje.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+                        return new Periodo(segunda, segunda.plusDays(6));
+                    }),
+            new RegraPeriodo(Pattern.compile("\\b(?:[dn]?est[ea]|[dn]?ess[ea]) semana\\b"),
+                    (m, hoje) -> new Periodo(hoje.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), hoje)),
+            new RegraPeriodo(Pattern.compile("\\bontem\\b"),
+                    (m, hoje) -> new Periodo(hoje.minusDays(1), hoje.minusDays(1))),
+            new RegraPeriodo(Pattern.compile("\\bhoje\\b"),
+                    (m, hoje) -> new Periodo(hoje, hoje)),
+            new RegraPeriodo(Pattern.compile("\\b(" + String.join("|", MESES) + ")(?: de)?(?: ((?:19|20)\\d{2}))?\\b"),
+                    (m, hoje) -> {
+                        int ano = m.group(2) != null ? Integer.parseInt(m.group(2)) : hoje.getYear();
+                        return mes(YearMonth.of(ano, MESES.indexOf(m.group(1)) + 1));
+                    }),
+            new RegraPeriodo(Pattern.compile("\\b((?:19|20)\\d{2})\\b"),
+                    (m, hoje) -> ano(Integer.parseInt(m.group(1))))
+    );
+
+    public ConsultaInterpretadaDTO interpretar(String consulta) {
+        return interpretar(consulta, LocalDate.now());
+    }
+
+    public ConsultaInterpretadaDTO interpretar(String consulta, LocalDate hoje) {
+        String texto = normalizar(consulta);
+        int reconhecidos = 0;
+
+        // 1. Período: primeira expressão de data encontrada
+        Periodo periodo = null;
+        for (RegraPeriodo regra : REGRAS_PERIODO) {
+            Matcher matcher = regra.padrao().matcher(texto);
+            if (matcher.find()) {
+                periodo = regra.periodo().apply(matcher, hoje);
+                texto = texto.substring(0, matcher.start()) + " " + texto.substring(matcher.end());
+                reconhecidos++;
+                break;
+            }
+        }
+
+        // 2. Tipo e programa, palavra a palavra
+        TipoDocumento tipo = null;
+        Programa programa = null;
+        List<String> residuais = new ArrayList<>();
+
+        for (String palavra : texto.split("[^a-z0-9]+")) {
+            if (palavra.isEmpty() || PALAVRAS_VAZIAS.contains(palavra)) {
+                continue;
+            }
+            if (tipo == null && PALAVRAS_TIPO.containsKey(palavra)) {
+                tipo = PALAVRAS_TIPO.get(palavra);
+                reconhecidos++;
+                continue;
+            }
+            if (programa == null) {
+                var encontrado = buscarPorSigla(palavra);
+                if (encontrado.isPresent()) {
+                    programa = encontrado.get();
+                    reconhecidos++;
+                    continue;
+                }
+            }
+            residuais.add(palavra);
+        }
+
+        int total = reconhecidos + residuais.size();
+        double confianca = total == 0 ? 0.0 : (double) reconhecidos / total;
+
+        return new ConsultaInterpretadaDTO(
+                programa != null ? programa.getId() : null,
+                programa != null ? programa.getSigla() : null,
+                tipo,
+                periodo != null ? periodo.de() : null,
+                periodo != null ? periodo.ate() : null,
+                String.join(" ", residuais),
+                confianca
+        );
+    }
+
+    private Optional<Programa> buscarPorSigla(String palavra) {
+        if (palavra.length() < TAMANHO_MINIMO_SIGLA || palavra.length() > TAMANHO_MAXIMO_SIGLA
+                || !Character.isLetter(palavra.charAt(0))) {
+            return Optional.empty();
+        }
+        // sigla é CITEXT: a comparação já ignora maiúsculas/minúsculas
+        return programaRepository.findBySigla(palavra.toUpperCase(Locale.ROOT));
+    }
+
+    private static String normalizar(String consulta) {
+        String semAcento = Normalizer.normalize(consulta == null ? "" : consulta, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    private static Periodo mes(YearMonth mes) {
+        return new Periodo(mes.atDay(1), mes.atEndOfMonth());
+    }
+
+    private static Periodo ano(int ano) {
+        return new Periodo(LocalDate.of(ano, 1, 1), LocalDate.of(ano, 12, 31));
+    }
+}
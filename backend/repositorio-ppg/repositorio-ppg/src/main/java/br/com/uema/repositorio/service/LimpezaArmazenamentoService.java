@@ -0,0 +1,156 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.repository.ArquivoRepository;
+import br.com.uema.repositorio.service.ArmazenamentoConteudo.ChaveArmazenada;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Concilia periodicamente o armazenamento com o banco, em lotes de {@code app.limpeza.lote}:
+ * <ol>
+ *     <li>versões do histórico mais antigas que {@code app.versoes.retencao} liberam seus arquivos;</li>
+ *     <li>conteúdos sem referências que a coleta pós-commit não apagou (queda, erro de E/S) são coletados;</li>
+ *     <li>chaves do armazenamento que nenhum registro usa (upload desfeito, arquivos antigos) são apagadas;</li>
+ *     <li>temporários de uploads interrompidos são apagados.</li>
+ * </ol>
+ * Os passos 2, 3 e 4 só consideram o que está parado há mais de {@code app.limpeza.carencia}, para não
+ * disputar com operações em andamento (um upload gravado mas ainda não confirmado no banco, por exemplo). Pode rodar em várias instâncias ao mesmo tempo.
+ */
+@Slf4j
+@Service
+public class LimpezaArmazenamentoService {
+
+    public record ResultadoLimpeza(int versoesExpiradas, int conteudosColetados, int orfaosApagados,
+                                   int temporariosApagados) {}
+
+    private final ArquivoRepository arquivoRepository;
+    private final ArmazenamentoConteudo conteudo;
+    private final ArmazenamentoArquivos armazenamento;
+    private final TransactionTemplate transacao;
+    private final Duration retencaoVersoes;
+    private final Duration carencia;
+    private final int lote;
+    private final Clock clock;
+
+    @Autowired
+    public LimpezaArmazenamentoService(ArquivoRepository arquivoRepository, ArmazenamentoConteudo conteudo,
+                                       ArmazenamentoArquivos armazenamento, TransactionTemplate transacao,
+                                       @Value("${app.versoes.retencao:365d}") Duration retencaoVersoes,
+                                       @Value("${app.limpeza.carencia:1h}") Duration carencia,
+                                       @Value("${app.limpeza.lote:500}") int lote) {
+        this(arquivoRepository, conteudo, armazenamento, transacao, retencaoVersoes, carencia, lote, Clock.systemUTC());
+    }
+
+    LimpezaArmazenamentoService(ArquivoRepository arquivoRepository, ArmazenamentoConteudo conteudo,
+                                ArmazenamentoArquivos armazenamento, TransactionTemplate transacao,
+                                Duration retencaoVersoes, Duration carencia, int lote, Clock clock) {
+        this.arquivoRepository = arquivoRepository;
+        this.conteudo = conteudo;
+        this.armazenamento = armazenamento;
+        this.transacao = transacao;
+        this.retencaoVersoes = retencaoVersoes;
+        this.carencia = carencia;
+        this.lote = lote;
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${app.limpeza.atraso-inicial:10m}", fixedDelayString = "${app.limpeza.intervalo:6h}")
+    public void executarAgendada() {
+        try {
+            ResultadoLimpeza resultado = executar();
+            log.info("Limpeza do armazenamento: {}", resultado);
+        } catch (RuntimeException e) {
+            log.error("Falha na limpeza do armazenamento", e);
+        }
+    }
+
+    public ResultadoLimpeza executar() {
+        Instant agora = clock.instant();
+        int versoes = expirarVersoes(OffsetDateTime.ofInstant(agora.minus(retencaoVersoes), ZoneOffset.UTC));
+        int coletados = coletarSemReferencias(OffsetDateTime.ofInstant(agora.minus(carencia), ZoneOffset.UTC));
+        int orfaos = apagarOrfaos(agora.minus(carencia));
+        int temporarios = armazenamento.limparTemporarios(agora.minus(carencia));
+        return new ResultadoLimpeza(versoes, coletados, orfaos, temporarios);
+    }
+
+    // Um lote por transação: as referências liberadas são coletadas após cada commit
+    private int expirarVersoes(OffsetDateTime limite) {
+        int total = 0;
+        int expiradas;
+        do {
+            Integer doLote = transacao.execute(status -> armazenamento.expirarVersoes(limite, lote));
+            expiradas = doLote != null ? doLote : 0;
+            total += expiradas;
+        } while (expiradas == lote);
+        return total;
+    }
+
+    private int coletarSemReferencias(OffsetDateTime limite) {
+        int total = 0;
+        String depoisDe = "";
+        List<String> hashes;
+        do {
+            hashes = arquivoRepository.listarSemReferencias(limite, depoisDe, lote);
+            for (String hash : hashes) {
+                if (armazenamento.coletar(hash)) {
+                    total++;
+                }
+            }
+            if (!hashes.isEmpty()) {
+                depoisDe = hashes.get(hashes.size() - 1);
+            }
+        } while (hashes.size() == lote);
+        return total;
+    }
+
+    // Percorre as chaves em lotes, consultando de uma vez quais delas o banco ainda usa
+    private int apagarOrfaos(Instant anterioresA) {
+        int total = 0;
+        try (Stream<ChaveArmazenada> chaves = conteudo.chaves()) {
+            Iterator<String> iterador = chaves
+                    .filter(chave -> chave.modificadoEm() != null && chave.modificadoEm().isBefore(anterioresA))
+                    .map(ChaveArmazenada::chave)
+                    .iterator();
+            List<String> bloco = new ArrayList<>(lote);
+            while (iterador.hasNext()) {
+                bloco.add(iterador.next());
+                if (bloco.size() == lote || !iterador.hasNext()) {
+                    total += apagarNaoReferenciadas(bloco);
+                    bloco.clear();
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Erro ao listar o armazenamento: {}", e.getMessage());
+        }
+        return total;
+    }
+
+    private int apagarNaoReferenciadas(List<String> chaves) {
+        Set<String> referenciadas = arquivoRepository.filtrarReferenciadas(chaves);
+        int apagadas = 0;
+        for (String chave : chaves) {
+            if (!referenciadas.contains(chave) && armazenamento.coletarOrfao(chave)) {
+                log.info("Arquivo órfão apagado: {}", chave);
+                apagadas++;
+            }
+        }
+        return apagadas;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.ProgramaResponseDTO;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * JSON já serializado de GET /documentos e GET /programas, guardado pela {@link VersaoCatalogo} em que foi
+ * gerado: enquanto a versão não muda, as listagens saem da memória sem consultar o banco nem serializar.
+ */
+@Service
+public class ListagensCatalogo {
+
+    public record Listagem(long versao, byte[] json) {}
+
+    private final Cache documentos;
+    private final Cache programas;
+    private final ObjectMapper objectMapper;
+
+    public ListagensCatalogo(DocumentoRepository documentoRepository, ProgramaRepository programaRepository,
+                             ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.documentos = new Cache(documentoRepository::findAllAprovados);
+        this.programas = new Cache(() -> programaRepository.findAll().stream().map(ProgramaResponseDTO::new).toList());
+    }
+
+    public Listagem documentosAprovados(long versao) {
+        return documentos.obter(versao);
+    }
+
+    public Listagem programas(long versao) {
+        return programas.obter(versao);
+    }
+
+    private final class Cache {
+        private final Supplier<Object> consulta;
+        private volatile Listagem atual;
+
+        Cache(Supplier<Object> consulta) {
+            this.consulta = consulta;
+        }
+
+        Listagem obter(long versao) {
+            Listagem listagem = atual;
+            if (listagem != null && listagem.versao() >= versao) {
+                return listagem;
+            }
+            // Uma consulta por versão, mesmo com várias requisições chegando juntas após a mudança
+            synchronized (this) {
+                listagem = atual;
+                if (listagem == null || listagem.versao() < versao) {
+                    // A versão foi lida antes da consulta: os dados são no mínimo desta versão
+                    listagem = new Listagem(versao, serializar(consulta.get()));
+                    atual = listagem;
+                }
+                return listagem;
+            }
+        }
+
+        private byte[] serializar(Object valor) {
+            try {
+                return objectMapper.writeValueAsBytes(valor);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
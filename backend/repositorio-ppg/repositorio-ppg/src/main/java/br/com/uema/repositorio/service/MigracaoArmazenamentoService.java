@@ -0,0 +1,203 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.repository.ArquivoRepository;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.service.ArmazenamentoArquivos.ArquivoRecebido;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Leva os arquivos existentes para o layout {@code ab/cd/<sha256>} do armazenamento configurado:
+ * documentos anteriores à V8 ganham hash e entram na contagem de referências, e conteúdos em caminhos
+ * antigos (diretório plano, layout anterior ou disco local quando o destino é S3) são copiados para a chave nova.
+ * <p>
+ * Cada arquivo migra na sua transação, com a linha bloqueada; a origem só é apagada após o commit.
+ * Pode ser interrompida e executada de novo. Feita para rodar em janela de manutenção.
+ */
+@Slf4j
+@Service
+public class MigracaoArmazenamentoService {
+
+    public record ResultadoMigracao(int migrados, int ignorados, int ausentes, int falhas) {}
+
+    private enum Situacao { MIGRADO, IGNORADO, AUSENTE, FALHA }
+
+    private record Passo(Situacao situacao, Runnable limpeza) {
+        static Passo de(Situacao situacao) {
+            return new Passo(situacao, () -> {});
+        }
+    }
+
+    @Value("${file.upload-dir:./uploads}")
+    private String uploadDir;
+
+    private final ArquivoRepository arquivoRepository;
+    private final DocumentoRepository documentoRepository;
+    private final ArmazenamentoConteudo conteudo;
+    private final ArmazenamentoArquivos armazenamento;
+    private final TransactionTemplate transacao;
+
+    public MigracaoArmazenamentoService(ArquivoRepository arquivoRepository, DocumentoRepository documentoRepository,
+                                        ArmazenamentoConteudo conteudo, ArmazenamentoArquivos armazenamento,
+                                        TransactionTemplate transacao) {
+        this.arquivoRepository = arquivoRepository;
+        this.documentoRepository = documentoRepository;
+        this.conteudo = conteudo;
+        this.armazenamento = armazenamento;
+        this.transacao = transacao;
+    }
+
+    public ResultadoMigracao migrar() {
+        Map<Situacao, Integer> contagem = new EnumMap<>(Situacao.class);
+
+        for (Long idDocumento : documentoRepository.findIdsSemHash()) {
+            contagem.merge(executar("documento " + idDocumento, () -> migrarLegado(idDocumento)), 1, Integer::sum);
+        }
+        for (String hash : arquivoRepository.listarHashes()) {
+            contagem.merge(executar("conteúdo " + hash, () -> migrarConteudo(hash)), 1, Integer::sum);
+        }
+
+        return new ResultadoMigracao(
+                contagem.getOrDefault(Situacao.MIGRADO, 0),
+                contagem.getOrDefault(Situacao.IGNORADO, 0),
+                contagem.getOrDefault(Situacao.AUSENTE, 0),
+                contagem.getOrDefault(Situacao.FALHA, 0));
+    }
+
+    private Situacao executar(String item, Supplier<Passo> migracao) {
+        try {
+            Passo passo = migracao.get();
+            passo.limpeza().run();
+            return passo.situacao();
+        } catch (RuntimeException e) {
+            log.error("Falha ao migrar {}: {}", item, e.getMessage());
+            return Situacao.FALHA;
+        }
+    }
+
+    // Documento sem hash: lê o arquivo antigo uma vez para calcular hash e tamanho e o registra como conteúdo
+    private Passo migrarLegado(Long idDocumento) {
+        String caminho = documentoRepository.findById(idDocumento).map(Documento::getCaminhoArquivo).orElse(null);
+        if (caminho == null) {
+            return Passo.de(Situacao.IGNORADO);
+        }
+        Path legado = diretorioLocal().resolve(caminho).normalize();
+        if (Files.notExists(legado)) {
+            log.warn("Arquivo do documento {} não encontrado: {}", idDocumento, legado);
+            return Passo.de(Situacao.AUSENTE);
+        }
+
+        ArquivoRecebido recebido = receber(legado);
+        try {
+            armazenamento.gravar(recebido);
+            Boolean migrado = transacao.execute(status -> {
+                Documento documento = documentoRepository.findById(idDocumento).orElse(null);
+                if (documento == null || documento.getHashSha256() != null) {
+                    return false;
+                }
+                documento.setCaminhoArquivo(armazenamento.armazenar(recebido));
+                documento.setHashSha256(recebido.hashSha256());
+                documento.setTamanhoBytes(recebido.tamanhoBytes());
+                if (documento.getNomeArquivo() == null) {
+                    documento.setNomeArquivo(legado.getFileName().toString());
+                }
+                return true;
+            });
+            return Boolean.TRUE.equals(migrado)
+                    ? new Passo(Situacao.MIGRADO, () -> apagarLocal(legado))
+                    : Passo.de(Situacao.IGNORADO);
+        } finally {
+            armazenamento.descartar(recebido);
+        }
+    }
+
+    private Passo migrarConteudo(String hash) {
+        String destino = ArmazenamentoArquivos.chaveDoConteudo(hash);
+
+        return transacao.execute(status -> {
+            String caminho = arquivoRepository.bloquearCaminho(hash).orElse(null);
+            if (caminho == null) {
+                return Passo.de(Situacao.IGNORADO);
+            }
+            try {
+                boolean noDestino = conteudo.tamanho(destino).isPresent();
+                if (caminho.equals(destino) && noDestino) {
+                    return Passo.de(Situacao.IGNORADO);
+                }
+                if (!noDestino && !copiar(caminho, destino)) {
+                    log.warn("Conteúdo {} não encontrado em {}", hash, caminho);
+                    return Passo.de(Situacao.AUSENTE);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            arquivoRepository.moverCaminho(hash, destino);
+            return new Passo(Situacao.MIGRADO, () -> apagarOrigem(caminho, destino));
+        });
+    }
+
+    // A origem é o disco local (arquivos de antes do armazenamento configurável) ou o próprio armazenamento
+    private boolean copiar(String caminho, String destino) throws IOException {
+        Path local = diretorioLocal().resolve(caminho).normalize();
+        if (Files.exists(local)) {
+            conteudo.gravar(destino, local);
+            return true;
+        }
+        if (conteudo.tamanho(caminho).isPresent()) {
+            ArquivoRecebido copia = armazenamento.receber(conteudo.abrir(caminho));
+            try {
+                conteudo.gravar(destino, copia.temporario());
+            } finally {
+                armazenamento.descartar(copia);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void apagarOrigem(String caminho, String destino) {
+        try {
+            if (!caminho.equals(destino)) {
+                conteudo.apagar(caminho);
+            }
+            Path local = diretorioLocal().resolve(caminho).normalize();
+            if (conteudo.arquivoLocal(destino).filter(local::equals).isEmpty()) {
+                Files.deleteIfExists(local);
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar a origem {}: {}", caminho, e.getMessage());
+        }
+    }
+
+    private ArquivoRecebido receber(Path arquivo) {
+        try {
+            return armazenamento.receber(Files.newInputStream(arquivo));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void apagarLocal(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private Path diretorioLocal() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+}
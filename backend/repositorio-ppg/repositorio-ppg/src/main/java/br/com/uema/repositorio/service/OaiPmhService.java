@@ -0,0 +1,460 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.TokenRetomadaOai;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.OaiPmhRepository;
+import br.com.uema.repositorio.repository.OaiPmhRepository.RegistroOai;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Provedor OAI-PMH 2.0 (GET/POST /oai) para a colheita de metadados pela biblioteca e por agregadores.
+ * Cada documento aprovado é um registro {@code oai_dc} com datestamp no commit da última alteração; cada
+ * programa é um set (setSpec = sigla). Documento publicado que depois foi excluído ou reprovado vira um
+ * registro excluído ({@code <header status="deleted">}), para a colheita incremental também levar a remoção.
+ * <p>
+ * As consultas ao banco acontecem em {@link #responder}, antes de a resposta começar: erros do protocolo saem
+ * como {@code <error>} e falhas do banco ainda viram um 500 normal. O XML é escrito direto na saída (StAX),
+ * uma página de registros por vez, e o resumptionToken carrega a posição keyset em vez de um offset.
+ */
+@Service
+public class OaiPmhService {
+
+    static final String PREFIXO_DC = "oai_dc";
+
+    private static final String NS_OAI = "http://www.openarchives.org/OAI/2.0/";
+    private static final String NS_XSI = "http://www.w3.org/2001/XMLSchema-instance";
+    private static final String NS_OAI_DC = "http://www.openarchives.org/OAI/2.0/oai_dc/";
+    private static final String NS_DC = "http://purl.org/dc/elements/1.1/";
+    private static final String ESQUEMA_OAI = NS_OAI + " http://www.openarchives.org/OAI/2.0/OAI-PMH.xsd";
+    private static final String ESQUEMA_OAI_DC = NS_OAI_DC + " http://www.openarchives.org/OAI/2.0/oai_dc.xsd";
+
+    private static final Pattern DIA = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final Pattern SEGUNDO = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}Z");
+
+    // Argumentos aceitos por verbo, além de "verb"
+    private static final Map<String, Set<String>> ARGUMENTOS = Map.of(
+            "Identify", Set.of(),
+            "ListMetadataFormats", Set.of("identifier"),
+            "ListSets", Set.of("resumptionToken"),
+            "ListIdentifiers", Set.of("metadataPrefix", "from", "until", "set", "resumptionToken"),
+            "ListRecords", Set.of("metadataPrefix", "from", "until", "set", "resumptionToken"),
+            "GetRecord", Set.of("identifier", "metadataPrefix"));
+
+    private final OaiPmhRepository oaiRepository;
+    private final ProgramaRepository programaRepository;
+    private final String nomeRepositorio;
+    private final String emailAdministrador;
+    private final String prefixoIdentificador;
+    private final String urlBase;
+    private final int registrosPorPagina;
+
+    public OaiPmhService(OaiPmhRepository oaiRepository, ProgramaRepository programaRepository,
+                         @Value("${app.oai.nome-repositorio:Repositório PPG UEMA}") String nomeRepositorio,
+                         @Value("${app.oai.email-admin:admin@uema.br}") String emailAdministrador,
+                         @Value("${app.oai.identificador:repositorio-ppg.uema.br}") String identificador,
+                         @Value("${app.oai.url-base:}") String urlBase,
+                         @Value("${app.oai.registros-por-pagina:100}") int registrosPorPagina) {
+        this.oaiRepository = oaiRepository;
+        this.programaRepository = programaRepository;
+        this.nomeRepositorio = nomeRepositorio;
+        this.emailAdministrador = emailAdministrador;
+        this.prefixoIdentificador = "oai:" + identificador + ":";
+        this.urlBase = urlBase;
+        this.registrosPorPagina = registrosPorPagina;
+    }
+
+    /**
+     * Corpo da resposta, já consultado; só falta escrever o XML.
+     */
+    @FunctionalInterface
+    public interface RespostaOai {
+        void escrever(OutputStream saida) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface CorpoOai {
+        void escrever(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    // Condição de erro do protocolo: vira um <error code="..."> com HTTP 200
+    private static final class ErroOai extends RuntimeException {
+        private final String codigo;
+
+        ErroOai(String codigo, String mensagem) {
+            super(mensagem);
+            this.codigo = codigo;
+        }
+    }
+
+    /**
+     * @param parametros      parâmetros da requisição (query string ou corpo do POST)
+     * @param urlAplicacao    URL base da aplicação vista pela requisição, usada quando app.oai.url-base está vazio
+     */
+    public RespostaOai responder(Map<String, String[]> parametros, String urlAplicacao) {
+        Instant agora = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String aplicacao = urlBase.isBlank() ? urlAplicacao : urlBase;
+        Map<String, String> argumentos = Map.of();
+        CorpoOai corpo;
+        try {
+            argumentos = argumentos(parametros);
+            corpo = executar(argumentos, aplicacao);
+        } catch (ErroOai erro) {
+            // badVerb e badArgument: o elemento request não repete os argumentos
+            if (erro.codigo.equals("badVerb") || erro.codigo.equals("badArgument")) {
+                argumentos = Map.of();
+            }
+            corpo = xml -> {
+                xml.writeStartElement("error");
+                xml.writeAttribute("code", erro.codigo);
+                xml.writeCharacters(erro.getMessage());
+                xml.writeEndElement();
+            };
+        }
+        Map<String, String> ecoados = argumentos;
+        CorpoOai conteudo = corpo;
+        return saida -> escrever(saida, agora, aplicacao + "/oai", ecoados, conteudo);
+    }
+
+    private Map<String, String> argumentos(Map<String, String[]> parametros) {
+        String[] verbos = parametros.get("verb");
+        if (verbos == null || verbos.length != 1 || !ARGUMENTOS.containsKey(verbos[0])) {
+            throw new ErroOai("badVerb", "Verbo ausente, repetido ou desconhecido");
+        }
+        Set<String> aceitos = ARGUMENTOS.get(verbos[0]);
+        // verb primeiro, na ordem em que vieram os demais
+        Map<String, String> argumentos = new LinkedHashMap<>();
+        argumentos.put("verb", verbos[0]);
+        parametros.forEach((nome, valores) -> {
+            if (nome.equals("verb")) {
+                return;
+            }
+            if (!aceitos.contains(nome)) {
+                throw new ErroOai("badArgument", "Argumento não aceito por " + verbos[0] + ": " + nome);
+            }
+            if (valores.length != 1) {
+                throw new ErroOai("badArgument", "Argumento repetido: " + nome);
+            }
+            argumentos.put(nome, valores[0]);
+        });
+        // resumptionToken é exclusivo: nenhum outro argumento além do verbo
+        if (argumentos.containsKey("resumptionToken") && argumentos.size() > 2) {
+            throw new ErroOai("badArgument", "resumptionToken não pode vir com outros argumentos");
+        }
+        return argumentos;
+    }
+
+    private CorpoOai executar(Map<String, String> argumentos, String aplicacao) {
+        return switch (argumentos.get("verb")) {
+            case "Identify" -> identificar(aplicacao);
+            case "ListMetadataFormats" -> listarFormatos(argumentos.get("identifier"));
+            case "ListSets" -> listarSets(argumentos.get("resumptionToken"));
+            case "GetRecord" -> obterRegistro(argumentos, aplicacao);
+            case "ListIdentifiers" -> listar(argumentos, aplicacao, false);
+            default -> listar(argumentos, aplicacao, true);
+        };
+    }
+
+    private CorpoOai identificar(String aplicacao) {
+        Instant primeira = oaiRepository.primeiraAlteracao().orElse(Instant.EPOCH);
+        return xml -> {
+            xml.writeStartElement("Identify");
+            elemento(xml, "repositoryName", nomeRepositorio);
+            elemento(xml, "baseURL", aplicacao + "/oai");
+            elemento(xml, "protocolVersion", "2.0");
+            elemento(xml, "adminEmail", emailAdministrador);
+            elemento(xml, "earliestDatestamp", datestamp(primeira));
+            // Lápides de documentos excluídos ou reprovados ficam em alteracoes_documentos, mas as exclusões
+            // anteriores ao V19 não foram registradas: não há garantia de histórico completo
+            elemento(xml, "deletedRecord", "transient");
+            elemento(xml, "granularity", "YYYY-MM-DDThh:mm:ssZ");
+            xml.writeEndElement();
+        };
+    }
+
+    private CorpoOai listarFormatos(String identificador) {
+        if (identificador != null) {
+            buscar(identificador);
+        }
+        return xml -> {
+            xml.writeStartElement("ListMetadataFormats");
+            xml.writeStartElement("metadataFormat");
+            elemento(xml, "metadataPrefix", PREFIXO_DC);
+            elemento(xml, "schema", "http://www.openarchives.org/OAI/2.0/oai_dc.xsd");
+            elemento(xml, "metadataNamespace", NS_OAI_DC);
+            xml.writeEndElement();
+            xml.writeEndElement();
+        };
+    }
+
+    private CorpoOai listarSets(String token) {
+        // São poucos programas: a lista sai inteira, nunca com resumptionToken
+        if (token != null) {
+            throw new ErroOai("badResumptionToken", "ListSets não é paginado");
+        }
+        List<Programa> programas = programaRepository.findAll().stream()
+                .sorted(Comparator.comparing(Programa::getSigla, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+        if (programas.isEmpty()) {
+            throw new ErroOai("noSetHierarchy", "Nenhum programa cadastrado");
+        }
+        return xml -> {
+            xml.writeStartElement("ListSets");
+            for (Programa programa : programas) {
+                xml.writeStartElement("set");
+                elemento(xml, "setSpec", programa.getSigla());
+                elemento(xml, "setName", programa.getNome());
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        };
+    }
+
+    private CorpoOai obterRegistro(Map<String, String> argumentos, String aplicacao) {
+        String identificador = obrigatorio(argumentos, "identifier");
+        formato(obrigatorio(argumentos, "metadataPrefix"));
+        RegistroOai registro = buscar(identificador);
+        return xml -> {
+            xml.writeStartElement("GetRecord");
+            registro(xml, registro, aplicacao);
+            xml.writeEndElement();
+        };
+    }
+
+    private CorpoOai listar(Map<String, String> argumentos, String aplicacao, boolean comMetadados) {
+        String tokenRecebido = argumentos.get("resumptionToken");
+        TokenRetomadaOai posicao;
+        if (tokenRecebido != null) {
+            try {
+                posicao = TokenRetomadaOai.decodificar(tokenRecebido);
+            } catch (RegraNegocioException e) {
+                throw new ErroOai("badResumptionToken", "resumptionToken inválido");
+            }
+        } else {
+            formato(obrigatorio(argumentos, "metadataPrefix"));
+            Instant[] intervalo = intervalo(argumentos.get("from"), argumentos.get("until"));
+            posicao = new TokenRetomadaOai(argumentos.get("set"), intervalo[0], intervalo[1], null, null, 0);
+        }
+
+        Long programaId = null;
+        if (posicao.set() != null) {
+            programaId = programaRepository.findBySigla(posicao.set())
+                    .map(Programa::getId)
+                    .orElseThrow(() -> new ErroOai("noRecordsMatch", "Set inexistente: " + posicao.set()));
+        }
+        // Um a mais só para saber se há próxima página
+        List<RegistroOai> pagina = oaiRepository.pagina(programaId, posicao.de(), posicao.ate(),
+                posicao.atualizadoEm(), posicao.id(), registrosPorPagina + 1);
+        if (pagina.isEmpty()) {
+            throw new ErroOai("noRecordsMatch", "Nenhum registro no intervalo e set pedidos");
+        }
+        boolean haMais = pagina.size() > registrosPorPagina;
+        List<RegistroOai> registros = haMais ? pagina.subList(0, registrosPorPagina) : pagina;
+        RegistroOai ultimo = registros.get(registros.size() - 1);
+        String proximo = haMais
+                ? new TokenRetomadaOai(posicao.set(), posicao.de(), posicao.ate(), ultimo.atualizadoEm(), ultimo.id(),
+                posicao.enviados() + registros.size()).codificar()
+                : null;
+
+        return xml -> {
+            xml.writeStartElement(comMetadados ? "ListRecords" : "ListIdentifiers");
+            for (RegistroOai registro : registros) {
+                if (comMetadados) {
+                    registro(xml, registro, aplicacao);
+                } else {
+                    cabecalho(xml, registro);
+                }
+            }
+            // Última parte de uma lista retomada: resumptionToken vazio
+            if (proximo != null || tokenRecebido != null) {
+                xml.writeStartElement("resumptionToken");
+                xml.writeAttribute("cursor", String.valueOf(posicao.enviados()));
+                if (proximo != null) {
+                    xml.writeCharacters(proximo);
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        };
+    }
+
+    private RegistroOai buscar(String identificador) {
+        if (identificador.startsWith(prefixoIdentificador)) {
+            try {
+                long id = Long.parseLong(identificador.substring(prefixoIdentificador.length()));
+                var registro = oaiRepository.registro(id);
+                if (registro.isPresent()) {
+                    return registro.get();
+                }
+            } catch (NumberFormatException e) {
+                // cai no idDoesNotExist abaixo
+            }
+        }
+        throw new ErroOai("idDoesNotExist", "Identificador desconhecido: " + identificador);
+    }
+
+    private static String obrigatorio(Map<String, String> argumentos, String nome) {
+        String valor = argumentos.get(nome);
+        if (valor == null) {
+            throw new ErroOai("badArgument", "Argumento obrigatório ausente: " + nome);
+        }
+        return valor;
+    }
+
+    private static void formato(String prefixo) {
+        if (!PREFIXO_DC.equals(prefixo)) {
+            throw new ErroOai("cannotDisseminateFormat", "Formato não suportado: " + prefixo);
+        }
+    }
+
+    /**
+     * from/until em dia ou segundo (UTC), ambos com a mesma granularidade. Devolve [de inclusivo, ate exclusivo]:
+     * um until de dia cobre o dia inteiro, e um de segundo, o segundo inteiro.
+     */
+    static Instant[] intervalo(String from, String until) {
+        if (from != null && until != null && from.length() != until.length()) {
+            throw new ErroOai("badArgument", "from e until com granularidades diferentes");
+        }
+        Instant de = from != null ? instante(from, false) : null;
+        Instant ate = until != null ? instante(until, true) : null;
+        if (de != null && ate != null && !de.isBefore(ate)) {
+            throw new ErroOai("badArgument", "from posterior a until");
+        }
+        return new Instant[]{de, ate};
+    }
+
+    private static Instant instante(String valor, boolean fimExclusivo) {
+        try {
+            if (DIA.matcher(valor).matches()) {
+                LocalDate dia = LocalDate.parse(valor);
+                return (fimExclusivo ? dia.plusDays(1) : dia).atStartOfDay(ZoneOffset.UTC).toInstant();
+            }
+            if (SEGUNDO.matcher(valor).matches()) {
+                Instant instante = Instant.parse(valor);
+                return fimExclusivo ? instante.plusSeconds(1) : instante;
+            }
+        } catch (DateTimeParseException e) {
+            // data com formato certo mas inexistente (2024-02-30): badArgument abaixo
+        }
+        throw new ErroOai("badArgument", "Data inválida: " + valor);
+    }
+
+    String identificador(Long documentoId) {
+        return prefixoIdentificador + documentoId;
+    }
+
+    private void cabecalho(XMLStreamWriter xml, RegistroOai registro) throws XMLStreamException {
+        xml.writeStartElement("header");
+        if (registro.excluido()) {
+            xml.writeAttribute("status", "deleted");
+        }
+        elemento(xml, "identifier", identificador(registro.id()));
+        elemento(xml, "datestamp", datestamp(registro.atualizadoEm()));
+        if (registro.siglaPrograma() != null) {
+            elemento(xml, "setSpec", registro.siglaPrograma());
+        }
+        xml.writeEndElement();
+    }
+
+    private void registro(XMLStreamWriter xml, RegistroOai registro, String aplicacao) throws XMLStreamException {
+        xml.writeStartElement("record");
+        cabecalho(xml, registro);
+        // Registro excluído: só o cabeçalho
+        if (registro.excluido()) {
+            xml.writeEndElement();
+            return;
+        }
+        xml.writeStartElement("metadata");
+        xml.writeStartElement(PREFIXO_DC, "dc", NS_OAI_DC);
+        xml.writeNamespace(PREFIXO_DC, NS_OAI_DC);
+        xml.writeNamespace("dc", NS_DC);
+        xml.writeNamespace("xsi", NS_XSI);
+        xml.writeAttribute("xsi", NS_XSI, "schemaLocation", ESQUEMA_OAI_DC);
+        dc(xml, "title", registro.titulo());
+        dc(xml, "description", registro.descricao());
+        dc(xml, "type", registro.tipo().name().toLowerCase(Locale.ROOT));
+        dc(xml, "date", registro.dataPublicacao().toString());
+        dc(xml, "publisher", registro.nomePrograma());
+        dc(xml, "identifier", aplicacao + "/documentos/download/" + registro.id());
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void escrever(OutputStream saida, Instant agora, String baseUrl, Map<String, String> argumentos,
+                          CorpoOai corpo) throws IOException {
+        try {
+            XMLStreamWriter xml = XMLOutputFactory.newFactory().createXMLStreamWriter(saida, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("OAI-PMH");
+            xml.writeDefaultNamespace(NS_OAI);
+            xml.writeNamespace("xsi", NS_XSI);
+            xml.writeAttribute("xsi", NS_XSI, "schemaLocation", ESQUEMA_OAI);
+            elemento(xml, "responseDate", datestamp(agora));
+            xml.writeStartElement("request");
+            for (var argumento : argumentos.entrySet()) {
+                xml.writeAttribute(argumento.getKey(), texto(argumento.getValue()));
+            }
+            xml.writeCharacters(baseUrl);
+            xml.writeEndElement();
+            corpo.escrever(xml);
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            // close do StAX não fecha a saída
+            xml.close();
+            saida.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Falha ao escrever a resposta OAI-PMH", e);
+        }
+    }
+
+    private static void elemento(XMLStreamWriter xml, String nome, String valor) throws XMLStreamException {
+        xml.writeStartElement(nome);
+        xml.writeCharacters(texto(valor));
+        xml.writeEndElement();
+    }
+
+    private static void dc(XMLStreamWriter xml, String nome, String valor) throws XMLStreamException {
+        if (valor == null || valor.isBlank()) {
+            return;
+        }
+        xml.writeStartElement("dc", nome, NS_DC);
+        xml.writeCharacters(texto(valor));
+        xml.writeEndElement();
+    }
+
+    private static String datestamp(Instant instante) {
+        return instante.truncatedTo(ChronoUnit.SECONDS).toString();
+    }
+
+    // Caracteres de controle não são válidos em XML 1.0 nem escapados: saem do texto
+    static String texto(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        return valor.codePoints()
+                .filter(c -> c == '\t' || c == '\n' || c == '\r' || (c >= 0x20 && c < 0xD800) || (c > 0xDFFF && c != 0xFFFE && c != 0xFFFF))
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.uema.repositorio.service;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Conteúdo armazenado exposto como {@link org.springframework.core.io.Resource} com o nome original do
+ * documento (o nome físico é o hash, sem extensão) e tamanho conhecido, para ser enviado em multipart
+ * sem cópia local nem leitura prévia do stream.
+ */
+class RecursoConteudo extends AbstractResource {
+
+    private final ArmazenamentoConteudo conteudo;
+    private final String chave;
+    private final String nomeArquivo;
+    private final long tamanhoBytes;
+
+    RecursoConteudo(ArmazenamentoConteudo conteudo, String chave, String nomeArquivo, long tamanhoBytes) {
+        this.conteudo = conteudo;
+        this.chave = chave;
+        this.nomeArquivo = nomeArquivo;
+        this.tamanhoBytes = tamanhoBytes;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return conteudo.abrir(chave);
+    }
+
+    @Override
+    public String getFilename() {
+        return nomeArquivo;
+    }
+
+    @Override
+    public long contentLength() {
+        return tamanhoBytes;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Conteúdo armazenado [" + chave + "]";
+    }
+}
@@ -5,6 +5,9 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -15,14 +18,27 @@ import java.time.ZoneOffset;
 @Service
 public class TokenService {
 
+    private static final String EMISSOR = "API Repositorio PPG";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    // Algorithm e JWTVerifier são imutáveis e thread-safe: montados uma vez, não a cada requisição
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    @PostConstruct
+    void inicializar() {
+        algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm)
+                .withIssuer(EMISSOR)
+                .build();
+    }
+
     public String gerarToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("API Repositorio PPG")
+                    .withIssuer(EMISSOR)
                     .withSubject(usuario.getEmail())
                     .withClaim("id", usuario.getId())
                     .withExpiresAt(dataExpiracao())
@@ -33,13 +49,12 @@ public class TokenService {
     }
 
     public String getSubject(String tokenJWT) {
+        return verificar(tokenJWT).getSubject();
+    }
+
+    public DecodedJWT verificar(String tokenJWT) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("API Repositorio PPG")
-                    .build()
-                    .verify(tokenJWT)
-                    .getSubject();
+            return verifier.verify(tokenJWT);
         } catch (JWTVerificationException exception) {
             throw new RuntimeException("Token JWT inválido ou expirado!");
         }
@@ -1,5 +1,6 @@
 package br.com.uema.repositorio.service;
 
+import br.com.uema.repositorio.config.CachePrincipais;
 import br.com.uema.repositorio.dto.UsuarioRequestDTO;
 import br.com.uema.repositorio.dto.UsuarioResponseDTO;
 import br.com.uema.repositorio.entity.Usuario;
@@ -20,6 +21,7 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CachePrincipais cachePrincipais;
 
     @Transactional
     public UsuarioResponseDTO criarUsuario(UsuarioRequestDTO dados, boolean autoAprovado) {
@@ -49,6 +51,7 @@ public class UsuarioService {
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado"));
         usuario.setAtivo(true);
         usuarioRepository.save(usuario);
+        cachePrincipais.invalidar(id);
     }
 
     public List<UsuarioResponseDTO> listarTodos() {
@@ -71,7 +74,9 @@ public class UsuarioService {
         //     usuario.setSenha(passwordEncoder.encode(dados.senha()));
         // }
 
-        return new UsuarioResponseDTO(usuarioRepository.save(usuario));
+        Usuario salvo = usuarioRepository.save(usuario);
+        cachePrincipais.invalidar(id);
+        return new UsuarioResponseDTO(salvo);
     }
 
     @Transactional
@@ -80,5 +85,6 @@ public class UsuarioService {
             throw new RecursoNaoEncontradoException("Usuário não encontrado");
         }
         usuarioRepository.deleteById(id);
+        cachePrincipais.invalidar(id);
     }
 }
\ No newline at end of file
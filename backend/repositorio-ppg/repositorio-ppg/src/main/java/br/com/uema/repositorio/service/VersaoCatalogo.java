@@ -0,0 +1,88 @@
+package br.com.uema.repositorio.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Versão do catálogo (documentos, aprovações e programas), mantida pelo banco em versao_catalogo: gatilhos
+ * a incrementam no commit de toda transação que altera essas tabelas, inclusive em outras instâncias ou por SQL.
+ * <p>
+ * {@link #atual()} responde da memória e relê o banco no máximo uma vez por {@code app.catalogo.verificacao};
+ * alterações feitas por esta instância chamam {@link #alterado()} para que a próxima leitura já as veja.
+ */
+@Slf4j
+@Service
+public class VersaoCatalogo {
+
+    private final JdbcTemplate jdbc;
+    private final long intervaloNanos;
+    private final LongSupplier relogioNanos;
+
+    private volatile long versao;
+    private volatile long proximaVerificacao;
+    // Só uma requisição relê; as demais seguem com a versão em memória
+    private final AtomicBoolean verificando = new AtomicBoolean();
+
+    @Autowired
+    public VersaoCatalogo(JdbcTemplate jdbc, @Value("${app.catalogo.verificacao:2s}") Duration intervalo) {
+        this(jdbc, intervalo, System::nanoTime);
+    }
+
+    VersaoCatalogo(JdbcTemplate jdbc, Duration intervalo, LongSupplier relogioNanos) {
+        this.jdbc = jdbc;
+        this.intervaloNanos = intervalo.toNanos();
+        this.relogioNanos = relogioNanos;
+        this.proximaVerificacao = relogioNanos.getAsLong();
+    }
+
+    public long atual() {
+        long agora = relogioNanos.getAsLong();
+        if (agora - proximaVerificacao >= 0 && verificando.compareAndSet(false, true)) {
+            try {
+                Long lida = jdbc.queryForObject("SELECT versao FROM versao_catalogo WHERE id = 1", Long.class);
+                if (lida != null && lida > versao) {
+                    versao = lida;
+                }
+                proximaVerificacao = agora + intervaloNanos;
+            } catch (DataAccessException e) {
+                // Banco fora: segue com a versão conhecida e tenta de novo na próxima requisição
+                log.warn("Não foi possível ler a versão do catálogo: {}", e.getMessage());
+            } finally {
+                verificando.set(false);
+            }
+        }
+        return versao;
+    }
+
+    public static String etag(long versao) {
+        // Fraco: o corpo pode ser comprimido no caminho, só a versão é garantida
+        return "W/\"catalogo-" + versao + "\"";
+    }
+
+    /**
+     * Força a releitura na próxima chamada de {@link #atual()}; dentro de uma transação, só após o commit,
+     * quando o gatilho já incrementou a versão.
+     */
+    public void alterado() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    proximaVerificacao = relogioNanos.getAsLong();
+                }
+            });
+        } else {
+            proximaVerificacao = relogioNanos.getAsLong();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- Histórico de arquivos substituídos: cada versão mantém o arquivo anterior (e sua referência em arquivos)
+-- até expirar pela retenção; a linha do histórico permanece depois disso
+
+ALTER TABLE documento_versoes
+    ADD COLUMN nome_arquivo VARCHAR(255),
+    ADD COLUMN hash_sha256 VARCHAR(64),
+    ADD COLUMN tamanho_bytes BIGINT,
+    ADD COLUMN arquivo_expirado_em TIMESTAMPTZ;
+
+-- Histórico de um documento, do mais recente para o mais antigo (paginação por id)
+CREATE INDEX idx_documento_versoes_documento ON documento_versoes (documento_id, id DESC);
+
+-- Versões que ainda retêm o arquivo, por idade: candidatas à expiração
+CREATE INDEX idx_documento_versoes_retidas ON documento_versoes (created_at) WHERE arquivo_expirado_em IS NULL;
+
+-- Conciliação do armazenamento: chaves referenciadas por caminho
+CREATE INDEX idx_arquivos_caminho ON arquivos (caminho);
+CREATE INDEX idx_documentos_caminho_arquivo ON documentos (caminho_arquivo) WHERE hash_sha256 IS NULL;
@@ -0,0 +1,13 @@
+-- Acessos agregados por documento e dia. Os contadores ficam em memória e são somados aqui em lote,
+-- em vez de um UPDATE por download na mesma linha
+
+CREATE TABLE estatisticas_acesso (
+    documento_id BIGINT NOT NULL REFERENCES documentos(id) ON DELETE CASCADE,
+    dia DATE NOT NULL,
+    downloads BIGINT NOT NULL DEFAULT 0,
+    visualizacoes BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (documento_id, dia)
+);
+
+-- Ranking por período: varre só os dias do intervalo
+CREATE INDEX idx_estatisticas_acesso_dia ON estatisticas_acesso (dia, documento_id);
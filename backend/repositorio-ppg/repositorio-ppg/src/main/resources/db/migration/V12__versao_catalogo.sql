@@ -0,0 +1,39 @@
+-- Versão do catálogo (documentos, aprovações e programas): ETag de GET /documentos e GET /programas.
+-- Sobe uma vez por transação que altera alguma das tabelas, no commit.
+
+CREATE TABLE versao_catalogo (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    versao BIGINT NOT NULL
+);
+
+INSERT INTO versao_catalogo (id, versao) VALUES (1, 1);
+
+CREATE FUNCTION incrementar_versao_catalogo() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    -- Gatilho por linha: só a primeira linha alterada na transação incrementa
+    IF current_setting('repositorio.versao_catalogo_xid', true) IS DISTINCT FROM txid_current()::text THEN
+        PERFORM set_config('repositorio.versao_catalogo_xid', txid_current()::text, true);
+        UPDATE versao_catalogo SET versao = versao + 1 WHERE id = 1;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+-- Adiados para o commit: a linha de versao_catalogo é o último lock da transação e fica presa só durante o
+-- commit, sem serializar uploads e aprovações simultâneos nem formar ciclo com os locks das linhas alteradas
+CREATE CONSTRAINT TRIGGER trg_documentos_versao_catalogo
+    AFTER INSERT OR UPDATE OR DELETE ON documentos
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION incrementar_versao_catalogo();
+
+CREATE CONSTRAINT TRIGGER trg_fluxo_aprovacao_versao_catalogo
+    AFTER INSERT OR UPDATE OR DELETE ON fluxo_aprovacao
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION incrementar_versao_catalogo();
+
+CREATE CONSTRAINT TRIGGER trg_programas_versao_catalogo
+    AFTER INSERT OR UPDATE OR DELETE ON programas
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION incrementar_versao_catalogo();
@@ -0,0 +1,112 @@
+-- Contagem de documentos aprovados por programa, tipo e ano de publicação (GET /documentos/facetas).
+-- Mantida por gatilhos na mesma transação que aprova, rejeita, altera ou exclui o documento: ler as facetas
+-- custa uma linha por combinação existente, qualquer que seja o tamanho do catálogo.
+
+CREATE TABLE facetas_documentos (
+    programa_id BIGINT NOT NULL REFERENCES programas(id) ON DELETE CASCADE,
+    tipo tipo_documento NOT NULL,
+    ano INT NOT NULL,
+    quantidade BIGINT NOT NULL,
+    PRIMARY KEY (programa_id, tipo, ano)
+);
+
+CREATE FUNCTION somar_faceta(p_programa_id BIGINT, p_tipo tipo_documento, p_data DATE, p_delta INT) RETURNS void
+    LANGUAGE sql
+AS $$
+    INSERT INTO facetas_documentos (programa_id, tipo, ano, quantidade)
+    VALUES (p_programa_id, p_tipo, EXTRACT(YEAR FROM p_data)::int, p_delta)
+    ON CONFLICT (programa_id, tipo, ano) DO UPDATE
+        SET quantidade = facetas_documentos.quantidade + p_delta
+$$;
+
+CREATE FUNCTION documento_aprovado(p_documento_id BIGINT, p_ignorar_fluxo_id BIGINT) RETURNS boolean
+    LANGUAGE sql
+    STABLE
+AS $$
+    SELECT EXISTS (SELECT 1 FROM fluxo_aprovacao f
+                    WHERE f.documento_id = p_documento_id AND f.estado = 'APROVADO'
+                      AND f.id IS DISTINCT FROM p_ignorar_fluxo_id)
+$$;
+
+-- Refaz a tabela a partir dos documentos (carga inicial, ou correção manual: SELECT recalcular_facetas())
+CREATE FUNCTION recalcular_facetas() RETURNS void
+    LANGUAGE sql
+AS $$
+    DELETE FROM facetas_documentos;
+    INSERT INTO facetas_documentos (programa_id, tipo, ano, quantidade)
+    SELECT d.programa_id, d.tipo, EXTRACT(YEAR FROM d.data_publicacao)::int, COUNT(*)
+      FROM documentos d
+     WHERE documento_aprovado(d.id, NULL)
+     GROUP BY 1, 2, 3;
+$$;
+
+-- Aprovação: o documento conta quando passa a ter um fluxo APROVADO e deixa de contar quando não tem mais
+CREATE FUNCTION facetas_fluxo_trigger() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_fluxo fluxo_aprovacao%ROWTYPE;
+    v_antes BOOLEAN;
+    v_depois BOOLEAN;
+    d documentos%ROWTYPE;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        v_fluxo := OLD;
+    ELSE
+        v_fluxo := NEW;
+    END IF;
+    -- Outro fluxo aprovado do mesmo documento decide por este
+    v_antes := documento_aprovado(v_fluxo.documento_id, v_fluxo.id);
+    v_depois := v_antes;
+    IF TG_OP <> 'INSERT' THEN
+        v_antes := v_antes OR OLD.estado = 'APROVADO';
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        v_depois := v_depois OR NEW.estado = 'APROVADO';
+    END IF;
+    IF v_antes <> v_depois THEN
+        -- Documento não encontrado: exclusão em cascata, já descontada pelo gatilho de documentos
+        SELECT * INTO d FROM documentos WHERE id = v_fluxo.documento_id;
+        IF FOUND THEN
+            PERFORM somar_faceta(d.programa_id, d.tipo, d.data_publicacao, CASE WHEN v_depois THEN 1 ELSE -1 END);
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_fluxo_aprovacao_facetas
+    AFTER INSERT OR UPDATE OF estado OR DELETE ON fluxo_aprovacao
+    FOR EACH ROW EXECUTE FUNCTION facetas_fluxo_trigger();
+
+-- Documento aprovado que muda de programa, tipo ou ano troca de faceta; excluído, sai da sua
+CREATE FUNCTION facetas_documento_trigger() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF documento_aprovado(OLD.id, NULL) THEN
+        PERFORM somar_faceta(OLD.programa_id, OLD.tipo, OLD.data_publicacao, -1);
+        IF TG_OP = 'UPDATE' THEN
+            PERFORM somar_faceta(NEW.programa_id, NEW.tipo, NEW.data_publicacao, 1);
+        END IF;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_documentos_facetas
+    AFTER UPDATE OF programa_id, tipo, data_publicacao ON documentos
+    FOR EACH ROW
+    WHEN (OLD.programa_id IS DISTINCT FROM NEW.programa_id OR OLD.tipo IS DISTINCT FROM NEW.tipo
+          OR EXTRACT(YEAR FROM OLD.data_publicacao) IS DISTINCT FROM EXTRACT(YEAR FROM NEW.data_publicacao))
+    EXECUTE FUNCTION facetas_documento_trigger();
+
+-- BEFORE: os fluxos ainda existem; a cascata que os apaga roda depois e já não acha o documento
+CREATE TRIGGER trg_documentos_facetas_exclusao
+    BEFORE DELETE ON documentos
+    FOR EACH ROW EXECUTE FUNCTION facetas_documento_trigger();
+
+SELECT recalcular_facetas();
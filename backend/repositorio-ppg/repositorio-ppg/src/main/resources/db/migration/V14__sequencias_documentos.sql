@@ -0,0 +1,6 @@
+-- documentos e fluxo_aprovacao passam a ter ids gerados pelo Hibernate a partir da sequência (otimizador pooled):
+-- cada nextval reserva um bloco de 50 ids, o que permite enviar os INSERTs de uma carga em lote em batch JDBC.
+-- O incremento precisa ser igual ao allocationSize das entidades. Com o valor atual v, o próximo bloco é v+1..v+50;
+-- o DEFAULT da coluna continua valendo para INSERTs feitos direto por SQL, que consomem um bloco inteiro.
+ALTER SEQUENCE documentos_id_seq INCREMENT BY 50;
+ALTER SEQUENCE fluxo_aprovacao_id_seq INCREMENT BY 50;
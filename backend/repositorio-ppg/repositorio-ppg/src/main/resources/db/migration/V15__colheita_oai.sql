@@ -0,0 +1,21 @@
+-- Colheita OAI-PMH (GET /oai): o datestamp de cada registro é documentos.updated_at, e a colheita incremental
+-- (from/until) e o resumptionToken percorrem (updated_at, id) em ordem.
+
+CREATE INDEX idx_documentos_atualizacao ON documentos (updated_at, id);
+
+-- A aprovação muda só fluxo_aprovacao; sem isto, um documento aprovado depois de criado ficaria com um
+-- datestamp antigo e escaparia de quem colhe a partir da última colheita
+CREATE FUNCTION atualizar_documento_aprovacao() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE documentos SET updated_at = NOW() WHERE id = NEW.documento_id;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_fluxo_aprovacao_atualiza_documento
+    AFTER UPDATE OF estado ON fluxo_aprovacao
+    FOR EACH ROW
+    WHEN (OLD.estado IS DISTINCT FROM NEW.estado)
+    EXECUTE FUNCTION atualizar_documento_aprovacao();
@@ -0,0 +1,80 @@
+-- Feed de alterações de documentos (GET /documentos/alteracoes): uma linha por documento com a sequência da
+-- última transação que o criou, alterou, aprovou, reprovou ou excluiu. Sem chave estrangeira: a linha de um
+-- documento excluído continua como lápide.
+--
+-- A sequência é a versão do catálogo (V12), atribuída no commit sob o lock de versao_catalogo: transações
+-- recebem sequências na mesma ordem em que ficam visíveis, então quem lê "depois de N" nunca pula uma linha
+-- que ainda ia ser confirmada com número menor.
+
+CREATE TABLE alteracoes_documentos (
+    documento_id BIGINT PRIMARY KEY,
+    sequencia BIGINT NOT NULL
+);
+
+CREATE INDEX idx_alteracoes_documentos_sequencia ON alteracoes_documentos (sequencia, documento_id);
+
+-- Versão do catálogo desta transação: a primeira chamada incrementa, as seguintes só leem
+CREATE FUNCTION versao_catalogo_da_transacao() RETURNS BIGINT
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_versao BIGINT;
+BEGIN
+    IF current_setting('repositorio.versao_catalogo_xid', true) IS DISTINCT FROM txid_current()::text THEN
+        PERFORM set_config('repositorio.versao_catalogo_xid', txid_current()::text, true);
+        UPDATE versao_catalogo SET versao = versao + 1 WHERE id = 1 RETURNING versao INTO v_versao;
+    ELSE
+        SELECT versao INTO v_versao FROM versao_catalogo WHERE id = 1;
+    END IF;
+    RETURN v_versao;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION incrementar_versao_catalogo() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM versao_catalogo_da_transacao();
+    RETURN NULL;
+END
+$$;
+
+CREATE FUNCTION registrar_alteracao_documento() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_documento_id BIGINT;
+BEGIN
+    IF TG_TABLE_NAME = 'documentos' THEN
+        IF TG_OP = 'DELETE' THEN
+            v_documento_id := OLD.id;
+        ELSE
+            v_documento_id := NEW.id;
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        v_documento_id := OLD.documento_id;
+    ELSE
+        v_documento_id := NEW.documento_id;
+    END IF;
+
+    INSERT INTO alteracoes_documentos (documento_id, sequencia)
+    VALUES (v_documento_id, versao_catalogo_da_transacao())
+    ON CONFLICT (documento_id) DO UPDATE SET sequencia = EXCLUDED.sequencia;
+    RETURN NULL;
+END
+$$;
+
+-- Adiados para o commit, como os gatilhos de versao_catalogo: a sequência só existe depois do incremento
+CREATE CONSTRAINT TRIGGER trg_documentos_alteracoes
+    AFTER INSERT OR UPDATE OR DELETE ON documentos
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION registrar_alteracao_documento();
+
+CREATE CONSTRAINT TRIGGER trg_fluxo_aprovacao_alteracoes
+    AFTER INSERT OR UPDATE OF estado OR DELETE ON fluxo_aprovacao
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION registrar_alteracao_documento();
+
+INSERT INTO alteracoes_documentos (documento_id, sequencia)
+SELECT d.id, (SELECT versao FROM versao_catalogo WHERE id = 1)
+  FROM documentos d;
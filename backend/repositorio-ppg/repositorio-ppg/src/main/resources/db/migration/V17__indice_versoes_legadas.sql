@@ -0,0 +1,4 @@
+-- Conciliação do armazenamento: versões que ainda retêm um arquivo legado (sem hash), por caminho.
+-- As versões com hash são encontradas pela tabela arquivos.
+CREATE INDEX idx_documento_versoes_caminho_arquivo ON documento_versoes (caminho_arquivo)
+    WHERE hash_sha256 IS NULL AND arquivo_expirado_em IS NULL;
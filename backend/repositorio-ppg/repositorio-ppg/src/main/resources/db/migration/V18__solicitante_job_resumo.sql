@@ -0,0 +1,5 @@
+-- Quem pediu o job de resumo: o evento RESUMO_ATUALIZADO (GET /eventos) vai só para essa pessoa.
+-- Jobs anteriores ficam sem solicitante e não geram evento para ninguém.
+
+ALTER TABLE jobs_resumo
+    ADD COLUMN solicitante_id BIGINT REFERENCES usuarios(id) ON DELETE SET NULL;
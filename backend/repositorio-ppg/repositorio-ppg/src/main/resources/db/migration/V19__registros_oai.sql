@@ -0,0 +1,75 @@
+-- Colheita OAI-PMH a partir de alteracoes_documentos (V16) em vez de documentos.updated_at (V15).
+--
+-- datestamp: instante em que a última transação que tocou o documento foi confirmada. NOW() é o início da
+-- transação, então um upload longo confirmado depois de uma colheita saía com datestamp anterior a ela e
+-- escapava da colheita incremental seguinte. O instante é lido no gatilho adiado do V16, depois do lock de
+-- versao_catalogo: datestamps seguem a ordem em que as transações ficam visíveis, como as sequências.
+--
+-- Lápides: documento excluído ou reprovado continua na colheita com <header status="deleted">, para quem já o
+-- colheu removê-lo. Só documentos que já estiveram aprovados (publicado) aparecem, e o programa fica guardado
+-- para o set da lápide de um documento excluído.
+
+ALTER TABLE alteracoes_documentos
+    ADD COLUMN alterado_em TIMESTAMPTZ,
+    ADD COLUMN programa_id BIGINT,
+    ADD COLUMN publicado BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE alteracoes_documentos a
+   SET alterado_em = d.updated_at,
+       programa_id = d.programa_id,
+       publicado = documento_aprovado(d.id, NULL)
+  FROM documentos d
+ WHERE d.id = a.documento_id;
+
+-- Lápides anteriores a esta migração: sem como saber se foram colhidas, ficam fora da colheita
+UPDATE alteracoes_documentos SET alterado_em = NOW() WHERE alterado_em IS NULL;
+
+ALTER TABLE alteracoes_documentos ALTER COLUMN alterado_em SET NOT NULL;
+
+CREATE INDEX idx_alteracoes_documentos_oai ON alteracoes_documentos (alterado_em, documento_id) WHERE publicado;
+
+CREATE OR REPLACE FUNCTION registrar_alteracao_documento() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_documento_id BIGINT;
+    v_sequencia BIGINT;
+    v_programa_id BIGINT;
+    v_aprovado BOOLEAN;
+BEGIN
+    IF TG_TABLE_NAME = 'documentos' THEN
+        IF TG_OP = 'DELETE' THEN
+            v_documento_id := OLD.id;
+        ELSE
+            v_documento_id := NEW.id;
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        v_documento_id := OLD.documento_id;
+    ELSE
+        v_documento_id := NEW.documento_id;
+    END IF;
+
+    -- Primeiro o lock de versao_catalogo, depois o relógio
+    v_sequencia := versao_catalogo_da_transacao();
+
+    -- Estado no commit; documento excluído não é encontrado e mantém o programa já gravado
+    SELECT d.programa_id, documento_aprovado(d.id, NULL) INTO v_programa_id, v_aprovado
+      FROM documentos d
+     WHERE d.id = v_documento_id;
+
+    INSERT INTO alteracoes_documentos (documento_id, sequencia, alterado_em, programa_id, publicado)
+    VALUES (v_documento_id, v_sequencia, clock_timestamp(), v_programa_id, coalesce(v_aprovado, FALSE))
+    ON CONFLICT (documento_id) DO UPDATE
+        SET sequencia = EXCLUDED.sequencia,
+            alterado_em = EXCLUDED.alterado_em,
+            programa_id = coalesce(EXCLUDED.programa_id, alteracoes_documentos.programa_id),
+            publicado = alteracoes_documentos.publicado OR EXCLUDED.publicado;
+    RETURN NULL;
+END
+$$;
+
+-- A aprovação já registra a alteração pelo gatilho de fluxo_aprovacao: updated_at volta a ser só a última
+-- edição do documento
+DROP TRIGGER trg_fluxo_aprovacao_atualiza_documento ON fluxo_aprovacao;
+DROP FUNCTION atualizar_documento_aprovacao();
+DROP INDEX idx_documentos_atualizacao;
@@ -0,0 +1,14 @@
+-- --- ÍNDICES PARA PAGINAÇÃO KEYSET DO CATÁLOGO ---
+-- Ordem do catálogo: data_publicacao DESC, id DESC
+CREATE INDEX idx_documentos_catalogo
+    ON documentos (data_publicacao DESC, id DESC);
+
+CREATE INDEX idx_documentos_programa_catalogo
+    ON documentos (programa_id, data_publicacao DESC, id DESC);
+
+CREATE INDEX idx_documentos_tipo_catalogo
+    ON documentos (tipo, data_publicacao DESC, id DESC);
+
+-- Semi-join "documento aprovado" usado por todas as listagens públicas
+CREATE INDEX idx_fluxo_aprovacao_documento_estado
+    ON fluxo_aprovacao (documento_id, estado);
@@ -0,0 +1,57 @@
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- --- CONFIGURAÇÃO DE BUSCA: português sem acentos ---
+CREATE TEXT SEARCH CONFIGURATION portugues_sem_acento (COPY = portuguese);
+ALTER TEXT SEARCH CONFIGURATION portugues_sem_acento
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+
+-- Pesos: A = título, B = programa (nome e sigla) e tipo, C = descrição
+CREATE FUNCTION documento_search_tsv(p_titulo TEXT, p_descricao TEXT, p_tipo tipo_documento, p_programa_id BIGINT)
+    RETURNS tsvector
+    LANGUAGE sql
+    STABLE
+AS $$
+    SELECT setweight(to_tsvector('portugues_sem_acento', coalesce(p_titulo, '')), 'A')
+        || setweight(to_tsvector('portugues_sem_acento', coalesce(p.nome, '') || ' ' || coalesce(p.sigla::text, '')), 'B')
+        || setweight(to_tsvector('portugues_sem_acento', coalesce(p_tipo::text, '')), 'B')
+        || setweight(to_tsvector('portugues_sem_acento', coalesce(p_descricao, '')), 'C')
+    FROM (SELECT 1) AS um
+    LEFT JOIN programas p ON p.id = p_programa_id
+$$;
+
+CREATE FUNCTION documentos_search_tsv_trigger() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.search_tsv := documento_search_tsv(NEW.titulo, NEW.descricao, NEW.tipo, NEW.programa_id);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_documentos_search_tsv
+    BEFORE INSERT OR UPDATE OF titulo, descricao, tipo, programa_id ON documentos
+    FOR EACH ROW EXECUTE FUNCTION documentos_search_tsv_trigger();
+
+-- Renomear um programa reindexa os documentos dele
+CREATE FUNCTION programas_search_tsv_trigger() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE documentos d
+       SET search_tsv = documento_search_tsv(d.titulo, d.descricao, d.tipo, d.programa_id)
+     WHERE d.programa_id = NEW.id;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_programas_search_tsv
+    AFTER UPDATE OF nome, sigla ON programas
+    FOR EACH ROW
+    WHEN (OLD.nome IS DISTINCT FROM NEW.nome OR OLD.sigla IS DISTINCT FROM NEW.sigla)
+    EXECUTE FUNCTION programas_search_tsv_trigger();
+
+-- Preenche os documentos já existentes
+UPDATE documentos
+   SET search_tsv = documento_search_tsv(titulo, descricao, tipo, programa_id);
+
+CREATE INDEX idx_documentos_search_tsv ON documentos USING GIN (search_tsv);
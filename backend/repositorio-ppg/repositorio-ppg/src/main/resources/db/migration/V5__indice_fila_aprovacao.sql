@@ -0,0 +1,5 @@
+-- --- FILA DE APROVAÇÃO ---
+-- Índice parcial: só as pendências (fração pequena do histórico), na ordem de chegada da fila
+CREATE INDEX idx_fluxo_aprovacao_pendentes
+    ON fluxo_aprovacao (created_at, id)
+    WHERE estado = 'PENDENTE';
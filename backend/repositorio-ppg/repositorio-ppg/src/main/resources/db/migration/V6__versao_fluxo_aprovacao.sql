@@ -0,0 +1,2 @@
+-- --- CONTROLE DE CONCORRÊNCIA OTIMISTA NO FLUXO DE APROVAÇÃO ---
+ALTER TABLE fluxo_aprovacao ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,25 @@
+-- Geração de resumo (Docling + Ollama) passa a rodar como job em segundo plano
+
+CREATE TYPE estado_job_resumo AS ENUM ('PENDENTE', 'EXECUTANDO', 'CONCLUIDO', 'FALHOU');
+
+CREATE TABLE jobs_resumo (
+    id BIGSERIAL PRIMARY KEY,
+    documento_id BIGINT NOT NULL REFERENCES documentos(id) ON DELETE CASCADE,
+    estado estado_job_resumo NOT NULL DEFAULT 'PENDENTE',
+    erro TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- No máximo um job em andamento por documento: pedidos simultâneos compartilham o mesmo job
+CREATE UNIQUE INDEX uk_jobs_resumo_documento_ativo
+    ON jobs_resumo (documento_id)
+    WHERE estado IN ('PENDENTE', 'EXECUTANDO');
+
+-- A entidade já declara um resumo por documento, mas a V2 não criou a restrição
+DELETE FROM resumos r
+USING resumos mais_antigo
+WHERE r.documento_id = mais_antigo.documento_id
+  AND r.id > mais_antigo.id;
+
+ALTER TABLE resumos ADD CONSTRAINT uk_resumos_documento UNIQUE (documento_id);
@@ -0,0 +1,4 @@
+-- Calculados em streaming durante o upload
+ALTER TABLE documentos
+    ADD COLUMN hash_sha256 VARCHAR(64),
+    ADD COLUMN tamanho_bytes BIGINT;
@@ -0,0 +1,35 @@
+-- Armazenamento endereçado por conteúdo: cada arquivo físico existe uma vez, identificado pelo SHA-256,
+-- e conta quantos documentos o referenciam
+
+CREATE TABLE arquivos (
+    hash_sha256 VARCHAR(64) PRIMARY KEY,
+    caminho TEXT NOT NULL,
+    tamanho_bytes BIGINT NOT NULL,
+    referencias INT NOT NULL DEFAULT 0 CHECK (referencias >= 0),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Sem referências: candidatos à coleta
+CREATE INDEX idx_arquivos_sem_referencias ON arquivos (updated_at) WHERE referencias = 0;
+
+-- O nome físico deixa de carregar o nome original
+ALTER TABLE documentos ADD COLUMN nome_arquivo VARCHAR(255);
+
+UPDATE documentos
+   SET nome_arquivo = regexp_replace(caminho_arquivo, '^[0-9a-f-]{36}_', '');
+
+-- Documentos da V8 (já têm hash): um arquivo por hash, os demais documentos passam a apontar para ele
+INSERT INTO arquivos (hash_sha256, caminho, tamanho_bytes, referencias)
+SELECT hash_sha256, MIN(caminho_arquivo), MAX(tamanho_bytes), COUNT(*)
+  FROM documentos
+ WHERE hash_sha256 IS NOT NULL
+ GROUP BY hash_sha256;
+
+UPDATE documentos d
+   SET caminho_arquivo = a.caminho
+  FROM arquivos a
+ WHERE d.hash_sha256 = a.hash_sha256
+   AND d.caminho_arquivo <> a.caminho;
+
+CREATE INDEX idx_documentos_hash_sha256 ON documentos (hash_sha256);
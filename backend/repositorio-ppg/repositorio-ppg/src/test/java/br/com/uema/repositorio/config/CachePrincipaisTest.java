@@ -0,0 +1,83 @@
+package br.com.uema.repositorio.config;
+
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import br.com.uema.repositorio.repository.UsuarioRepository;
+import br.com.uema.repositorio.service.TokenService;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachePrincipaisTest {
+
+    private static final String TOKEN = "token.jwt.valido";
+
+    @Mock private TokenService tokenService;
+    @Mock private UsuarioRepository usuarioRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachePrincipais cachePrincipais;
+    private Usuario gestor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cachePrincipais = new CachePrincipais(tokenService, usuarioRepository, Duration.ofMinutes(5), 100, meterRegistry);
+        gestor = Usuario.builder().id(3L).email("gestor@uema.br").perfil(PerfilUsuario.GESTOR).build();
+    }
+
+    private void tokenValido(Instant expiraEm) {
+        DecodedJWT jwt = mock(DecodedJWT.class);
+        when(jwt.getSubject()).thenReturn(gestor.getEmail());
+        when(jwt.getExpiresAtAsInstant()).thenReturn(expiraEm);
+        when(tokenService.verificar(TOKEN)).thenReturn(jwt);
+        when(usuarioRepository.findByEmail(gestor.getEmail())).thenReturn(Optional.of(gestor));
+    }
+
+    @Test
+    void obterQuandoTokenRepetidoEntaoConsultaBancoUmaVez() {
+        tokenValido(Instant.now().plusSeconds(3600));
+
+        assertSame(gestor, cachePrincipais.obter(TOKEN));
+        assertSame(gestor, cachePrincipais.obter(TOKEN));
+
+        verify(usuarioRepository, times(1)).findByEmail(gestor.getEmail());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principais").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principais").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void obterAposInvalidarEntaoRecarregaUsuario() {
+        tokenValido(Instant.now().plusSeconds(3600));
+
+        cachePrincipais.obter(TOKEN);
+        cachePrincipais.invalidar(gestor.getId());
+        cachePrincipais.obter(TOKEN);
+
+        verify(usuarioRepository, times(2)).findByEmail(gestor.getEmail());
+    }
+
+    @Test
+    void obterQuandoTokenExpirouEntaoNaoAutentica() {
+        tokenValido(Instant.now().minusSeconds(1));
+
+        assertNull(cachePrincipais.obter(TOKEN));
+    }
+}
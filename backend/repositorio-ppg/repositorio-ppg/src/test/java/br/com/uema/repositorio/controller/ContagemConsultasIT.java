@@ -0,0 +1,132 @@
+package br.com.uema.repositorio.controller;
+
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.repository.FluxoAprovacaoRepository;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import br.com.uema.repositorio.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que as listagens montam os DTOs em número fixo de consultas, independente da quantidade de linhas.
+ * Se alguém voltar a navegar associações LAZY no mapeamento (N+1), o número de statements estoura o limite.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ContagemConsultasIT {
+
+    private static final int QUANTIDADE_DOCUMENTOS = 10;
+    private static final long MAXIMO_CONSULTAS_POR_LISTAGEM = 1;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private DocumentoRepository documentoRepository;
+    @Autowired private ProgramaRepository programaRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private FluxoAprovacaoRepository fluxoAprovacaoRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        fluxoAprovacaoRepository.deleteAll();
+        documentoRepository.deleteAll();
+
+        for (int i = 0; i < QUANTIDADE_DOCUMENTOS; i++) {
+            Programa programa = programaRepository.save(Programa.builder()
+                    .nome("Programa IT " + i)
+                    .sigla("IT_N1_" + i)
+                    .build());
+
+            Usuario autor = usuarioRepository.save(Usuario.builder()
+                    .nome("Autor " + i)
+                    .email("autor.n1." + i + "@uema.br")
+                    .senha("x")
+                    .perfil(PerfilUsuario.FUNCIONARIO)
+                    .build());
+
+            Documento doc = documentoRepository.save(Documento.builder()
+                    .titulo("Documento " + i)
+                    .tipo(TipoDocumento.EDITAIS)
+                    .dataPublicacao(LocalDate.now().minusDays(i))
+                    .caminhoArquivo("path/dummy-" + i + ".pdf")
+                    .programa(programa)
+                    .usuario(autor)
+                    .build());
+
+            fluxoAprovacaoRepository.save(FluxoAprovacao.builder()
+                    .documento(doc)
+                    .estado(i % 2 == 0 ? EstadoAprovacao.APROVADO : EstadoAprovacao.PENDENTE)
+                    .build());
+        }
+
+        // Sem isso as associações viriam do contexto de persistência e o N+1 ficaria invisível
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listarDocumentos_UsaNumeroFixoDeConsultas() throws Exception {
+        assertConsultas(get("/documentos"), MAXIMO_CONSULTAS_POR_LISTAGEM);
+    }
+
+    @Test
+    void listarCatalogo_UsaNumeroFixoDeConsultas() throws Exception {
+        assertConsultas(get("/documentos/catalogo").param("tamanho", "50"), MAXIMO_CONSULTAS_POR_LISTAGEM);
+    }
+
+    @Test
+    @WithMockUser(roles = "GESTOR")
+    void listarPendentes_UsaNumeroFixoDeConsultas() throws Exception {
+        assertConsultas(get("/aprovacoes/pendentes"), MAXIMO_CONSULTAS_POR_LISTAGEM);
+    }
+
+    @Test
+    @WithMockUser(roles = "GESTOR")
+    void contarPendentes_UsaUmaConsulta() throws Exception {
+        assertConsultas(get("/aprovacoes/pendentes/count"), 1);
+    }
+
+    private void assertConsultas(RequestBuilder requisicao, long maximo) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(requisicao)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").exists());
+
+        long executadas = statistics.getPrepareStatementCount();
+        assertTrue(executadas <= maximo,
+                "Esperado no máximo " + maximo + " consulta(s), mas foram executadas " + executadas);
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.uema.repositorio.controller;
+
+import br.com.uema.repositorio.dto.ArquivoDownloadDTO;
+import br.com.uema.repositorio.service.ArmazenamentoConteudoLocal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntregaArquivosTest {
+
+    private static final String CONTEUDO = "0123456789abcdefghij";
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final Instant ALTERADO_EM = Instant.parse("2026-03-10T12:00:00Z");
+
+    @TempDir Path diretorio;
+
+    private EntregaArquivos entregaArquivos;
+    private Path arquivo;
+    private ArquivoDownloadDTO download;
+
+    @BeforeEach
+    void setup() throws Exception {
+        entregaArquivos = new EntregaArquivos(new ArmazenamentoConteudoLocal(diretorio));
+        arquivo = Files.writeString(diretorio.resolve(HASH), CONTEUDO);
+        download = new ArquivoDownloadDTO(HASH, "edital.pdf", HASH, CONTEUDO.length(), ALTERADO_EM);
+    }
+
+    private boolean contouDownload;
+
+    private MockHttpServletResponse enviar(MockHttpServletRequest requisicao) throws Exception {
+        var resposta = new MockHttpServletResponse();
+        contouDownload = entregaArquivos.enviar(download, false, requisicao, resposta);
+        return resposta;
+    }
+
+    @Test
+    void enviarSemCabecalhosEntaoArquivoInteiroComValidadores() throws Exception {
+        var resposta = enviar(new MockHttpServletRequest("GET", "/documentos/download/1"));
+
+        assertEquals(200, resposta.getStatus());
+        assertEquals(CONTEUDO, resposta.getContentAsString());
+        assertEquals(CONTEUDO.length(), resposta.getContentLengthLong());
+        assertEquals("\"" + HASH + "\"", resposta.getHeader(HttpHeaders.ETAG));
+        assertEquals(ALTERADO_EM.toEpochMilli(), resposta.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("bytes", resposta.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("application/pdf", resposta.getContentType());
+        assertTrue(contouDownload);
+    }
+
+    @Test
+    void enviarQuandoIfNoneMatchIgualEntao304SemCorpo() throws Exception {
+        var requisicao = new MockHttpServletRequest("GET", "/documentos/download/1");
+        requisicao.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+
+        var resposta = enviar(requisicao);
+
+        assertEquals(304, resposta.getStatus());
+        assertEquals(0, resposta.getContentAsByteArray().length);
+        assertFalse(contouDownload);
+    }
+
+    @Test
+    void enviarQuandoIfModifiedSinceNaoMudouEntao304() throws Exception {
+        var requisicao = new MockHttpServletRequest("GET", "/documentos/download/1");
+        requisicao.addHeader(HttpHeaders.IF_MODIFIED_SINCE,
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(ALTERADO_EM.atZone(ZoneOffset.UTC)));
+
+        assertEquals(304, enviar(requisicao).getStatus());
+    }
+
+    @Test
+    void enviarQuandoRangeUnicoEntao206ComConteudoParcial() throws Exception {
+        var requisicao = new MockHttpServletRequest("GET", "/documentos/download/1");
+        requisicao.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        var resposta = enviar(requisicao);
+
+        assertEquals(206, resposta.getStatus());
+        assertEquals("56789", resposta.getContentAsString());
+        assertEquals("bytes 5-9/20", resposta.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(5, resposta.getContentLengthLong());
+        // Continuação de um download já contado
+        assertFalse(contouDownload);
+    }
+
+    @Test
+    void enviarQuandoVariosIntervalosEntaoMultipartByteranges() throws Exception {
+        var requisicao = new MockHttpServletRequest("GET", "/documentos/download/1");
+        requisicao.addHeader(HttpHeaders.RANGE, "bytes=0-1,-3");
+
+        var resposta = enviar(requisicao);
+        String corpo = resposta.getContentAsString();
+
+        assertEquals(206, resposta.getStatus());
+        assertTrue(resposta.getContentType().startsWith("multipart/byteranges; boundary="));
+        assertTrue(corpo.contains("Content-Range: bytes 0-1/20\r\n\r\n01\r\n"));
+        assertTrue(corpo.contains("Content-Range: bytes 17-19/20\r\n\r\nhij\r\n"));
+        assertEquals(corpo.getBytes(StandardCharsets.US_ASCII).length, resposta.getContentLengthLong());
+    }
+
+    @Test
+    void enviarQuandoRangeForaDoArquivoEntao416() throws Exception {
+        var requisicao = new MockHttpServletRequest("GET", "/documentos/download/1");
+        requisicao.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+
+        var resposta = enviar(requisicao);
+
+        assertEquals(416, resposta.getStatus());
+        assertEquals("bytes */20", resposta.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void enviarQuandoIfRangeDesatualizadoEntaoArquivoInteiro() throws Exception {
+        var requisicao = new MockHttpServletRequest("GET", "/documentos/download/1");
+        requisicao.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        requisicao.addHeader(HttpHeaders.IF_RANGE, "\"outro-conteudo\"");
+
+        var resposta = enviar(requisicao);
+
+        assertEquals(200, resposta.getStatus());
+        assertEquals(CONTEUDO, resposta.getContentAsString());
+    }
+
+    @Test
+    void enviarQuandoConectorSuportaSendfileEntaoDelegaAoTomcat() throws Exception {
+        var requisicao = new MockHttpServletRequest("GET", "/documentos/download/1");
+        requisicao.setAttribute(EntregaArquivos.SENDFILE_SUPORTADO, Boolean.TRUE);
+        requisicao.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        var resposta = enviar(requisicao);
+
+        assertEquals(206, resposta.getStatus());
+        assertEquals(0, resposta.getContentAsByteArray().length);
+        assertEquals(arquivo.toAbsolutePath().toString(), requisicao.getAttribute(EntregaArquivos.SENDFILE_ARQUIVO));
+        assertEquals(10L, requisicao.getAttribute(EntregaArquivos.SENDFILE_INICIO));
+        assertEquals(20L, requisicao.getAttribute(EntregaArquivos.SENDFILE_FIM));
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+import br.com.uema.repositorio.dto.ResultadoBuscaDTO;
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.service.BuscaDocumentoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Executa o SQL da busca textual no PostgreSQL: search_tsv mantido pelo trigger do V4, filtro de aprovados,
+ * filtros do catálogo e paginação keyset por (ts_rank, id).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BuscaDocumentoRepositoryIT {
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private BuscaDocumentoRepository buscaDocumentoRepository;
+    @Autowired private BuscaDocumentoService buscaDocumentoService;
+    @Autowired private DocumentoRepository documentoRepository;
+    @Autowired private ProgramaRepository programaRepository;
+    @Autowired private FluxoAprovacaoRepository fluxoAprovacaoRepository;
+
+    private Programa programa;
+    private Programa outroPrograma;
+
+    @BeforeEach
+    void setup() {
+        programa = programaRepository.save(Programa.builder().nome("Programa Busca IT").sigla("IT_BUSCA_1").build());
+        outroPrograma = programaRepository.save(Programa.builder().nome("Outro Programa Busca IT").sigla("IT_BUSCA_2").build());
+    }
+
+    private Documento documento(String titulo, String descricao, TipoDocumento tipo, LocalDate data,
+                                Programa dono, EstadoAprovacao estado) {
+        Documento doc = documentoRepository.save(Documento.builder()
+                .titulo(titulo)
+                .descricao(descricao)
+                .tipo(tipo)
+                .dataPublicacao(data)
+                .caminhoArquivo("path/busca-it.pdf")
+                .programa(dono)
+                .build());
+        fluxoAprovacaoRepository.save(FluxoAprovacao.builder().documento(doc).estado(estado).build());
+        return doc;
+    }
+
+    // A busca é SQL nativo: sem o flush o Hibernate não envia os INSERTs antes dela
+    private List<ResultadoBuscaDTO> buscar(String termo, FiltroCatalogoDTO filtro) {
+        entityManager.flush();
+        return buscaDocumentoRepository.buscar(termo, filtro, null, 50);
+    }
+
+    private static List<Long> ids(List<ResultadoBuscaDTO> resultados) {
+        return resultados.stream().map(r -> r.documento().id()).toList();
+    }
+
+    @Test
+    void buscarQuandoTermoSemAcentoEntaoEncontraSoDocumentosAprovadosComTrechoMarcado() {
+        LocalDate hoje = LocalDate.now();
+        Documento aprovado = documento("Edital de inscrição no mestrado", "Cronograma das inscrições",
+                TipoDocumento.EDITAIS, hoje, programa, EstadoAprovacao.APROVADO);
+        documento("Edital de inscrição pendente", null, TipoDocumento.EDITAIS, hoje, programa, EstadoAprovacao.PENDENTE);
+        documento("Edital de inscrição rejeitado", null, TipoDocumento.EDITAIS, hoje, programa, EstadoAprovacao.REJEITADO);
+
+        var resultados = buscar("inscricao", new FiltroCatalogoDTO(programa.getId(), null, null, null));
+
+        assertEquals(List.of(aprovado.getId()), ids(resultados));
+        var resultado = resultados.get(0);
+        assertEquals("Programa Busca IT", resultado.documento().nomePrograma());
+        assertTrue(resultado.relevancia() > 0);
+        assertTrue(resultado.trecho().contains("<mark>"), resultado.trecho());
+    }
+
+    @Test
+    void buscarQuandoHaFiltrosEntaoAplicaProgramaTipoEPeriodo() {
+        LocalDate hoje = LocalDate.now();
+        Documento edital = documento("Calendário de defesas", null, TipoDocumento.EDITAIS, hoje, programa, EstadoAprovacao.APROVADO);
+        Documento antigo = documento("Calendário de defesas 2020", null, TipoDocumento.EDITAIS, hoje.minusYears(3), programa, EstadoAprovacao.APROVADO);
+        Documento resolucao = documento("Calendário de defesas", null, TipoDocumento.RESOLUCOES, hoje, programa, EstadoAprovacao.APROVADO);
+        documento("Calendário de defesas", null, TipoDocumento.EDITAIS, hoje, outroPrograma, EstadoAprovacao.APROVADO);
+
+        var doPrograma = buscar("calendário", new FiltroCatalogoDTO(programa.getId(), null, null, null));
+        var editais = buscar("calendário", new FiltroCatalogoDTO(programa.getId(), TipoDocumento.EDITAIS, null, null));
+        var recentes = buscar("calendário", new FiltroCatalogoDTO(programa.getId(), TipoDocumento.EDITAIS, hoje.minusYears(1), hoje));
+
+        assertEquals(3, doPrograma.size());
+        assertTrue(ids(doPrograma).containsAll(List.of(edital.getId(), antigo.getId(), resolucao.getId())));
+        assertEquals(2, editais.size());
+        assertTrue(ids(editais).containsAll(List.of(edital.getId(), antigo.getId())));
+        assertEquals(List.of(edital.getId()), ids(recentes));
+    }
+
+    @Test
+    void buscarQuandoPaginaPeloCursorEntaoPercorreTodosOsResultadosSemRepetir() {
+        LocalDate hoje = LocalDate.now();
+        // Relevâncias diferentes (termo no título, na descrição ou nos dois) e empates, desempatados pelo id
+        List<Long> esperados = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String titulo = i % 3 == 0 ? "Resultado da seleção " + i : "Documento " + i;
+            String descricao = i % 2 == 0 ? "Lista final da seleção" : "Seleção";
+            esperados.add(documento(titulo, descricao, TipoDocumento.RESULTADOS, hoje, programa, EstadoAprovacao.APROVADO).getId());
+        }
+        entityManager.flush();
+        var filtro = new FiltroCatalogoDTO(programa.getId(), null, null, null);
+
+        List<ResultadoBuscaDTO> percorridos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            var pagina = buscaDocumentoService.buscar("seleção", filtro, cursor, 3);
+            percorridos.addAll(pagina.itens());
+            cursor = pagina.proximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(3, paginas);
+        assertEquals(ids(buscar("seleção", filtro)), ids(percorridos));
+        assertEquals(esperados.size(), ids(percorridos).stream().distinct().count());
+        assertTrue(ids(percorridos).containsAll(esperados));
+        for (int i = 1; i < percorridos.size(); i++) {
+            assertTrue(percorridos.get(i - 1).relevancia() >= percorridos.get(i).relevancia());
+        }
+    }
+
+    @Test
+    void buscarQuandoTermoNaoApareceEntaoDevolveListaVazia() {
+        documento("Edital de bolsas", null, TipoDocumento.EDITAIS, LocalDate.now(), programa, EstadoAprovacao.APROVADO);
+
+        var resultados = buscar("astrofísica", new FiltroCatalogoDTO(programa.getId(), null, null, null));
+
+        assertTrue(resultados.isEmpty());
+        assertNull(buscaDocumentoService.buscar("astrofísica", new FiltroCatalogoDTO(programa.getId(), null, null, null), null, 20).proximoCursor());
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.uema.repositorio.repository;
+
+import br.com.uema.repositorio.dto.FacetasDTO;
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Acompanha um documento pelo ciclo de vida e confere, a cada passo, as contagens mantidas pelos gatilhos do
+ * V13__facetas_documentos.sql: só documentos aprovados contam, na faceta do programa, tipo e ano atuais.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FacetaDocumentoRepositoryIT {
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private FacetaDocumentoRepository facetaDocumentoRepository;
+    @Autowired private DocumentoRepository documentoRepository;
+    @Autowired private ProgramaRepository programaRepository;
+    @Autowired private FluxoAprovacaoRepository fluxoAprovacaoRepository;
+
+    private Programa programa;
+    private Programa outroPrograma;
+
+    @BeforeEach
+    void setup() {
+        programa = programaRepository.save(Programa.builder().nome("Programa Facetas IT").sigla("IT_FACETA_1").build());
+        outroPrograma = programaRepository.save(Programa.builder().nome("Outro Programa Facetas IT").sigla("IT_FACETA_2").build());
+    }
+
+    // Os gatilhos só rodam quando o Hibernate envia as alterações; as facetas são lidas por SQL nativo
+    private FacetasDTO facetas(Programa dono) {
+        entityManager.flush();
+        return facetaDocumentoRepository.contar(dono.getId(), null, null);
+    }
+
+    private void assertVazio(Programa dono) {
+        FacetasDTO facetas = facetas(dono);
+        assertEquals(0, facetas.total());
+        assertEquals(List.of(), facetas.tipos());
+        assertEquals(List.of(), facetas.anos());
+    }
+
+    @Test
+    void gatilhosQuandoDocumentoPercorreOCicloDeVidaEntaoAcompanhamAsContagens() {
+        // Inserido, ainda pendente: não conta
+        Documento doc = documentoRepository.save(Documento.builder()
+                .titulo("Edital de seleção")
+                .tipo(TipoDocumento.EDITAIS)
+                .dataPublicacao(LocalDate.of(2024, 5, 10))
+                .caminhoArquivo("path/facetas-it.pdf")
+                .programa(programa)
+                .build());
+        FluxoAprovacao fluxo = fluxoAprovacaoRepository.save(FluxoAprovacao.builder()
+                .documento(doc)
+                .estado(EstadoAprovacao.PENDENTE)
+                .build());
+        assertVazio(programa);
+
+        // Aprovado: entra na faceta do programa, tipo e ano
+        fluxo.setEstado(EstadoAprovacao.APROVADO);
+        FacetasDTO aprovado = facetas(programa);
+        assertEquals(1, aprovado.total());
+        assertEquals(List.of(new FacetasDTO.Tipo(TipoDocumento.EDITAIS, 1)), aprovado.tipos());
+        assertEquals(List.of(new FacetasDTO.Ano(2024, 1)), aprovado.anos());
+
+        // Tipo e ano alterados: sai da faceta antiga e entra na nova
+        doc.setTipo(TipoDocumento.RESOLUCOES);
+        doc.setDataPublicacao(LocalDate.of(2023, 12, 1));
+        FacetasDTO alterado = facetas(programa);
+        assertEquals(1, alterado.total());
+        assertEquals(List.of(new FacetasDTO.Tipo(TipoDocumento.RESOLUCOES, 1)), alterado.tipos());
+        assertEquals(List.of(new FacetasDTO.Ano(2023, 1)), alterado.anos());
+
+        // Programa alterado: passa a contar só no novo programa
+        doc.setPrograma(outroPrograma);
+        assertVazio(programa);
+        FacetasDTO movido = facetas(outroPrograma);
+        assertEquals(1, movido.total());
+        assertEquals(List.of(new FacetasDTO.Tipo(TipoDocumento.RESOLUCOES, 1)), movido.tipos());
+
+        // Rejeitado: deixa de contar; alterar o documento rejeitado não mexe nas facetas
+        fluxo.setEstado(EstadoAprovacao.REJEITADO);
+        assertVazio(outroPrograma);
+        doc.setTipo(TipoDocumento.NORMAS);
+        assertVazio(outroPrograma);
+
+        // Aprovado de novo e excluído: a exclusão (com os fluxos em cascata) desconta uma vez só
+        fluxo.setEstado(EstadoAprovacao.APROVADO);
+        assertEquals(List.of(new FacetasDTO.Tipo(TipoDocumento.NORMAS, 1)), facetas(outroPrograma).tipos());
+        entityManager.flush();
+        entityManager.clear();
+        documentoRepository.deleteById(doc.getId());
+        assertVazio(outroPrograma);
+        assertVazio(programa);
+    }
+
+    @Test
+    void contarQuandoHaFiltrosEntaoCadaFacetaIgnoraOProprioFiltro() {
+        aprovado(TipoDocumento.EDITAIS, 2024);
+        aprovado(TipoDocumento.EDITAIS, 2023);
+        aprovado(TipoDocumento.RESULTADOS, 2024);
+        entityManager.flush();
+
+        FacetasDTO facetas = facetaDocumentoRepository.contar(programa.getId(), TipoDocumento.EDITAIS, 2024);
+
+        assertEquals(1, facetas.total());
+        // Tipos: filtrados por programa e ano, não por tipo
+        assertEquals(List.of(new FacetasDTO.Tipo(TipoDocumento.EDITAIS, 1), new FacetasDTO.Tipo(TipoDocumento.RESULTADOS, 1)),
+                facetas.tipos().stream().sorted((a, b) -> a.tipo().compareTo(b.tipo())).toList());
+        // Anos: filtrados por programa e tipo, não por ano
+        assertEquals(List.of(new FacetasDTO.Ano(2024, 1), new FacetasDTO.Ano(2023, 1)), facetas.anos());
+        // Programas: filtrados por tipo e ano, não por programa
+        assertEquals(1, facetas.programas().stream()
+                .filter(p -> p.id().equals(programa.getId()))
+                .mapToLong(FacetasDTO.Programa::quantidade)
+                .sum());
+    }
+
+    private void aprovado(TipoDocumento tipo, int ano) {
+        Documento doc = documentoRepository.save(Documento.builder()
+                .titulo("Documento " + tipo + " " + ano)
+                .tipo(tipo)
+                .dataPublicacao(LocalDate.of(ano, 3, 1))
+                .caminhoArquivo("path/facetas-it.pdf")
+                .programa(programa)
+                .build());
+        fluxoAprovacaoRepository.save(FluxoAprovacao.builder().documento(doc).estado(EstadoAprovacao.APROVADO).build());
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.CursorAlteracao;
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.enums.TipoAlteracao;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.repository.AlteracaoDocumentoRepository;
+import br.com.uema.repositorio.repository.AlteracaoDocumentoRepository.LinhaAlteracao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlteracaoDocumentoServiceTest {
+
+    @Mock private AlteracaoDocumentoRepository alteracaoRepository;
+    @Mock private VersaoCatalogo versaoCatalogo;
+
+    private AlteracaoDocumentoService alteracaoDocumentoService;
+
+    @BeforeEach
+    void setup() {
+        alteracaoDocumentoService = new AlteracaoDocumentoService(alteracaoRepository, versaoCatalogo);
+    }
+
+    private static LinhaAlteracao atualizado(long sequencia, long id) {
+        return new LinhaAlteracao(sequencia, id, new DocumentoResponseDTO(id, "Edital " + id, null, TipoDocumento.EDITAIS,
+                1L, "PPGE", "Secretaria", LocalDate.of(2026, 3, 1)));
+    }
+
+    @Test
+    void listarQuandoCargaInicialEmVariasPaginasEntaoTerminaNaVersaoDoInicio() {
+        when(alteracaoRepository.versaoCatalogo()).thenReturn(6L);
+        when(alteracaoRepository.listar(0L, 0L, true, 2)).thenReturn(List.of(atualizado(3, 10), atualizado(4, 11)));
+
+        var primeira = alteracaoDocumentoService.listar(null, 1);
+
+        assertEquals(List.of(10L), primeira.alteracoes().stream().map(a -> a.id()).toList());
+        assertTrue(primeira.temMais());
+        assertEquals(new CursorAlteracao(3L, 10L, 6L), CursorAlteracao.decodificar(primeira.cursor()));
+
+        // Entre as páginas o documento 10 foi excluído (sequência 7, lápide pulada) e o catálogo chegou à versão 9
+        when(alteracaoRepository.listar(3L, 10L, true, 2)).thenReturn(List.of(atualizado(4, 11)));
+
+        var ultima = alteracaoDocumentoService.listar(primeira.cursor(), 1);
+
+        assertEquals(List.of(11L), ultima.alteracoes().stream().map(a -> a.id()).toList());
+        assertFalse(ultima.temMais());
+        // A próxima rodada parte da versão do início da carga e entrega a lápide do 10
+        assertEquals(new CursorAlteracao(6L, Long.MAX_VALUE, null), CursorAlteracao.decodificar(ultima.cursor()));
+        verify(alteracaoRepository, times(1)).versaoCatalogo();
+    }
+
+    @Test
+    void listarQuandoMaisQueUmaPaginaEntaoLapideECursorNoUltimoItem() {
+        when(versaoCatalogo.atual()).thenReturn(9L);
+        when(alteracaoRepository.listar(6L, Long.MAX_VALUE, false, 3)).thenReturn(List.of(
+                atualizado(7, 10), new LinhaAlteracao(8, 12, null), atualizado(8, 13)));
+
+        var resposta = alteracaoDocumentoService.listar(new CursorAlteracao(6L, Long.MAX_VALUE, null).codificar(), 2);
+
+        assertTrue(resposta.temMais());
+        assertEquals(List.of(TipoAlteracao.ATUALIZADO, TipoAlteracao.REMOVIDO),
+                resposta.alteracoes().stream().map(a -> a.tipo()).toList());
+        assertNull(resposta.alteracoes().get(1).documento());
+        assertEquals(new CursorAlteracao(8L, 12L, null), CursorAlteracao.decodificar(resposta.cursor()));
+    }
+
+    @Test
+    void listarQuandoCatalogoNaoPassouDoCursorEntaoNaoConsultaOBanco() {
+        when(versaoCatalogo.atual()).thenReturn(6L);
+        String cursor = new CursorAlteracao(6L, Long.MAX_VALUE, null).codificar();
+
+        var resposta = alteracaoDocumentoService.listar(cursor, 100);
+
+        assertTrue(resposta.alteracoes().isEmpty());
+        assertEquals(cursor, resposta.cursor());
+        verifyNoInteractions(alteracaoRepository);
+    }
+}
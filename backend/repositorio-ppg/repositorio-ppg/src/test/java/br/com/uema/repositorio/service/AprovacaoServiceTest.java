@@ -0,0 +1,65 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.DecisaoAprovacaoDTO;
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.dto.ResultadoItemLoteDTO;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import br.com.uema.repositorio.enums.SituacaoItemLote;
+import br.com.uema.repositorio.repository.AprovacaoLoteRepository;
+import br.com.uema.repositorio.repository.AprovacaoLoteRepository.FluxoDecidido;
+import br.com.uema.repositorio.repository.FluxoAprovacaoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AprovacaoServiceTest {
+
+    @Mock private FluxoAprovacaoRepository fluxoRepository;
+    @Mock private AprovacaoLoteRepository aprovacaoLoteRepository;
+    @Mock private VersaoCatalogo versaoCatalogo;
+    @Mock private AuditoriaService auditoria;
+    @Mock private EventosService eventos;
+
+    @InjectMocks private AprovacaoService aprovacaoService;
+
+    @Test
+    void analisarEmLoteQuandoItensMistosEntaoClassificaCadaUm() {
+        Usuario gestor = Usuario.builder().id(7L).perfil(PerfilUsuario.GESTOR).build();
+        var decisoes = List.of(
+                new DecisaoAprovacaoDTO(1L, true, "ok", null),
+                new DecisaoAprovacaoDTO(2L, false, "incompleto", 3L),
+                new DecisaoAprovacaoDTO(99L, true, null, null)
+        );
+
+        when(aprovacaoLoteRepository.decidir(decisoes, 7L))
+                .thenReturn(Arrays.asList(new FluxoDecidido(1L, 10L, 4L), null, null));
+        when(aprovacaoLoteRepository.buscarIdsExistentes(List.of(2L, 99L))).thenReturn(Set.of(2L));
+
+        List<ResultadoItemLoteDTO> resultados = aprovacaoService.analisarEmLote(decisoes, gestor);
+
+        assertEquals(SituacaoItemLote.PROCESSADO, resultados.get(0).situacao());
+        assertEquals(SituacaoItemLote.CONFLITO, resultados.get(1).situacao());
+        assertEquals(SituacaoItemLote.NAO_ENCONTRADO, resultados.get(2).situacao());
+        verify(aprovacaoLoteRepository).decidir(decisoes, 7L);
+
+        // Só o item processado é auditado e avisado, já com o documento e o programa do fluxo
+        verify(auditoria).registrar(AcaoAuditoria.APPROVE_DOCUMENT, gestor, 10L, "Fluxo 1 (lote): ok");
+        verify(eventos).publicar(EventoDTO.aprovacaoDecidida(10L, 4L, 1L, EstadoAprovacao.APROVADO));
+        verifyNoMoreInteractions(auditoria, eventos);
+    }
+}
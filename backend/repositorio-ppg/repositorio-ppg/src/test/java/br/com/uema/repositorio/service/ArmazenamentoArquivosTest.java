@@ -0,0 +1,182 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.ArquivoRepository;
+import br.com.uema.repositorio.service.ArmazenamentoArquivos.ArquivoRecebido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArmazenamentoArquivosTest {
+
+    private static final Path DIRETORIO = Path.of("./uploads-test");
+    private static final byte[] CONTEUDO = "conteudo".getBytes();
+
+    @Mock private ArquivoRepository arquivoRepository;
+
+    private ArmazenamentoArquivos armazenamento;
+
+    @BeforeEach
+    void setup() {
+        armazenamento = new ArmazenamentoArquivos(arquivoRepository, new ArmazenamentoConteudoLocal(DIRETORIO),
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(armazenamento, "uploadDir", DIRETORIO.toString());
+    }
+
+    @AfterEach
+    void limpar() {
+        FileSystemUtils.deleteRecursively(DIRETORIO.toFile());
+    }
+
+    @Test
+    void receberQuandoEnviaCorpoEntaoCalculaHashETamanho() throws Exception {
+        ArquivoRecebido recebido = armazenamento.receber(new ByteArrayInputStream(CONTEUDO));
+
+        assertEquals(8L, recebido.tamanhoBytes());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTEUDO)), recebido.hashSha256());
+        assertArrayEquals(CONTEUDO, Files.readAllBytes(recebido.temporario()));
+    }
+
+    @Test
+    void receberQuandoExcedeTamanhoMaximoEntaoRejeitaSemDeixarArquivo() throws Exception {
+        ReflectionTestUtils.setField(armazenamento, "tamanhoMaximoArquivo", DataSize.ofBytes(4));
+
+        assertThrows(RegraNegocioException.class, () -> armazenamento.receber(new ByteArrayInputStream(CONTEUDO)));
+
+        try (var arquivos = Files.list(DIRETORIO)) {
+            assertEquals(0, arquivos.count());
+        }
+    }
+
+    @Test
+    void gravarQuandoConteudoNovoEntaoMoveParaCaminhoDoHash() throws Exception {
+        ArquivoRecebido recebido = armazenamento.receber(new ByteArrayInputStream(CONTEUDO));
+        String esperado = ArmazenamentoArquivos.chaveDoConteudo(recebido.hashSha256());
+        when(arquivoRepository.referenciar(eq(recebido.hashSha256()), eq(esperado), eq(8L))).thenReturn(esperado);
+
+        armazenamento.gravar(recebido);
+        String caminho = armazenamento.armazenar(recebido);
+
+        assertEquals(esperado, caminho);
+        assertArrayEquals(CONTEUDO, Files.readAllBytes(DIRETORIO.resolve(caminho)));
+        assertFalse(Files.exists(recebido.temporario()));
+    }
+
+    @Test
+    void gravarQuandoConteudoRepetidoEntaoNaoGravaDeNovo() throws Exception {
+        ArquivoRecebido primeiro = armazenamento.receber(new ByteArrayInputStream(CONTEUDO));
+        String caminhoExistente = ArmazenamentoArquivos.chaveDoConteudo(primeiro.hashSha256());
+        when(arquivoRepository.referenciar(eq(primeiro.hashSha256()), anyString(), eq(8L))).thenReturn(caminhoExistente);
+        armazenamento.gravar(primeiro);
+        armazenamento.armazenar(primeiro);
+        var gravadoEm = Files.getLastModifiedTime(DIRETORIO.resolve(caminhoExistente));
+
+        ArquivoRecebido repetido = armazenamento.receber(new ByteArrayInputStream(CONTEUDO));
+        armazenamento.gravar(repetido);
+        String caminho = armazenamento.armazenar(repetido);
+        armazenamento.descartar(repetido);
+
+        assertEquals(caminhoExistente, caminho);
+        assertEquals(gravadoEm, Files.getLastModifiedTime(DIRETORIO.resolve(caminho)));
+        assertFalse(Files.exists(repetido.temporario()));
+    }
+
+    @Test
+    void armazenarQuandoConteudoColetadoDepoisDeGravarEntaoGravaDeNovo() throws Exception {
+        ArquivoRecebido primeiro = armazenamento.receber(new ByteArrayInputStream(CONTEUDO));
+        String caminho = ArmazenamentoArquivos.chaveDoConteudo(primeiro.hashSha256());
+        when(arquivoRepository.referenciar(eq(primeiro.hashSha256()), anyString(), eq(8L))).thenReturn(caminho);
+        armazenamento.gravar(primeiro);
+
+        // Já estava gravado: o temporário fica; a coleta apaga o conteúdo antes da referência
+        ArquivoRecebido repetido = armazenamento.receber(new ByteArrayInputStream(CONTEUDO));
+        armazenamento.gravar(repetido);
+        Files.delete(DIRETORIO.resolve(caminho));
+        armazenamento.armazenar(repetido);
+
+        assertArrayEquals(CONTEUDO, Files.readAllBytes(DIRETORIO.resolve(caminho)));
+    }
+
+    @Test
+    void liberarForaDeTransacaoQuandoSemReferenciasEntaoApagaArquivo() throws Exception {
+        ArquivoRecebido recebido = armazenamento.receber(new ByteArrayInputStream(CONTEUDO));
+        String hash = recebido.hashSha256();
+        String caminho = ArmazenamentoArquivos.chaveDoConteudo(hash);
+        when(arquivoRepository.referenciar(eq(hash), anyString(), eq(8L))).thenReturn(caminho);
+        armazenamento.gravar(recebido);
+        armazenamento.armazenar(recebido);
+        when(arquivoRepository.removerSemReferencias(hash)).thenReturn(Optional.of(caminho));
+
+        armazenamento.liberar(hash);
+
+        assertTrue(Files.notExists(DIRETORIO.resolve(caminho)));
+    }
+
+    @Test
+    void coletarOrfaoQuandoUploadDoMesmoHashRegistradoEntaoMantemArquivo() throws Exception {
+        String hash = "a".repeat(64);
+        String chave = ArmazenamentoArquivos.chaveDoConteudo(hash);
+        Files.createDirectories(DIRETORIO.resolve(chave).getParent());
+        Files.write(DIRETORIO.resolve(chave), CONTEUDO);
+        when(arquivoRepository.reservarOrfao(hash, chave)).thenReturn(false);
+
+        assertFalse(armazenamento.coletarOrfao(chave));
+        assertTrue(Files.exists(DIRETORIO.resolve(chave)));
+    }
+
+    @Test
+    void coletarOrfaoQuandoHashSemRegistroEntaoApagaArquivoEReserva() throws Exception {
+        String hash = "b".repeat(64);
+        String chave = ArmazenamentoArquivos.chaveDoConteudo(hash);
+        Files.createDirectories(DIRETORIO.resolve(chave).getParent());
+        Files.write(DIRETORIO.resolve(chave), CONTEUDO);
+        when(arquivoRepository.reservarOrfao(hash, chave)).thenReturn(true);
+
+        assertTrue(armazenamento.coletarOrfao(chave));
+        assertTrue(Files.notExists(DIRETORIO.resolve(chave)));
+        verify(arquivoRepository).removerSemReferencias(hash);
+    }
+
+    @Test
+    void limparTemporariosQuandoAntigosEntaoApagaSoOsParados() throws Exception {
+        Files.createDirectories(DIRETORIO);
+        Path antigo = Files.write(DIRETORIO.resolve(".parcial-antigo"), CONTEUDO);
+        Path recente = Files.write(DIRETORIO.resolve(".parcial-recente"), CONTEUDO);
+        Files.setLastModifiedTime(antigo, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+
+        int apagados = armazenamento.limparTemporarios(Instant.now().minus(Duration.ofHours(1)));
+
+        assertEquals(1, apagados);
+        assertTrue(Files.notExists(antigo));
+        assertTrue(Files.exists(recente));
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.config.ArmazenamentoConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArmazenamentoConteudoS3Test {
+
+    private static final String CHAVE = "ab/cd/abcdef";
+    private static final byte[] CONTEUDO = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir Path diretorio;
+
+    private ServidorS3Stub stub;
+    private S3Client s3;
+    private ArmazenamentoConteudoS3 armazenamento;
+
+    @BeforeEach
+    void setup() throws IOException {
+        stub = new ServidorS3Stub();
+        s3 = new ArmazenamentoConfig().clienteS3(stub.endpoint(), "us-east-1", true, "teste", "segredo", Duration.ofSeconds(5));
+        armazenamento = new ArmazenamentoConteudoS3(s3, ServidorS3Stub.BUCKET, "documentos/");
+    }
+
+    @AfterEach
+    void encerrar() {
+        s3.close();
+        stub.close();
+    }
+
+    private void gravarConteudo() throws IOException {
+        armazenamento.gravar(CHAVE, Files.write(diretorio.resolve("origem"), CONTEUDO));
+    }
+
+    @Test
+    void gravarEntaoObjetoFicaNoPrefixoEPodeSerLido() throws IOException {
+        gravarConteudo();
+
+        assertArrayEquals(CONTEUDO, stub.objetos().get("documentos/" + CHAVE));
+        assertEquals(OptionalLong.of(CONTEUDO.length), armazenamento.tamanho(CHAVE));
+        try (InputStream entrada = armazenamento.abrir(CHAVE)) {
+            assertArrayEquals(CONTEUDO, entrada.readAllBytes());
+        }
+    }
+
+    @Test
+    void copiarIntervaloEntaoBuscaSoOsBytesPedidos() throws IOException {
+        gravarConteudo();
+        var destino = new ByteArrayOutputStream();
+
+        armazenamento.copiar(CHAVE, 5, 9, destino);
+
+        assertEquals("56789", destino.toString(StandardCharsets.US_ASCII));
+        assertEquals(List.of("bytes=5-9"), stub.rangesPedidos());
+    }
+
+    @Test
+    void tamanhoQuandoChaveNaoExisteEntaoVazio() throws IOException {
+        assertTrue(armazenamento.tamanho("xx/yy/inexistente").isEmpty());
+    }
+
+    @Test
+    void apagarEntaoChaveSaiDaListagem() throws IOException {
+        gravarConteudo();
+        armazenamento.gravar("12/34/outro", Files.write(diretorio.resolve("outro"), CONTEUDO));
+
+        armazenamento.apagar(CHAVE);
+
+        try (var chaves = armazenamento.chaves()) {
+            assertEquals(List.of(new ArmazenamentoConteudo.ChaveArmazenada("12/34/outro", Instant.parse("2026-01-01T00:00:00Z"))),
+                    chaves.toList());
+        }
+        assertFalse(stub.objetos().containsKey("documentos/" + CHAVE));
+        assertFalse(armazenamento.arquivoLocal("12/34/outro").isPresent());
+    }
+
+    @Test
+    void chavesQuandoVariasPaginasEntaoSegueOTokenDeContinuacao() throws IOException {
+        stub.chavesPorPagina(2);
+        for (String chave : List.of("aa/01", "aa/02", "bb/03", "cc/04", "dd/05")) {
+            armazenamento.gravar(chave, Files.write(diretorio.resolve("origem"), CONTEUDO));
+        }
+
+        try (var chaves = armazenamento.chaves()) {
+            assertEquals(List.of("aa/01", "aa/02", "bb/03", "cc/04", "dd/05"),
+                    chaves.map(ArmazenamentoConteudo.ChaveArmazenada::chave).toList());
+        }
+    }
+
+    @Test
+    void chavesQuandoPaginaSeguinteFalhaEntaoErroSaiDaLeituraDoStream() throws IOException {
+        stub.chavesPorPagina(1);
+        stub.negarContinuacao();
+        gravarConteudo();
+        armazenamento.gravar("12/34/outro", Files.write(diretorio.resolve("outro"), CONTEUDO));
+
+        try (var chaves = armazenamento.chaves()) {
+            var iterador = chaves.iterator();
+            assertEquals("12/34/outro", iterador.next().chave());
+            assertThrows(UncheckedIOException.class, iterador::hasNext);
+        }
+    }
+}
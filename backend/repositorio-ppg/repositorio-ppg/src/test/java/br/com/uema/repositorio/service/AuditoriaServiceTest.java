@@ -0,0 +1,127 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.EventoAuditoriaDTO;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
+import br.com.uema.repositorio.repository.LogAuditoriaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditoriaServiceTest {
+
+    private static final Instant AGORA = Instant.parse("2026-05-04T10:00:00Z");
+
+    @Mock private LogAuditoriaRepository logAuditoriaRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditoriaService auditoria;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Escritor não iniciado: os testes gravam os lotes explicitamente
+        auditoria = new AuditoriaService(logAuditoriaRepository, meterRegistry, 3, 2, Duration.ofSeconds(1),
+                Duration.ofMillis(5), Clock.fixed(AGORA, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void limpar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private double descartados() {
+        return meterRegistry.counter("auditoria.eventos.descartados").count();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void gravarLoteQuandoFilaTemEventosEntaoInsereEmLotesDoTamanhoConfigurado() {
+        Usuario usuario = Usuario.builder().id(7L).build();
+        auditoria.registrar(AcaoAuditoria.UPLOAD, usuario, 1L, "edital.pdf");
+        auditoria.registrar(AcaoAuditoria.DOWNLOAD, null, 1L, null);
+        auditoria.registrar(AcaoAuditoria.LOGIN, usuario, null, null);
+
+        assertEquals(2, auditoria.gravarLote());
+        assertEquals(1, auditoria.gravarLote());
+        assertEquals(0, auditoria.gravarLote());
+
+        ArgumentCaptor<List<EventoAuditoriaDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logAuditoriaRepository, times(2)).inserir(captor.capture());
+        assertEquals(List.of(
+                new EventoAuditoriaDTO(AcaoAuditoria.UPLOAD, 7L, 1L, "edital.pdf", AGORA),
+                new EventoAuditoriaDTO(AcaoAuditoria.DOWNLOAD, null, 1L, null, AGORA)), captor.getAllValues().get(0));
+        assertEquals(3.0, meterRegistry.counter("auditoria.eventos.gravados").count());
+    }
+
+    @Test
+    void enfileirarQuandoFilaCheiaEntaoDescartaDownloadNaHora() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(auditoria.enfileirar(evento(AcaoAuditoria.UPLOAD)));
+        }
+
+        assertFalse(auditoria.enfileirar(evento(AcaoAuditoria.DOWNLOAD)));
+        assertEquals(1.0, descartados());
+    }
+
+    @Test
+    void enfileirarQuandoFilaCheiaEntaoAcaoImportanteEsperaOEscritorAbrirVaga() {
+        auditoria.iniciar();
+        doThrow(new IllegalStateException("banco fora")).when(logAuditoriaRepository).inserir(anyList());
+
+        // O escritor esvazia a fila (gravação falha e conta como descarte), abrindo vaga para o evento
+        for (int i = 0; i < 3; i++) {
+            auditoria.enfileirar(evento(AcaoAuditoria.UPLOAD));
+        }
+        assertTrue(auditoria.enfileirar(evento(AcaoAuditoria.LOGIN)));
+    }
+
+    @Test
+    void registrarDentroDeTransacaoEntaoSoEnfileiraAposCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        auditoria.registrar(AcaoAuditoria.UPDATE_DOCUMENT, null, 2L, "Metadados atualizados");
+        assertEquals(0, auditoria.gravarLote());
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        assertEquals(1, auditoria.gravarLote());
+    }
+
+    @Test
+    void encerrarEntaoGravaOQueFicouNaFila() throws Exception {
+        auditoria.iniciar();
+        auditoria.enfileirar(evento(AcaoAuditoria.LOGIN));
+
+        auditoria.encerrar();
+
+        verify(logAuditoriaRepository).inserir(List.of(evento(AcaoAuditoria.LOGIN)));
+    }
+
+    private static EventoAuditoriaDTO evento(AcaoAuditoria acao) {
+        return new EventoAuditoriaDTO(acao, null, null, null, AGORA);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.CursorBusca;
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+import br.com.uema.repositorio.dto.PaginaCursorDTO;
+import br.com.uema.repositorio.dto.ResultadoBuscaDTO;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.BuscaDocumentoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BuscaDocumentoServiceTest {
+
+    private static final FiltroCatalogoDTO SEM_FILTRO = new FiltroCatalogoDTO(null, null, null, null);
+
+    @Mock private BuscaDocumentoRepository buscaDocumentoRepository;
+
+    @InjectMocks private BuscaDocumentoService buscaDocumentoService;
+
+    // Relevâncias decrescentes, como o ORDER BY do repositório
+    private static List<ResultadoBuscaDTO> resultados(int quantidade) {
+        return IntStream.range(0, quantidade)
+                .mapToObj(i -> new ResultadoBuscaDTO(
+                        DocumentoResponseDTO.builder().id(100L - i).titulo("Edital " + i).build(),
+                        "<mark>edital</mark>",
+                        0.6f - i * 0.01f))
+                .toList();
+    }
+
+    @Test
+    void buscarQuandoRepositorioDevolveUmAMaisEntaoCortaAPaginaECodificaOCursorDoUltimoItem() {
+        when(buscaDocumentoRepository.buscar(eq("edital"), eq(SEM_FILTRO), isNull(), eq(4))).thenReturn(resultados(4));
+
+        PaginaCursorDTO<ResultadoBuscaDTO> pagina = buscaDocumentoService.buscar("  edital ", SEM_FILTRO, null, 3);
+
+        assertEquals(3, pagina.itens().size());
+        var ultimo = pagina.itens().get(2);
+        assertEquals(new CursorBusca(ultimo.relevancia(), ultimo.documento().id()), CursorBusca.decodificar(pagina.proximoCursor()));
+    }
+
+    @Test
+    void buscarQuandoResultadosCabemNaPaginaEntaoNaoHaProximoCursor() {
+        when(buscaDocumentoRepository.buscar(anyString(), any(), isNull(), eq(4))).thenReturn(resultados(3));
+
+        PaginaCursorDTO<ResultadoBuscaDTO> pagina = buscaDocumentoService.buscar("edital", SEM_FILTRO, null, 3);
+
+        assertEquals(3, pagina.itens().size());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void buscarQuandoRecebeCursorEntaoRepassaAPosicaoDecodificada() {
+        // A relevância (real do PostgreSQL) precisa voltar exata para o keyset não pular nem repetir linhas
+        var posicao = new CursorBusca(0.0607927f, 42L);
+        when(buscaDocumentoRepository.buscar(anyString(), any(), eq(posicao), anyInt())).thenReturn(List.of());
+
+        PaginaCursorDTO<ResultadoBuscaDTO> pagina = buscaDocumentoService.buscar("edital", SEM_FILTRO, posicao.codificar(), 20);
+
+        assertEquals(List.of(), pagina.itens());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void buscarQuandoTamanhoForaDosLimitesEntaoAjustaEntreUmECem() {
+        when(buscaDocumentoRepository.buscar(anyString(), any(), isNull(), anyInt())).thenReturn(List.of());
+
+        buscaDocumentoService.buscar("edital", SEM_FILTRO, null, 0);
+        buscaDocumentoService.buscar("edital", SEM_FILTRO, null, 1000);
+
+        verify(buscaDocumentoRepository).buscar("edital", SEM_FILTRO, null, 2);
+        verify(buscaDocumentoRepository).buscar("edital", SEM_FILTRO, null, 101);
+    }
+
+    @Test
+    void buscarQuandoTermoVazioOuCursorInvalidoEntaoRecusa() {
+        assertThrows(RegraNegocioException.class, () -> buscaDocumentoService.buscar("  ", SEM_FILTRO, null, 20));
+        assertThrows(RegraNegocioException.class, () -> buscaDocumentoService.buscar("edital", SEM_FILTRO, "não-é-cursor", 20));
+        verifyNoInteractions(buscaDocumentoRepository);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.BuscaInteligenteDTO;
+import br.com.uema.repositorio.dto.ConsultaInterpretadaDTO;
+import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.repository.BuscaDocumentoRepository;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BuscaInteligenteServiceTest {
+
+    @Mock private InterpretadorConsulta interpretador;
+    @Mock private DocumentoRepository documentoRepository;
+    @Mock private BuscaDocumentoRepository buscaDocumentoRepository;
+    @Mock private RestTemplate restTemplate;
+
+    private BuscaInteligenteService buscaInteligenteService;
+
+    @BeforeEach
+    void setUp() {
+        buscaInteligenteService = new BuscaInteligenteService(interpretador, documentoRepository,
+                buscaDocumentoRepository, restTemplate);
+        ReflectionTestUtils.setField(buscaInteligenteService, "pythonBuscaUrl", "http://python/smart-search");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void buscarQuandoServicoPythonIndisponivelEntaoDevolveOsCandidatosDaInterpretacaoLocal() {
+        var interpretacao = new ConsultaInterpretadaDTO(6L, "PPGHIST", TipoDocumento.EDITAIS, null, null, "bolsas", 0.2);
+        when(interpretador.interpretar("editais de bolsas do ppghist")).thenReturn(interpretacao);
+        when(buscaDocumentoRepository.buscar(anyString(), any(), isNull(), anyInt())).thenReturn(List.of());
+        var candidatos = LongStream.rangeClosed(1, 80)
+                .mapToObj(id -> DocumentoResponseDTO.builder().id(id).titulo("Edital " + id).build())
+                .toList();
+        when(documentoRepository.buscarCatalogo(eq(interpretacao.filtro()), isNull(), anyInt())).thenReturn(candidatos);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        BuscaInteligenteDTO resultado = buscaInteligenteService.buscar("editais de bolsas do ppghist");
+
+        assertEquals(BuscaInteligenteService.ORIGEM_SQL, resultado.origem());
+        assertEquals(interpretacao, resultado.interpretacao());
+        // Limitado como as demais respostas da busca local
+        assertEquals(50, resultado.itens().size());
+        assertEquals(candidatos.subList(0, 50), resultado.itens());
+    }
+}
@@ -0,0 +1,222 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.CargaDocumentosDTO;
+import br.com.uema.repositorio.dto.ResultadoCargaDTO;
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.FluxoAprovacao;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.EstadoAprovacao;
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import br.com.uema.repositorio.enums.SituacaoItemLote;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.exception.RegraNegocioException;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.repository.FluxoAprovacaoRepository;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import br.com.uema.repositorio.service.ArmazenamentoArquivos.ArquivoRecebido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CargaDocumentosServiceTest {
+
+    @Mock private DocumentoRepository documentoRepository;
+    @Mock private FluxoAprovacaoRepository fluxoAprovacaoRepository;
+    @Mock private ProgramaRepository programaRepository;
+    @Mock private ArmazenamentoArquivos armazenamento;
+    @Mock private AuditoriaService auditoria;
+    @Mock private VersaoCatalogo versaoCatalogo;
+    @Mock private EventosService eventos;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private CargaDocumentosService cargaDocumentosService;
+
+    private final Programa programa = Programa.builder().id(1L).nome("PPG Educação").build();
+    private final Usuario gestor = Usuario.builder().id(7L).perfil(PerfilUsuario.GESTOR).build();
+
+    @BeforeEach
+    void setup() {
+        cargaDocumentosService = new CargaDocumentosService(documentoRepository, fluxoAprovacaoRepository,
+                programaRepository, armazenamento, auditoria, versaoCatalogo, eventos,
+                new TransactionTemplate(transactionManager), executor, 10, 2,
+                DataSize.ofMegabytes(1), 100);
+    }
+
+    @AfterEach
+    void encerrar() {
+        executor.close();
+    }
+
+    // O "hash" é o próprio conteúdo, para que arquivos iguais caiam no mesmo conteúdo armazenado
+    private void receberPeloConteudo() throws Exception {
+        when(armazenamento.receber(any())).thenAnswer(invocacao -> {
+            try (InputStream entrada = invocacao.getArgument(0)) {
+                String conteudo = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+                return new ArquivoRecebido(Path.of(".parcial-" + conteudo), conteudo, conteudo.length());
+            }
+        });
+        lenient().when(armazenamento.armazenar(any())).thenAnswer(invocacao -> "ab/cd/" + invocacao.<ArquivoRecebido>getArgument(0).hashSha256());
+    }
+
+    @Test
+    void carregarQuandoItensMistosEntaoGravaValidosEmLoteEClassificaOsDemais() throws Exception {
+        receberPeloConteudo();
+        when(programaRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(programa));
+        var metadados = new CargaDocumentosDTO(1L, TipoDocumento.EDITAIS, LocalDate.of(2026, 3, 1), List.of(
+                new CargaDocumentosDTO.Item("edital.pdf", "Edital 01/2026", null, null, null, null),
+                new CargaDocumentosDTO.Item("outro.pdf", null, null, null, null, 99L)));
+        List<MultipartFile> arquivos = List.of(
+                new MockMultipartFile("arquivos", "edital.pdf", "application/pdf", "bbb".getBytes()),
+                new MockMultipartFile("arquivos", "outro.pdf", "application/pdf", "ccc".getBytes()),
+                new MockMultipartFile("arquivos", "copia.pdf", "application/pdf", "aaa".getBytes()),
+                new MockMultipartFile("arquivos", "repetido.pdf", "application/pdf", "aaa".getBytes()));
+
+        List<ResultadoCargaDTO> resultados = cargaDocumentosService.carregar(metadados, arquivos, gestor);
+
+        assertEquals(List.of("edital.pdf", "outro.pdf", "copia.pdf", "repetido.pdf"),
+                resultados.stream().map(ResultadoCargaDTO::arquivo).toList());
+        assertEquals(SituacaoItemLote.PROCESSADO, resultados.get(0).situacao());
+        assertEquals(SituacaoItemLote.NAO_ENCONTRADO, resultados.get(1).situacao());
+        assertNull(resultados.get(1).documentoId());
+
+        // Conteúdo gravado antes da transação, uma vez por hash; dentro dela, as referências em ordem de hash
+        InOrder ordem = inOrder(armazenamento, transactionManager);
+        ordem.verify(armazenamento, times(2)).gravar(any());
+        ordem.verify(transactionManager).getTransaction(any());
+        ordem.verify(armazenamento, times(2)).armazenar(argThat(recebido -> recebido.hashSha256().equals("aaa")));
+        ordem.verify(armazenamento).armazenar(argThat(recebido -> recebido.hashSha256().equals("bbb")));
+        ordem.verify(transactionManager).commit(any());
+        verify(armazenamento).gravar(argThat(recebido -> recebido.hashSha256().equals("aaa")));
+        verify(armazenamento).gravar(argThat(recebido -> recebido.hashSha256().equals("bbb")));
+        verify(armazenamento, times(3)).descartar(any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Documento>> documentos = ArgumentCaptor.forClass(List.class);
+        verify(documentoRepository).saveAll(documentos.capture());
+        assertEquals(List.of("Edital 01/2026", "copia", "repetido"),
+                documentos.getValue().stream().map(Documento::getTitulo).toList());
+        assertEquals("ab/cd/bbb", documentos.getValue().get(0).getCaminhoArquivo());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FluxoAprovacao>> fluxos = ArgumentCaptor.forClass(List.class);
+        verify(fluxoAprovacaoRepository).saveAll(fluxos.capture());
+        assertEquals(3, fluxos.getValue().size());
+        assertEquals(EstadoAprovacao.APROVADO, fluxos.getValue().get(0).getEstado());
+        verify(versaoCatalogo).alterado();
+    }
+
+    @Test
+    void carregarQuandoZipEntaoCadaEntradaViraUmItem() throws Exception {
+        receberPeloConteudo();
+        when(programaRepository.findAllById(List.of(1L))).thenReturn(List.of(programa));
+        var zip = new ByteArrayOutputStream();
+        try (var saida = new ZipOutputStream(zip)) {
+            saida.putNextEntry(new ZipEntry("formularios/"));
+            saida.putNextEntry(new ZipEntry("formularios/inscricao.pdf"));
+            saida.write("inscricao".getBytes());
+            saida.putNextEntry(new ZipEntry("__MACOSX/formularios/._inscricao.pdf"));
+            saida.write(1);
+            saida.putNextEntry(new ZipEntry("formularios/recurso.pdf"));
+            saida.write("recurso".getBytes());
+        }
+        var metadados = new CargaDocumentosDTO(1L, TipoDocumento.FORMULARIOS, LocalDate.of(2026, 3, 1), null);
+
+        var resultados = cargaDocumentosService.carregar(metadados,
+                List.of(new MockMultipartFile("arquivos", "carga.zip", "application/zip", zip.toByteArray())), gestor);
+
+        assertEquals(List.of("inscricao.pdf", "recurso.pdf"), resultados.stream().map(ResultadoCargaDTO::arquivo).toList());
+        assertEquals(List.of(SituacaoItemLote.PROCESSADO, SituacaoItemLote.PROCESSADO),
+                resultados.stream().map(ResultadoCargaDTO::situacao).toList());
+    }
+
+    // ZIP de entradas com um único byte repetido: quase nada compactado, muito descompactado
+    private static MockMultipartFile zipRepetitivo(int... tamanhos) throws Exception {
+        var zip = new ByteArrayOutputStream();
+        try (var saida = new ZipOutputStream(zip)) {
+            for (int i = 0; i < tamanhos.length; i++) {
+                var conteudo = new byte[tamanhos[i]];
+                Arrays.fill(conteudo, (byte) 'a');
+                saida.putNextEntry(new ZipEntry("repetido-" + i + ".pdf"));
+                saida.write(conteudo);
+            }
+        }
+        return new MockMultipartFile("arquivos", "bomba.zip", "application/zip", zip.toByteArray());
+    }
+
+    @Test
+    void carregarQuandoZipsPassamDoLimiteDescompactadoEntaoRecusaACargaEDescartaOsRecebidos() throws Exception {
+        receberPeloConteudo();
+        when(programaRepository.findAllById(List.of(1L))).thenReturn(List.of(programa));
+        var metadados = new CargaDocumentosDTO(1L, TipoDocumento.FORMULARIOS, LocalDate.of(2026, 3, 1), null);
+        var arquivos = List.<MultipartFile>of(zipRepetitivo(600 * 1024, 600 * 1024));
+
+        var erro = assertThrows(RegraNegocioException.class,
+                () -> cargaDocumentosService.carregar(metadados, arquivos, gestor));
+
+        assertTrue(erro.getMessage().contains("descompactam mais que o limite"));
+        // A primeira entrada já tinha sido recebida
+        verify(armazenamento).descartar(any());
+        verifyNoInteractions(documentoRepository, fluxoAprovacaoRepository);
+    }
+
+    @Test
+    void carregarQuandoZipPassaDaRazaoDeCompressaoEntaoRecusaACarga() throws Exception {
+        receberPeloConteudo();
+        when(programaRepository.findAllById(List.of(1L))).thenReturn(List.of(programa));
+        var servico = new CargaDocumentosService(documentoRepository, fluxoAprovacaoRepository,
+                programaRepository, armazenamento, auditoria, versaoCatalogo, eventos,
+                new TransactionTemplate(transactionManager), executor, 10, 2,
+                DataSize.ofMegabytes(64), 2);
+        var metadados = new CargaDocumentosDTO(1L, TipoDocumento.FORMULARIOS, LocalDate.of(2026, 3, 1), null);
+        var arquivos = List.<MultipartFile>of(zipRepetitivo(3 * 1024 * 1024));
+
+        var erro = assertThrows(RegraNegocioException.class, () -> servico.carregar(metadados, arquivos, gestor));
+
+        assertTrue(erro.getMessage().contains("bomba.zip"));
+        verifyNoInteractions(documentoRepository, fluxoAprovacaoRepository);
+    }
+
+    @Test
+    void carregarQuandoNenhumItemValidoEntaoNaoAbreTransacao() {
+        when(programaRepository.findAllById(List.of())).thenReturn(List.of());
+
+        var resultados = cargaDocumentosService.carregar(null,
+                List.of(new MockMultipartFile("arquivos", "sem-metadados.pdf", "application/pdf", "x".getBytes())), gestor);
+
+        assertEquals(SituacaoItemLote.INVALIDO, resultados.get(0).situacao());
+        verifyNoInteractions(armazenamento, documentoRepository, fluxoAprovacaoRepository);
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.config.ClientePythonConfig;
+import br.com.uema.repositorio.exception.ServicoIndisponivelException;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClienteResumoTest {
+
+    private static final Duration TEMPO_ABERTO = Duration.ofSeconds(30);
+
+    @TempDir Path diretorio;
+
+    private ServidorPythonStub stub;
+    private CloseableHttpClient httpClient;
+    private RelogioAjustavel relogio;
+    private Resource arquivo;
+
+    @BeforeEach
+    void setup() throws IOException {
+        stub = new ServidorPythonStub();
+        httpClient = new ClientePythonConfig().httpClientPython(Duration.ofSeconds(1), 4);
+        relogio = new RelogioAjustavel();
+        arquivo = new FileSystemResource(Files.writeString(diretorio.resolve("edital.pdf"), "%PDF-1.4 conteudo"));
+    }
+
+    @AfterEach
+    void encerrar() throws IOException {
+        httpClient.close();
+        stub.close();
+    }
+
+    private ClienteResumo cliente(int chamadasSimultaneas, int falhasParaAbrir, Duration timeoutLeitura) {
+        var restTemplate = new ClientePythonConfig().restTemplatePython(httpClient, timeoutLeitura, Duration.ofSeconds(1));
+        return new ClienteResumo(restTemplate, stub.url(), chamadasSimultaneas, Duration.ofMillis(50),
+                falhasParaAbrir, TEMPO_ABERTO, relogio);
+    }
+
+    @Test
+    void resumirQuandoServicoRespondeEntaoRetornaResumo() {
+        assertEquals("Resumo gerado", cliente(2, 3, Duration.ofSeconds(2)).resumir(arquivo));
+    }
+
+    @Test
+    void resumirQuandoServicoTravaEntaoFalhaNoTimeoutDeLeitura() {
+        stub.atrasar(2_000);
+        var cliente = cliente(2, 3, Duration.ofMillis(200));
+
+        assertThrows(ServicoIndisponivelException.class, () -> cliente.resumir(arquivo));
+    }
+
+    @Test
+    void resumirAposFalhasSeguidasEntaoAbreCircuitoEFalhaSemChamarServico() {
+        stub.responderCom(ServidorPythonStub.Comportamento.ERRO);
+        var cliente = cliente(2, 2, Duration.ofSeconds(2));
+
+        assertThrows(ServicoIndisponivelException.class, () -> cliente.resumir(arquivo));
+        assertThrows(ServicoIndisponivelException.class, () -> cliente.resumir(arquivo));
+        assertThrows(ServicoIndisponivelException.class, () -> cliente.resumir(arquivo));
+        assertEquals(2, stub.requisicoes());
+
+        // Passado o tempo aberto, uma chamada de teste bem-sucedida fecha o circuito
+        stub.responderCom(ServidorPythonStub.Comportamento.OK);
+        relogio.avancar(TEMPO_ABERTO);
+        assertEquals("Resumo gerado", cliente.resumir(arquivo));
+        assertEquals("Resumo gerado", cliente.resumir(arquivo));
+        assertEquals(4, stub.requisicoes());
+    }
+
+    @Test
+    void resumirQuandoBulkheadCheioEntaoRejeitaSemEsperarOServico() throws Exception {
+        stub.atrasar(500);
+        var cliente = cliente(1, 3, Duration.ofSeconds(2));
+
+        var primeira = CompletableFuture.supplyAsync(() -> cliente.resumir(arquivo));
+        stub.aguardarRequisicao();
+
+        assertThrows(ServicoIndisponivelException.class, () -> cliente.resumir(arquivo));
+        assertEquals("Resumo gerado", primeira.get());
+        assertEquals(1, stub.requisicoes());
+    }
+
+    private static class RelogioAjustavel extends Clock {
+        private Instant agora = Instant.parse("2025-03-15T12:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return agora; }
+    }
+}
@@ -1,30 +1,49 @@
 package br.com.uema.repositorio.service;
 
 
+import br.com.uema.repositorio.dto.CursorDocumento;
 import br.com.uema.repositorio.dto.DocumentoRequestDTO;
 import br.com.uema.repositorio.dto.DocumentoResponseDTO;
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.dto.FiltroCatalogoDTO;
+import br.com.uema.repositorio.dto.PaginaCursorDTO;
 import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.DocumentoVersao;
 import br.com.uema.repositorio.entity.FluxoAprovacao;
 import br.com.uema.repositorio.entity.Programa;
 import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.AcaoAuditoria;
 import br.com.uema.repositorio.enums.PerfilUsuario;
 import br.com.uema.repositorio.enums.TipoDocumento;
 import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.repository.DocumentoVersaoRepository;
 import br.com.uema.repositorio.repository.FluxoAprovacaoRepository;
 import br.com.uema.repositorio.repository.ProgramaRepository;
+import br.com.uema.repositorio.service.ArmazenamentoArquivos.ArquivoRecebido;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,13 +52,23 @@ public class DocumentoServiceTest {
     @Mock private DocumentoRepository documentoRepository;
     @Mock private ProgramaRepository programaRepository;
     @Mock private FluxoAprovacaoRepository fluxoAprovacaoRepository;
+    @Mock private DocumentoVersaoRepository versaoRepository;
+    @Mock private ArmazenamentoArquivos armazenamento;
+    @Mock private AuditoriaService auditoria;
+    @Mock private EstatisticaAcessoService estatisticas;
+    @Mock private VersaoCatalogo versaoCatalogo;
+    @Mock private EventosService eventos;
 
     @InjectMocks private DocumentoService documentoService;
 
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private static final ArquivoRecebido RECEBIDO = new ArquivoRecebido(Path.of("./uploads-test/.parcial-x"), "abc123", 8);
+
     @BeforeEach
     void setup() {
-        ReflectionTestUtils.setField(documentoService, "uploadDir", "./uploads-test");
         ReflectionTestUtils.setField(documentoService, "fluxoAprovacaoRepository", fluxoAprovacaoRepository);
+        ReflectionTestUtils.setField(documentoService, "transacao", new TransactionTemplate(transactionManager));
     }
 
     @Test
@@ -56,6 +85,8 @@ public class DocumentoServiceTest {
         DocumentoRequestDTO dto = new DocumentoRequestDTO("Edital 01", "Desc", TipoDocumento.EDITAIS, java.time.LocalDate.now(), 1L, file);
 
         when(programaRepository.findById(1L)).thenReturn(Optional.of(programa));
+        when(armazenamento.receber(any())).thenReturn(RECEBIDO);
+        when(armazenamento.armazenar(RECEBIDO)).thenReturn("ab/abc123");
         when(documentoRepository.save(any(Documento.class))).thenAnswer(i -> i.getArgument(0));
 
         DocumentoResponseDTO resultado = documentoService.upload(dto, admin);
@@ -65,6 +96,154 @@ public class DocumentoServiceTest {
         assertEquals("PPG Programação", resultado.nomePrograma());
 
         verify(fluxoAprovacaoRepository, times(1)).save(any(FluxoAprovacao.class));
+        // Publicado direto: nada entra na fila de aprovação
+        verifyNoInteractions(eventos);
+    }
+
+    @Test
+    void uploadQuandoEstagiarioEnviaDocumentoEntaoAvisaAFilaDeAprovacao() {
+        Usuario estagiario = new Usuario();
+        estagiario.setPerfil(PerfilUsuario.ESTAGIARIO);
+
+        Programa programa = new Programa();
+        programa.setId(1L);
+
+        MockMultipartFile file = new MockMultipartFile("arquivo", "teste.pdf", "application/pdf", "conteudo".getBytes());
+        DocumentoRequestDTO dto = new DocumentoRequestDTO("Edital 02", "Desc", TipoDocumento.EDITAIS, LocalDate.now(), 1L, file);
+
+        when(programaRepository.findById(1L)).thenReturn(Optional.of(programa));
+        when(armazenamento.receber(any())).thenReturn(RECEBIDO);
+        when(armazenamento.armazenar(RECEBIDO)).thenReturn("ab/abc123");
+        when(documentoRepository.save(any(Documento.class))).thenAnswer(i -> {
+            Documento documento = i.getArgument(0);
+            documento.setId(7L);
+            return documento;
+        });
+        when(fluxoAprovacaoRepository.save(any(FluxoAprovacao.class))).thenAnswer(i -> {
+            FluxoAprovacao fluxo = i.getArgument(0);
+            fluxo.setId(70L);
+            return fluxo;
+        });
+
+        documentoService.upload(dto, estagiario);
+
+        verify(eventos).publicar(EventoDTO.aprovacaoPendente(7L, 1L, 70L));
+    }
+
+    @Test
+    void uploadStreamingQuandoEnviaCorpoEntaoRegistraConteudoEGuardaNomeOriginal() {
+        Usuario gestor = new Usuario();
+        gestor.setPerfil(PerfilUsuario.GESTOR);
+
+        Programa programa = new Programa();
+        programa.setId(1L);
+        programa.setNome("PPG Programação");
+
+        DocumentoRequestDTO dto = new DocumentoRequestDTO("Tese", "Desc", TipoDocumento.DOCUMENTACOES, LocalDate.now(), 1L, null);
+        var conteudo = new ByteArrayInputStream("conteudo".getBytes());
+
+        when(programaRepository.findById(1L)).thenReturn(Optional.of(programa));
+        when(armazenamento.receber(conteudo)).thenReturn(RECEBIDO);
+        when(armazenamento.armazenar(RECEBIDO)).thenReturn("ab/abc123");
+        when(documentoRepository.save(any(Documento.class))).thenAnswer(i -> i.getArgument(0));
+
+        documentoService.uploadStreaming(dto, conteudo, "Tese final.pdf", gestor);
+
+        var captor = ArgumentCaptor.forClass(Documento.class);
+        verify(documentoRepository).save(captor.capture());
+        Documento salvo = captor.getValue();
+
+        assertEquals("ab/abc123", salvo.getCaminhoArquivo());
+        assertEquals("Tese_final.pdf", salvo.getNomeArquivo());
+        assertEquals("abc123", salvo.getHashSha256());
+        assertEquals(8L, salvo.getTamanhoBytes());
+        // O conteúdo vai ao armazenamento antes de a transação abrir; dentro dela, só a referência
+        InOrder ordem = inOrder(armazenamento, transactionManager);
+        ordem.verify(armazenamento).gravar(RECEBIDO);
+        ordem.verify(transactionManager).getTransaction(any());
+        ordem.verify(armazenamento).armazenar(RECEBIDO);
+        ordem.verify(transactionManager).commit(any());
+        ordem.verify(armazenamento).descartar(RECEBIDO);
+    }
+
+    @Test
+    void excluirQuandoDocumentoTemHashEntaoLiberaReferencia() {
+        Documento documento = Documento.builder().id(5L).titulo("Edital").caminhoArquivo("ab/abc123").hashSha256("abc123").build();
+        Usuario gestor = new Usuario();
+
+        when(documentoRepository.findById(5L)).thenReturn(Optional.of(documento));
+
+        documentoService.excluir(5L, gestor);
+
+        verify(armazenamento).liberarVersoes(5L);
+        verify(documentoRepository).delete(documento);
+        verify(armazenamento).liberar("abc123");
+        verify(armazenamento, never()).apagarLegado(any());
+        verify(auditoria).registrar(AcaoAuditoria.DELETE_DOCUMENT, gestor, null, "Documento 5: Edital");
+    }
+
+    @Test
+    void atualizarQuandoEnviaNovoArquivoEntaoArquivoAnteriorVaiParaOHistorico() {
+        Usuario editor = new Usuario();
+        Programa programa = new Programa();
+        programa.setId(1L);
+        Documento documento = Documento.builder().id(5L).programa(programa)
+                .caminhoArquivo("ol/dd/old").nomeArquivo("edital_v1.pdf").hashSha256("old").tamanhoBytes(3L).build();
+        MockMultipartFile file = new MockMultipartFile("arquivo", "edital v2.pdf", "application/pdf", "conteudo".getBytes());
+        DocumentoRequestDTO dto = new DocumentoRequestDTO("Edital", "Desc", TipoDocumento.EDITAIS, LocalDate.now(), 1L, file);
+
+        when(documentoRepository.findById(5L)).thenReturn(Optional.of(documento));
+        when(armazenamento.receber(any())).thenReturn(RECEBIDO);
+        when(armazenamento.armazenar(RECEBIDO)).thenReturn("ab/abc123");
+
+        documentoService.atualizar(5L, dto, editor);
+
+        var captor = ArgumentCaptor.forClass(DocumentoVersao.class);
+        verify(versaoRepository).save(captor.capture());
+        DocumentoVersao versao = captor.getValue();
+        assertEquals("ol/dd/old", versao.getCaminhoArquivo());
+        assertEquals("edital_v1.pdf", versao.getNomeArquivo());
+        assertEquals("old", versao.getHashSha256());
+        assertEquals(editor, versao.getUsuario());
+
+        assertEquals("ab/abc123", documento.getCaminhoArquivo());
+        assertEquals("edital_v2.pdf", documento.getNomeArquivo());
+        // A referência ao arquivo anterior passa para a versão
+        verify(armazenamento, never()).liberar(any());
+        InOrder ordem = inOrder(armazenamento, transactionManager);
+        ordem.verify(armazenamento).gravar(RECEBIDO);
+        ordem.verify(transactionManager).getTransaction(any());
+        ordem.verify(transactionManager).commit(any());
+        ordem.verify(armazenamento).descartar(RECEBIDO);
+        verify(auditoria).registrar(AcaoAuditoria.UPDATE_DOCUMENT, editor, 5L, "Arquivo substituído por edital_v2.pdf");
+    }
+
+    @Test
+    void listarCatalogoQuandoHaMaisItensEntaoRetornaCursorDoUltimoDaPagina() {
+        var docs = List.of(
+                new DocumentoResponseDTO(30L, "A", null, TipoDocumento.EDITAIS, 1L, "PPG", null, LocalDate.of(2025, 3, 1)),
+                new DocumentoResponseDTO(20L, "B", null, TipoDocumento.EDITAIS, 1L, "PPG", null, LocalDate.of(2025, 2, 1)),
+                new DocumentoResponseDTO(10L, "C", null, TipoDocumento.EDITAIS, 1L, "PPG", null, LocalDate.of(2025, 1, 1))
+        );
+        var filtro = new FiltroCatalogoDTO(null, null, null, null);
+
+        when(documentoRepository.buscarCatalogo(eq(filtro), any(), eq(3))).thenReturn(docs);
+
+        PaginaCursorDTO<DocumentoResponseDTO> pagina = documentoService.listarCatalogo(filtro, null, 2);
+
+        assertEquals(2, pagina.itens().size());
+        assertEquals(new CursorDocumento(LocalDate.of(2025, 2, 1), 20L), CursorDocumento.decodificar(pagina.proximoCursor()));
+    }
+
+    @Test
+    void listarCatalogoQuandoUltimaPaginaEntaoCursorNulo() {
+        var filtro = new FiltroCatalogoDTO(null, null, null, null);
+        when(documentoRepository.buscarCatalogo(eq(filtro), any(), eq(21))).thenReturn(List.of());
+
+        var pagina = documentoService.listarCatalogo(filtro, null, 20);
+
+        assertEquals(0, pagina.itens().size());
+        assertNull(pagina.proximoCursor());
     }
 
 }
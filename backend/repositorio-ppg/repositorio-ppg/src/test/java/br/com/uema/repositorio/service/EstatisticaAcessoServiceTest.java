@@ -0,0 +1,81 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.enums.PeriodoEstatistica;
+import br.com.uema.repositorio.enums.TipoAcesso;
+import br.com.uema.repositorio.repository.EstatisticaAcessoRepository;
+import br.com.uema.repositorio.repository.EstatisticaAcessoRepository.Acessos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EstatisticaAcessoServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2026, 3, 10);
+
+    @Mock private EstatisticaAcessoRepository estatisticaAcessoRepository;
+
+    private EstatisticaAcessoService estatisticaAcessoService;
+
+    @BeforeEach
+    void setup() {
+        var clock = Clock.fixed(Instant.parse("2026-03-10T15:00:00Z"), ZoneOffset.UTC);
+        estatisticaAcessoService = new EstatisticaAcessoService(estatisticaAcessoRepository, clock);
+    }
+
+    @Test
+    void descarregarEntaoGravaSomaDoDiaOrdenadaPorDocumentoEZeraContadores() {
+        estatisticaAcessoService.registrar(9L, TipoAcesso.DOWNLOAD);
+        estatisticaAcessoService.registrar(3L, TipoAcesso.VISUALIZACAO);
+        estatisticaAcessoService.registrar(9L, TipoAcesso.DOWNLOAD);
+        estatisticaAcessoService.registrar(9L, TipoAcesso.VISUALIZACAO);
+
+        assertEquals(2, estatisticaAcessoService.descarregar());
+        verify(estatisticaAcessoRepository).acumular(HOJE, List.of(new Acessos(3L, 0, 1), new Acessos(9L, 2, 1)));
+
+        // Nada novo: não vai ao banco
+        assertEquals(0, estatisticaAcessoService.descarregar());
+        verify(estatisticaAcessoRepository).acumular(any(), anyList());
+    }
+
+    @Test
+    void descarregarQuandoGravacaoFalhaEntaoAcessosVoltamAosContadores() {
+        estatisticaAcessoService.registrar(5L, TipoAcesso.DOWNLOAD);
+        doThrow(new DataAccessResourceFailureException("banco fora"))
+                .doNothing()
+                .when(estatisticaAcessoRepository).acumular(any(), anyList());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> estatisticaAcessoService.descarregar());
+
+        estatisticaAcessoService.registrar(5L, TipoAcesso.DOWNLOAD);
+        assertEquals(1, estatisticaAcessoService.descarregar());
+        verify(estatisticaAcessoRepository).acumular(HOJE, List.of(new Acessos(5L, 2, 0)));
+    }
+
+    @Test
+    void maisAcessadosEntaoJanelaTerminaHojeELimiteLimitado() {
+        estatisticaAcessoService.maisAcessados(4L, PeriodoEstatistica.SEMANA, 1000);
+        estatisticaAcessoService.maisAcessados(null, PeriodoEstatistica.TOTAL, 0);
+
+        verify(estatisticaAcessoRepository).maisAcessados(LocalDate.of(2026, 3, 4), 4L, 100);
+        verify(estatisticaAcessoRepository).maisAcessados(null, null, 1);
+        verify(estatisticaAcessoRepository, never()).acumular(any(), anyList());
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.EstadoJobResumo;
+import br.com.uema.repositorio.enums.PerfilUsuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventosServiceTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Deque<EmissorGravado> emissores = new ArrayDeque<>();
+    private EventosService eventosService;
+
+    // Guarda o texto de cada envio; com "bloqueio" os envios esperam até ele ser liberado
+    private static final class EmissorGravado extends SseEmitter {
+        private final BlockingQueue<String> enviados = new LinkedBlockingQueue<>();
+        private final CountDownLatch bloqueio;
+        private volatile boolean completado;
+
+        EmissorGravado(CountDownLatch bloqueio) {
+            this.bloqueio = bloqueio;
+        }
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            try {
+                bloqueio.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrompido", e);
+            }
+            enviados.add(evento.build().stream()
+                    .map(parte -> String.valueOf(parte.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completado = true;
+        }
+
+        String proximo() throws InterruptedException {
+            return enviados.poll(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private void criarServico(Duration heartbeat, int capacidade, CountDownLatch bloqueio) {
+        eventosService = new EventosService(executor, meterRegistry, heartbeat, capacidade, 10, () -> {
+            var emissor = new EmissorGravado(bloqueio);
+            emissores.add(emissor);
+            return emissor;
+        });
+    }
+
+    private EmissorGravado inscrever(Long id, PerfilUsuario perfil) {
+        eventosService.inscrever(Usuario.builder().id(id).perfil(perfil).build());
+        return emissores.getLast();
+    }
+
+    @AfterEach
+    void encerrar() {
+        eventosService.encerrarTodas();
+        executor.close();
+    }
+
+    @Test
+    void publicarQuandoPerfilNaoRecebeOTipoEntaoSoOsDestinatariosRecebem() throws Exception {
+        criarServico(Duration.ofMinutes(1), 10, new CountDownLatch(0));
+        var gestor = inscrever(1L, PerfilUsuario.GESTOR);
+        var estagiario = inscrever(2L, PerfilUsuario.ESTAGIARIO);
+
+        eventosService.publicar(EventoDTO.aprovacaoPendente(7L, 1L, 70L));
+        eventosService.publicar(EventoDTO.resumoAtualizado(7L, 3L, EstadoJobResumo.CONCLUIDO));
+
+        assertEquals(":inscrito\n\n", gestor.proximo());
+        assertTrue(gestor.proximo().startsWith("event:APROVACAO_PENDENTE\ndata:"));
+        assertTrue(gestor.proximo().startsWith("event:RESUMO_ATUALIZADO\ndata:"));
+
+        assertEquals(":inscrito\n\n", estagiario.proximo());
+        assertTrue(estagiario.proximo().startsWith("event:RESUMO_ATUALIZADO\ndata:"));
+        assertNull(estagiario.enviados.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void publicarQuandoFilaDoInscritoEnchEntaoEncerraSoAConexaoLenta() throws Exception {
+        // Envios presos: nada sai da fila do inscrito
+        criarServico(Duration.ofMinutes(1), 1, new CountDownLatch(1));
+        var lento = inscrever(1L, PerfilUsuario.GESTOR);
+
+        eventosService.publicar(EventoDTO.aprovacaoPendente(7L, 1L, 70L));
+        assertEquals(1, eventosService.inscritos());
+
+        eventosService.publicar(EventoDTO.aprovacaoPendente(8L, 1L, 80L));
+
+        assertTrue(lento.completado);
+        assertEquals(0, eventosService.inscritos());
+        assertEquals(1.0, meterRegistry.counter("eventos.inscricoes.descartadas").count());
+    }
+
+    @Test
+    void inscricaoQuandoNaoHaEventosEntaoEnviaHeartbeat() throws Exception {
+        criarServico(Duration.ofMillis(20), 10, new CountDownLatch(0));
+        var gestor = inscrever(1L, PerfilUsuario.GESTOR);
+
+        assertEquals(":inscrito\n\n", gestor.proximo());
+        assertEquals(":heartbeat\n\n", gestor.proximo());
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.repository.ExportacaoDocumentoRepository;
+import br.com.uema.repositorio.repository.ExportacaoDocumentoRepository.DocumentoExportado;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacaoProgramaServiceTest {
+
+    private static final LocalDate DE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate ATE = LocalDate.of(2024, 12, 31);
+
+    @Mock private ExportacaoDocumentoRepository exportacaoRepository;
+    @Mock private ProgramaRepository programaRepository;
+    @Mock private ArmazenamentoConteudo conteudo;
+
+    private ExportacaoProgramaService exportacaoService;
+
+    @BeforeEach
+    void setup() {
+        exportacaoService = new ExportacaoProgramaService(exportacaoRepository, programaRepository, conteudo, 2);
+    }
+
+    private static DocumentoExportado documento(long id, String titulo, String chave) {
+        return new DocumentoExportado(id, titulo, TipoDocumento.EDITAIS, LocalDate.of(2024, 3, (int) id), "edital " + id + ".pdf",
+                null, 5L, chave, "Secretaria");
+    }
+
+    private Map<String, String> lerZip(byte[] zip) throws Exception {
+        Map<String, String> entradas = new LinkedHashMap<>();
+        try (var entrada = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (var item = entrada.getNextEntry(); item != null; item = entrada.getNextEntry()) {
+                entradas.put(item.getName(), new String(entrada.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entradas;
+    }
+
+    @Test
+    void exportarQuandoVariasPaginasEntaoUmaEntradaPorDocumentoEManifestoNoFim() throws Exception {
+        var primeiro = documento(1, "Edital 01", "aa/01");
+        var segundo = documento(2, "Edital; \"retificado\"", "aa/02");
+        var terceiro = documento(3, "Edital 03", "aa/03");
+        when(exportacaoRepository.pagina(eq(7L), eq(DE), eq(ATE), isNull(), eq(2))).thenReturn(List.of(primeiro, segundo));
+        when(exportacaoRepository.pagina(7L, DE, ATE, segundo, 2)).thenReturn(List.of(terceiro));
+        when(conteudo.tamanho(any())).thenReturn(OptionalLong.of(5));
+        when(conteudo.tamanho("aa/02")).thenReturn(OptionalLong.empty());
+        when(conteudo.abrir("aa/01")).thenReturn(new ByteArrayInputStream("um...".getBytes()));
+        when(conteudo.abrir("aa/03")).thenReturn(new ByteArrayInputStream("tres.".getBytes()));
+
+        var saida = new ByteArrayOutputStream();
+        int exportados = exportacaoService.exportar(7L, DE, ATE, saida);
+
+        assertEquals(2, exportados);
+        var entradas = lerZip(saida.toByteArray());
+        assertEquals(List.of("editais/2024-03-01_1_edital_1.pdf", "editais/2024-03-03_3_edital_3.pdf", "manifesto.csv"),
+                List.copyOf(entradas.keySet()));
+        assertEquals("um...", entradas.get("editais/2024-03-01_1_edital_1.pdf"));
+
+        List<String> manifesto = entradas.get("manifesto.csv").lines().toList();
+        assertEquals(4, manifesto.size());
+        assertTrue(manifesto.get(0).startsWith("﻿id;titulo;"));
+        assertEquals("2;\"Edital; \"\"retificado\"\"\";EDITAIS;2024-03-02;Secretaria;;edital 2.pdf;5;;ARQUIVO_AUSENTE", manifesto.get(2));
+        assertTrue(manifesto.get(3).endsWith(";INCLUIDO"));
+    }
+
+    @Test
+    void campoQuandoValorComecaComoFormulaEntaoViraTexto() {
+        assertEquals("'=1+1", ExportacaoProgramaService.campo("=1+1"));
+        assertEquals("'+55 98", ExportacaoProgramaService.campo("+55 98"));
+        assertEquals("'-2", ExportacaoProgramaService.campo("-2"));
+        assertEquals("'@SUM(A1)", ExportacaoProgramaService.campo("@SUM(A1)"));
+        // O apóstrofo entra antes das aspas do RFC 4180
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\";\"\"a\"\")\"", ExportacaoProgramaService.campo("=HYPERLINK(\"http://x\";\"a\")"));
+        assertEquals("Edital 1+1=2", ExportacaoProgramaService.campo("Edital 1+1=2"));
+    }
+
+    @Test
+    void exportarQuandoNenhumDocumentoEntaoZipSoComManifesto() throws Exception {
+        when(exportacaoRepository.pagina(eq(7L), isNull(), isNull(), isNull(), eq(2))).thenReturn(List.of());
+
+        var saida = new ByteArrayOutputStream();
+        assertEquals(0, exportacaoService.exportar(7L, null, null, saida));
+
+        assertEquals(List.of("manifesto.csv"), List.copyOf(lerZip(saida.toByteArray()).keySet()));
+    }
+}
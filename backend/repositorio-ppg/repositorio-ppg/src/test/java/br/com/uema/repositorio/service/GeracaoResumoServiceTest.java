@@ -0,0 +1,122 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.EventoDTO;
+import br.com.uema.repositorio.dto.JobResumoDTO;
+import br.com.uema.repositorio.entity.Documento;
+import br.com.uema.repositorio.entity.JobResumo;
+import br.com.uema.repositorio.entity.Resumo;
+import br.com.uema.repositorio.entity.Usuario;
+import br.com.uema.repositorio.enums.EstadoJobResumo;
+import br.com.uema.repositorio.repository.DocumentoRepository;
+import br.com.uema.repositorio.repository.JobResumoRepository;
+import br.com.uema.repositorio.repository.ResumoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GeracaoResumoServiceTest {
+
+    @Mock private DocumentoRepository documentoRepository;
+    @Mock private ResumoRepository resumoRepository;
+    @Mock private JobResumoRepository jobResumoRepository;
+    @Mock private ClienteResumo clienteResumo;
+    @Mock private ArmazenamentoArquivos armazenamento;
+    @Mock private EventosService eventos;
+    @Mock private ExecutorService executor;
+
+    private GeracaoResumoService geracaoResumoService;
+    private Documento documento;
+    private final Usuario solicitante = Usuario.builder().id(3L).build();
+
+    @BeforeEach
+    void setup() {
+        var transacao = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        geracaoResumoService = new GeracaoResumoService(documentoRepository, resumoRepository, jobResumoRepository,
+                clienteResumo, armazenamento, eventos, transacao, executor, 2);
+
+        documento = Documento.builder().id(10L).caminhoArquivo("edital.pdf").build();
+        lenient().when(documentoRepository.findById(10L)).thenReturn(Optional.of(documento));
+    }
+
+    @Test
+    void solicitarQuandoResumoJaExisteEntaoDevolveSemCriarJob() {
+        when(resumoRepository.findByDocumentoId(10L))
+                .thenReturn(Optional.of(Resumo.builder().conteudo("Resumo pronto").documento(documento).build()));
+
+        JobResumoDTO resultado = geracaoResumoService.solicitar(10L, solicitante);
+
+        assertEquals(EstadoJobResumo.CONCLUIDO, resultado.estado());
+        assertEquals("Resumo pronto", resultado.resumo());
+        assertNull(resultado.idJob());
+        verify(jobResumoRepository, never()).saveAndFlush(any());
+        verify(executor, never()).execute(any());
+    }
+
+    @Test
+    void solicitarQuandoJobEmAndamentoEntaoCompartilhaOMesmoJob() {
+        var emAndamento = JobResumo.builder().id(5L).documento(documento).estado(EstadoJobResumo.EXECUTANDO).build();
+        when(resumoRepository.findByDocumentoId(10L)).thenReturn(Optional.empty());
+        when(jobResumoRepository.findFirstByDocumentoIdAndEstadoIn(eq(10L), anyCollection()))
+                .thenReturn(Optional.of(emAndamento));
+
+        JobResumoDTO resultado = geracaoResumoService.solicitar(10L, solicitante);
+
+        assertEquals(5L, resultado.idJob());
+        assertEquals(EstadoJobResumo.EXECUTANDO, resultado.estado());
+        verify(jobResumoRepository, never()).saveAndFlush(any());
+        verify(executor, never()).execute(any());
+    }
+
+    @Test
+    void solicitarQuandoNaoHaJobEntaoCriaEAgendaUmaVez() {
+        when(resumoRepository.findByDocumentoId(10L)).thenReturn(Optional.empty());
+        when(jobResumoRepository.findFirstByDocumentoIdAndEstadoIn(eq(10L), anyCollection())).thenReturn(Optional.empty());
+        when(jobResumoRepository.saveAndFlush(any(JobResumo.class))).thenAnswer(invocacao -> {
+            JobResumo job = invocacao.getArgument(0);
+            job.setId(8L);
+            return job;
+        });
+
+        JobResumoDTO resultado = geracaoResumoService.solicitar(10L, solicitante);
+
+        assertEquals(8L, resultado.idJob());
+        assertEquals(EstadoJobResumo.PENDENTE, resultado.estado());
+        verify(executor).execute(any(Runnable.class));
+        var job = ArgumentCaptor.forClass(JobResumo.class);
+        verify(jobResumoRepository).saveAndFlush(job.capture());
+        assertEquals(solicitante, job.getValue().getSolicitante());
+    }
+
+    @Test
+    void executarQuandoResumoGeradoEntaoPublicaOEventoDoDocumento() throws Exception {
+        var job = JobResumo.builder().id(8L).documento(documento).solicitante(solicitante).estado(EstadoJobResumo.PENDENTE).build();
+        when(jobResumoRepository.findById(8L)).thenReturn(Optional.of(job));
+        when(resumoRepository.findByDocumentoId(10L)).thenReturn(Optional.empty());
+        when(clienteResumo.resumir(any())).thenReturn("Resumo do edital");
+
+        geracaoResumoService.executar(8L);
+
+        assertEquals(EstadoJobResumo.CONCLUIDO, job.getEstado());
+        verify(eventos).publicar(EventoDTO.resumoAtualizado(10L, 8L, EstadoJobResumo.CONCLUIDO));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.dto.ConsultaInterpretadaDTO;
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InterpretadorConsultaTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 3, 15);
+
+    @Mock private ProgramaRepository programaRepository;
+
+    @InjectMocks private InterpretadorConsulta interpretador;
+
+    @Test
+    void interpretarQuandoSiglaTipoEPeriodoEntaoResolveTudo() {
+        Programa historia = Programa.builder().id(6L).sigla("PPGHIST").nome("Programa de Pós-Graduação em História").build();
+        when(programaRepository.findBySigla(anyString())).thenReturn(Optional.empty());
+        when(programaRepository.findBySigla("PPGHIST")).thenReturn(Optional.of(historia));
+
+        ConsultaInterpretadaDTO resultado = interpretador.interpretar("Editais do ppghist do mês passado", HOJE);
+
+        assertEquals(6L, resultado.programaId());
+        assertEquals(TipoDocumento.EDITAIS, resultado.tipo());
+        assertEquals(LocalDate.of(2025, 2, 1), resultado.de());
+        assertEquals(LocalDate.of(2025, 2, 28), resultado.ate());
+        assertEquals("", resultado.textoLivre());
+        assertEquals(1.0, resultado.confianca());
+    }
+
+    @Test
+    void interpretarQuandoEsteAnoEntaoPeriodoAteHoje() {
+        ConsultaInterpretadaDTO resultado = interpretador.interpretar("resultados deste ano", HOJE);
+
+        assertEquals(TipoDocumento.RESULTADOS, resultado.tipo());
+        assertEquals(LocalDate.of(2025, 1, 1), resultado.de());
+        assertEquals(HOJE, resultado.ate());
+    }
+
+    @Test
+    void interpretarQuandoMesComAnoEntaoMesInteiro() {
+        ConsultaInterpretadaDTO resultado = interpretador.interpretar("resoluções de março de 2024", HOJE);
+
+        assertEquals(TipoDocumento.RESOLUCOES, resultado.tipo());
+        assertEquals(LocalDate.of(2024, 3, 1), resultado.de());
+        assertEquals(LocalDate.of(2024, 3, 31), resultado.ate());
+    }
+
+    @Test
+    void interpretarQuandoTermosDesconhecidosEntaoViramTextoLivreComBaixaConfianca() {
+        when(programaRepository.findBySigla(anyString())).thenReturn(Optional.empty());
+
+        ConsultaInterpretadaDTO resultado = interpretador.interpretar("bolsa de mestrado para quilombolas", HOJE);
+
+        assertNull(resultado.programaId());
+        assertNull(resultado.tipo());
+        assertEquals("bolsa mestrado quilombolas", resultado.textoLivre());
+        assertTrue(resultado.confianca() < 0.5);
+    }
+}
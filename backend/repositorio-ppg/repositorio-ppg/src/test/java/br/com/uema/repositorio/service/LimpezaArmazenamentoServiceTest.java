@@ -0,0 +1,118 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.repository.ArquivoRepository;
+import br.com.uema.repositorio.service.ArmazenamentoConteudo.ChaveArmazenada;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LimpezaArmazenamentoServiceTest {
+
+    private static final Instant AGORA = Instant.parse("2026-06-01T12:00:00Z");
+
+    @Mock private ArquivoRepository arquivoRepository;
+    @Mock private ArmazenamentoConteudo conteudo;
+    @Mock private ArmazenamentoArquivos armazenamento;
+
+    private LimpezaArmazenamentoService limpeza;
+
+    @BeforeEach
+    void setup() throws Exception {
+        var transacao = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        limpeza = new LimpezaArmazenamentoService(arquivoRepository, conteudo, armazenamento, transacao,
+                Duration.ofDays(30), Duration.ofHours(1), 2, Clock.fixed(AGORA, ZoneOffset.UTC));
+        when(conteudo.chaves()).thenReturn(Stream.empty());
+    }
+
+    @Test
+    void executarQuandoLoteDeVersoesCheioEntaoContinuaAteLoteIncompleto() {
+        var limite = OffsetDateTime.ofInstant(AGORA.minus(Duration.ofDays(30)), ZoneOffset.UTC);
+        when(armazenamento.expirarVersoes(limite, 2)).thenReturn(2, 2, 1);
+
+        var resultado = limpeza.executar();
+
+        assertEquals(5, resultado.versoesExpiradas());
+        verify(armazenamento, times(3)).expirarVersoes(limite, 2);
+    }
+
+    @Test
+    void executarQuandoConteudosSemReferenciaEntaoColetaPorPaginasDeHash() {
+        when(arquivoRepository.listarSemReferencias(any(), eq(""), eq(2))).thenReturn(List.of("a1", "b2"));
+        when(arquivoRepository.listarSemReferencias(any(), eq("b2"), eq(2))).thenReturn(List.of("c3"));
+        when(armazenamento.coletar(anyString())).thenReturn(true);
+
+        var resultado = limpeza.executar();
+
+        assertEquals(3, resultado.conteudosColetados());
+        verify(armazenamento).coletar("c3");
+    }
+
+    @Test
+    void executarQuandoChavesSemRegistroEntaoApagaSoAsNaoReferenciadasForaDaCarencia() throws Exception {
+        Instant antigo = AGORA.minus(Duration.ofDays(2));
+        // Gravada há poucos minutos: pode ser um upload ainda não confirmado, ou o spool do multipart
+        Instant recente = AGORA.minus(Duration.ofMinutes(5));
+        when(conteudo.chaves()).thenReturn(Stream.of(new ChaveArmazenada("aa/bb/usado", antigo),
+                new ChaveArmazenada("upload_123.tmp", recente), new ChaveArmazenada("uuid_antigo.pdf", antigo),
+                new ChaveArmazenada("cc/dd/orfao", antigo)));
+        when(arquivoRepository.filtrarReferenciadas(List.of("aa/bb/usado", "uuid_antigo.pdf")))
+                .thenReturn(Set.of("aa/bb/usado"));
+        when(arquivoRepository.filtrarReferenciadas(List.of("cc/dd/orfao"))).thenReturn(Set.of());
+        when(armazenamento.coletarOrfao(anyString())).thenReturn(true);
+
+        var resultado = limpeza.executar();
+
+        assertEquals(2, resultado.orfaosApagados());
+        verify(armazenamento, never()).coletarOrfao("aa/bb/usado");
+        verify(armazenamento).coletarOrfao("uuid_antigo.pdf");
+        verify(armazenamento).coletarOrfao("cc/dd/orfao");
+        verify(armazenamento, never()).coletarOrfao("upload_123.tmp");
+        verify(armazenamento).limparTemporarios(AGORA.minus(Duration.ofHours(1)));
+    }
+
+    @Test
+    void executarQuandoListagemFalhaNoMeioEntaoApagaOsLotesJaListadosESegueALimpeza() throws Exception {
+        Instant antigo = AGORA.minus(Duration.ofDays(2));
+        // Como o S3 busca a página seguinte: o erro sai da leitura do stream, não de chaves()
+        Stream<ChaveArmazenada> seguinte = Stream.of(0).map(i -> {
+            throw new UncheckedIOException(new IOException("bucket fora"));
+        });
+        when(conteudo.chaves()).thenReturn(Stream.concat(
+                Stream.of(new ChaveArmazenada("aa/bb/orfao", antigo), new ChaveArmazenada("cc/dd/orfao", antigo)), seguinte));
+        when(arquivoRepository.filtrarReferenciadas(List.of("aa/bb/orfao", "cc/dd/orfao"))).thenReturn(Set.of());
+        when(armazenamento.coletarOrfao(anyString())).thenReturn(true);
+
+        var resultado = limpeza.executar();
+
+        assertEquals(2, resultado.orfaosApagados());
+        verify(armazenamento).coletarOrfao("cc/dd/orfao");
+        verify(armazenamento).limparTemporarios(AGORA.minus(Duration.ofHours(1)));
+    }
+}
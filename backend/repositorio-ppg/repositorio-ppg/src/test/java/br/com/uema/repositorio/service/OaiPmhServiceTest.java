@@ -0,0 +1,166 @@
+package br.com.uema.repositorio.service;
+
+import br.com.uema.repositorio.entity.Programa;
+import br.com.uema.repositorio.enums.TipoDocumento;
+import br.com.uema.repositorio.repository.OaiPmhRepository;
+import br.com.uema.repositorio.repository.OaiPmhRepository.RegistroOai;
+import br.com.uema.repositorio.repository.ProgramaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OaiPmhServiceTest {
+
+    private static final String URL = "http://localhost:8080";
+
+    @Mock private OaiPmhRepository oaiRepository;
+    @Mock private ProgramaRepository programaRepository;
+
+    private OaiPmhService oaiPmhService;
+
+    @BeforeEach
+    void setup() {
+        oaiPmhService = new OaiPmhService(oaiRepository, programaRepository, "Repositório PPG UEMA", "admin@uema.br",
+                "repositorio-ppg.uema.br", "", 2);
+    }
+
+    private static RegistroOai registro(long id, String atualizadoEm) {
+        return new RegistroOai(id, "Edital " + id, null, TipoDocumento.EDITAIS, LocalDate.of(2024, 3, 1),
+                Instant.parse(atualizadoEm), "PPGE", "Programa de Pós-Graduação em Educação", false);
+    }
+
+    private static RegistroOai excluido(long id, String atualizadoEm, String sigla) {
+        return new RegistroOai(id, null, null, null, null, Instant.parse(atualizadoEm), sigla, null, true);
+    }
+
+    private String responder(String... chavesEValores) throws Exception {
+        Map<String, String[]> parametros = new LinkedHashMap<>();
+        for (int i = 0; i < chavesEValores.length; i += 2) {
+            parametros.put(chavesEValores[i], new String[]{chavesEValores[i + 1]});
+        }
+        var saida = new ByteArrayOutputStream();
+        oaiPmhService.responder(parametros, URL).escrever(saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String token(String xml) {
+        var encontrado = Pattern.compile("<resumptionToken cursor=\"\\d+\">([^<]+)</resumptionToken>").matcher(xml);
+        assertTrue(encontrado.find(), xml);
+        return encontrado.group(1);
+    }
+
+    @Test
+    void listRecordsQuandoMaisQueUmaPaginaEntaoRetomaPeloKeysetDoToken() throws Exception {
+        var programa = Programa.builder().id(3L).sigla("PPGE").build();
+        when(programaRepository.findBySigla("PPGE")).thenReturn(Optional.of(programa));
+        Instant de = Instant.parse("2024-01-01T00:00:00Z");
+        Instant ate = Instant.parse("2024-02-01T00:00:00Z");
+        when(oaiRepository.pagina(3L, de, ate, null, null, 3)).thenReturn(List.of(
+                registro(10, "2024-01-05T10:00:00.123456Z"), registro(11, "2024-01-05T10:00:00.123456Z"),
+                registro(12, "2024-01-06T08:00:00Z")));
+
+        String primeira = responder("verb", "ListRecords", "metadataPrefix", "oai_dc", "from", "2024-01-01",
+                "until", "2024-01-31", "set", "PPGE");
+
+        assertTrue(primeira.contains("<request verb=\"ListRecords\" metadataPrefix=\"oai_dc\" from=\"2024-01-01\" until=\"2024-01-31\" set=\"PPGE\">http://localhost:8080/oai</request>"), primeira);
+        assertTrue(primeira.contains("<identifier>oai:repositorio-ppg.uema.br:10</identifier><datestamp>2024-01-05T10:00:00Z</datestamp><setSpec>PPGE</setSpec>"), primeira);
+        assertTrue(primeira.contains("<dc:identifier>http://localhost:8080/documentos/download/11</dc:identifier>"), primeira);
+        assertFalse(primeira.contains(":12</identifier>"), primeira);
+        assertTrue(primeira.contains("<resumptionToken cursor=\"0\">"), primeira);
+
+        // Segunda página: mesma seleção, a partir do último registro enviado (mesmo instante, id maior)
+        when(oaiRepository.pagina(3L, de, ate, Instant.parse("2024-01-05T10:00:00.123456Z"), 11L, 3))
+                .thenReturn(List.of(registro(12, "2024-01-06T08:00:00Z")));
+
+        String segunda = responder("verb", "ListRecords", "resumptionToken", token(primeira));
+
+        assertTrue(segunda.contains("oai:repositorio-ppg.uema.br:12</identifier>"), segunda);
+        assertTrue(segunda.contains("<resumptionToken cursor=\"2\"></resumptionToken>"), segunda);
+    }
+
+    @Test
+    void listIdentifiersQuandoUntilEmSegundosEntaoIncluiOSegundoInteiro() throws Exception {
+        when(oaiRepository.pagina(null, null, Instant.parse("2024-01-05T10:00:01Z"), null, null, 3))
+                .thenReturn(List.of(registro(10, "2024-01-05T10:00:00.5Z")));
+
+        String xml = responder("verb", "ListIdentifiers", "metadataPrefix", "oai_dc", "until", "2024-01-05T10:00:00Z");
+
+        assertTrue(xml.contains("<ListIdentifiers><header><identifier>oai:repositorio-ppg.uema.br:10</identifier>"), xml);
+        assertFalse(xml.contains("<metadata>"), xml);
+        assertFalse(xml.contains("resumptionToken"), xml);
+    }
+
+    @Test
+    void listRecordsQuandoDocumentoExcluidoOuReprovadoEntaoSaiSoOCabecalhoComStatusDeleted() throws Exception {
+        Instant de = Instant.parse("2024-01-01T00:00:00Z");
+        when(oaiRepository.pagina(null, de, null, null, null, 3)).thenReturn(List.of(
+                registro(10, "2024-01-05T10:00:00Z"), excluido(11, "2024-01-05T11:00:00Z", "PPGE")));
+
+        String xml = responder("verb", "ListRecords", "metadataPrefix", "oai_dc", "from", "2024-01-01");
+
+        assertTrue(xml.contains("<record><header status=\"deleted\"><identifier>oai:repositorio-ppg.uema.br:11</identifier>"
+                + "<datestamp>2024-01-05T11:00:00Z</datestamp><setSpec>PPGE</setSpec></header></record>"), xml);
+        assertTrue(xml.contains("<dc:identifier>http://localhost:8080/documentos/download/10</dc:identifier>"), xml);
+        assertFalse(xml.contains("download/11"), xml);
+
+        // Programa também excluído: lápide sem set
+        when(oaiRepository.pagina(null, de, null, null, null, 3)).thenReturn(List.of(excluido(12, "2024-01-05T12:00:00Z", null)));
+
+        String identificadores = responder("verb", "ListIdentifiers", "metadataPrefix", "oai_dc", "from", "2024-01-01");
+
+        assertTrue(identificadores.contains("<header status=\"deleted\"><identifier>oai:repositorio-ppg.uema.br:12</identifier>"
+                + "<datestamp>2024-01-05T12:00:00Z</datestamp></header>"), identificadores);
+    }
+
+    @Test
+    void identifyQuandoHaLapidesEntaoDeclaraDeletedRecordTransient() throws Exception {
+        when(oaiRepository.primeiraAlteracao()).thenReturn(Optional.of(Instant.parse("2023-06-01T12:30:00.25Z")));
+
+        String xml = responder("verb", "Identify");
+
+        assertTrue(xml.contains("<earliestDatestamp>2023-06-01T12:30:00Z</earliestDatestamp><deletedRecord>transient</deletedRecord>"), xml);
+    }
+
+    @Test
+    void respostaQuandoPedidoInvalidoEntaoErroDoProtocolo() throws Exception {
+        String semVerbo = responder("metadataPrefix", "oai_dc");
+        assertTrue(semVerbo.contains("<request>http://localhost:8080/oai</request><error code=\"badVerb\">"), semVerbo);
+
+        String granularidades = responder("verb", "ListRecords", "metadataPrefix", "oai_dc",
+                "from", "2024-01-01", "until", "2024-01-31T00:00:00Z");
+        assertTrue(granularidades.contains("<request>http://localhost:8080/oai</request><error code=\"badArgument\">"), granularidades);
+
+        assertTrue(responder("verb", "ListRecords", "metadataPrefix", "marc21").contains("code=\"cannotDisseminateFormat\""));
+        assertTrue(responder("verb", "ListRecords", "resumptionToken", "nao-e-um-token").contains("code=\"badResumptionToken\""));
+        assertTrue(responder("verb", "Identify", "set", "PPGE").contains("code=\"badArgument\""));
+        verifyNoInteractions(oaiRepository);
+
+        when(oaiRepository.registro(anyLong())).thenReturn(Optional.empty());
+        String inexistente = responder("verb", "GetRecord", "identifier", "oai:repositorio-ppg.uema.br:99", "metadataPrefix", "oai_dc");
+        // Erros que não são de argumento repetem o pedido
+        assertTrue(inexistente.contains("<request verb=\"GetRecord\" identifier=\"oai:repositorio-ppg.uema.br:99\" metadataPrefix=\"oai_dc\">"), inexistente);
+        assertTrue(inexistente.contains("<error code=\"idDoesNotExist\">"), inexistente);
+        verify(oaiRepository).registro(99L);
+    }
+}
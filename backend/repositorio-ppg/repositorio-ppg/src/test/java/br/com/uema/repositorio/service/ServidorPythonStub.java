@@ -0,0 +1,86 @@
+package br.com.uema.repositorio.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imitação local do serviço Python (/summarize-file) para testar timeouts, erros e circuito sem rede.
+ */
+class ServidorPythonStub implements AutoCloseable {
+
+    enum Comportamento { OK, ERRO, LENTO }
+
+    private final HttpServer servidor;
+    private final AtomicInteger requisicoes = new AtomicInteger();
+    private volatile Comportamento comportamento = Comportamento.OK;
+    private volatile long atrasoMs;
+    private volatile CountDownLatch recebida = new CountDownLatch(1);
+
+    ServidorPythonStub() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/summarize-file", this::responder);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort() + "/summarize-file";
+    }
+
+    void responderCom(Comportamento comportamento) {
+        this.comportamento = comportamento;
+    }
+
+    void atrasar(long atrasoMs) {
+        this.comportamento = Comportamento.LENTO;
+        this.atrasoMs = atrasoMs;
+    }
+
+    int requisicoes() {
+        return requisicoes.get();
+    }
+
+    void aguardarRequisicao() throws InterruptedException {
+        recebida.await();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        requisicoes.incrementAndGet();
+        recebida.countDown();
+        troca.getRequestBody().readAllBytes();
+
+        if (comportamento == Comportamento.LENTO) {
+            try {
+                Thread.sleep(atrasoMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        int status = comportamento == Comportamento.ERRO ? 500 : 200;
+        byte[] corpo = (status == 200 ? "{\"resumo\":\"Resumo gerado\"}" : "{\"detail\":\"falha\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        try {
+            troca.sendResponseHeaders(status, corpo.length);
+            troca.getResponseBody().write(corpo);
+        } catch (IOException e) {
+            // Cliente desistiu por timeout
+        } finally {
+            troca.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+    }
+}
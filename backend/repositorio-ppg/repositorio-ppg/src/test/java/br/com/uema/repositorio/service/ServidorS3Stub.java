@@ -0,0 +1,206 @@
+package br.com.uema.repositorio.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Imitação em memória de um bucket S3 (path-style: /bucket/chave) com o que o armazenamento usa:
+ * PUT, HEAD, GET com Range, DELETE e ListObjectsV2. Substitui um MinIO nos testes, sem rede nem contêiner.
+ */
+class ServidorS3Stub implements AutoCloseable {
+
+    static final String BUCKET = "repositorio-teste";
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private final HttpServer servidor;
+    private final Map<String, byte[]> objetos = new ConcurrentSkipListMap<>();
+    private final List<String> ranges = new CopyOnWriteArrayList<>();
+    private volatile int chavesPorPagina = Integer.MAX_VALUE;
+    private volatile boolean continuacaoNegada;
+
+    ServidorS3Stub() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/" + BUCKET, this::responder);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort();
+    }
+
+    Map<String, byte[]> objetos() {
+        return objetos;
+    }
+
+    List<String> rangesPedidos() {
+        return ranges;
+    }
+
+    void chavesPorPagina(int chavesPorPagina) {
+        this.chavesPorPagina = chavesPorPagina;
+    }
+
+    // Só a primeira página da listagem é servida; as seguintes respondem 403
+    void negarContinuacao() {
+        continuacaoNegada = true;
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        try (troca) {
+            String caminho = URLDecoder.decode(troca.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+            String chave = caminho.length() > BUCKET.length() + 2 ? caminho.substring(BUCKET.length() + 2) : "";
+            byte[] objeto = objetos.get(chave);
+
+            switch (troca.getRequestMethod()) {
+                case "PUT" -> {
+                    objetos.put(chave, corpo(troca));
+                    troca.sendResponseHeaders(200, -1);
+                }
+                case "HEAD" -> {
+                    if (objeto == null) {
+                        troca.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    troca.getResponseHeaders().add("Content-Length", String.valueOf(objeto.length));
+                    troca.sendResponseHeaders(200, -1);
+                }
+                case "DELETE" -> {
+                    objetos.remove(chave);
+                    troca.sendResponseHeaders(204, -1);
+                }
+                case "GET" -> {
+                    if (chave.isEmpty()) {
+                        listar(troca);
+                    } else if (objeto == null) {
+                        enviar(troca, 404, "application/xml",
+                                "<Error><Code>NoSuchKey</Code><Message>Not found</Message></Error>".getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        obter(troca, objeto);
+                    }
+                }
+                default -> troca.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void obter(HttpExchange troca, byte[] objeto) throws IOException {
+        String range = troca.getRequestHeaders().getFirst("Range");
+        if (range == null) {
+            enviar(troca, 200, "application/octet-stream", objeto);
+            return;
+        }
+        ranges.add(range);
+        Matcher m = RANGE.matcher(range);
+        if (!m.matches()) {
+            troca.sendResponseHeaders(416, -1);
+            return;
+        }
+        int inicio = Integer.parseInt(m.group(1));
+        int fim = Math.min(Integer.parseInt(m.group(2)), objeto.length - 1);
+        troca.getResponseHeaders().add("Content-Range", "bytes " + inicio + "-" + fim + "/" + objeto.length);
+        enviar(troca, 206, "application/octet-stream", Arrays.copyOfRange(objeto, inicio, fim + 1));
+    }
+
+    private void listar(HttpExchange troca) throws IOException {
+        String consulta = troca.getRequestURI().getQuery() == null ? "" : troca.getRequestURI().getQuery();
+        String prefixo = "";
+        String continuacao = "";
+        for (String parametro : consulta.split("&")) {
+            if (parametro.startsWith("prefix=")) {
+                prefixo = URLDecoder.decode(parametro.substring("prefix=".length()), StandardCharsets.UTF_8);
+            } else if (parametro.startsWith("continuation-token=")) {
+                continuacao = URLDecoder.decode(parametro.substring("continuation-token=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        if (!continuacao.isEmpty() && continuacaoNegada) {
+            enviar(troca, 403, "application/xml",
+                    "<Error><Code>AccessDenied</Code><Message>Access Denied</Message></Error>".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        // O token de continuação é a última chave da página anterior (as chaves ficam ordenadas no mapa)
+        var conteudo = new StringBuilder();
+        String ultima = null;
+        int naPagina = 0;
+        boolean truncada = false;
+        for (var objeto : objetos.entrySet()) {
+            if (!objeto.getKey().startsWith(prefixo) || objeto.getKey().compareTo(continuacao) <= 0) {
+                continue;
+            }
+            if (naPagina == chavesPorPagina) {
+                truncada = true;
+                break;
+            }
+            conteudo.append("<Contents><Key>").append(objeto.getKey()).append("</Key>")
+                    .append("<LastModified>2026-01-01T00:00:00.000Z</LastModified><Size>")
+                    .append(objeto.getValue().length).append("</Size></Contents>");
+            ultima = objeto.getKey();
+            naPagina++;
+        }
+        var xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><ListBucketResult>")
+                .append("<Name>").append(BUCKET).append("</Name><IsTruncated>").append(truncada).append("</IsTruncated>");
+        if (truncada) {
+            xml.append("<NextContinuationToken>").append(ultima).append("</NextContinuationToken>");
+        }
+        xml.append(conteudo).append("</ListBucketResult>");
+        enviar(troca, 200, "application/xml", xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // O SDK envia o corpo em aws-chunked ("<tamanho hex>;chunk-signature=...\r\n<bytes>\r\n") quando assina por partes
+    private static byte[] corpo(HttpExchange troca) throws IOException {
+        String conteudo = troca.getRequestHeaders().getFirst("x-amz-content-sha256");
+        InputStream entrada = troca.getRequestBody();
+        if (conteudo == null || !conteudo.startsWith("STREAMING-")) {
+            return entrada.readAllBytes();
+        }
+        var saida = new ByteArrayOutputStream();
+        while (true) {
+            String cabecalho = linha(entrada);
+            int tamanho = Integer.parseInt(cabecalho.split(";")[0], 16);
+            if (tamanho == 0) {
+                return saida.toByteArray();
+            }
+            saida.write(entrada.readNBytes(tamanho));
+            linha(entrada);
+        }
+    }
+
+    private static String linha(InputStream entrada) throws IOException {
+        var linha = new StringBuilder();
+        int c;
+        while ((c = entrada.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                linha.append((char) c);
+            }
+        }
+        return linha.toString();
+    }
+
+    private static void enviar(HttpExchange troca, int status, String tipo, byte[] corpo) throws IOException {
+        troca.getResponseHeaders().add("Content-Type", tipo);
+        troca.sendResponseHeaders(status, corpo.length);
+        troca.getResponseBody().write(corpo);
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+    }
+}
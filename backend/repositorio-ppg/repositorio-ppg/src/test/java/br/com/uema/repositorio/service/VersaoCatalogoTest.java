@@ -0,0 +1,84 @@
+package br.com.uema.repositorio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VersaoCatalogoTest {
+
+    private static final long SEGUNDO = Duration.ofSeconds(1).toNanos();
+
+    @Mock private JdbcTemplate jdbc;
+
+    private final AtomicLong agora = new AtomicLong(1000 * SEGUNDO);
+    private VersaoCatalogo versaoCatalogo;
+
+    @BeforeEach
+    void setup() {
+        versaoCatalogo = new VersaoCatalogo(jdbc, Duration.ofSeconds(2), agora::get);
+    }
+
+    @AfterEach
+    void limpar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void atualDentroDoIntervaloEntaoNaoConsultaOBanco() {
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(7L, 8L);
+
+        assertEquals(7L, versaoCatalogo.atual());
+        agora.addAndGet(SEGUNDO);
+        assertEquals(7L, versaoCatalogo.atual());
+        agora.addAndGet(SEGUNDO);
+        assertEquals(8L, versaoCatalogo.atual());
+
+        verify(jdbc, times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void alteradoEmTransacaoEntaoReleSoAposOCommit() {
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(7L, 9L);
+        assertEquals(7L, versaoCatalogo.atual());
+
+        TransactionSynchronizationManager.initSynchronization();
+        versaoCatalogo.alterado();
+        assertEquals(7L, versaoCatalogo.atual());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(9L, versaoCatalogo.atual());
+    }
+
+    @Test
+    void atualQuandoBancoFalhaEntaoMantemVersaoConhecidaETentaDeNovo() {
+        when(jdbc.queryForObject(anyString(), eq(Long.class)))
+                .thenReturn(7L)
+                .thenThrow(new DataAccessResourceFailureException("banco fora"))
+                .thenReturn(8L);
+        assertEquals(7L, versaoCatalogo.atual());
+        agora.addAndGet(2 * SEGUNDO);
+
+        assertEquals(7L, versaoCatalogo.atual());
+        assertEquals(8L, versaoCatalogo.atual());
+    }
+}
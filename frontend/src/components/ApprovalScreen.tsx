@@ -1,6 +1,7 @@
 import { useState, useEffect } from 'react';
 import { CheckCircle, XCircle, Clock, FileText } from 'lucide-react';
 import api from '../services/api';
+import { assinarEventos } from '../services/eventos';
 import { Button } from './ui/button';
 import { Card, CardContent, CardHeader, CardTitle } from './ui/card';
 import { Badge } from './ui/badge';
@@ -9,6 +10,7 @@ import { Tabs, TabsList, TabsTrigger, TabsContent } from './ui/tabs';
 interface Pendencia {
     idFluxo: number;
     estado: string;
+    versao: number;
     tituloDocumento: string;
     idDocumento: number;
     nomeAutor: string;
@@ -18,15 +20,56 @@ interface Pendencia {
 
 export function ApprovalScreen() {
   const [pendencias, setPendencias] = useState<Pendencia[]>([]);
+  const [totalPendentes, setTotalPendentes] = useState(0);
+  const [proximoCursor, setProximoCursor] = useState<string | null>(null);
+  const [carregandoMais, setCarregandoMais] = useState(false);
   
+    // Recarrega a partir da primeira página; as seguintes vêm por "Carregar mais"
     const fetchPendencias = () => {
         api.get('/aprovacoes/pendentes')
-             .then(res => setPendencias(res.data))
+             .then(res => {
+                 setPendencias(res.data.itens);
+                 setProximoCursor(res.data.proximoCursor);
+             })
              .catch(console.error);
+        api.get('/aprovacoes/pendentes/count')
+             .then(res => setTotalPendentes(res.data.total))
+             .catch(console.error);
+    };
+
+    const carregarMais = () => {
+        if (!proximoCursor) return;
+        setCarregandoMais(true);
+        api.get('/aprovacoes/pendentes', { params: { cursor: proximoCursor } })
+             .then(res => {
+                 // Paginação por cursor: decisões tomadas entretanto não deslocam as páginas seguintes,
+                 // mas uma recarga concorrente pode já ter trazido parte destes itens
+                 setPendencias(prev => {
+                     const vistos = new Set(prev.map(p => p.idFluxo));
+                     return [...prev, ...res.data.itens.filter((p: Pendencia) => !vistos.has(p.idFluxo))];
+                 });
+                 setProximoCursor(res.data.proximoCursor);
+             })
+             .catch(console.error)
+             .finally(() => setCarregandoMais(false));
     };
 
     useEffect(() => {
         fetchPendencias();
+        // Envios e decisões de outros gestores chegam por GET /eventos; uma carga em lote gera vários
+        // eventos seguidos, então a lista é recarregada uma vez só por rajada
+        let agendado: ReturnType<typeof setTimeout> | undefined;
+        const recarregar = () => {
+            clearTimeout(agendado);
+            agendado = setTimeout(fetchPendencias, 300);
+        };
+        const cancelar = assinarEventos((evento) => {
+            if (evento.tipo === 'APROVACAO_PENDENTE' || evento.tipo === 'APROVACAO_DECIDIDA') recarregar();
+        }, recarregar);
+        return () => {
+            cancelar();
+            clearTimeout(agendado);
+        };
     }, []);
 
   const handleProcess = async (id: number, approved: boolean) => {
@@ -36,6 +79,7 @@ export function ApprovalScreen() {
         await api.patch(`/aprovacoes/${id}?aprovado=${approved}&comentario=ViaReact`);
         // Remove da lista local
         setPendencias(prev => prev.filter(p => p.idFluxo !== id));
+        setTotalPendentes(prev => Math.max(prev - 1, 0));
     } catch {
         alert("Erro ao processar.");
     }
@@ -54,13 +98,13 @@ export function ApprovalScreen() {
                 <CardTitle className="text-sm font-medium">Pendentes</CardTitle>
                 <Clock className="w-4 h-4 text-yellow-500" />
             </CardHeader>
-            <CardContent><div className="text-2xl font-bold">{pendencias.length}</div></CardContent>
+            <CardContent><div className="text-2xl font-bold">{totalPendentes}</div></CardContent>
         </Card>
       </div>
 
       <Tabs defaultValue="pending">
         <TabsList>
-            <TabsTrigger value="pending">Pendentes ({pendencias.length})</TabsTrigger>
+            <TabsTrigger value="pending">Pendentes ({totalPendentes})</TabsTrigger>
             <TabsTrigger value="history">Histórico</TabsTrigger>
         </TabsList>
 
@@ -97,6 +141,14 @@ export function ApprovalScreen() {
                     </CardContent>
                 </Card>
             ))}
+
+            {proximoCursor && (
+                <div className="flex justify-center">
+                    <Button variant="outline" onClick={carregarMais} disabled={carregandoMais}>
+                        {carregandoMais ? "Carregando..." : "Carregar mais"}
+                    </Button>
+                </div>
+            )}
         </TabsContent>
       </Tabs>
     </div>
@@ -1,6 +1,7 @@
 import { useEffect, useState } from "react";
 import { FileText, Download, Trash2, Edit, Brain} from "lucide-react";
 import api from "../services/api";
+import { assinarEventos } from "../services/eventos";
 import { useAuth } from "../context/useAuth";
 import { Card, CardContent, CardHeader, CardTitle } from "./ui/card";
 import { Badge } from "./ui/badge";
@@ -8,6 +9,17 @@ import { Button } from "./ui/button";
 import { EditDocumentModal } from "./EditDocumentModal";
 import { InsightsModal } from "./InsightsModal"
 
+interface JobResumo {
+  idJob: number | null;
+  documentoId: number;
+  estado: "PENDENTE" | "EXECUTANDO" | "CONCLUIDO" | "FALHOU";
+  resumo: string | null;
+  erro: string | null;
+}
+
+// O fim do job chega por GET /eventos; a consulta periódica só cobre a conexão de eventos fora do ar
+const INTERVALO_CONSULTA_INSIGHTS_MS = 15000;
+
 // 1. Definindo a interface Documento
 interface Documento {
   id: number;
@@ -79,14 +91,35 @@ export function DashboardScreen() {
     setLoadingInsights(true);
     setInsightsText(null); // Limpa anterior
 
+    // Assina antes de pedir o resumo para não perder um job que termine logo
+    let terminou = false;
+    let acordar: () => void = () => {};
+    const cancelarEventos = assinarEventos((evento) => {
+        if (evento.tipo === "RESUMO_ATUALIZADO" && evento.documentoId === docId) {
+            terminou = true;
+            acordar();
+        }
+    });
+
     try {
-        // Chama o endpoint do Java que orquestra tudo
-        const response = await api.post(`/documentos/${docId}/insights`);
-        setInsightsText(response.data);
+        // O backend responde 200 com o resumo pronto ou 202 com um job; nesse caso espera o evento de fim
+        let job: JobResumo = (await api.post(`/documentos/${docId}/insights`)).data;
+        while (job.estado === "PENDENTE" || job.estado === "EXECUTANDO") {
+            if (!terminou) {
+                await new Promise<void>((resolve) => {
+                    acordar = () => resolve();
+                    setTimeout(resolve, INTERVALO_CONSULTA_INSIGHTS_MS);
+                });
+            }
+            terminou = false;
+            job = (await api.get(`/documentos/insights/jobs/${job.idJob}`)).data;
+        }
+        setInsightsText(job.estado === "CONCLUIDO" ? job.resumo : job.erro);
     } catch (error) {
         console.error("Erro ao gerar insights", error);
         setInsightsText("Erro ao gerar insights. Verifique se o serviço de IA está ativo.");
     } finally {
+        cancelarEventos();
         setLoadingInsights(false);
     }
   };
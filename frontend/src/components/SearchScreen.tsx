@@ -7,7 +7,6 @@ import { Label } from './ui/label';
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from './ui/select';
 import { Card, CardContent, CardHeader, CardTitle } from './ui/card';
 import { Badge } from './ui/badge';
-import axios from 'axios';
 
 
 interface Documento {
@@ -83,12 +82,11 @@ export function SearchScreen() {
         const res = await api.get('/documentos');
         setDocuments(res.data);
       } else {
-        // Se tem texto, chama o Python (Porta 8000)
-        // Ajuste o IP se estiver no Android Emulator (10.0.2.2) ou Web (localhost)
-        const res = await axios.post('http://localhost:8000/smart-search', { 
-          query: searchTerm 
+        // Se tem texto, o Java interpreta a busca (IA só como último recurso)
+        const res = await api.get('/documentos/busca-inteligente', {
+          params: { q: searchTerm }
         });
-        setDocuments(res.data);
+        setDocuments(res.data.itens);
       }
     } catch (error) {
       console.error("Erro na busca:", error);
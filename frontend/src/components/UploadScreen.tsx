@@ -15,6 +15,14 @@ interface Programa {
   sigla: string;
 }
 
+// JSON em UTF-8 codificado em Base64, para caber num header HTTP
+function emBase64(valor: unknown): string {
+  const bytes = new TextEncoder().encode(JSON.stringify(valor));
+  let binario = '';
+  bytes.forEach((byte) => { binario += String.fromCharCode(byte); });
+  return btoa(binario);
+}
+
 export function UploadScreen() {
   const navigate = useNavigate();
   const fileInputRef = useRef<HTMLInputElement>(null);
@@ -78,20 +86,21 @@ export function UploadScreen() {
     setLoading(true);
 
     try {
-        const formData = new FormData();
-        formData.append('titulo', title);
         const descFinal = tags ? `${description}\n\nTags: ${tags}` : description;
-        formData.append('descricao', descFinal);
-        formData.append('tipo', category);
-        
-        // 2. ALTERAÇÃO: Usa o estado publicationDate em vez de new Date() automático
-        formData.append('dataPublicacao', publicationDate);
-        
-        formData.append('programaId', programId);
-        formData.append('arquivo', file);
-
-        await api.post('/documentos', formData, {
-            headers: { 'Content-Type': 'multipart/form-data' }
+
+        // Envio em streaming: o corpo é o próprio arquivo (sem multipart), metadados vão no header X-Metadados
+        await api.post('/documentos', file, {
+            headers: {
+                'Content-Type': 'application/octet-stream',
+                'X-Metadados': emBase64({
+                    titulo: title,
+                    descricao: descFinal,
+                    tipo: category,
+                    dataPublicacao: publicationDate,
+                    programaId: Number(programId),
+                }),
+                'X-Nome-Arquivo': encodeURIComponent(file.name),
+            }
         });
 
         setUploadSuccess(true);
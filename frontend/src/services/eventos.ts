@@ -0,0 +1,98 @@
+import api from './api';
+
+export type TipoEvento = 'APROVACAO_PENDENTE' | 'APROVACAO_DECIDIDA' | 'RESUMO_ATUALIZADO';
+
+export interface Evento {
+  tipo: TipoEvento;
+  documentoId: number | null;
+  programaId: number | null;
+  idFluxo: number | null;
+  idJob: number | null;
+  estado: string;
+}
+
+type Ouvinte = (evento: Evento) => void;
+
+const ESPERA_MAXIMA_RECONEXAO_MS = 30000;
+
+// Uma única conexão com GET /eventos para a aba inteira, aberta enquanto houver ouvintes.
+// EventSource não envia o cabeçalho Authorization, então o fluxo SSE é lido com fetch.
+const ouvintes = new Set<Ouvinte>();
+const reconexoes = new Set<() => void>();
+let geracao = 0;
+let controle: AbortController | null = null;
+
+async function ler(corpo: ReadableStream<Uint8Array>) {
+  const leitor = corpo.pipeThrough(new TextDecoderStream()).getReader();
+  let pendente = '';
+  for (;;) {
+    const { value, done } = await leitor.read();
+    if (done) return;
+    pendente += value;
+    let fim;
+    while ((fim = pendente.indexOf('\n\n')) >= 0) {
+      const bloco = pendente.slice(0, fim);
+      pendente = pendente.slice(fim + 2);
+      // Comentários (heartbeat) não têm linha data:
+      const dados = bloco.split('\n')
+        .filter((linha) => linha.startsWith('data:'))
+        .map((linha) => linha.slice(5))
+        .join('\n');
+      if (dados) {
+        const evento = JSON.parse(dados) as Evento;
+        ouvintes.forEach((ouvinte) => ouvinte(evento));
+      }
+    }
+  }
+}
+
+async function conectar(minhaGeracao: number) {
+  let tentativas = 0;
+  let jaConectou = false;
+  while (minhaGeracao === geracao) {
+    const atual = new AbortController();
+    controle = atual;
+    try {
+      const token = localStorage.getItem('token');
+      const resposta = await fetch(`${api.defaults.baseURL}/eventos`, {
+        headers: token ? { Authorization: `Bearer ${token}` } : {},
+        signal: atual.signal,
+      });
+      if (!resposta.ok || !resposta.body) {
+        throw new Error(`GET /eventos respondeu ${resposta.status}`);
+      }
+      // Eventos perdidos enquanto a conexão estava fora: quem assinou recarrega pela API
+      if (jaConectou) reconexoes.forEach((recarregar) => recarregar());
+      jaConectou = true;
+      tentativas = 0;
+      await ler(resposta.body);
+    } catch (erro) {
+      if (atual.signal.aborted) return;
+      console.warn('Conexão de eventos interrompida', erro);
+    }
+    tentativas++;
+    await new Promise((resolve) => setTimeout(resolve, Math.min(1000 * 2 ** tentativas, ESPERA_MAXIMA_RECONEXAO_MS)));
+  }
+}
+
+/**
+ * Recebe os eventos do backend enquanto a assinatura durar. `aoReconectar` é chamado quando a conexão
+ * volta depois de cair. Devolve a função que cancela a assinatura.
+ */
+export function assinarEventos(ouvinte: Ouvinte, aoReconectar?: () => void): () => void {
+  ouvintes.add(ouvinte);
+  if (aoReconectar) reconexoes.add(aoReconectar);
+  if (ouvintes.size === 1) {
+    geracao++;
+    conectar(geracao);
+  }
+  return () => {
+    ouvintes.delete(ouvinte);
+    if (aoReconectar) reconexoes.delete(aoReconectar);
+    if (ouvintes.size === 0) {
+      geracao++;
+      controle?.abort();
+      controle = null;
+    }
+  };
+}
@@ -2,7 +2,7 @@ import os
 import json
 import logging
 import requests
-from typing import List
+from typing import List, Optional
 from datetime import date
 from pathlib import Path
 from fastapi import FastAPI, HTTPException, UploadFile, File
@@ -64,27 +64,42 @@ PROGRAMAS_MAP = {
 # --- MODELOS DE DADOS ---
 class SearchRequest(BaseModel):
     query: str
+    # Candidatos já pré-filtrados pelo backend (busca-inteligente). Se ausente, busca o catálogo inteiro.
+    documentos: Optional[List[dict]] = None
+
+# Última listagem do catálogo e seu ETag: o backend responde 304 enquanto a versão do catálogo não muda
+_catalogo = {"etag": None, "documentos": []}
+
+def buscar_catalogo() -> List[dict]:
+    headers = {"If-None-Match": _catalogo["etag"]} if _catalogo["etag"] else {}
+    try:
+        response = requests.get(BACKEND_URL, headers=headers, timeout=5)
+        if response.status_code == 304:
+            return _catalogo["documentos"]
+        if response.status_code == 200:
+            _catalogo["documentos"] = response.json()
+            _catalogo["etag"] = response.headers.get("ETag")
+            return _catalogo["documentos"]
+        return [] # Ou levantar erro
+    except Exception:
+        logging.warning("Backend Java indisponível. Usando lista vazia ou mock.")
+        return []
 
 # --- ENDPOINTS ---
 
 @app.post("/smart-search", response_model=List[dict])
 def smart_search(request: SearchRequest):
     """
-    Endpoint que o Frontend chama.
-    1. Pega dados do Java.
+    Fallback do backend (GET /documentos/busca-inteligente).
+    1. Usa os candidatos enviados pelo Java (ou, se não vierem, pega o catálogo do Java).
     2. Pede para o Ollama (Qwen) filtrar usando o mapa de siglas.
     """
     try:
-        # 1. Buscar documentos brutos do Backend Java
-        try:
-            response = requests.get(BACKEND_URL, timeout=5)
-            if response.status_code == 200:
-                all_docs = response.json()
-            else:
-                all_docs = [] # Ou levantar erro
-        except Exception:
-            logging.warning("Backend Java indisponível. Usando lista vazia ou mock.")
-            all_docs = [] 
+        # 1. Candidatos pré-filtrados pelo backend ou documentos brutos do Backend Java
+        if request.documentos is not None:
+            all_docs = request.documentos
+        else:
+            all_docs = buscar_catalogo()
 
         # Se não tiver documentos, nem chama a IA
         if not all_docs: